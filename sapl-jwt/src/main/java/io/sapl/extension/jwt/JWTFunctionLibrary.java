@@ -24,7 +24,6 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.nimbusds.jwt.SignedJWT;
 
 import io.sapl.api.functions.Function;
 import io.sapl.api.functions.FunctionLibrary;
@@ -66,7 +65,7 @@ public class JWTFunctionLibrary {
     @Function
     public Val parseJwt(@Text Val rawToken) {
         try {
-            var signedJwt = SignedJWT.parse(rawToken.getText());
+            var signedJwt = JWTTokenCache.parse(rawToken.getText()).signedJwt();
             var jsonToken = JSON.objectNode();
             var payload   = mapper.convertValue(signedJwt.getPayload().toJSONObject(), JsonNode.class);
             ifPresentReplaceEpocFieldWithIsoTime(payload, "nbf");
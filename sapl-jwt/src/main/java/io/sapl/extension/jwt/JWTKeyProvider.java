@@ -24,6 +24,7 @@
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.http.HttpStatusCode;
 import org.springframework.web.reactive.function.client.ClientResponse;
@@ -60,10 +61,14 @@ public static class CachingException extends Exception {
 
     }
 
-    private final Map<String, RSAPublicKey> keyCache;
-    private final Queue<CacheEntry>         cachingTimes;
-    private final WebClient                 webClient;
-    private long                            lastTTL = DEFAULT_CACHING_TTL;
+    private record KeyRequest(String kid, String publicKeyURI, boolean isPost) {
+    }
+
+    private final Map<String, RSAPublicKey>           keyCache;
+    private final Queue<CacheEntry>                   cachingTimes;
+    private final Map<KeyRequest, Mono<RSAPublicKey>> inFlightRequests;
+    private final WebClient                           webClient;
+    private long                                      lastTTL = DEFAULT_CACHING_TTL;
 
     /**
      * Creates a JWTKeyProvider.
@@ -71,9 +76,10 @@ public static class CachingException extends Exception {
      * @param builder a WebClient builder.
      */
     public JWTKeyProvider(WebClient.Builder builder) {
-        webClient    = builder.build();
-        keyCache     = new ConcurrentHashMap<>();
-        cachingTimes = new ConcurrentLinkedQueue<>();
+        webClient        = builder.build();
+        keyCache         = new ConcurrentHashMap<>();
+        cachingTimes     = new ConcurrentLinkedQueue<>();
+        inFlightRequests = new ConcurrentHashMap<>();
     }
 
     /**
@@ -156,19 +162,36 @@ public void setTtlMillis(long newTtlMillis) {
      * @return public key or empty
      */
     private Mono<RSAPublicKey> fetchPublicKey(String kid, String publicKeyURI, String publicKeyRequestMethod) {
-        final ResponseSpec response;
 
         // return cached key if present
         if (isCached(kid)) {
             return Mono.just(keyCache.get(kid));
         }
 
-        if ("post".equalsIgnoreCase(publicKeyRequestMethod)) {
+        var request = new KeyRequest(kid, publicKeyURI, "post".equalsIgnoreCase(publicKeyRequestMethod));
+        return inFlightRequests.computeIfAbsent(request, this::newSharedRequest);
+    }
+
+    /**
+     * Concurrent requests for the same key share one request to the key server. The
+     * request is forgotten as soon as it terminates.
+     */
+    private Mono<RSAPublicKey> newSharedRequest(KeyRequest request) {
+        var shared = new AtomicReference<Mono<RSAPublicKey>>();
+        shared.set(Mono.defer(() -> requestPublicKey(request))
+                .doFinally(signal -> inFlightRequests.remove(request, shared.get())).share());
+        return shared.get();
+    }
+
+    private Mono<RSAPublicKey> requestPublicKey(KeyRequest request) {
+        final ResponseSpec response;
+
+        if (request.isPost()) {
             // POST request
-            response = webClient.post().uri(publicKeyURI, kid).retrieve();
+            response = webClient.post().uri(request.publicKeyURI(), request.kid()).retrieve();
         } else {
             // default GET request
-            response = webClient.get().uri(publicKeyURI, kid).retrieve();
+            response = webClient.get().uri(request.publicKeyURI(), request.kid()).retrieve();
         }
 
         return response.onStatus(HttpStatusCode::isError, this::handleHttpError).bodyToMono(String.class)
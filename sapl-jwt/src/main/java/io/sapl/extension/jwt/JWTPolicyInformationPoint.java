@@ -26,8 +26,6 @@
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 
@@ -36,6 +34,7 @@
 import io.sapl.api.pip.PolicyInformationPoint;
 import io.sapl.api.validation.Text;
 import io.sapl.extension.jwt.JWTKeyProvider.CachingException;
+import io.sapl.extension.jwt.JWTTokenCache.ParsedToken;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -165,10 +164,12 @@ private Flux<ValidityState> validityState(@Text Val rawToken, Map<String, Val> v
         if (rawToken == null || !rawToken.isTextual())
             return Flux.just(ValidityState.MALFORMED);
 
+        ParsedToken  token;
         SignedJWT    signedJwt;
         JWTClaimsSet claims;
         try {
-            signedJwt = SignedJWT.parse(rawToken.getText());
+            token     = JWTTokenCache.parse(rawToken.getText());
+            signedJwt = token.signedJwt();
             claims    = signedJwt.getJWTClaimsSet();
         } catch (ParseException e) {
             return Flux.just(ValidityState.MALFORMED);
@@ -182,7 +183,7 @@ private Flux<ValidityState> validityState(@Text Val rawToken, Map<String, Val> v
         if (!hasRequiredClaims(signedJwt))
             return Flux.just(ValidityState.INCOMPLETE);
 
-        return validateSignature(signedJwt, variables).flatMapMany(isValid -> {
+        return validateSignature(token, variables).flatMapMany(isValid -> {
 
             if (Boolean.FALSE.equals(isValid))
                 return Flux.just(ValidityState.UNTRUSTED);
@@ -191,7 +192,7 @@ private Flux<ValidityState> validityState(@Text Val rawToken, Map<String, Val> v
         });
     }
 
-    private Mono<Boolean> validateSignature(SignedJWT signedJwt, Map<String, Val> variables) {
+    private Mono<Boolean> validateSignature(ParsedToken token, Map<String, Val> variables) {
 
         var jwtConfig = variables.get(JWT_KEY);
         if (jwtConfig == null || !jwtConfig.isDefined()) {
@@ -199,7 +200,7 @@ private Mono<Boolean> validateSignature(SignedJWT signedJwt, Map<String, Val> va
             return Mono.just(Boolean.FALSE);
         }
 
-        var keyId = signedJwt.getHeader().getKeyID();
+        var keyId = token.signedJwt().getHeader().getKeyID();
 
         Mono<RSAPublicKey> publicKey       = null;
         var                whitelist       = jwtConfig.get().get(WHITELIST_VARIABLES_KEY);
@@ -226,15 +227,14 @@ private Mono<Boolean> validateSignature(SignedJWT signedJwt, Map<String, Val> va
             }
         }
 
-        return publicKey.map(signatureOfTokenIsValid(keyId, signedJwt, isFromWhitelist)).defaultIfEmpty(Boolean.FALSE);
+        return publicKey.map(signatureOfTokenIsValid(keyId, token, isFromWhitelist)).defaultIfEmpty(Boolean.FALSE);
     }
 
-    private Function<RSAPublicKey, Boolean> signatureOfTokenIsValid(String keyId, SignedJWT signedJwt,
+    private Function<RSAPublicKey, Boolean> signatureOfTokenIsValid(String keyId, ParsedToken token,
             boolean isFromWhitelist) {
         return publicKey -> {
-            JWSVerifier verifier = new RSASSAVerifier(publicKey);
             try {
-                var isValid = signedJwt.verify(verifier);
+                var isValid = JWTTokenCache.verify(token, publicKey);
                 if (isValid && !isFromWhitelist)
                     keyProvider.cache(keyId, publicKey);
                 return isValid;
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.extension.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+import java.util.Base64;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Bounded caches for parsed tokens and for the outcome of their signature
+ * verification.
+ * <p>
+ * The same bearer token usually shows up in many authorization subscriptions.
+ * Parsing the token and in particular verifying its RSA signature dominate the
+ * cost of the JWT attributes. Tokens are identified by a SHA-256 digest of the
+ * raw token. Verification outcomes are cached per token and public key. Thus, a
+ * rotated or revoked key always results in a new verification.
+ */
+class JWTTokenCache {
+
+    static final int MAXIMUM_SIZE = 10_000;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * A parsed token.
+     *
+     * @param digest    the digest of the raw token.
+     * @param signedJwt the parsed token. It must not be modified, as it is shared.
+     */
+    record ParsedToken(String digest, SignedJWT signedJwt) {
+    }
+
+    private record VerificationKey(String digest, RSAPublicKey publicKey) {
+    }
+
+    private static final Cache<String, ParsedToken>      PARSED_TOKENS = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE).build();
+    private static final Cache<VerificationKey, Boolean> VERIFICATIONS = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE).build();
+
+    private JWTTokenCache() {
+    }
+
+    /**
+     * Parses a raw token or returns the previously parsed token.
+     *
+     * @param rawToken the raw token.
+     * @return the parsed token.
+     * @throws ParseException if the token is not a signed JWT.
+     */
+    static ParsedToken parse(String rawToken) throws ParseException {
+        var digest = digest(rawToken);
+        var cached = PARSED_TOKENS.getIfPresent(digest);
+        if (cached != null)
+            return cached;
+
+        var parsedToken = new ParsedToken(digest, SignedJWT.parse(rawToken));
+        PARSED_TOKENS.put(digest, parsedToken);
+        return parsedToken;
+    }
+
+    /**
+     * Verifies the signature of a token or returns the outcome of a previous
+     * verification with the same key.
+     *
+     * @param token     the parsed token.
+     * @param publicKey the public key of the signer.
+     * @return true, iff the signature is valid.
+     * @throws JOSEException if the signature could not be verified.
+     */
+    static boolean verify(ParsedToken token, RSAPublicKey publicKey) throws JOSEException {
+        var key    = new VerificationKey(token.digest(), publicKey);
+        var cached = VERIFICATIONS.getIfPresent(key);
+        if (cached != null)
+            return cached;
+
+        // verifying the parts instead of the SignedJWT leaves the shared token
+        // untouched
+        var signedJwt = token.signedJwt();
+        var isValid   = new RSASSAVerifier(publicKey).verify(signedJwt.getHeader(), signedJwt.getSigningInput(),
+                signedJwt.getSignature());
+        VERIFICATIONS.put(key, isValid);
+        return isValid;
+    }
+
+    private static String digest(String rawToken) {
+        try {
+            var digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            return Base64.getEncoder().encodeToString(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Digest algorithm " + DIGEST_ALGORITHM + " is not available.", e);
+        }
+    }
+
+}
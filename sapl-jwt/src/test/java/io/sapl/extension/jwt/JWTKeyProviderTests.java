@@ -17,6 +17,7 @@
  */
 package io.sapl.extension.jwt;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -166,6 +167,20 @@ void provide_withUriEnvironment_usingBase64Url_shouldBePublicKey() throws Cachin
         StepVerifier.create(mono).expectNextMatches(KeyTestUtility.keyValidator(keyPair)).verifyComplete();
     }
 
+    @Test
+    void provide_concurrentlyForSameKey_shouldShareOneRequest() throws CachingException {
+        dispatcher.setDispatchMode(DispatchMode.True);
+        var serverNode    = JsonTestUtility.serverNode(server, null, null);
+        var requestsSoFar = server.getRequestCount();
+        var first         = provider.provide(otherKid, serverNode);
+        var second        = provider.provide(otherKid, serverNode);
+        StepVerifier.create(Mono.zip(first, second))
+                .expectNextMatches(keys -> KeyTestUtility.keyValidator(otherKeyPair).test(keys.getT1())
+                        && KeyTestUtility.keyValidator(otherKeyPair).test(keys.getT2()))
+                .verifyComplete();
+        assertEquals(requestsSoFar + 1, server.getRequestCount());
+    }
+
     @Test
     void provide_withUriAndMethodPostEnvironment_usingBase64Url_shouldBePublicKey() throws CachingException {
         dispatcher.setDispatchMode(DispatchMode.True);
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.extension.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+class JWTTokenCacheTests {
+
+    private static KeyPair keyPair;
+    private static KeyPair otherKeyPair;
+    private static String  kid;
+
+    @BeforeAll
+    static void preSetup() throws IOException, NoSuchAlgorithmException {
+        keyPair      = Base64DataUtil.generateRSAKeyPair();
+        otherKeyPair = Base64DataUtil.generateRSAKeyPair();
+        kid          = KeyTestUtility.kid(keyPair);
+    }
+
+    @Test
+    void parse_sameTokenTwice_shouldReturnSameParsedToken() throws JOSEException, ParseException {
+        var rawToken = signedToken("parse");
+        assertSame(JWTTokenCache.parse(rawToken), JWTTokenCache.parse(rawToken));
+    }
+
+    @Test
+    void parse_malformedToken_shouldThrowParseException() {
+        assertThrows(ParseException.class, () -> JWTTokenCache.parse("MALFORMED TOKEN"));
+    }
+
+    @Test
+    void verify_withSignerKey_shouldBeTrueRepeatedly() throws JOSEException, ParseException {
+        var token = JWTTokenCache.parse(signedToken("valid"));
+        assertTrue(JWTTokenCache.verify(token, (RSAPublicKey) keyPair.getPublic()));
+        assertTrue(JWTTokenCache.verify(token, (RSAPublicKey) keyPair.getPublic()));
+    }
+
+    @Test
+    void verify_withOtherKeyAfterSuccessfulVerification_shouldBeFalse() throws JOSEException, ParseException {
+        var token = JWTTokenCache.parse(signedToken("other"));
+        assertTrue(JWTTokenCache.verify(token, (RSAPublicKey) keyPair.getPublic()));
+        assertFalse(JWTTokenCache.verify(token, (RSAPublicKey) otherKeyPair.getPublic()));
+    }
+
+    private static String signedToken(String subject) throws JOSEException {
+        var header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build();
+        var claims = new JWTClaimsSet.Builder().subject(subject).build();
+        return JWTTestUtility.buildAndSignJwt(header, claims, keyPair).getText();
+    }
+
+}
@@ -30,7 +30,9 @@
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.reactivestreams.Publisher;
 
@@ -86,6 +88,26 @@ public SAPL parse(InputStream saplInputStream) {
         throw new PolicyEvaluationException(composeReason(diagnostic));
     }
 
+    @Override
+    public SAPL parseCompact(String saplDefinition) {
+        return releaseNodeModel(parse(saplDefinition));
+    }
+
+    /**
+     * Detaches the Xtext node model from a validated document. The node model holds
+     * the complete source text and a node per token and usually dominates the
+     * memory footprint of a parsed document. Evaluation only requires the semantic
+     * model.
+     */
+    private static SAPL releaseNodeModel(SAPL sapl) {
+        sapl.eAdapters().removeIf(INode.class::isInstance);
+        sapl.eAllContents().forEachRemaining(element -> element.eAdapters().removeIf(INode.class::isInstance));
+        if (sapl.eResource() instanceof XtextResource resource) {
+            resource.setParseResult(null);
+        }
+        return sapl;
+    }
+
     private String composeReason(String s) {
         return String.format("SAPL Validation Error: [%s]", s);
     }
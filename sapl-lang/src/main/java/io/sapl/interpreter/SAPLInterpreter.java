@@ -50,6 +50,22 @@ public interface SAPLInterpreter {
      */
     SAPL parse(InputStream saplInputStream);
 
+    /**
+     * Parses a SAPL document like {@link #parse(String)}, but retains only what is
+     * required for evaluating the document. Implementations may release the
+     * concrete syntax tree and source text of the document after validation. Hence,
+     * documents parsed this way are suited for long-lived policy repositories but
+     * not for tooling relying on source positions, like coverage reporting. Such
+     * tooling should parse the source again.
+     *
+     * @param saplDefinition a String containing a SAPL document
+     * @return A compact parse tree of the document @ in case an error occurs during
+     *         parsing. This may be either a syntax error or an IO error.
+     */
+    default SAPL parseCompact(String saplDefinition) {
+        return parse(saplDefinition);
+    }
+
     /**
      * Convenience method for unit tests which evaluates a String representing a
      * SAPL document (containing a policy set or policy) against an authorization
@@ -23,6 +23,10 @@
 import static io.sapl.interpreter.combinators.PolicyDocumentCombiningAlgorithm.PERMIT_UNLESS_DENY;
 
 import io.sapl.grammar.sapl.CombiningAlgorithm;
+import io.sapl.grammar.sapl.DenyOverridesCombiningAlgorithm;
+import io.sapl.grammar.sapl.OnlyOneApplicableCombiningAlgorithm;
+import io.sapl.grammar.sapl.PermitOverridesCombiningAlgorithm;
+import io.sapl.grammar.sapl.PermitUnlessDenyCombiningAlgorithm;
 import io.sapl.grammar.sapl.impl.DenyOverridesCombiningAlgorithmImplCustom;
 import io.sapl.grammar.sapl.impl.DenyUnlessPermitCombiningAlgorithmImplCustom;
 import io.sapl.grammar.sapl.impl.OnlyOneApplicableCombiningAlgorithmImplCustom;
@@ -52,4 +56,17 @@ public static CombiningAlgorithm getCombiningAlgorithm(PolicyDocumentCombiningAl
         return DENY_UNLESS_PERMIT_ALGORITHM;
     }
 
+    public static PolicyDocumentCombiningAlgorithm getPolicyDocumentCombiningAlgorithm(CombiningAlgorithm algorithm) {
+        if (algorithm instanceof PermitUnlessDenyCombiningAlgorithm)
+            return PERMIT_UNLESS_DENY;
+        if (algorithm instanceof PermitOverridesCombiningAlgorithm)
+            return PERMIT_OVERRIDES;
+        if (algorithm instanceof DenyOverridesCombiningAlgorithm)
+            return DENY_OVERRIDES;
+        if (algorithm instanceof OnlyOneApplicableCombiningAlgorithm)
+            return ONLY_ONE_APPLICABLE;
+
+        return PolicyDocumentCombiningAlgorithm.DENY_UNLESS_PERMIT;
+    }
+
 }
@@ -27,6 +27,10 @@
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.Temporal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import io.sapl.api.interpreter.PolicyEvaluationException;
 import io.sapl.api.interpreter.Val;
@@ -37,6 +41,17 @@
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 
+/**
+ * Policy Information Point for time based attributes.
+ * <p>
+ * Subscriptions to the same attribute with the same parameters share one timer.
+ * The update ticks of {@code now} are multicast per update interval and the
+ * state changes of the checkpoint and interval attributes are scheduled once
+ * per distinct checkpoint or interval. Thus, the number of scheduled tasks only
+ * depends on the number of distinct parameters in use and not on the number of
+ * open subscriptions. Timers are stopped as soon as the last subscriber
+ * cancels.
+ */
 @RequiredArgsConstructor
 @PolicyInformationPoint(name = TimePolicyInformationPoint.NAME, description = TimePolicyInformationPoint.DESCRIPTION)
 public class TimePolicyInformationPoint {
@@ -50,8 +65,14 @@ public class TimePolicyInformationPoint {
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME
             .withZone(ZoneId.from(ZoneOffset.UTC));
 
+    private record SharedStateKey(String attribute, Object first, Object second) {
+    }
+
     private final Clock clock;
 
+    private final Map<Duration, Flux<Instant>>       sharedTicks  = new ConcurrentHashMap<>();
+    private final Map<SharedStateKey, Flux<Boolean>> sharedStates = new ConcurrentHashMap<>();
+
     @EnvironmentAttribute(docs = "Emits the current date and time as an ISO8601 String in UTC. The first time is emitted instantly. After that the time is updated once every second.")
     public Flux<Val> now() {
         return now(DEFAULT_UPDATE_INTERVAL_IN_MS);
@@ -69,17 +90,50 @@ public Flux<Val> now(@Number Val updateIntervalInMillis) {
 
     private Duration valMsToNonZeroDuration(Val val) {
         var duration = Duration.ofMillis(val.getLong());
-        if (duration.isZero())
-            throw new PolicyEvaluationException("Time update interval must not be zero.");
+        if (duration.isZero() || duration.isNegative())
+            throw new PolicyEvaluationException("Time update interval must be greater than zero.");
         return duration;
     }
 
     private Flux<Instant> instantNow(Duration pollIntervalInMillis) {
         var first     = Flux.just(clock.instant());
-        var following = Flux.just(0).repeat().delayElements(pollIntervalInMillis).map(tick -> clock.instant());
+        var following = sharedTicks.computeIfAbsent(pollIntervalInMillis, this::newSharedTicks);
         return Flux.concat(first, following);
     }
 
+    /**
+     * Creates one tick source per update interval. Late subscribers do not get a
+     * replayed tick, as they emit the current time upon subscription anyway.
+     */
+    private Flux<Instant> newSharedTicks(Duration pollIntervalInMillis) {
+        var shared = new AtomicReference<Flux<Instant>>();
+        shared.set(Flux.defer(() -> Flux.interval(pollIntervalInMillis)).map(tick -> clock.instant())
+                .doFinally(signal -> sharedTicks.remove(pollIntervalInMillis, shared.get())).publish().refCount());
+        return shared.get();
+    }
+
+    /**
+     * Multicasts the state changes of an attribute to all subscribers with the same
+     * parameters. The state changes only depend on the current time. Hence, late
+     * subscribers receive the current state and the same upcoming changes.
+     */
+    private Flux<Boolean> sharedState(SharedStateKey key, Supplier<Flux<Boolean>> states) {
+        return sharedStates.computeIfAbsent(key, k -> newSharedState(k, states));
+    }
+
+    private Flux<Boolean> newSharedState(SharedStateKey key, Supplier<Flux<Boolean>> states) {
+        var shared = new AtomicReference<Flux<Boolean>>();
+        shared.set(Flux.defer(states).doFinally(signal -> sharedStates.remove(key, shared.get())).replay(1).refCount());
+        return shared.get();
+    }
+
+    /**
+     * @return the number of currently running tick sources and state streams.
+     */
+    int sharedTimers() {
+        return sharedTicks.size() + sharedStates.size();
+    }
+
     @EnvironmentAttribute(docs = "Returns the system default time-zone.")
     public Flux<Val> systemTimeZone() {
         return Val.fluxOf(ZoneId.systemDefault().toString());
@@ -96,7 +150,8 @@ public Flux<Val> localTimeIsAfter(@Text Val checkpoint) {
     }
 
     private Flux<Boolean> localTimeIsAfter(LocalTime checkpoint) {
-        return localTimeIsAfter(localTimeUtc(), checkpoint);
+        return sharedState(new SharedStateKey("localTimeIsAfter", checkpoint, null),
+                () -> localTimeIsAfter(localTimeUtc(), checkpoint));
     }
 
     private LocalTime localTimeUtc() {
@@ -136,7 +191,8 @@ private Flux<Boolean> afterCheckpointEventsFollowingDays(LocalTime checkpoint) {
     public Flux<Val> localTimeIsBetween(@Text Val startTime, @Text Val endTime) {
         var localStartTime = LocalTime.parse(startTime.getText());
         var localEndTime   = LocalTime.parse(endTime.getText());
-        return nowIsBetween(localStartTime, localEndTime).map(Val::of);
+        return sharedState(new SharedStateKey("localTimeIsBetween", localStartTime, localEndTime),
+                () -> nowIsBetween(localStartTime, localEndTime)).map(Val::of);
     }
 
     private Flux<Boolean> nowIsBetween(LocalTime t1, LocalTime t2) {
@@ -212,11 +268,12 @@ private Instant valToInstant(Val val) {
     }
 
     private Flux<Boolean> nowIsAfter(Instant anInstant) {
-        return isAfter(anInstant, clock.instant());
+        return sharedState(new SharedStateKey("nowIsAfter", anInstant, null),
+                () -> isAfter(anInstant, clock.instant()));
     }
 
     private Flux<Boolean> nowIsBefore(Instant anInstant) {
-        return isAfter(anInstant, clock.instant()).map(this::negate);
+        return nowIsAfter(anInstant).map(this::negate);
     }
 
     private Flux<Boolean> isAfter(Instant instantA, Instant instantB) {
@@ -235,6 +292,10 @@ public Flux<Val> nowIsBetween(@Text Val startTime, @Text Val endTime) {
     }
 
     public Flux<Boolean> nowIsBetween(Instant start, Instant end) {
+        return sharedState(new SharedStateKey("nowIsBetween", start, end), () -> instantIsBetween(start, end));
+    }
+
+    private Flux<Boolean> instantIsBetween(Instant start, Instant end) {
         var now = clock.instant();
         if (now.isAfter(end))
             return Flux.just(Boolean.FALSE);
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pip.http;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.sapl.api.interpreter.Val;
+
+/**
+ * Bounded cache of HTTP responses shared by all polling subscriptions of a
+ * {@link ReactiveWebClient}. It honors the Cache-Control directives max-age,
+ * no-cache, and no-store, and retains the ETag and Last-Modified validators for
+ * conditional requests. Once the maximum size is reached, the least recently
+ * used responses are evicted.
+ *
+ * @param <K> type of the request key
+ */
+class HttpResponseCache<K> {
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE  = "max-age=";
+
+    private final Clock                    clock;
+    private final Cache<K, CachedResponse> responses;
+
+    HttpResponseCache(int maximumSize, Clock clock) {
+        this.clock     = clock;
+        this.responses = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * A cached value together with its validators.
+     *
+     * @param value        the parsed response body
+     * @param eTag         the entity tag, or null
+     * @param lastModified the Last-Modified header, or null
+     * @param freshUntil   the response may be used without revalidation before this
+     *                     instant
+     */
+    record CachedResponse(Val value, String eTag, String lastModified, Instant freshUntil) {
+
+        boolean isFresh(Instant now) {
+            return now.isBefore(freshUntil);
+        }
+
+        void addConditionalHeaders(HttpHeaders headers) {
+            if (eTag != null) {
+                headers.setIfNoneMatch(eTag);
+            }
+            if (lastModified != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+
+    }
+
+    Instant now() {
+        return clock.instant();
+    }
+
+    CachedResponse get(K key) {
+        return responses.getIfPresent(key);
+    }
+
+    long size() {
+        responses.cleanUp();
+        return responses.size();
+    }
+
+    /**
+     * Stores a freshly received response. Responses that are neither fresh for some
+     * time nor carry validators are not cached.
+     *
+     * @param key             the request key
+     * @param value           the parsed response body
+     * @param responseHeaders the headers of the response
+     */
+    void store(K key, Val value, HttpHeaders responseHeaders) {
+        var maxAge = maxAge(responseHeaders.getCacheControl());
+        if (maxAge == null) {
+            responses.invalidate(key);
+            return;
+        }
+        var eTag         = responseHeaders.getETag();
+        var lastModified = responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (maxAge.isZero() && eTag == null && lastModified == null) {
+            responses.invalidate(key);
+            return;
+        }
+        responses.put(key, new CachedResponse(value, eTag, lastModified, now().plus(maxAge)));
+    }
+
+    /**
+     * Updates the freshness of a cached response after the server answered a
+     * conditional request with 304 Not Modified.
+     *
+     * @param key             the request key
+     * @param cached          the revalidated response
+     * @param responseHeaders the headers of the 304 response
+     */
+    void revalidated(K key, CachedResponse cached, HttpHeaders responseHeaders) {
+        var maxAge = maxAge(responseHeaders.getCacheControl());
+        if (maxAge == null) {
+            responses.invalidate(key);
+            return;
+        }
+        var eTag = responseHeaders.getETag() != null ? responseHeaders.getETag() : cached.eTag();
+        responses.put(key, new CachedResponse(cached.value(), eTag, cached.lastModified(), now().plus(maxAge)));
+    }
+
+    /**
+     * @param cacheControl the Cache-Control header value, or null
+     * @return the duration the response stays fresh, or null if it must not be
+     *         stored at all
+     */
+    static Duration maxAge(String cacheControl) {
+        if (cacheControl == null) {
+            return Duration.ZERO;
+        }
+        var maxAge  = Duration.ZERO;
+        var noCache = false;
+        for (var directive : cacheControl.split(",")) {
+            var normalized = directive.trim().toLowerCase(Locale.ROOT);
+            if (NO_STORE.equals(normalized)) {
+                return null;
+            }
+            if (NO_CACHE.equals(normalized)) {
+                noCache = true;
+            } else if (normalized.startsWith(MAX_AGE)) {
+                try {
+                    maxAge = Duration.ofSeconds(Math.max(0L, Long.parseLong(normalized.substring(MAX_AGE.length()))));
+                } catch (NumberFormatException e) {
+                    noCache = true;
+                }
+            }
+        }
+        return noCache ? Duration.ZERO : maxAge;
+    }
+
+}
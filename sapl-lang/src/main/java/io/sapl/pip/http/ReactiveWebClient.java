@@ -18,18 +18,23 @@
 package io.sapl.pip.http;
 
 import java.net.URI;
+import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.RequestHeadersSpec;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -44,17 +49,33 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import io.sapl.api.interpreter.PolicyEvaluationException;
 import io.sapl.api.interpreter.Val;
-import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.core.publisher.Sinks.Many;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.retry.Repeat;
 
-@RequiredArgsConstructor
+/**
+ * Client used by the HTTP policy information point.
+ * <p>
+ * All requests share one pool of keep-alive connections. HTTP/2 is negotiated
+ * for HTTPS connections where the server supports it. Identical requests, i.e.,
+ * with the same method, URL, headers, body, and polling schedule, are executed
+ * only once and their results are shared between all concurrent subscribers.
+ * <p>
+ * Polled GET requests honor HTTP caching. Responses are served from a bounded
+ * cache while fresh according to Cache-Control max-age. Afterwards, they are
+ * revalidated with If-None-Match or If-Modified-Since. A 304 Not Modified
+ * response does not produce a new value.
+ */
 public class ReactiveWebClient {
 
     static final String NO_BASE_URL_SPECIFIED_FOR_WEB_REQUEST_ERROR = "No base URL specified for web request.";
@@ -69,11 +90,53 @@ public class ReactiveWebClient {
     static final String CONTENT_MEDIATYPE                           = "contentType";
     static final long   DEFAULT_POLLING_INTERVALL_MS                = 1000L;
     static final long   DEFAULT_REPETITIONS                         = Long.MAX_VALUE;
+    static final int    DEFAULT_MAX_CONNECTIONS                     = 500;
+    static final int    MAX_CACHED_CLIENTS                          = 256;
+    static final int    MAX_CACHED_RESPONSES                        = 1000;
 
     private static final JsonNodeFactory JSON             = JsonNodeFactory.instance;
     private static final TextNode        APPLICATION_JSON = JSON.textNode(MediaType.APPLICATION_JSON.toString());
 
-    private final ObjectMapper mapper;
+    private static final Consumer<HttpHeaders> NO_CONDITIONS = headers -> {
+    };
+
+    private static final ConnectionProvider DEFAULT_CONNECTION_PROVIDER = ConnectionProvider.builder("sapl-http-pip")
+            .maxConnections(DEFAULT_MAX_CONNECTIONS).maxIdleTime(Duration.ofSeconds(30))
+            .evictInBackground(Duration.ofSeconds(60)).build();
+
+    private final ObjectMapper                  mapper;
+    private final HttpClient                    httpClient;
+    private final HttpClient                    secureHttpClient;
+    private final Cache<String, WebClient>      webClients       = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_CLIENTS).build();
+    private final Map<RequestKey, Flux<Val>>    inFlightRequests = new ConcurrentHashMap<>();
+    private final HttpResponseCache<RequestKey> responseCache;
+
+    /**
+     * Creates a client using a connection pool shared by all instances.
+     *
+     * @param mapper the ObjectMapper
+     */
+    public ReactiveWebClient(ObjectMapper mapper) {
+        this(mapper, DEFAULT_CONNECTION_PROVIDER);
+    }
+
+    /**
+     * Creates a client using the given connection pool.
+     *
+     * @param mapper             the ObjectMapper
+     * @param connectionProvider the pool providing keep-alive connections
+     */
+    public ReactiveWebClient(ObjectMapper mapper, ConnectionProvider connectionProvider) {
+        this(mapper, connectionProvider, Clock.systemUTC());
+    }
+
+    ReactiveWebClient(ObjectMapper mapper, ConnectionProvider connectionProvider, Clock clock) {
+        this.mapper           = mapper;
+        this.httpClient       = HttpClient.create(connectionProvider).keepAlive(true);
+        this.secureHttpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        this.responseCache    = new HttpResponseCache<>(MAX_CACHED_RESPONSES, clock);
+    }
 
     /**
      * <p>
@@ -96,32 +159,67 @@ public Flux<Val> httpRequest(HttpMethod method, Val requestSettings) {
         var contentType        = toMediaType(requestSettings.fieldJsonNodeOrElse(CONTENT_MEDIATYPE, APPLICATION_JSON));
         var body               = requestSettings.fieldJsonNodeOrElse(BODY, (JsonNode) null);
 
-        // @formatter:off
-        var spec = WebClient.builder()
-                            .baseUrl(baseUrl).build()
-                            .method(method)
-                            .uri(u -> setUrlParams(u, urlParameters).path(path).build())
-                            .headers(h -> setHeaders(h,requestHeaders))
-                            .accept(accept);
-        // @formatter:on
+        var key = new RequestKey(method, baseUrl, path, urlParameters, requestHeaders, body, accept, contentType,
+                pollingIntervallMs, repetitions);
+        return sharedRequest(key);
+    }
 
-        RequestHeadersSpec<?> client = spec;
-        if (method != HttpMethod.GET && body != null) {
-            client = spec.contentType(contentType).bodyValue(body);
-        }
+    private Flux<Val> sharedRequest(RequestKey key) {
+        return inFlightRequests.computeIfAbsent(key, this::newSharedRequest);
+    }
 
-        switch (accept.toString()) {
+    /**
+     * The request and its polling schedule run once for all subscribers. Late
+     * subscribers immediately receive the latest result. The request is cancelled
+     * when the last subscriber cancels.
+     */
+    private Flux<Val> newSharedRequest(RequestKey key) {
+        var shared = new AtomicReference<Flux<Val>>();
+        shared.set(Flux.defer(() -> executeRequest(key)).doFinally(signal -> inFlightRequests.remove(key, shared.get()))
+                .replay(1).refCount());
+        return shared.get();
+    }
+
+    private Flux<Val> executeRequest(RequestKey key) {
+        switch (key.accept().toString()) {
         case MediaType.TEXT_EVENT_STREAM_VALUE:
-            return retrieveSSE(client).map(Val::of).onErrorResume(this::mapError);
+            return retrieveSSE(requestSpec(key, NO_CONDITIONS)).map(Val::of).onErrorResume(this::mapError);
         case MediaType.APPLICATION_JSON_VALUE:
-            return poll(exchangeToMono(JsonNode.class, client).map(Val::of).onErrorResume(this::mapError),
-                    pollingIntervallMs, repetitions);
+            return poll(key, JsonNode.class);
         default:
-            return poll(exchangeToMono(String.class, client).map(Val::of).onErrorResume(this::mapError),
-                    pollingIntervallMs, repetitions);
+            return poll(key, String.class);
         }
     }
 
+    private RequestHeadersSpec<?> requestSpec(RequestKey key, Consumer<HttpHeaders> conditionalHeaders) {
+        // @formatter:off
+        var spec = webClient(key.baseUrl())
+                            .method(key.method())
+                            .uri(u -> setUrlParams(u, key.urlParameters()).path(key.path()).build())
+                            .headers(h -> {
+                                setHeaders(h, key.headers());
+                                conditionalHeaders.accept(h);
+                            })
+                            .accept(key.accept());
+        // @formatter:on
+
+        if (key.method() != HttpMethod.GET && key.body() != null) {
+            return spec.contentType(key.contentType()).bodyValue(key.body());
+        }
+        return spec;
+    }
+
+    /**
+     * Base URLs may be computed by policies. Hence, the number of cached clients is
+     * bounded and the least recently used ones are evicted.
+     */
+    private WebClient webClient(String baseUrl) {
+        return webClients.asMap().computeIfAbsent(baseUrl, url -> {
+            var client = url.regionMatches(true, 0, "https:", 0, 6) ? secureHttpClient : httpClient;
+            return WebClient.builder().baseUrl(url).clientConnector(new ReactorClientHttpConnector(client)).build();
+        });
+    }
+
     /**
      * @param requestSettings the request specification
      * @return a Flux of incoming messages
@@ -132,7 +230,7 @@ public Flux<Val> consumeWebSocket(Val requestSettings) {
         var requestHeaders = requestSettings.fieldJsonNodeOrElse(HEADERS, JSON::objectNode);
         var uri            = URI.create(baseUrl + path);
         var body           = requestSettings.fieldJsonNodeOrElse(BODY, (JsonNode) null);
-        var client         = new ReactorNettyWebSocketClient();
+        var client         = new ReactorNettyWebSocketClient(httpClient);
 
         var headers = new HttpHeaders();
         setHeaders(headers, requestHeaders);
@@ -199,16 +297,54 @@ private Flux<JsonNode> retrieveSSE(RequestHeadersSpec<?> client) {
         return client.retrieve().bodyToFlux(type).map(ServerSentEvent::data);
     }
 
-    private Flux<Val> poll(Mono<Val> in, long pollingInterval, long repeatTimes) {
-        return in.repeatWhen((Repeat.times(repeatTimes - 1).fixedBackoff(Duration.ofMillis(pollingInterval))));
+    private <T> Flux<Val> poll(RequestKey key, Class<T> clazz) {
+        var lastEmitted = new AtomicReference<Val>();
+        var next        = Mono.defer(() -> nextValue(key, clazz, lastEmitted.get())).onErrorResume(this::mapError)
+                .doOnNext(lastEmitted::set);
+        return next.repeatWhen(
+                (Repeat.times(key.repetitions() - 1).fixedBackoff(Duration.ofMillis(key.pollingIntervalMs()))));
+    }
+
+    /**
+     * Fetches the next value of a polled resource. For GET requests, a fresh cached
+     * response is used without contacting the server and a stale one is revalidated
+     * with a conditional request. If the resource did not change since the last
+     * value emitted to this subscription, no value is produced.
+     */
+    private <T> Mono<Val> nextValue(RequestKey key, Class<T> clazz, Val lastEmitted) {
+        if (key.method() != HttpMethod.GET) {
+            return requestSpec(key, NO_CONDITIONS).exchangeToMono(response -> readBody(response, clazz));
+        }
+        var cacheKey = key.withoutSchedule();
+        var cached   = responseCache.get(cacheKey);
+        if (cached != null && cached.isFresh(responseCache.now())) {
+            return unlessAlreadyEmitted(cached.value(), lastEmitted);
+        }
+        var conditions = cached == null ? NO_CONDITIONS : (Consumer<HttpHeaders>) cached::addConditionalHeaders;
+        return requestSpec(key, conditions).exchangeToMono(response -> {
+            var responseHeaders = response.headers().asHttpHeaders();
+            if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                responseCache.revalidated(cacheKey, cached, responseHeaders);
+                return response.releaseBody().then(unlessAlreadyEmitted(cached.value(), lastEmitted));
+            }
+            return readBody(response, clazz).doOnNext(value -> responseCache.store(cacheKey, value, responseHeaders));
+        });
+    }
+
+    private static Mono<Val> unlessAlreadyEmitted(Val value, Val lastEmitted) {
+        return value == lastEmitted ? Mono.empty() : Mono.just(value);
     }
 
-    private <T> Mono<T> exchangeToMono(Class<T> clazz, RequestHeadersSpec<?> in) {
-        return in.retrieve()
-                .onStatus(HttpStatusCode::isError,
-                        clientResponse -> clientResponse.createException()
-                                .flatMap(error -> Mono.error(new PolicyEvaluationException(error.getMessage()))))
-                .bodyToMono(clazz);
+    private <T> Mono<Val> readBody(ClientResponse response, Class<T> clazz) {
+        if (response.statusCode().isError()) {
+            return response.createException()
+                    .flatMap(error -> Mono.error(new PolicyEvaluationException(error.getMessage())));
+        }
+        return response.bodyToMono(clazz).map(this::toVal);
+    }
+
+    private Val toVal(Object body) {
+        return body instanceof JsonNode json ? Val.of(json) : Val.of((String) body);
     }
 
     private Mono<Val> mapError(Throwable e) {
@@ -239,4 +375,18 @@ private Mono<Void> listenAndSendEventsToSink(WebSocketSession session, Many<Val>
         }).then();
     }
 
+    private record RequestKey(HttpMethod method, String baseUrl, String path, Map<String, String> urlParameters,
+            JsonNode headers, JsonNode body, MediaType accept, MediaType contentType, long pollingIntervalMs,
+            long repetitions) {
+
+        /**
+         * @return the key identifying the requested resource independent of the polling
+         *         schedule
+         */
+        RequestKey withoutSchedule() {
+            return new RequestKey(method, baseUrl, path, urlParameters, headers, body, accept, contentType, 0L, 0L);
+        }
+
+    }
+
 }
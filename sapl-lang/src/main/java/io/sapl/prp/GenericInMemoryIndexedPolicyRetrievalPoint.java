@@ -17,13 +17,39 @@
  */
 package io.sapl.prp;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
 import io.sapl.prp.index.ImmutableParsedDocumentIndex;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
+/**
+ * Policy retrieval point keeping an immutable index of the documents, which is
+ * replaced on every update of the documents.
+ * <p>
+ * One-shot retrievals read the current index snapshot from an atomic reference.
+ * Streaming retrievals are re-evaluated whenever the index changes. To avoid
+ * all open streams re-evaluating at once after a policy deployment,
+ * re-evaluations are started in batches of a configurable size per interval. A
+ * stream only emits a new result, if the matching documents changed.
+ */
 public class GenericInMemoryIndexedPolicyRetrievalPoint implements PolicyRetrievalPoint, Disposable {
 
-    private final Flux<ImmutableParsedDocumentIndex> index;
+    private record IndexGeneration(long generation, ImmutableParsedDocumentIndex index) {
+    }
+
+    public static final int DEFAULT_REEVALUATION_BATCH_SIZE = 1_000;
+
+    public static final Duration DEFAULT_REEVALUATION_BATCH_INTERVAL = Duration.ofMillis(100L);
+
+    private final Flux<IndexGeneration> index;
+
+    private final ReevaluationRateLimiter reevaluationRateLimiter;
+
+    private final AtomicReference<ImmutableParsedDocumentIndex> currentIndex = new AtomicReference<>();
 
     private final Disposable indexSubscription;
 
@@ -31,16 +57,60 @@ public class GenericInMemoryIndexedPolicyRetrievalPoint implements PolicyRetriev
 
     public GenericInMemoryIndexedPolicyRetrievalPoint(ImmutableParsedDocumentIndex seedIndex,
             PrpUpdateEventSource eventSource) {
-        this.eventSource = eventSource;
-        index            = Flux.from(eventSource.getUpdates()).scan(seedIndex, ImmutableParsedDocumentIndex::apply)
-                .skip(1L).share().cache(1);
+        this(seedIndex, eventSource, DEFAULT_REEVALUATION_BATCH_SIZE, DEFAULT_REEVALUATION_BATCH_INTERVAL);
+    }
+
+    /**
+     * @param seedIndex                 the initial, empty index
+     * @param eventSource               the source of document updates
+     * @param reevaluationBatchSize     number of streaming retrievals re-evaluated
+     *                                  per batch interval after an update
+     * @param reevaluationBatchInterval interval between batches of re-evaluations,
+     *                                  zero disables the limit
+     */
+    public GenericInMemoryIndexedPolicyRetrievalPoint(ImmutableParsedDocumentIndex seedIndex,
+            PrpUpdateEventSource eventSource, int reevaluationBatchSize, Duration reevaluationBatchInterval) {
+        this.eventSource             = eventSource;
+        this.reevaluationRateLimiter = new ReevaluationRateLimiter(reevaluationBatchSize, reevaluationBatchInterval);
+        this.index                   = Flux.from(eventSource.getUpdates())
+                .scan(seedIndex, ImmutableParsedDocumentIndex::apply).skip(1L).index(IndexGeneration::new).share()
+                .cache(1);
         // initial subscription, so that the index starts building upon startup
-        indexSubscription = Flux.from(index).subscribe();
+        indexSubscription = Flux.from(index).map(IndexGeneration::index).subscribe(currentIndex::set);
     }
 
     @Override
     public Flux<PolicyRetrievalResult> retrievePolicies() {
-        return Flux.from(index).flatMap(ImmutableParsedDocumentIndex::retrievePolicies);
+        return Flux.from(index).index().switchMap(indexed -> {
+            var snapshot = indexed.getT2().index();
+            if (indexed.getT1() == 0L)
+                return snapshot.retrievePolicies();
+            var delay = reevaluationRateLimiter.nextDelay(indexed.getT2().generation());
+            if (delay.isZero())
+                return snapshot.retrievePolicies();
+            // a newer index cancels the pending re-evaluation
+            return Mono.delay(delay).then(Mono.defer(snapshot::retrievePolicies));
+        }).distinctUntilChanged();
+    }
+
+    @Override
+    public Mono<PolicyRetrievalResult> retrievePoliciesOnce() {
+        var snapshot = currentIndex.get();
+        if (snapshot == null)
+            return Flux.from(index).next().flatMap(generation -> generation.index().retrievePolicies());
+        return snapshot.retrievePolicies();
+    }
+
+    @Override
+    public Flux<Long> policyUpdates() {
+        return Flux.from(index).index().map(Tuple2::getT1);
+    }
+
+    @Override
+    public Mono<Void> ready() {
+        if (currentIndex.get() != null)
+            return Mono.empty();
+        return Flux.from(index).next().then();
     }
 
     @Override
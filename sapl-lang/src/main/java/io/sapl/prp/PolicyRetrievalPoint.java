@@ -18,6 +18,7 @@
 package io.sapl.prp;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * A policy retrieval point is responsible for selecting all the policies
@@ -37,6 +38,37 @@ public interface PolicyRetrievalPoint {
      */
     Flux<PolicyRetrievalResult> retrievePolicies();
 
+    /**
+     * Returns the policy retrieval result for the current state of the policies. In
+     * contrast to {@link #retrievePolicies()}, later changes of the policies are
+     * not reported.
+     *
+     * @return a {@link Mono} providing the policy retrieval result containing all
+     *         currently matching policies or policy sets.
+     */
+    default Mono<PolicyRetrievalResult> retrievePoliciesOnce() {
+        return retrievePolicies().next();
+    }
+
+    /**
+     * @return a {@link Flux} emitting a consecutive number whenever the policies
+     *         have changed. The current state is signalled upon subscription. Never
+     *         emits, if the policies cannot change.
+     */
+    default Flux<Long> policyUpdates() {
+        return Flux.never();
+    }
+
+    /**
+     * @return a {@link Mono} completing as soon as the initial set of policies has
+     *         been loaded and indexed and policies can be retrieved. Policy
+     *         retrieval points loading their policies asynchronously may use this
+     *         as a readiness signal.
+     */
+    default Mono<Void> ready() {
+        return Mono.empty();
+    }
+
     /**
      * Release all claimed resources
      */
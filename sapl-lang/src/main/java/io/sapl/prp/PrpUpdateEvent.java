@@ -49,7 +49,8 @@ public Update[] getUpdates() {
      * This contains the raw document and a custom equals method to eliminate
      * duplicate update events. E.g. file creation may lead to two subsequent
      * identical publish events without the .distinctUntilChanged() making use of
-     * the {@code equals} method of this class.
+     * the {@code equals} method of this class. The parsed document itself is not
+     * compared, but its name is, as withdrawals may not carry the raw document.
      */
     @Value
     public static class Update {
@@ -61,10 +62,16 @@ public static class Update {
 
         String rawDocument;
 
+        @EqualsAndHashCode.Include
+        private String documentName() {
+            return document != null ? document.getPolicyElement().getSaplName() : null;
+        }
+
         @Override
         public String toString() {
+            var documentName = documentName();
             return "Update(type=" + type + ", documentName="
-                    + (document != null ? "'" + document.getPolicyElement().getSaplName() + "'" : "NULL POLICY") + ")";
+                    + (documentName != null ? "'" + documentName + "'" : "NULL POLICY") + ")";
         }
 
     }
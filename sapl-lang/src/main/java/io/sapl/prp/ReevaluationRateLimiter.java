@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Spreads the re-evaluation of streaming subscriptions after a policy update
+ * over time. Up to one batch of re-evaluations starts immediately, further
+ * re-evaluations are delayed so that at most one batch starts per batch
+ * interval.
+ * <p>
+ * Implements the generic cell rate algorithm on a single atomic timestamp, so
+ * callers never block each other. The schedule starts over with every index
+ * generation. Re-evaluations pending for an outdated generation are cancelled
+ * and must not delay the re-evaluations of the current one. Hence, the
+ * re-evaluation of n streams after an update is delayed by at most n divided by
+ * the batch size times the batch interval.
+ */
+class ReevaluationRateLimiter {
+
+    private record Schedule(long generation, long theoreticalArrivalTime) {
+    }
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<Schedule> schedule = new AtomicReference<>(new Schedule(Long.MIN_VALUE, 0L));
+
+    /**
+     * Creates a limiter using the clock of the scheduler the delayed re-evaluations
+     * run on.
+     *
+     * @param batchSize     number of re-evaluations started per batch interval
+     * @param batchInterval interval between batches, zero disables the limit
+     */
+    ReevaluationRateLimiter(int batchSize, Duration batchInterval) {
+        this(batchSize, batchInterval, () -> Schedulers.parallel().now(TimeUnit.NANOSECONDS));
+    }
+
+    ReevaluationRateLimiter(int batchSize, Duration batchInterval, LongSupplier nanoClock) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Re-evaluation batch size must be positive, but was " + batchSize);
+        if (batchInterval.isNegative())
+            throw new IllegalArgumentException("Re-evaluation batch interval must not be negative.");
+        this.emissionIntervalNanos = batchInterval.toNanos() / batchSize;
+        this.burstToleranceNanos   = batchInterval.toNanos() - emissionIntervalNanos;
+        this.nanoClock             = nanoClock;
+    }
+
+    /**
+     * Reserves a slot for one re-evaluation of an index generation. The first
+     * reservation for a newer generation discards the slots reserved for older
+     * ones. Reservations for an older generation are not delayed, as their
+     * re-evaluation is about to be replaced anyway.
+     *
+     * @param generation the index generation to re-evaluate
+     * @return how long the re-evaluation has to wait for its slot
+     */
+    Duration nextDelay(long generation) {
+        var now = nanoClock.getAsLong();
+        while (true) {
+            var current = schedule.get();
+            if (generation < current.generation())
+                return Duration.ZERO;
+            var arrivalTime = generation == current.generation() ? current.theoreticalArrivalTime() : now;
+            var nextArrival = Math.max(arrivalTime, now) + emissionIntervalNanos;
+            if (schedule.compareAndSet(current, new Schedule(generation, nextArrival)))
+                return Duration.ofNanos(Math.max(0L, arrivalTime - burstToleranceNanos - now));
+        }
+    }
+
+}
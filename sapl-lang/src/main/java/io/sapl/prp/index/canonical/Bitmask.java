@@ -17,76 +17,253 @@
  */
 package io.sapl.prp.index.canonical;
 
-import java.util.BitSet;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 import com.google.common.base.Preconditions;
 
+import io.sapl.prp.index.canonical.BitmaskContainer.ArrayContainer;
+import io.sapl.prp.index.canonical.BitmaskContainer.RunContainer;
+
+/**
+ * Compressed set of bits in the style of Roaring bitmaps. The bit indexes are
+ * split into chunks of 2^16 bits, each chunk containing at least one set bit is
+ * stored in a {@link BitmaskContainer}. Depending on its density, a chunk is
+ * stored as sorted array, dense bitmap or list of runs. Thus, sparse predicate
+ * masks and the mostly contiguous candidate masks of the canonical index only
+ * need a fraction of the memory of a dense bit set.
+ */
 public class Bitmask {
 
-    private final BitSet impl;
+    private static final int CHUNK_BITS = 16;
+
+    private static final int LOW_BITS_MASK = BitmaskContainer.CAPACITY - 1;
+
+    // sorted upper 16 bits of the chunks with at least one set bit
+    private char[] keys;
+
+    private BitmaskContainer[] containers;
+
+    private int size;
 
-    // force initial capacity?
     public Bitmask() {
-        impl = new BitSet();
+        keys       = new char[0];
+        containers = new BitmaskContainer[0];
     }
 
     public Bitmask(final Bitmask mask) {
-        impl = (BitSet) mask.impl.clone();
+        keys       = Arrays.copyOf(mask.keys, mask.size);
+        containers = new BitmaskContainer[mask.size];
+        for (int i = 0; i < mask.size; i++)
+            containers[i] = mask.containers[i].copy();
+        size = mask.size;
     }
 
     public void and(Bitmask mask) {
-        impl.and(mask.impl);
+        var newSize = 0;
+        int j       = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < mask.size && mask.keys[j] < keys[i])
+                j++;
+            if (j < mask.size && mask.keys[j] == keys[i])
+                newSize = retain(newSize, keys[i], containers[i].and(mask.containers[j]).optimize());
+        }
+        truncate(newSize);
     }
 
     public void andNot(Bitmask mask) {
-        impl.andNot(mask.impl);
+        var newSize = 0;
+        int j       = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < mask.size && mask.keys[j] < keys[i])
+                j++;
+            if (j < mask.size && mask.keys[j] == keys[i])
+                newSize = retain(newSize, keys[i], containers[i].andNot(mask.containers[j]).optimize());
+            else
+                newSize = retain(newSize, keys[i], containers[i]);
+        }
+        truncate(newSize);
     }
 
     public void clear(int bitIndex) {
-        impl.clear(bitIndex);
+        checkIndex(bitIndex);
+        var index = indexOf(bitIndex >>> CHUNK_BITS);
+        if (index < 0)
+            return;
+        var container = containers[index].remove(bitIndex & LOW_BITS_MASK);
+        if (container.isEmpty())
+            removeAt(index);
+        else
+            containers[index] = container;
     }
 
     public void flip(int fromIndex, int toIndex) {
-        impl.flip(fromIndex, toIndex);
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        var firstKey = fromIndex >>> CHUNK_BITS;
+        var lastKey  = (toIndex - 1) >>> CHUNK_BITS;
+        for (int key = firstKey; key <= lastKey; key++) {
+            var from  = key == firstKey ? fromIndex & LOW_BITS_MASK : 0;
+            var to    = key == lastKey ? ((toIndex - 1) & LOW_BITS_MASK) + 1 : BitmaskContainer.CAPACITY;
+            var index = indexOf(key);
+            if (index < 0) {
+                index = insertAt(-index - 1, key, new ArrayContainer());
+            }
+            var container = containers[index].flip(from, to).optimize();
+            if (container.isEmpty())
+                removeAt(index);
+            else
+                containers[index] = container;
+        }
     }
 
     public boolean intersects(Bitmask mask) {
-        return impl.intersects(mask.impl);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < mask.size) {
+            if (keys[i] < mask.keys[j]) {
+                i++;
+            } else if (keys[i] > mask.keys[j]) {
+                j++;
+            } else {
+                if (containers[i].intersects(mask.containers[j]))
+                    return true;
+                i++;
+                j++;
+            }
+        }
+        return false;
     }
 
     public void or(Bitmask mask) {
-        impl.or(mask.impl);
+        var newKeys       = new char[size + mask.size];
+        var newContainers = new BitmaskContainer[size + mask.size];
+        int i             = 0;
+        int j             = 0;
+        int k             = 0;
+        while (i < size || j < mask.size) {
+            if (j >= mask.size || (i < size && keys[i] < mask.keys[j])) {
+                newKeys[k]       = keys[i];
+                newContainers[k] = containers[i++];
+            } else if (i >= size || keys[i] > mask.keys[j]) {
+                newKeys[k]       = mask.keys[j];
+                newContainers[k] = mask.containers[j++].copy();
+            } else {
+                newKeys[k]       = keys[i];
+                newContainers[k] = containers[i++].or(mask.containers[j++]).optimize();
+            }
+            k++;
+        }
+        keys       = newKeys;
+        containers = newContainers;
+        size       = k;
     }
 
     public void set(int bitIndex) {
-        impl.set(bitIndex);
+        checkIndex(bitIndex);
+        var key   = bitIndex >>> CHUNK_BITS;
+        var index = indexOf(key);
+        if (index < 0)
+            index = insertAt(-index - 1, key, new ArrayContainer());
+        containers[index] = containers[index].add(bitIndex & LOW_BITS_MASK);
     }
 
     public void set(int fromIndex, int toIndex) {
-        impl.set(fromIndex, toIndex);
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        var firstKey = fromIndex >>> CHUNK_BITS;
+        var lastKey  = (toIndex - 1) >>> CHUNK_BITS;
+        for (int key = firstKey; key <= lastKey; key++) {
+            var from  = key == firstKey ? fromIndex & LOW_BITS_MASK : 0;
+            var to    = key == lastKey ? ((toIndex - 1) & LOW_BITS_MASK) + 1 : BitmaskContainer.CAPACITY;
+            var index = indexOf(key);
+            if (index < 0)
+                index = insertAt(-index - 1, key, new RunContainer());
+            containers[index] = containers[index].addRange(from, to).optimize();
+        }
     }
 
     public int numberOfBitsSet() {
-        AtomicInteger numberOfBitsSets = new AtomicInteger();
-        forEachSetBit(index -> numberOfBitsSets.getAndIncrement());
-
-        return numberOfBitsSets.get();
+        var numberOfBitsSet = 0;
+        for (int i = 0; i < size; i++)
+            numberOfBitsSet += containers[i].cardinality();
+        return numberOfBitsSet;
     }
 
-    public void forEachSetBit(final Consumer<Integer> action) {
+    public void forEachSetBit(final IntConsumer action) {
         Preconditions.checkNotNull(action);
-        impl.stream().forEach(action::accept);
+        for (int i = 0; i < size; i++)
+            containers[i].forEach(keys[i] << CHUNK_BITS, action);
     }
 
     public boolean isSet(int bitIndex) {
-        return impl.get(bitIndex);
+        checkIndex(bitIndex);
+        var index = indexOf(bitIndex >>> CHUNK_BITS);
+        return index >= 0 && containers[index].contains(bitIndex & LOW_BITS_MASK);
     }
 
     @Override
     public String toString() {
-        return String.valueOf(impl.toString());
+        var builder = new StringBuilder("{");
+        forEachSetBit(index -> {
+            if (builder.length() > 1)
+                builder.append(", ");
+            builder.append(index);
+        });
+        return builder.append('}').toString();
+    }
+
+    private int indexOf(int key) {
+        return Arrays.binarySearch(keys, 0, size, (char) key);
+    }
+
+    private int insertAt(int index, int key, BitmaskContainer container) {
+        if (size == keys.length) {
+            var capacity = Math.max(4, 2 * size);
+            keys       = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index]       = (char) key;
+        containers[index] = container;
+        size++;
+        return index;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private int retain(int position, char key, BitmaskContainer container) {
+        if (container.isEmpty())
+            return position;
+        keys[position]       = key;
+        containers[position] = container;
+        return position + 1;
+    }
+
+    private void truncate(int newSize) {
+        Arrays.fill(containers, newSize, size, null);
+        size = newSize;
+    }
+
+    private static void checkIndex(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+    }
+
+    private static void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        if (toIndex < 0)
+            throw new IndexOutOfBoundsException("toIndex < 0: " + toIndex);
+        if (fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + " > toIndex: " + toIndex);
     }
 
 }
@@ -0,0 +1,723 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp.index.canonical;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A container holding the lower 16 bits of the bits set in one 2^16 wide chunk
+ * of a {@link Bitmask}. Depending on the density of the chunk, the bits are
+ * stored as a sorted array, as a dense bitmap or as a list of runs.
+ * <p>
+ * Binary operations may modify and return the container they are invoked on,
+ * but never modify or return the argument. Callers should replace the container
+ * with the returned one.
+ */
+abstract sealed class BitmaskContainer
+        permits BitmaskContainer.ArrayContainer, BitmaskContainer.BitmapContainer, BitmaskContainer.RunContainer {
+
+    static final int CAPACITY = 1 << 16;
+
+    // above this size, an array needs more memory than a bitmap
+    static final int MAX_ARRAY_SIZE = 4096;
+
+    private static final int BITMAP_WORDS = CAPACITY / Long.SIZE;
+
+    private static final int BITMAP_BYTES = CAPACITY / Byte.SIZE;
+
+    abstract boolean contains(int value);
+
+    abstract BitmaskContainer add(int value);
+
+    abstract BitmaskContainer remove(int value);
+
+    /**
+     * @param from inclusive lower bound
+     * @param to   exclusive upper bound
+     */
+    abstract BitmaskContainer addRange(int from, int to);
+
+    abstract int cardinality();
+
+    abstract int numberOfRuns();
+
+    abstract boolean intersectsRange(int from, int to);
+
+    abstract void forEach(int offset, IntConsumer action);
+
+    abstract BitmaskContainer copy();
+
+    abstract BitmaskContainer and(BitmaskContainer other);
+
+    abstract BitmaskContainer andNot(BitmaskContainer other);
+
+    abstract BitmaskContainer or(BitmaskContainer other);
+
+    abstract boolean intersects(BitmaskContainer other);
+
+    /**
+     * @return a new bitmap container holding the same bits
+     */
+    abstract BitmapContainer toBitmap();
+
+    BitmaskContainer flip(int from, int to) {
+        var bitmap = toBitmap();
+        bitmap.flipRange(from, to);
+        return bitmap;
+    }
+
+    boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    /**
+     * @return a container holding the same bits in the representation requiring the
+     *         least memory.
+     */
+    BitmaskContainer optimize() {
+        var cardinality = cardinality();
+        var runBytes    = 4 * numberOfRuns();
+        var arrayBytes  = 2 * cardinality;
+        if (runBytes < Math.min(arrayBytes, BITMAP_BYTES))
+            return this instanceof RunContainer ? this : toRun();
+        if (cardinality <= MAX_ARRAY_SIZE)
+            return this instanceof ArrayContainer ? this : toArray();
+        return this instanceof BitmapContainer ? this : toBitmap();
+    }
+
+    private ArrayContainer toArray() {
+        var result = new ArrayContainer(new char[cardinality()], 0);
+        forEach(0, value -> result.values[result.size++] = (char) value);
+        return result;
+    }
+
+    private RunContainer toRun() {
+        var result = new RunContainer(new char[2 * numberOfRuns()], 0);
+        forEach(0, value -> result.appendRun(value, value));
+        return result;
+    }
+
+    static final class ArrayContainer extends BitmaskContainer {
+
+        private char[] values;
+
+        private int size;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size   = size;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, (char) value) >= 0;
+        }
+
+        @Override
+        BitmaskContainer add(int value) {
+            var index = Arrays.binarySearch(values, 0, size, (char) value);
+            if (index >= 0)
+                return this;
+            if (size >= MAX_ARRAY_SIZE)
+                return toBitmap().add(value);
+            var insertionPoint = -index - 1;
+            if (size == values.length)
+                values = Arrays.copyOf(values, Math.max(4, Math.min(2 * size, MAX_ARRAY_SIZE)));
+            System.arraycopy(values, insertionPoint, values, insertionPoint + 1, size - insertionPoint);
+            values[insertionPoint] = (char) value;
+            size++;
+            return this;
+        }
+
+        @Override
+        BitmaskContainer remove(int value) {
+            var index = Arrays.binarySearch(values, 0, size, (char) value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        BitmaskContainer addRange(int from, int to) {
+            return toBitmap().addRange(from, to);
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        int numberOfRuns() {
+            var runs = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || values[i] != values[i - 1] + 1)
+                    runs++;
+            }
+            return runs;
+        }
+
+        @Override
+        boolean intersectsRange(int from, int to) {
+            var index = Arrays.binarySearch(values, 0, size, (char) from);
+            if (index >= 0)
+                return true;
+            var insertionPoint = -index - 1;
+            return insertionPoint < size && values[insertionPoint] < to;
+        }
+
+        @Override
+        void forEach(int offset, IntConsumer action) {
+            for (int i = 0; i < size; i++)
+                action.accept(offset | values[i]);
+        }
+
+        @Override
+        BitmaskContainer copy() {
+            return new ArrayContainer(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        BitmaskContainer and(BitmaskContainer other) {
+            return retain(other, true);
+        }
+
+        @Override
+        BitmaskContainer andNot(BitmaskContainer other) {
+            return retain(other, false);
+        }
+
+        private BitmaskContainer retain(BitmaskContainer other, boolean containedInOther) {
+            var newSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]) == containedInOther)
+                    values[newSize++] = values[i];
+            }
+            size = newSize;
+            return this;
+        }
+
+        @Override
+        BitmaskContainer or(BitmaskContainer other) {
+            if (!(other instanceof ArrayContainer array))
+                return other.toBitmap().or(this);
+
+            var merged = new char[size + array.size];
+            int i      = 0;
+            int j      = 0;
+            int k      = 0;
+            while (i < size && j < array.size) {
+                if (values[i] < array.values[j]) {
+                    merged[k++] = values[i++];
+                } else if (values[i] > array.values[j]) {
+                    merged[k++] = array.values[j++];
+                } else {
+                    merged[k++] = values[i++];
+                    j++;
+                }
+            }
+            while (i < size)
+                merged[k++] = values[i++];
+            while (j < array.size)
+                merged[k++] = array.values[j++];
+
+            var result = new ArrayContainer(merged, k);
+            return k > MAX_ARRAY_SIZE ? result.toBitmap() : result;
+        }
+
+        @Override
+        boolean intersects(BitmaskContainer other) {
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]))
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            var bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++)
+                bitmap.words[values[i] >>> 6] |= 1L << values[i];
+            bitmap.cardinality = size;
+            return bitmap;
+        }
+
+    }
+
+    static final class BitmapContainer extends BitmaskContainer {
+
+        private final long[] words;
+
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[BITMAP_WORDS], 0);
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words       = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        BitmaskContainer add(int value) {
+            if (!contains(value)) {
+                words[value >>> 6] |= 1L << value;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        BitmaskContainer remove(int value) {
+            if (contains(value)) {
+                words[value >>> 6] &= ~(1L << value);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        BitmaskContainer addRange(int from, int to) {
+            setRange(from, to);
+            updateCardinality();
+            return this;
+        }
+
+        private void setRange(int from, int to) {
+            if (from >= to)
+                return;
+            var first = from >>> 6;
+            var last  = (to - 1) >>> 6;
+            if (first == last) {
+                words[first] |= (-1L << from) & (-1L >>> -to);
+            } else {
+                words[first] |= -1L << from;
+                Arrays.fill(words, first + 1, last, -1L);
+                words[last] |= -1L >>> -to;
+            }
+        }
+
+        void flipRange(int from, int to) {
+            if (from >= to)
+                return;
+            var first = from >>> 6;
+            var last  = (to - 1) >>> 6;
+            if (first == last) {
+                words[first] ^= (-1L << from) & (-1L >>> -to);
+            } else {
+                words[first] ^= -1L << from;
+                for (int i = first + 1; i < last; i++)
+                    words[i] = ~words[i];
+                words[last] ^= -1L >>> -to;
+            }
+            updateCardinality();
+        }
+
+        private void clearRange(int from, int to) {
+            if (from >= to)
+                return;
+            var first = from >>> 6;
+            var last  = (to - 1) >>> 6;
+            if (first == last) {
+                words[first] &= ~((-1L << from) & (-1L >>> -to));
+            } else {
+                words[first] &= ~(-1L << from);
+                Arrays.fill(words, first + 1, last, 0L);
+                words[last] &= ~(-1L >>> -to);
+            }
+        }
+
+        private void updateCardinality() {
+            var bits = 0;
+            for (var word : words)
+                bits += Long.bitCount(word);
+            cardinality = bits;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int numberOfRuns() {
+            var  runs         = 0;
+            long previousWord = 0L;
+            for (var word : words) {
+                runs         += Long.bitCount(word & ~((word << 1) | (previousWord >>> 63)));
+                previousWord  = word;
+            }
+            return runs;
+        }
+
+        @Override
+        boolean intersectsRange(int from, int to) {
+            if (from >= to)
+                return false;
+            var first = from >>> 6;
+            var last  = (to - 1) >>> 6;
+            if (first == last)
+                return (words[first] & (-1L << from) & (-1L >>> -to)) != 0;
+            if ((words[first] & (-1L << from)) != 0)
+                return true;
+            for (int i = first + 1; i < last; i++) {
+                if (words[i] != 0)
+                    return true;
+            }
+            return (words[last] & (-1L >>> -to)) != 0;
+        }
+
+        @Override
+        void forEach(int offset, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                var word = words[i];
+                while (word != 0) {
+                    action.accept(offset | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        BitmaskContainer copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        BitmaskContainer and(BitmaskContainer other) {
+            if (other instanceof ArrayContainer)
+                return other.copy().and(this);
+            if (other instanceof BitmapContainer bitmap) {
+                for (int i = 0; i < BITMAP_WORDS; i++)
+                    words[i] &= bitmap.words[i];
+            } else {
+                var runs     = (RunContainer) other;
+                var previous = 0;
+                for (int i = 0; i < runs.numberOfRuns; i++) {
+                    clearRange(previous, runs.start(i));
+                    previous = runs.last(i) + 1;
+                }
+                clearRange(previous, CAPACITY);
+            }
+            updateCardinality();
+            return this;
+        }
+
+        @Override
+        BitmaskContainer andNot(BitmaskContainer other) {
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.size; i++)
+                    remove(array.values[i]);
+                return this;
+            }
+            if (other instanceof BitmapContainer bitmap) {
+                for (int i = 0; i < BITMAP_WORDS; i++)
+                    words[i] &= ~bitmap.words[i];
+            } else {
+                var runs = (RunContainer) other;
+                for (int i = 0; i < runs.numberOfRuns; i++)
+                    clearRange(runs.start(i), runs.last(i) + 1);
+            }
+            updateCardinality();
+            return this;
+        }
+
+        @Override
+        BitmaskContainer or(BitmaskContainer other) {
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.size; i++)
+                    add(array.values[i]);
+                return this;
+            }
+            if (other instanceof BitmapContainer bitmap) {
+                for (int i = 0; i < BITMAP_WORDS; i++)
+                    words[i] |= bitmap.words[i];
+                updateCardinality();
+                return this;
+            }
+            var runs = (RunContainer) other;
+            for (int i = 0; i < runs.numberOfRuns; i++)
+                setRange(runs.start(i), runs.last(i) + 1);
+            updateCardinality();
+            return this;
+        }
+
+        @Override
+        boolean intersects(BitmaskContainer other) {
+            if (!(other instanceof BitmapContainer bitmap))
+                return other.intersects(this);
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                if ((words[i] & bitmap.words[i]) != 0)
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+    }
+
+    static final class RunContainer extends BitmaskContainer {
+
+        // above this number of runs, a bitmap needs less memory
+        private static final int MAX_RUNS = BITMAP_BYTES / 4;
+
+        // pairs of first and last value of each run, sorted and non-adjacent
+        private char[] runs;
+
+        private int numberOfRuns;
+
+        RunContainer() {
+            this(new char[2], 0);
+        }
+
+        private RunContainer(char[] runs, int numberOfRuns) {
+            this.runs         = runs;
+            this.numberOfRuns = numberOfRuns;
+        }
+
+        private int start(int run) {
+            return runs[2 * run];
+        }
+
+        private int last(int run) {
+            return runs[2 * run + 1];
+        }
+
+        /**
+         * Appends a run behind all existing runs, merging it with the last run if they
+         * overlap or are adjacent.
+         */
+        private void appendRun(int start, int last) {
+            if (numberOfRuns > 0 && start <= last(numberOfRuns - 1) + 1) {
+                runs[2 * numberOfRuns - 1] = (char) Math.max(last, last(numberOfRuns - 1));
+                return;
+            }
+            if (2 * numberOfRuns == runs.length)
+                runs = Arrays.copyOf(runs, Math.max(2, 2 * runs.length));
+            runs[2 * numberOfRuns]     = (char) start;
+            runs[2 * numberOfRuns + 1] = (char) last;
+            numberOfRuns++;
+        }
+
+        /**
+         * @return index of the first run ending at or after the value
+         */
+        private int firstRunEndingAtOrAfter(int value) {
+            int low  = 0;
+            int high = numberOfRuns;
+            while (low < high) {
+                var middle = (low + high) >>> 1;
+                if (last(middle) < value)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+
+        @Override
+        boolean contains(int value) {
+            var run = firstRunEndingAtOrAfter(value);
+            return run < numberOfRuns && start(run) <= value;
+        }
+
+        @Override
+        BitmaskContainer add(int value) {
+            return addRange(value, value + 1);
+        }
+
+        @Override
+        BitmaskContainer remove(int value) {
+            var run = firstRunEndingAtOrAfter(value);
+            if (run >= numberOfRuns || start(run) > value)
+                return this;
+
+            var result = new RunContainer(new char[runs.length + 2], 0);
+            for (int i = 0; i < numberOfRuns; i++) {
+                if (i != run) {
+                    result.appendRun(start(i), last(i));
+                } else {
+                    if (start(i) < value)
+                        result.appendRun(start(i), value - 1);
+                    if (value < last(i))
+                        result.appendRun(value + 1, last(i));
+                }
+            }
+            return result.numberOfRuns > MAX_RUNS ? result.toBitmap() : result;
+        }
+
+        @Override
+        BitmaskContainer addRange(int from, int to) {
+            if (from >= to)
+                return this;
+            var result   = new RunContainer(new char[runs.length + 2], 0);
+            var inserted = false;
+            for (int i = 0; i < numberOfRuns; i++) {
+                if (!inserted && from <= start(i)) {
+                    result.appendRun(from, to - 1);
+                    inserted = true;
+                }
+                result.appendRun(start(i), last(i));
+            }
+            if (!inserted)
+                result.appendRun(from, to - 1);
+            return result.numberOfRuns > MAX_RUNS ? result.toBitmap() : result;
+        }
+
+        @Override
+        int cardinality() {
+            var cardinality = 0;
+            for (int i = 0; i < numberOfRuns; i++)
+                cardinality += last(i) - start(i) + 1;
+            return cardinality;
+        }
+
+        @Override
+        int numberOfRuns() {
+            return numberOfRuns;
+        }
+
+        @Override
+        boolean intersectsRange(int from, int to) {
+            var run = firstRunEndingAtOrAfter(from);
+            return run < numberOfRuns && start(run) < to;
+        }
+
+        @Override
+        void forEach(int offset, IntConsumer action) {
+            for (int i = 0; i < numberOfRuns; i++) {
+                for (int value = start(i); value <= last(i); value++)
+                    action.accept(offset | value);
+            }
+        }
+
+        @Override
+        BitmaskContainer copy() {
+            return new RunContainer(Arrays.copyOf(runs, 2 * numberOfRuns), numberOfRuns);
+        }
+
+        @Override
+        BitmaskContainer and(BitmaskContainer other) {
+            if (!(other instanceof RunContainer otherRuns))
+                return other.copy().and(this);
+
+            var result = new RunContainer(new char[2 * (numberOfRuns + otherRuns.numberOfRuns)], 0);
+            int i      = 0;
+            int j      = 0;
+            while (i < numberOfRuns && j < otherRuns.numberOfRuns) {
+                var start = Math.max(start(i), otherRuns.start(j));
+                var last  = Math.min(last(i), otherRuns.last(j));
+                if (start <= last)
+                    result.appendRun(start, last);
+                if (last(i) < otherRuns.last(j))
+                    i++;
+                else
+                    j++;
+            }
+            return result;
+        }
+
+        @Override
+        BitmaskContainer andNot(BitmaskContainer other) {
+            if (!(other instanceof RunContainer otherRuns))
+                return toBitmap().andNot(other);
+
+            var result = new RunContainer(new char[2 * (numberOfRuns + otherRuns.numberOfRuns)], 0);
+            var j      = 0;
+            for (int i = 0; i < numberOfRuns; i++) {
+                var start = start(i);
+                var last  = last(i);
+                while (j < otherRuns.numberOfRuns && otherRuns.last(j) < start)
+                    j++;
+                var k = j;
+                while (start <= last && k < otherRuns.numberOfRuns && otherRuns.start(k) <= last) {
+                    if (otherRuns.start(k) > start)
+                        result.appendRun(start, otherRuns.start(k) - 1);
+                    start = otherRuns.last(k) + 1;
+                    k++;
+                }
+                if (start <= last)
+                    result.appendRun(start, last);
+            }
+            return result;
+        }
+
+        @Override
+        BitmaskContainer or(BitmaskContainer other) {
+            if (other instanceof BitmapContainer)
+                return other.copy().or(this);
+            if (other instanceof ArrayContainer)
+                return toBitmap().or(other);
+
+            var otherRuns = (RunContainer) other;
+            var result    = new RunContainer(new char[2 * (numberOfRuns + otherRuns.numberOfRuns)], 0);
+            int i         = 0;
+            int j         = 0;
+            while (i < numberOfRuns || j < otherRuns.numberOfRuns) {
+                if (j >= otherRuns.numberOfRuns || (i < numberOfRuns && start(i) <= otherRuns.start(j))) {
+                    result.appendRun(start(i), last(i));
+                    i++;
+                } else {
+                    result.appendRun(otherRuns.start(j), otherRuns.last(j));
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        boolean intersects(BitmaskContainer other) {
+            if (other instanceof ArrayContainer)
+                return other.intersects(this);
+            for (int i = 0; i < numberOfRuns; i++) {
+                if (other.intersectsRange(start(i), last(i) + 1))
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            var bitmap = new BitmapContainer();
+            for (int i = 0; i < numberOfRuns; i++)
+                bitmap.setRange(start(i), last(i) + 1);
+            bitmap.cardinality = cardinality();
+            return bitmap;
+        }
+
+    }
+
+}
@@ -73,6 +73,10 @@ public boolean isImmutable() {
         return isConstantExpression;
     }
 
+    Expression getExpression() {
+        return expression;
+    }
+
     @Override
     public int hashCode() {
         if (!hasHashCode) {
@@ -17,11 +17,15 @@
  */
 package io.sapl.prp.index.canonical;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import io.sapl.api.interpreter.PolicyEvaluationException;
@@ -40,10 +44,19 @@
 
 public class CanonicalImmutableParsedDocumentIndex implements ImmutableParsedDocumentIndex {
 
+    // below this number of changed documents, parallel normalization does not pay
+    // off
+    static final int PARALLEL_NORMALIZATION_THRESHOLD = 16;
+
     private final CanonicalIndexDataContainer indexDataContainer;
 
     private final Map<String, SAPL> documents;
 
+    private final Map<String, DisjunctiveFormula> targets;
+
+    // content digests of the documents, only tracked if snapshots are enabled
+    private final Map<String, String> documentDigests;
+
     private final PredicateOrderStrategy predicateOrderStrategy;
 
     private final boolean consistent;
@@ -52,34 +65,73 @@ public class CanonicalImmutableParsedDocumentIndex implements ImmutableParsedDoc
 
     private final FunctionContext functionCtx;
 
+    private final Path snapshotFile;
+
     public CanonicalImmutableParsedDocumentIndex(PredicateOrderStrategy predicateOrderStrategy,
             AttributeContext attributeCtx, FunctionContext functionCtx) {
-        this(Collections.emptyMap(), predicateOrderStrategy, true, attributeCtx, functionCtx);
+        this(Collections.emptyMap(), Collections.emptyMap(), predicateOrderStrategy, true, attributeCtx, functionCtx,
+                null, null);
     }
 
     public CanonicalImmutableParsedDocumentIndex(AttributeContext attributeCtx, FunctionContext functionCtx) {
-        this(Collections.emptyMap(), new DefaultPredicateOrderStrategy(), true, attributeCtx, functionCtx);
+        this(attributeCtx, functionCtx, null);
+    }
+
+    /**
+     * Creates an index persisting a snapshot of its index data into the given file.
+     * When the index is first built, it is restored from the snapshot if the
+     * snapshot was taken for exactly the same documents. Otherwise, the index is
+     * built from scratch and the snapshot is replaced.
+     *
+     * @param attributeCtx the attribute context
+     * @param functionCtx  the function context
+     * @param snapshotFile the snapshot file, or null to disable snapshots
+     */
+    public CanonicalImmutableParsedDocumentIndex(AttributeContext attributeCtx, FunctionContext functionCtx,
+            Path snapshotFile) {
+        this(Collections.emptyMap(), Collections.emptyMap(), new DefaultPredicateOrderStrategy(), true, attributeCtx,
+                functionCtx, snapshotFile, null);
     }
 
     private CanonicalImmutableParsedDocumentIndex(Map<String, SAPL> updatedDocuments,
-            PredicateOrderStrategy predicateOrderStrategy, boolean consistent, AttributeContext attributeCtx,
-            FunctionContext functionCtx) {
+            Map<String, String> documentDigests, PredicateOrderStrategy predicateOrderStrategy, boolean consistent,
+            AttributeContext attributeCtx, FunctionContext functionCtx, Path snapshotFile,
+            CanonicalImmutableParsedDocumentIndex previousIndex) {
         this.documents              = updatedDocuments;
+        this.documentDigests        = documentDigests;
         this.predicateOrderStrategy = predicateOrderStrategy;
         this.consistent             = consistent;
         this.attributeCtx           = attributeCtx;
         this.functionCtx            = functionCtx;
+        this.snapshotFile           = snapshotFile;
+
+        var snapshotEnabled = snapshotFile != null && consistent && !documents.isEmpty()
+                && documentDigests.keySet().equals(documents.keySet());
+        // snapshots only pay off for the initial build of the index on startup
+        var restored = snapshotEnabled && (previousIndex == null || previousIndex.documents.isEmpty())
+                ? CanonicalIndexSnapshot.load(snapshotFile, documents, documentDigests, attributeCtx, functionCtx)
+                : Optional.<CanonicalIndexSnapshot.Restored>empty();
+
+        if (restored.isPresent()) {
+            this.targets            = restored.get().targets();
+            this.indexDataContainer = restored.get().container();
+        } else {
+            this.targets            = retainTargets(previousIndex);
+            this.indexDataContainer = new CanonicalIndexDataCreationStrategy(predicateOrderStrategy)
+                    .constructNew(documents, targets);
+            if (snapshotEnabled)
+                CanonicalIndexSnapshot.writeInBackground(snapshotFile, documents, documentDigests, indexDataContainer);
+        }
+    }
 
-        Map<String, DisjunctiveFormula> targets = this.documents.entrySet().stream()
-                .collect(Collectors.toMap(Entry::getKey, entry -> retainTarget(entry.getValue())));
-
-        this.indexDataContainer = new CanonicalIndexDataCreationStrategy(predicateOrderStrategy).constructNew(documents,
-                targets);
+    CanonicalImmutableParsedDocumentIndex recreateIndex(Map<String, SAPL> updatedDocuments,
+            Map<String, String> updatedDigests, boolean consistent) {
+        return new CanonicalImmutableParsedDocumentIndex(updatedDocuments, updatedDigests, predicateOrderStrategy,
+                consistent, attributeCtx, functionCtx, snapshotFile, this);
     }
 
-    CanonicalImmutableParsedDocumentIndex recreateIndex(Map<String, SAPL> updatedDocuments, boolean consistent) {
-        return new CanonicalImmutableParsedDocumentIndex(updatedDocuments, predicateOrderStrategy, consistent,
-                attributeCtx, functionCtx);
+    DisjunctiveFormula getTarget(String documentName) {
+        return targets.get(documentName);
     }
 
     @Override
@@ -97,6 +149,7 @@ public Mono<PolicyRetrievalResult> retrievePolicies() {
     @Override
     public ImmutableParsedDocumentIndex apply(PrpUpdateEvent event) {
         var newDocuments        = new HashMap<>(documents);
+        var newDigests          = snapshotFile == null ? documentDigests : new HashMap<>(documentDigests);
         var newConsistencyState = consistent;
         for (var update : event.getUpdates()) {
             if (update.getType() == Type.CONSISTENT) {
@@ -105,9 +158,19 @@ public ImmutableParsedDocumentIndex apply(PrpUpdateEvent event) {
                 newConsistencyState = false;
             } else {
                 applyUpdate(newDocuments, update);
+                if (snapshotFile != null)
+                    updateDigest(newDigests, update);
             }
         }
-        return recreateIndex(newDocuments, newConsistencyState);
+        return recreateIndex(newDocuments, newDigests, newConsistencyState);
+    }
+
+    private void updateDigest(Map<String, String> newDigests, PrpUpdateEvent.Update update) {
+        var name = update.getDocument().getPolicyElement().getSaplName();
+        if (update.getType() == Type.WITHDRAW || update.getRawDocument() == null)
+            newDigests.remove(name);
+        else
+            newDigests.put(name, CanonicalIndexSnapshot.contentDigest(update.getRawDocument()));
     }
 
     // only PUBLISH or WITHDRAW
@@ -124,14 +187,50 @@ void applyUpdate(Map<String, SAPL> newDocuments, PrpUpdateEvent.Update update) {
         }
     }
 
-    private DisjunctiveFormula retainTarget(SAPL sapl) {
+    /**
+     * Normalizes the targets of all documents. Documents which are unchanged since
+     * the previous index keep their normalized target, only new documents are
+     * normalized, in parallel if there are many of them. Equivalent predicates are
+     * interned, so that all formulas share a single {@link Bool} instance per
+     * predicate and equality checks during index creation hit the identity fast
+     * path.
+     */
+    private Map<String, DisjunctiveFormula> retainTargets(CanonicalImmutableParsedDocumentIndex previousIndex) {
+        var                 internedBools = new ConcurrentHashMap<Bool, Bool>();
+        UnaryOperator<Bool> interner      = bool -> {
+                                              var interned = internedBools.putIfAbsent(bool, bool);
+                                              return interned == null ? bool : interned;
+                                          };
+
+        var retainedTargets = new HashMap<String, DisjunctiveFormula>(documents.size());
+        var changed         = new ArrayList<Entry<String, SAPL>>();
+        for (var entry : documents.entrySet()) {
+            var name = entry.getKey();
+            if (previousIndex != null && previousIndex.documents.get(name) == entry.getValue()) {
+                var target = previousIndex.targets.get(name);
+                for (var clause : target.getClauses())
+                    for (var literal : clause.getLiterals())
+                        interner.apply(literal.getBool());
+                retainedTargets.put(name, target);
+            } else {
+                changed.add(entry);
+            }
+        }
+
+        var stream = changed.size() < PARALLEL_NORMALIZATION_THRESHOLD ? changed.stream() : changed.parallelStream();
+        retainedTargets.putAll(
+                stream.collect(Collectors.toMap(Entry::getKey, entry -> retainTarget(entry.getValue(), interner))));
+        return retainedTargets;
+    }
+
+    private DisjunctiveFormula retainTarget(SAPL sapl, UnaryOperator<Bool> interner) {
         var                targetExpression = sapl.getImplicitTargetExpression();
         DisjunctiveFormula targetFormula;
         if (targetExpression == null) {
-            targetFormula = new DisjunctiveFormula(new ConjunctiveClause(new Literal(new Bool(true))));
+            targetFormula = new DisjunctiveFormula(new ConjunctiveClause(new Literal(interner.apply(new Bool(true)))));
         } else {
             var imports = ImportsUtil.fetchImports(sapl, attributeCtx, functionCtx);
-            targetFormula = TreeWalker.walk(targetExpression, imports);
+            targetFormula = TreeWalker.walk(targetExpression, imports, interner);
         }
 
         return targetFormula;
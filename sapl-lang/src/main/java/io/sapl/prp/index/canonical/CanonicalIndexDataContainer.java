@@ -101,4 +101,12 @@ Set<SAPL> getPoliciesIncludingFormula(DisjunctiveFormula formula) {
         return formulaToDocuments.get(formula);
     }
 
+    Map<DisjunctiveFormula, Set<SAPL>> getFormulaToDocuments() {
+        return formulaToDocuments;
+    }
+
+    Bitmask getRelatedCandidates(DisjunctiveFormula formula) {
+        return relatedCandidates.get(formula);
+    }
+
 }
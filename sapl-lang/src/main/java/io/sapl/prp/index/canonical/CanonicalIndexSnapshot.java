@@ -0,0 +1,492 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp.index.canonical;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Manifest;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import io.sapl.grammar.sapl.Expression;
+import io.sapl.grammar.sapl.SAPL;
+import io.sapl.grammar.sapl.SaplPackage;
+import io.sapl.grammar.sapl.impl.util.ImportsUtil;
+import io.sapl.interpreter.functions.FunctionContext;
+import io.sapl.interpreter.pip.AttributeContext;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Binary snapshot of a {@link CanonicalIndexDataContainer}. Restoring the
+ * container from a snapshot skips the normalization of all target expressions
+ * and the construction of the index data, which dominate the startup time for
+ * large policy sets.
+ * <p>
+ * The snapshot records the name and content digest of every document. It is
+ * only restored if the current documents match exactly. Predicates refer to
+ * their target expression by its containment path within the parsed document,
+ * bitmasks are stored as ranges of set bits, and clauses are derived from the
+ * predicate bitmasks when loading.
+ * <p>
+ * The header carries a fingerprint of the sapl-lang build and of the SAPL
+ * grammar, so snapshots taken by another version, whose containment paths or
+ * normalized targets may differ, are rejected.
+ */
+@Slf4j
+@UtilityClass
+class CanonicalIndexSnapshot {
+
+    private static final int MAGIC = 0x5341504C;
+
+    // increment on changes of the layout
+    private static final int VERSION = 2;
+
+    private static final String FINGERPRINT = fingerprint();
+
+    private static final String BUNDLE_VERSION = "Bundle-Version";
+
+    // a single thread keeps the writes of consecutive index generations in order
+    private static final Scheduler WRITER = Schedulers.newSingle("sapl-index-snapshot", true);
+
+    private static final Map<Path, Object> LATEST_WRITES = new ConcurrentHashMap<>();
+
+    private static final byte CONSTANT_PREDICATE = 0;
+
+    private static final byte EXPRESSION_PREDICATE = 1;
+
+    record Restored(Map<String, DisjunctiveFormula> targets, CanonicalIndexDataContainer container) {
+    }
+
+    /**
+     * @param rawDocument the source text of a document
+     * @return the digest identifying the document content in snapshots
+     */
+    static String contentDigest(String rawDocument) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(rawDocument.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Writes the snapshot on a background thread, so that persisting it does not
+     * delay the index becoming available. A write is skipped if a newer snapshot
+     * for the same file has been requested in the meantime.
+     */
+    static void writeInBackground(Path file, Map<String, SAPL> documents, Map<String, String> digests,
+            CanonicalIndexDataContainer container) {
+        var request = new Object();
+        LATEST_WRITES.put(file, request);
+        WRITER.schedule(() -> {
+            if (LATEST_WRITES.remove(file, request))
+                write(file, documents, digests, container);
+        });
+    }
+
+    /**
+     * Blocks until all snapshot writes requested so far are completed.
+     */
+    static void awaitPendingWrites() {
+        Mono.empty().subscribeOn(WRITER).block();
+    }
+
+    /**
+     * Writes the snapshot atomically by replacing the file. Failures are logged, as
+     * the snapshot is only an optimization.
+     */
+    static void write(Path file, Map<String, SAPL> documents, Map<String, String> digests,
+            CanonicalIndexDataContainer container) {
+        try {
+            var directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            var temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                    writeSnapshot(out, documents, digests, container);
+                }
+                moveAtomically(temporaryFile, file);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Canonical index snapshot {} not written: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Restores the index data from a snapshot matching the given documents.
+     *
+     * @return the restored targets and index data, or empty if there is no
+     *         snapshot, it is unreadable, or it belongs to other documents.
+     */
+    static Optional<Restored> load(Path file, Map<String, SAPL> documents, Map<String, String> digests,
+            AttributeContext attributeCtx, FunctionContext functionCtx) {
+        if (!Files.isRegularFile(file))
+            return Optional.empty();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readSnapshot(buffer, documents, digests, attributeCtx, functionCtx);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable canonical index snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeSnapshot(DataOutputStream out, Map<String, SAPL> documents, Map<String, String> digests,
+            CanonicalIndexDataContainer container) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeString(out, FINGERPRINT);
+
+        var documentIndexes = new IdentityHashMap<SAPL, Integer>();
+        out.writeInt(documents.size());
+        for (var document : documents.entrySet()) {
+            var digest = digests.get(document.getKey());
+            if (digest == null)
+                throw new IllegalStateException("No content digest for document " + document.getKey());
+            documentIndexes.put(document.getValue(), documentIndexes.size());
+            writeString(out, document.getKey());
+            writeString(out, digest);
+        }
+
+        var predicates = container.getPredicateOrder();
+        out.writeInt(predicates.size());
+        for (var predicate : predicates) {
+            writeBool(out, predicate.getBool(), documentIndexes);
+            writeBitmask(out, predicate.getConjunctions());
+            writeBitmask(out, predicate.getFalseForTruePredicate());
+            writeBitmask(out, predicate.getFalseForFalsePredicate());
+        }
+
+        var numberOfConjunctions = container.getNumberOfConjunctions();
+        out.writeInt(numberOfConjunctions);
+        var formulaToDocuments = container.getFormulaToDocuments();
+        out.writeInt(formulaToDocuments.size());
+        for (var formula : formulaToDocuments.entrySet()) {
+            writeBitmask(out, container.getRelatedCandidates(formula.getKey()));
+            out.writeInt(formula.getValue().size());
+            for (var document : formula.getValue())
+                out.writeInt(documentIndexes.get(document));
+        }
+
+        for (int conjunction = 0; conjunction < numberOfConjunctions; conjunction++) {
+            var cTuples = container.getConjunctionsInFormulasReferencingConjunction(conjunction);
+            if (cTuples == null) {
+                out.writeInt(0);
+                continue;
+            }
+            out.writeInt(cTuples.size());
+            for (var cTuple : cTuples) {
+                out.writeInt(cTuple.getCI());
+                out.writeLong(cTuple.getN());
+            }
+        }
+    }
+
+    private static void writeBool(DataOutputStream out, Bool bool, Map<SAPL, Integer> documentIndexes)
+            throws IOException {
+        if (bool.isImmutable()) {
+            out.writeByte(CONSTANT_PREDICATE);
+            out.writeBoolean(bool.evaluate());
+            return;
+        }
+        var expression    = bool.getExpression();
+        var documentIndex = EcoreUtil.getRootContainer(expression) instanceof SAPL sapl ? documentIndexes.get(sapl)
+                : null;
+        if (documentIndex == null)
+            throw new IllegalStateException("Target expression is not part of an indexed document.");
+        out.writeByte(EXPRESSION_PREDICATE);
+        out.writeInt(documentIndex);
+        var path = containmentPath(expression);
+        out.writeInt(path.length);
+        for (var step : path)
+            out.writeInt(step);
+    }
+
+    private static void writeBitmask(DataOutputStream out, Bitmask bitmask) throws IOException {
+        var ranges = new ArrayList<int[]>();
+        bitmask.forEachSetBit(index -> {
+            var last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last[1] == index)
+                last[1]++;
+            else
+                ranges.add(new int[] { index, index + 1 });
+        });
+        out.writeInt(ranges.size());
+        for (var range : ranges) {
+            out.writeInt(range[0]);
+            out.writeInt(range[1]);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Optional<Restored> readSnapshot(ByteBuffer in, Map<String, SAPL> documents,
+            Map<String, String> digests, AttributeContext attributeCtx, FunctionContext functionCtx) {
+        if (in.getInt() != MAGIC || in.getInt() != VERSION)
+            return Optional.empty();
+        var fingerprint = readString(in);
+        if (!FINGERPRINT.equals(fingerprint)) {
+            log.info("Ignoring canonical index snapshot taken by another version of sapl-lang.");
+            return Optional.empty();
+        }
+
+        var numberOfDocuments = in.getInt();
+        if (numberOfDocuments != documents.size())
+            return Optional.empty();
+        var names         = new String[numberOfDocuments];
+        var saplDocuments = new SAPL[numberOfDocuments];
+        for (int i = 0; i < numberOfDocuments; i++) {
+            names[i]         = readString(in);
+            saplDocuments[i] = documents.get(names[i]);
+            var digest = readString(in);
+            if (saplDocuments[i] == null || !digest.equals(digests.get(names[i])))
+                return Optional.empty();
+        }
+
+        var imports            = new HashMap<Integer, Map<String, String>>();
+        var numberOfPredicates = in.getInt();
+        var predicates         = new ArrayList<Predicate>(numberOfPredicates);
+        for (int i = 0; i < numberOfPredicates; i++) {
+            var bool      = readBool(in, saplDocuments, imports, attributeCtx, functionCtx);
+            var predicate = new Predicate(bool);
+            readBitmask(in, predicate.getConjunctions());
+            readBitmask(in, predicate.getFalseForTruePredicate());
+            readBitmask(in, predicate.getFalseForFalsePredicate());
+            predicates.add(predicate);
+        }
+
+        var numberOfConjunctions = in.getInt();
+        var clauses              = readClauses(predicates, numberOfConjunctions);
+
+        var targets            = new HashMap<String, DisjunctiveFormula>(numberOfDocuments);
+        var formulaToDocuments = new HashMap<DisjunctiveFormula, Set<SAPL>>();
+        var clauseToFormulas   = new HashMap<ConjunctiveClause, Set<DisjunctiveFormula>>();
+        var relatedCandidates  = new HashMap<DisjunctiveFormula, Bitmask>();
+        var numberOfFormulas   = in.getInt();
+        for (int i = 0; i < numberOfFormulas; i++) {
+            var clauseIndexes = new Bitmask();
+            readBitmask(in, clauseIndexes);
+            var formulaClauses = new ArrayList<ConjunctiveClause>();
+            clauseIndexes.forEachSetBit(index -> formulaClauses.add(clauses.get(index)));
+            var formula = new DisjunctiveFormula(formulaClauses);
+            relatedCandidates.put(formula, clauseIndexes);
+            for (var clause : formulaClauses)
+                clauseToFormulas.computeIfAbsent(clause, k -> new HashSet<>()).add(formula);
+
+            var formulaDocuments  = formulaToDocuments.computeIfAbsent(formula, k -> new HashSet<>());
+            var numberOfReferrers = in.getInt();
+            for (int j = 0; j < numberOfReferrers; j++) {
+                var documentIndex = in.getInt();
+                formulaDocuments.add(saplDocuments[documentIndex]);
+                targets.put(names[documentIndex], formula);
+            }
+        }
+        if (targets.size() != numberOfDocuments)
+            return Optional.empty();
+
+        var conjunctionsInFormulasReferencingConjunction = new HashMap<Integer, Set<CTuple>>(numberOfConjunctions);
+        var relatedFormulas                              = new ArrayList<Set<DisjunctiveFormula>>(numberOfConjunctions);
+        var numberOfLiteralsInConjunction                = new int[numberOfConjunctions];
+        var numberOfFormulasWithConjunction              = new int[numberOfConjunctions];
+        for (int conjunction = 0; conjunction < numberOfConjunctions; conjunction++) {
+            var numberOfCTuples = in.getInt();
+            var cTuples         = new HashSet<CTuple>(numberOfCTuples);
+            for (int j = 0; j < numberOfCTuples; j++)
+                cTuples.add(new CTuple(in.getInt(), in.getLong()));
+            conjunctionsInFormulasReferencingConjunction.put(conjunction, cTuples);
+
+            var clause            = clauses.get(conjunction);
+            var formulasForClause = clauseToFormulas.get(clause);
+            if (formulasForClause == null)
+                return Optional.empty();
+            relatedFormulas.add(formulasForClause);
+            numberOfLiteralsInConjunction[conjunction]   = clause.size();
+            numberOfFormulasWithConjunction[conjunction] = formulasForClause.size();
+        }
+        if (in.hasRemaining())
+            return Optional.empty();
+
+        return Optional.of(new Restored(targets,
+                new CanonicalIndexDataContainer(formulaToDocuments, clauseToFormulas, predicates, relatedFormulas,
+                        relatedCandidates, conjunctionsInFormulasReferencingConjunction, numberOfLiteralsInConjunction,
+                        numberOfFormulasWithConjunction)));
+    }
+
+    /**
+     * A predicate is contained in a clause negated, if the clause is unsatisfiable
+     * when the predicate is true, and vice versa.
+     */
+    private static List<ConjunctiveClause> readClauses(List<Predicate> predicates, int numberOfConjunctions) {
+        var literals = new ArrayList<List<Literal>>(numberOfConjunctions);
+        for (int i = 0; i < numberOfConjunctions; i++)
+            literals.add(new ArrayList<>(2));
+        for (var predicate : predicates) {
+            var bool = predicate.getBool();
+            predicate.getFalseForTruePredicate()
+                    .forEachSetBit(index -> literals.get(index).add(new Literal(bool, true)));
+            predicate.getFalseForFalsePredicate()
+                    .forEachSetBit(index -> literals.get(index).add(new Literal(bool, false)));
+        }
+        var clauses = new ArrayList<ConjunctiveClause>(numberOfConjunctions);
+        for (var clauseLiterals : literals)
+            clauses.add(new ConjunctiveClause(clauseLiterals));
+        return clauses;
+    }
+
+    private static Bool readBool(ByteBuffer in, SAPL[] documents, Map<Integer, Map<String, String>> imports,
+            AttributeContext attributeCtx, FunctionContext functionCtx) {
+        if (in.get() == CONSTANT_PREDICATE)
+            return new Bool(in.get() != 0);
+
+        var documentIndex = in.getInt();
+        var path          = new int[in.getInt()];
+        for (int i = 0; i < path.length; i++)
+            path[i] = in.getInt();
+        var document        = documents[documentIndex];
+        var documentImports = imports.computeIfAbsent(documentIndex,
+                k -> ImportsUtil.fetchImports(document, attributeCtx, functionCtx));
+        return new Bool(resolveContainmentPath(document, path), documentImports);
+    }
+
+    private static void readBitmask(ByteBuffer in, Bitmask bitmask) {
+        var numberOfRanges = in.getInt();
+        for (int i = 0; i < numberOfRanges; i++)
+            bitmask.set(in.getInt(), in.getInt());
+    }
+
+    private static String readString(ByteBuffer in) {
+        var bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the digest of the sapl-lang build version and of the structure of the
+     *         SAPL grammar model, which containment paths depend on
+     */
+    static String fingerprint() {
+        var description = new StringBuilder(buildVersion());
+        for (var classifier : SaplPackage.eINSTANCE.getEClassifiers()) {
+            description.append('\n').append(classifier.getName());
+            if (classifier instanceof EClass eClass) {
+                for (var superType : eClass.getESuperTypes())
+                    description.append(" <").append(superType.getName());
+                for (var feature : eClass.getEAllStructuralFeatures())
+                    description.append(' ').append(eClass.getFeatureID(feature)).append(':').append(feature.getName())
+                            .append(feature.isMany() ? "*" : "");
+            }
+        }
+        return contentDigest(description.toString());
+    }
+
+    /**
+     * @return the version from the manifest of the sapl-lang bundle, which includes
+     *         the build timestamp of snapshot versions
+     */
+    private static String buildVersion() {
+        var location  = CanonicalIndexSnapshot.class
+                .getResource(CanonicalIndexSnapshot.class.getSimpleName() + ".class");
+        var classPath = CanonicalIndexSnapshot.class.getName().replace('.', '/') + ".class";
+        if (location != null && location.toString().endsWith(classPath)) {
+            var root = location.toString().substring(0, location.toString().length() - classPath.length());
+            try (var manifest = URI.create(root + "META-INF/MANIFEST.MF").toURL().openStream()) {
+                var version = new Manifest(manifest).getMainAttributes().getValue(BUNDLE_VERSION);
+                if (version != null)
+                    return version;
+            } catch (IOException | IllegalArgumentException e) {
+                log.debug("No manifest found for sapl-lang: {}", e.getMessage());
+            }
+        }
+        var version = CanonicalIndexSnapshot.class.getPackage().getImplementationVersion();
+        return version == null ? "unknown" : version;
+    }
+
+    /**
+     * @return pairs of feature id and list index (or -1 for single valued features)
+     *         leading from the root of the document to the object
+     */
+    private static int[] containmentPath(EObject object) {
+        var steps   = new ArrayDeque<Integer>();
+        var current = object;
+        while (current.eContainer() != null) {
+            var container = current.eContainer();
+            var feature   = current.eContainingFeature();
+            steps.push(feature.isMany() ? ((List<?>) container.eGet(feature)).indexOf(current) : -1);
+            steps.push(container.eClass().getFeatureID(feature));
+            current = container;
+        }
+        return steps.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Expression resolveContainmentPath(EObject root, int[] path) {
+        var current = root;
+        for (int i = 0; i < path.length; i += 2) {
+            var feature = current.eClass().getEStructuralFeature(path[i]);
+            var value   = current.eGet(feature);
+            current = (EObject) (path[i + 1] < 0 ? value : ((List<?>) value).get(path[i + 1]));
+        }
+        if (current instanceof Expression expression)
+            return expression;
+        throw new IllegalStateException("Snapshot does not match the target expressions of the documents.");
+    }
+
+}
@@ -18,6 +18,7 @@
 package io.sapl.prp.index.canonical;
 
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 import com.google.common.base.Preconditions;
 
@@ -32,44 +33,65 @@
 public class TreeWalker {
 
     public static DisjunctiveFormula walk(final Expression expression, final Map<String, String> imports) {
+        return walk(expression, imports, UnaryOperator.identity());
+    }
+
+    /**
+     * Transforms the expression into its disjunctive normal form. Every leaf
+     * predicate is passed through the interner, which allows to replace it with an
+     * equivalent, already known {@link Bool} instance.
+     *
+     * @param expression the target expression
+     * @param imports    the imports of the document containing the expression
+     * @param interner   maps each leaf predicate to its canonical instance
+     * @return the disjunctive normal form of the expression
+     */
+    public static DisjunctiveFormula walk(final Expression expression, final Map<String, String> imports,
+            final UnaryOperator<Bool> interner) {
         Preconditions.checkNotNull(imports);
+        Preconditions.checkNotNull(interner);
         if (Preconditions.checkNotNull(expression) instanceof EagerAnd) {
-            return traverse((EagerAnd) expression, imports);
+            return traverse((EagerAnd) expression, imports, interner);
         } else if (expression instanceof EagerOr eagerOr) {
-            return traverse(eagerOr, imports);
+            return traverse(eagerOr, imports, interner);
         } else if (expression instanceof Not not) {
-            return traverse(not, imports);
+            return traverse(not, imports, interner);
         } else if (expression instanceof BasicGroup basicGroup) {
-            return traverse(basicGroup, imports);
+            return traverse(basicGroup, imports, interner);
         }
-        return endRecursion(expression, imports);
+        return endRecursion(expression, imports, interner);
     }
 
-    static DisjunctiveFormula endRecursion(final Expression node, final Map<String, String> imports) {
-        return new DisjunctiveFormula(new ConjunctiveClause(new Literal(new Bool(node, imports))));
+    static DisjunctiveFormula endRecursion(final Expression node, final Map<String, String> imports,
+            final UnaryOperator<Bool> interner) {
+        return new DisjunctiveFormula(new ConjunctiveClause(new Literal(interner.apply(new Bool(node, imports)))));
     }
 
-    private static DisjunctiveFormula traverse(final EagerAnd node, final Map<String, String> imports) {
-        DisjunctiveFormula left  = walk(node.getLeft(), imports);
-        DisjunctiveFormula right = walk(node.getRight(), imports);
+    private static DisjunctiveFormula traverse(final EagerAnd node, final Map<String, String> imports,
+            final UnaryOperator<Bool> interner) {
+        DisjunctiveFormula left  = walk(node.getLeft(), imports, interner);
+        DisjunctiveFormula right = walk(node.getRight(), imports, interner);
         return left.distribute(right);
     }
 
-    static DisjunctiveFormula traverse(final BasicGroup node, final Map<String, String> imports) {
+    static DisjunctiveFormula traverse(final BasicGroup node, final Map<String, String> imports,
+            final UnaryOperator<Bool> interner) {
         if (node.getFilter() == null && node.getSteps().isEmpty() && node.getSubtemplate() == null) {
-            return walk(node.getExpression(), imports);
+            return walk(node.getExpression(), imports, interner);
         }
-        return endRecursion(node, imports);
+        return endRecursion(node, imports, interner);
     }
 
-    private static DisjunctiveFormula traverse(final Not node, final Map<String, String> imports) {
-        DisjunctiveFormula child = walk(node.getExpression(), imports);
+    private static DisjunctiveFormula traverse(final Not node, final Map<String, String> imports,
+            final UnaryOperator<Bool> interner) {
+        DisjunctiveFormula child = walk(node.getExpression(), imports, interner);
         return child.negate();
     }
 
-    private static DisjunctiveFormula traverse(final EagerOr node, final Map<String, String> imports) {
-        DisjunctiveFormula left  = walk(node.getLeft(), imports);
-        DisjunctiveFormula right = walk(node.getRight(), imports);
+    private static DisjunctiveFormula traverse(final EagerOr node, final Map<String, String> imports,
+            final UnaryOperator<Bool> interner) {
+        DisjunctiveFormula left  = walk(node.getLeft(), imports, interner);
+        DisjunctiveFormula right = walk(node.getRight(), imports, interner);
         return left.combine(right);
     }
 
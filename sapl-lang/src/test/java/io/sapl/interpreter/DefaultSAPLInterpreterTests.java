@@ -22,6 +22,7 @@
 import static io.sapl.api.pdp.AuthorizationDecision.NOT_APPLICABLE;
 import static io.sapl.api.pdp.AuthorizationDecision.PERMIT;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,6 +34,8 @@
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.XtextResource;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -50,6 +53,7 @@
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.functions.FilterFunctionLibrary;
 import io.sapl.functions.StandardFunctionLibrary;
+import io.sapl.interpreter.context.AuthorizationContext;
 import io.sapl.interpreter.functions.AnnotationFunctionContext;
 import io.sapl.interpreter.pip.AnnotationAttributeContext;
 import io.sapl.interpreter.pip.TestPIP;
@@ -126,6 +130,26 @@ void parseTest() {
         assertDoesNotThrow(() -> INTERPRETER.parse(policyDocument));
     }
 
+    @Test
+    void parseCompactReleasesNodeModel() {
+        var policyDocument = "policy \"test\" permit where subject.isActive == true;";
+        var document       = INTERPRETER.parseCompact(policyDocument);
+        assertThat(NodeModelUtils.getNode(document), is(nullValue()));
+        assertThat(((XtextResource) document.eResource()).getParseResult(), is(nullValue()));
+        assertThat(document.getPolicyElement().getSaplName(), is("test"));
+    }
+
+    @Test
+    void parseCompactDocumentIsEvaluable() {
+        var document = INTERPRETER.parseCompact("policy \"test\" permit where subject.isActive == true;");
+        var decision = document.evaluate().map(DocumentEvaluationResult::getAuthorizationDecision)
+                .contextWrite(ctx -> AuthorizationContext.setVariables(ctx, variables))
+                .contextWrite(ctx -> AuthorizationContext.setSubscriptionVariables(ctx, authzSubscription))
+                .contextWrite(ctx -> AuthorizationContext.setAttributeContext(ctx, attributeCtx))
+                .contextWrite(ctx -> AuthorizationContext.setFunctionContext(ctx, functionCtx));
+        StepVerifier.create(decision).expectNext(PERMIT).verifyComplete();
+    }
+
     @Test
     void parseTestValidationFailsOnLazyBooleanOperatorsInTarget() {
         var policyDocument = "policy \"test\"  permit true && false";
@@ -23,9 +23,12 @@
 import static io.sapl.interpreter.combinators.PolicyDocumentCombiningAlgorithm.PERMIT_OVERRIDES;
 import static io.sapl.interpreter.combinators.PolicyDocumentCombiningAlgorithm.PERMIT_UNLESS_DENY;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import io.sapl.grammar.sapl.impl.DenyOverridesCombiningAlgorithmImplCustom;
 import io.sapl.grammar.sapl.impl.DenyUnlessPermitCombiningAlgorithmImplCustom;
@@ -65,4 +68,11 @@ void denyUnlessPermit() {
                 instanceOf(DenyUnlessPermitCombiningAlgorithmImplCustom.class));
     }
 
+    @ParameterizedTest
+    @EnumSource(PolicyDocumentCombiningAlgorithm.class)
+    void reverseLookupIsInverseOfFactory(PolicyDocumentCombiningAlgorithm algorithm) {
+        var combiningAlgorithm = CombiningAlgorithmFactory.getCombiningAlgorithm(algorithm);
+        assertThat(CombiningAlgorithmFactory.getPolicyDocumentCombiningAlgorithm(combiningAlgorithm), is(algorithm));
+    }
+
 }
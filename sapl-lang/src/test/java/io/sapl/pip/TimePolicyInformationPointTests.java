@@ -17,6 +17,7 @@
  */
 package io.sapl.pip;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -27,6 +28,7 @@
 import java.time.Instant;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -37,6 +39,7 @@
 import io.sapl.api.interpreter.Val;
 import io.sapl.interpreter.pip.AnnotationAttributeContext;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 
 class TimePolicyInformationPointTests {
 
@@ -379,4 +382,55 @@ void toggleTest() {
                 .expectNext(Val.TRUE).thenCancel().verify();
     }
 
+    @Test
+    void now_sameIntervalSharesOneTickSource() {
+        var clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2021-11-08T13:00:00Z"));
+        var sut       = new TimePolicyInformationPoint(clock);
+        var scheduler = VirtualTimeScheduler.getOrSet();
+        try {
+            var first  = new ArrayList<Val>();
+            var second = new ArrayList<Val>();
+            var a      = sut.now().subscribe(first::add);
+            var b      = sut.now().subscribe(second::add);
+            assertThat(sut.sharedTimers()).isEqualTo(1);
+
+            scheduler.advanceTimeBy(Duration.ofSeconds(3));
+            assertThat(first).hasSize(4);
+            assertThat(second).hasSize(4);
+
+            a.dispose();
+            b.dispose();
+            assertThat(sut.sharedTimers()).isZero();
+        } finally {
+            VirtualTimeScheduler.reset();
+        }
+    }
+
+    @Test
+    void localTimeIsAfterAndBefore_sameCheckpointSharesOneSchedule() {
+        var clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.parse("2021-11-08T11:00:00Z"));
+        var sut       = new TimePolicyInformationPoint(clock);
+        var scheduler = VirtualTimeScheduler.getOrSet();
+        try {
+            var after  = new ArrayList<Val>();
+            var before = new ArrayList<Val>();
+            var a      = sut.localTimeIsAfter(Val.of("12:00")).subscribe(after::add);
+            scheduler.advanceTimeBy(Duration.ofMinutes(30));
+            var b = sut.localTimeIsBefore(Val.of("12:00")).subscribe(before::add);
+            assertThat(sut.sharedTimers()).isEqualTo(1);
+
+            scheduler.advanceTimeBy(Duration.ofMinutes(30));
+            assertThat(after).containsExactly(Val.FALSE, Val.TRUE);
+            assertThat(before).containsExactly(Val.TRUE, Val.FALSE);
+
+            a.dispose();
+            b.dispose();
+            assertThat(sut.sharedTimers()).isZero();
+        } finally {
+            VirtualTimeScheduler.reset();
+        }
+    }
+
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pip.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import io.sapl.api.interpreter.Val;
+
+class HttpResponseCacheTests {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final HttpResponseCache<String> cache = new HttpResponseCache<>(2, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void when_parsingCacheControl_then_maxAgeIsDerived() {
+        assertThat(HttpResponseCache.maxAge(null)).isZero();
+        assertThat(HttpResponseCache.maxAge("public, max-age=30")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(HttpResponseCache.maxAge("max-age=30, no-cache")).isZero();
+        assertThat(HttpResponseCache.maxAge("max-age=invalid")).isZero();
+        assertThat(HttpResponseCache.maxAge("no-cache, No-Store")).isNull();
+    }
+
+    @Test
+    void when_responseHasNoValidatorsAndIsNotFresh_then_notCached() {
+        cache.store("a", Val.of(1), new HttpHeaders());
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void when_responseHasETag_then_cachedForRevalidation() {
+        var headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        cache.store("a", Val.of(1), headers);
+
+        var cached = cache.get("a");
+        assertThat(cached.isFresh(NOW)).isFalse();
+        var conditionalHeaders = new HttpHeaders();
+        cached.addConditionalHeaders(conditionalHeaders);
+        assertThat(conditionalHeaders.getIfNoneMatch()).containsExactly("\"v1\"");
+    }
+
+    @Test
+    void when_revalidatedWithMaxAge_then_fresh() {
+        var headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        cache.store("a", Val.of(1), headers);
+        var notModifiedHeaders = new HttpHeaders();
+        notModifiedHeaders.setCacheControl("max-age=10");
+        cache.revalidated("a", cache.get("a"), notModifiedHeaders);
+
+        var cached = cache.get("a");
+        assertThat(cached.isFresh(NOW)).isTrue();
+        assertThat(cached.eTag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void when_maximumSizeExceeded_then_oldestEvicted() {
+        var headers = new HttpHeaders();
+        headers.setCacheControl("max-age=10");
+        cache.store("a", Val.of(1), headers);
+        cache.store("b", Val.of(2), headers);
+        cache.store("c", Val.of(3), headers);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isNull();
+    }
+
+}
@@ -17,6 +17,7 @@
  */
 package io.sapl.pip.http;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
@@ -36,6 +37,7 @@
 import io.sapl.api.interpreter.Val;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 class ReactiveWebClientTests {
@@ -287,4 +289,92 @@ void testSSE() throws JsonProcessingException {
                 .expectComplete().verify();
     }
 
+    @Test
+    void when_identicalRequestsConcurrently_then_onlyOneRequestIsSent() throws JsonProcessingException {
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        var httpTestRequest = requestWithHeader("a");
+        var first           = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
+        var second          = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
+        StepVerifier.create(Flux.merge(first, second)).expectNext(DEFAULT_BODY, DEFAULT_BODY).verifyComplete();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void when_requestsDifferInHeaders_then_bothRequestsAreSent() throws JsonProcessingException {
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        var first  = clientUnderTest.httpRequest(HttpMethod.GET, requestWithHeader("a")).map(Val::toString);
+        var second = clientUnderTest.httpRequest(HttpMethod.GET, requestWithHeader("b")).map(Val::toString);
+        StepVerifier.create(Flux.merge(first, second)).expectNext(DEFAULT_BODY, DEFAULT_BODY).verifyComplete();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void when_sharedRequestCompleted_then_nextSubscriptionSendsNewRequest() throws JsonProcessingException {
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        mockBackEnd.enqueue(DEFAULT_RESPONSE);
+        var httpTestRequest = requestWithHeader("a");
+        StepVerifier.create(clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString))
+                .expectNext(DEFAULT_BODY).verifyComplete();
+        StepVerifier.create(clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString))
+                .expectNext(DEFAULT_BODY).verifyComplete();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void when_notModified_then_noNewValueAndConditionalRequestSent()
+            throws JsonProcessingException, InterruptedException {
+        mockBackEnd.enqueue(new MockResponse().setBody(DEFAULT_BODY)
+                .addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE).addHeader("ETag", "\"v1\""));
+        mockBackEnd.enqueue(new MockResponse().setResponseCode(304).addHeader("ETag", "\"v1\""));
+        var template        = """
+                {
+                    "baseUrl" : "%s",
+                    "accept" : "application/json",
+                    "pollingIntervalMs" : 10,
+                    "repetitions" : 2
+                }
+                """;
+        var httpTestRequest = Val.ofJson(String.format(template, baseUrl));
+        var response        = clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString);
+        StepVerifier.create(response).expectNext(DEFAULT_BODY).verifyComplete();
+
+        mockBackEnd.takeRequest(1, TimeUnit.SECONDS);
+        var conditionalRequest = mockBackEnd.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(conditionalRequest.getHeader("If-None-Match")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void when_responseFresh_then_servedFromCacheAcrossSubscriptions() throws JsonProcessingException {
+        mockBackEnd.enqueue(new MockResponse().setBody(DEFAULT_BODY)
+                .addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE).addHeader("Cache-Control", "max-age=60"));
+        var template        = """
+                {
+                    "baseUrl" : "%s",
+                    "accept" : "application/json",
+                    "pollingIntervalMs" : 10,
+                    "repetitions" : 3
+                }
+                """;
+        var httpTestRequest = Val.ofJson(String.format(template, baseUrl));
+        StepVerifier.create(clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString))
+                .expectNext(DEFAULT_BODY).verifyComplete();
+        StepVerifier.create(clientUnderTest.httpRequest(HttpMethod.GET, httpTestRequest).map(Val::toString))
+                .expectNext(DEFAULT_BODY).verifyComplete();
+        assertThat(mockBackEnd.getRequestCount()).isEqualTo(1);
+    }
+
+    private Val requestWithHeader(String headerValue) throws JsonProcessingException {
+        var template = """
+                {
+                    "baseUrl" : "%s",
+                    "accept" : "application/json",
+                    "repetitions" : 1,
+                    "headers" : { "X-A": "%s" }
+                }
+                """;
+        return Val.ofJson(String.format(template, baseUrl, headerValue));
+    }
+
 }
@@ -26,6 +26,10 @@
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -34,6 +38,8 @@
 import io.sapl.prp.index.ImmutableParsedDocumentIndex;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
 
 class GenericInMemoryIndexedPolicyRetrievalPointTests {
 
@@ -131,4 +137,128 @@ void testConstructAndRetrieveWithNonSAPLResult() {
 
     }
 
+    @Test
+    void testRetrieveOnceUsesCurrentIndex() {
+        // WHEN
+        var resultMock = mock(PolicyRetrievalResult.class);
+        when(indexMock.retrievePolicies()).thenReturn(Mono.just(resultMock));
+
+        // DO
+        var prp    = new GenericInMemoryIndexedPolicyRetrievalPoint(indexMock, sourceMock);
+        var result = prp.retrievePoliciesOnce().block();
+        prp.dispose();
+
+        // THEN
+        verify(indexMock, times(1)).apply(any());
+        verify(indexMock, times(1)).retrievePolicies();
+        assertThat(result, is(resultMock));
+    }
+
+    @Test
+    void testReadyCompletesOnceInitialIndexIsBuilt() {
+        // WHEN
+        var updates = Sinks.many().unicast().<PrpUpdateEvent>onBackpressureBuffer();
+        when(sourceMock.getUpdates()).thenReturn(updates.asFlux());
+
+        // DO
+        var prp = new GenericInMemoryIndexedPolicyRetrievalPoint(indexMock, sourceMock);
+
+        // THEN
+        StepVerifier.create(prp.ready()).expectSubscription().expectNoEvent(Duration.ofMillis(50L))
+                .then(() -> updates.tryEmitNext(mock(PrpUpdateEvent.class))).verifyComplete();
+        StepVerifier.create(prp.ready()).verifyComplete();
+        prp.dispose();
+    }
+
+    @Test
+    void testUpdateWithUnchangedResultIsNotEmittedAgain() {
+        // WHEN
+        var updates = Sinks.many().multicast().<PrpUpdateEvent>onBackpressureBuffer();
+        when(sourceMock.getUpdates()).thenReturn(updates.asFlux());
+        var changedIndexMock = mock(ImmutableParsedDocumentIndex.class);
+        var documentMock     = mock(SAPL.class);
+        var unchanged        = new PolicyRetrievalResult();
+        var changed          = new PolicyRetrievalResult().withMatch(documentMock);
+        when(indexMock.retrievePolicies()).thenReturn(Mono.just(unchanged));
+        when(changedIndexMock.retrievePolicies()).thenReturn(Mono.just(changed));
+        var seedIndexMock = mock(ImmutableParsedDocumentIndex.class);
+        when(seedIndexMock.apply(any())).thenReturn(indexMock);
+        when(indexMock.apply(any())).thenReturn(indexMock, changedIndexMock);
+
+        // DO
+        var prp = new GenericInMemoryIndexedPolicyRetrievalPoint(seedIndexMock, sourceMock);
+
+        // THEN
+        StepVerifier.create(prp.retrievePolicies()).then(() -> updates.tryEmitNext(mock(PrpUpdateEvent.class)))
+                .expectNext(unchanged).then(() -> updates.tryEmitNext(mock(PrpUpdateEvent.class)))
+                .expectNoEvent(Duration.ofMillis(50L)).then(() -> updates.tryEmitNext(mock(PrpUpdateEvent.class)))
+                .expectNext(changed).thenCancel().verify();
+        prp.dispose();
+    }
+
+    @Test
+    void testReevaluationsAfterUpdateAreStaggered() {
+        // WHEN
+        var updates = Sinks.many().multicast().<PrpUpdateEvent>onBackpressureBuffer();
+        when(sourceMock.getUpdates()).thenReturn(updates.asFlux());
+        var changedIndexMock = mock(ImmutableParsedDocumentIndex.class);
+        var initial          = new PolicyRetrievalResult();
+        var changed          = new PolicyRetrievalResult().withMatch(mock(SAPL.class));
+        when(indexMock.retrievePolicies()).thenReturn(Mono.just(initial));
+        when(changedIndexMock.retrievePolicies()).thenReturn(Mono.just(changed));
+        var seedIndexMock = mock(ImmutableParsedDocumentIndex.class);
+        when(seedIndexMock.apply(any())).thenReturn(indexMock);
+        when(indexMock.apply(any())).thenReturn(changedIndexMock);
+
+        var prp = new GenericInMemoryIndexedPolicyRetrievalPoint(seedIndexMock, sourceMock, 1, Duration.ofMillis(300L));
+        updates.tryEmitNext(mock(PrpUpdateEvent.class));
+
+        // THEN
+        StepVerifier.withVirtualTime(() -> Flux.merge(prp.retrievePolicies(), prp.retrievePolicies()))
+                .expectNext(initial, initial).then(() -> updates.tryEmitNext(mock(PrpUpdateEvent.class)))
+                .expectNext(changed).expectNoEvent(Duration.ofMillis(299L)).thenAwait(Duration.ofMillis(1L))
+                .expectNext(changed).thenCancel().verify(Duration.ofSeconds(5L));
+        prp.dispose();
+    }
+
+    @Test
+    void testReevaluationsAfterBackToBackUpdatesAreBounded() {
+        // WHEN
+        var updates = Sinks.many().multicast().<PrpUpdateEvent>onBackpressureBuffer();
+        when(sourceMock.getUpdates()).thenReturn(updates.asFlux());
+        var changedIndexMock = mock(ImmutableParsedDocumentIndex.class);
+        var initial          = new PolicyRetrievalResult();
+        var changed          = new PolicyRetrievalResult().withMatch(mock(SAPL.class));
+        when(indexMock.retrievePolicies()).thenReturn(Mono.just(initial));
+        when(changedIndexMock.retrievePolicies()).thenReturn(Mono.just(changed));
+        var seedIndexMock = mock(ImmutableParsedDocumentIndex.class);
+        when(seedIndexMock.apply(any())).thenReturn(indexMock);
+        // eight intermediate updates leave the result unchanged, the ninth changes it
+        var intermediate = Collections.nCopies(7, indexMock).toArray(ImmutableParsedDocumentIndex[]::new);
+        var last         = Arrays.copyOf(intermediate, intermediate.length + 1);
+        last[intermediate.length] = changedIndexMock;
+        when(indexMock.apply(any())).thenReturn(indexMock, last);
+
+        var streams       = 4;
+        var batchSize     = 1;
+        var batchInterval = Duration.ofMillis(100L);
+        var prp           = new GenericInMemoryIndexedPolicyRetrievalPoint(seedIndexMock, sourceMock, batchSize,
+                batchInterval);
+        updates.tryEmitNext(mock(PrpUpdateEvent.class));
+        var bound = batchInterval.multipliedBy(streams / batchSize);
+
+        // THEN
+        StepVerifier.withVirtualTime(() -> Flux.range(0, streams).flatMap(i -> prp.retrievePolicies()))
+                .expectNextCount(streams).then(() -> {
+                    for (int i = 0; i < 4; i++)
+                        updates.tryEmitNext(mock(PrpUpdateEvent.class));
+                }).thenAwait(Duration.ofMillis(50L)).then(() -> {
+                    for (int i = 0; i < 4; i++)
+                        updates.tryEmitNext(mock(PrpUpdateEvent.class));
+                }).thenAwait(Duration.ofMillis(50L)).then(() -> updates.tryEmitNext(mock(PrpUpdateEvent.class)))
+                .thenAwait(bound).expectNext(changed, changed, changed, changed).thenCancel()
+                .verify(Duration.ofSeconds(5L));
+        prp.dispose();
+    }
+
 }
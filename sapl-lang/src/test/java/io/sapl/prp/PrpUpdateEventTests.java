@@ -18,6 +18,7 @@
 package io.sapl.prp;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
@@ -55,4 +56,22 @@ void toStringTest() {
         assertThat(valid.toString(), is("Update(type=PUBLISH, documentName='SAPL')"));
     }
 
+    @Test
+    void withdrawalsWithoutRawDocumentAreDistinguishedByDocumentName() {
+        var withdrawA        = new Update(Type.WITHDRAW, saplNamed("a"), null);
+        var withdrawB        = new Update(Type.WITHDRAW, saplNamed("b"), null);
+        var withdrawAnotherA = new Update(Type.WITHDRAW, saplNamed("a"), null);
+
+        assertThat(withdrawA, not(is(withdrawB)));
+        assertThat(new PrpUpdateEvent(withdrawA), not(is(new PrpUpdateEvent(withdrawB))));
+        assertThat(withdrawA, is(withdrawAnotherA));
+        assertThat(withdrawA.hashCode(), is(withdrawAnotherA.hashCode()));
+    }
+
+    private static SAPL saplNamed(String name) {
+        var sapl = mock(SAPL.class, RETURNS_DEEP_STUBS);
+        when(sapl.getPolicyElement().getSaplName()).thenReturn(name);
+        return sapl;
+    }
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ReevaluationRateLimiterTests {
+
+    @Test
+    void when_batchIsExhausted_then_furtherReevaluationsAreSpreadOverInterval() {
+        // GIVEN
+        var clock   = new AtomicLong();
+        var limiter = new ReevaluationRateLimiter(2, Duration.ofMillis(100L), clock::get);
+
+        // WHEN
+        var first  = limiter.nextDelay(0L);
+        var second = limiter.nextDelay(0L);
+        var third  = limiter.nextDelay(0L);
+        var fourth = limiter.nextDelay(0L);
+
+        // THEN
+        assertThat(first, is(Duration.ZERO));
+        assertThat(second, is(Duration.ZERO));
+        assertThat(third, is(Duration.ofMillis(50L)));
+        assertThat(fourth, is(Duration.ofMillis(100L)));
+    }
+
+    @Test
+    void when_timeHasPassed_then_batchIsAvailableAgain() {
+        // GIVEN
+        var clock   = new AtomicLong();
+        var limiter = new ReevaluationRateLimiter(1, Duration.ofMillis(100L), clock::get);
+        limiter.nextDelay(0L);
+        limiter.nextDelay(0L);
+
+        // WHEN
+        clock.addAndGet(Duration.ofSeconds(1L).toNanos());
+
+        // THEN
+        assertThat(limiter.nextDelay(0L), is(Duration.ZERO));
+    }
+
+    @Test
+    void when_newerGenerationArrives_then_slotsOfOlderGenerationsAreDiscarded() {
+        // GIVEN
+        var clock   = new AtomicLong();
+        var limiter = new ReevaluationRateLimiter(1, Duration.ofMillis(100L), clock::get);
+        for (int i = 0; i < 10; i++)
+            limiter.nextDelay(0L);
+
+        // WHEN
+        var first  = limiter.nextDelay(1L);
+        var second = limiter.nextDelay(1L);
+
+        // THEN
+        assertThat(first, is(Duration.ZERO));
+        assertThat(second, is(Duration.ofMillis(100L)));
+    }
+
+    @Test
+    void when_olderGenerationArrivesLate_then_itIsNotDelayedAndDoesNotConsumeSlots() {
+        // GIVEN
+        var clock   = new AtomicLong();
+        var limiter = new ReevaluationRateLimiter(1, Duration.ofMillis(100L), clock::get);
+        limiter.nextDelay(1L);
+
+        // WHEN
+        var stale = limiter.nextDelay(0L);
+        var next  = limiter.nextDelay(1L);
+
+        // THEN
+        assertThat(stale, is(Duration.ZERO));
+        assertThat(next, is(Duration.ofMillis(100L)));
+    }
+
+    @Test
+    void when_intervalIsZero_then_reevaluationsAreNeverDelayed() {
+        var limiter = new ReevaluationRateLimiter(1, Duration.ZERO, () -> 0L);
+        for (int i = 0; i < 10; i++)
+            assertThat(limiter.nextDelay(0L), is(Duration.ZERO));
+    }
+
+    @Test
+    void when_batchSizeIsNotPositive_then_constructionFails() {
+        var interval = Duration.ofMillis(100L);
+        assertThrows(IllegalArgumentException.class, () -> new ReevaluationRateLimiter(0, interval));
+    }
+
+}
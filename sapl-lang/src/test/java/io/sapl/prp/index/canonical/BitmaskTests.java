@@ -19,12 +19,17 @@
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.BitSet;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -57,4 +62,126 @@ void forEachSetBitTest() {
         verify(listMock, times(2)).add(anyInt());
     }
 
+    @Test
+    void when_bitsSpanSeveralChunks_then_operationsMatchDenseBitSet() {
+        // GIVEN
+        var sparse = new Bitmask();
+        var dense  = new Bitmask();
+        dense.set(10, 200_000);
+        sparse.set(5);
+        sparse.set(70_000);
+        sparse.set(199_999);
+        sparse.set(250_000);
+
+        // WHEN
+        var intersection = new Bitmask(dense);
+        intersection.and(sparse);
+        var difference = new Bitmask(dense);
+        difference.andNot(sparse);
+
+        // THEN
+        assertThat(intersection.toString(), is("{70000, 199999}"));
+        assertEquals(200_000 - 10 - 2, difference.numberOfBitsSet());
+        assertFalse(difference.isSet(70_000));
+        assertTrue(difference.isSet(70_001));
+        assertTrue(dense.intersects(sparse));
+        assertFalse(difference.intersects(intersection));
+    }
+
+    @Test
+    void when_randomOperationsAreApplied_then_resultsMatchBitSet() {
+        var random = new Random(4711L);
+        for (int round = 0; round < 50; round++) {
+            // GIVEN
+            var leftBits  = randomBitSet(random);
+            var rightBits = randomBitSet(random);
+            var left      = toBitmask(leftBits, random.nextBoolean());
+            var right     = toBitmask(rightBits, random.nextBoolean());
+
+            // WHEN
+            var and = new Bitmask(left);
+            and.and(right);
+            var andNot = new Bitmask(left);
+            andNot.andNot(right);
+            var or = new Bitmask(left);
+            or.or(right);
+
+            // THEN
+            var expectedAnd = (BitSet) leftBits.clone();
+            expectedAnd.and(rightBits);
+            var expectedAndNot = (BitSet) leftBits.clone();
+            expectedAndNot.andNot(rightBits);
+            var expectedOr = (BitSet) leftBits.clone();
+            expectedOr.or(rightBits);
+
+            assertEquals(expectedAnd.toString(), and.toString());
+            assertEquals(expectedAndNot.toString(), andNot.toString());
+            assertEquals(expectedOr.toString(), or.toString());
+            assertEquals(expectedOr.cardinality(), or.numberOfBitsSet());
+            assertEquals(leftBits.intersects(rightBits), left.intersects(right));
+            assertEquals(leftBits.toString(), left.toString());
+        }
+    }
+
+    @Test
+    void when_bitsAreClearedAndFlipped_then_resultsMatchBitSet() {
+        var random = new Random(815L);
+        for (int round = 0; round < 20; round++) {
+            // GIVEN
+            var expected = randomBitSet(random);
+            var bitmask  = toBitmask(expected, random.nextBoolean());
+
+            // WHEN
+            for (int i = 0; i < 100; i++) {
+                var index = random.nextInt(140_000);
+                expected.clear(index);
+                bitmask.clear(index);
+            }
+            var from = random.nextInt(140_000);
+            var to   = from + random.nextInt(140_000 - from);
+            expected.flip(from, to);
+            bitmask.flip(from, to);
+
+            // THEN
+            assertEquals(expected.toString(), bitmask.toString());
+        }
+    }
+
+    private static BitSet randomBitSet(Random random) {
+        var bits = new BitSet();
+        switch (random.nextInt(3)) {
+        case 0 -> {
+            // sparse
+            for (int i = 0; i < 500; i++)
+                bits.set(random.nextInt(140_000));
+        }
+        case 1 -> {
+            // dense
+            for (int i = 0; i < 140_000; i++) {
+                if (random.nextInt(3) == 0)
+                    bits.set(i);
+            }
+        }
+        default -> {
+            // runs
+            for (int i = 0; i < 20; i++) {
+                var from = random.nextInt(140_000);
+                bits.set(from, from + random.nextInt(5_000));
+            }
+        }
+        }
+        return bits;
+    }
+
+    private static Bitmask toBitmask(BitSet bits, boolean setRanges) {
+        var bitmask = new Bitmask();
+        if (!setRanges) {
+            bits.stream().forEach(bitmask::set);
+            return bitmask;
+        }
+        for (int from = bits.nextSetBit(0); from >= 0; from = bits.nextSetBit(bits.nextClearBit(from)))
+            bitmask.set(from, bits.nextClearBit(from));
+        return bitmask;
+    }
+
 }
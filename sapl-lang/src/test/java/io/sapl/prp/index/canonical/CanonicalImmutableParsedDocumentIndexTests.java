@@ -21,6 +21,7 @@
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -125,7 +126,7 @@ void test_apply_update_events() {
 
         var updatedIndex = spyIndex.apply(prpUpdateEvent);
         verify(spyIndex, times(2)).applyUpdate(any(), argThat(e -> e.getType() == Type.PUBLISH));
-        verify(spyIndex, times(1)).recreateIndex(argThat(map -> map.size() == 2), eq(true));
+        verify(spyIndex, times(1)).recreateIndex(argThat(map -> map.size() == 2), any(), eq(true));
         spyIndex = (CanonicalImmutableParsedDocumentIndex) spy(updatedIndex);
 
         /* WITHDRAW + INCONSISTENT */
@@ -133,7 +134,7 @@ void test_apply_update_events() {
                 update(Type.INCONSISTENT, null));
         updatedIndex   = spyIndex.apply(prpUpdateEvent);
         verify(spyIndex, times(2)).applyUpdate(any(), argThat(e -> e.getType() == Type.WITHDRAW));
-        verify(spyIndex, times(1)).recreateIndex(argThat(Map::isEmpty), eq(false));
+        verify(spyIndex, times(1)).recreateIndex(argThat(Map::isEmpty), any(), eq(false));
         spyIndex = (CanonicalImmutableParsedDocumentIndex) spy(updatedIndex);
 
         assertFalse(updatedIndex.retrievePolicies().block().isPrpValidState());
@@ -142,7 +143,7 @@ void test_apply_update_events() {
         prpUpdateEvent = new PrpUpdateEvent();
         spyIndex.apply(prpUpdateEvent);
         verify(spyIndex, times(0)).applyUpdate(any(), any());
-        verify(spyIndex, times(1)).recreateIndex(argThat(Map::isEmpty), eq(false));
+        verify(spyIndex, times(1)).recreateIndex(argThat(Map::isEmpty), any(), eq(false));
     }
 
     private Update update(Type type, String name) {
@@ -224,6 +225,61 @@ void test_orphaned() {
         assertTrue(result.getMatchingDocuments().contains(doc2));
     }
 
+    @Test
+    void when_documentsShareAPredicate_then_boolInstanceIsInterned() {
+        // GIVEN
+        var def1  = "policy \"p_0\" permit resource.x1";
+        var def2  = "policy \"p_1\" permit resource.x1 & resource.x2";
+        var event = new PrpUpdateEvent(new Update(Type.PUBLISH, interpreter.parse(def1), def1),
+                new Update(Type.PUBLISH, interpreter.parse(def2), def2));
+
+        // WHEN
+        var index = (CanonicalImmutableParsedDocumentIndex) emptyIndex.apply(event);
+
+        // THEN
+        var bool = index.getTarget("p_0").getClauses().get(0).getLiterals().get(0).getBool();
+        assertTrue(index.getTarget("p_1").getClauses().get(0).getLiterals().stream()
+                .anyMatch(literal -> literal.getBool() == bool));
+    }
+
+    @Test
+    void when_documentIsUnchanged_then_normalizedTargetIsReused() {
+        // GIVEN
+        var def1  = "policy \"p_0\" permit resource.x0 | resource.x1";
+        var def2  = "policy \"p_1\" permit resource.x1";
+        var index = (CanonicalImmutableParsedDocumentIndex) emptyIndex
+                .apply(new PrpUpdateEvent(new Update(Type.PUBLISH, interpreter.parse(def1), def1)));
+
+        // WHEN
+        var updatedIndex = (CanonicalImmutableParsedDocumentIndex) index
+                .apply(new PrpUpdateEvent(new Update(Type.PUBLISH, interpreter.parse(def2), def2)));
+
+        // THEN
+        assertSame(index.getTarget("p_0"), updatedIndex.getTarget("p_0"));
+        var reusedBools = updatedIndex.getTarget("p_0").getClauses().stream()
+                .map(clause -> clause.getLiterals().get(0).getBool()).toList();
+        var newBool     = updatedIndex.getTarget("p_1").getClauses().get(0).getLiterals().get(0).getBool();
+        assertTrue(reusedBools.stream().anyMatch(bool -> bool == newBool));
+    }
+
+    @Test
+    void when_manyDocumentsArePublished_then_targetsAreNormalizedInParallelAndInterned() {
+        // GIVEN
+        var updates = new ArrayList<Update>();
+        for (int i = 0; i < 2 * CanonicalImmutableParsedDocumentIndex.PARALLEL_NORMALIZATION_THRESHOLD; i++) {
+            var definition = "policy \"p_" + i + "\" permit resource.x1";
+            updates.add(new Update(Type.PUBLISH, interpreter.parse(definition), definition));
+        }
+
+        // WHEN
+        var index = (CanonicalImmutableParsedDocumentIndex) emptyIndex.apply(new PrpUpdateEvent(updates));
+
+        // THEN
+        var first = index.getTarget("p_0").getClauses().get(0).getLiterals().get(0).getBool();
+        assertTrue(updates.stream().map(update -> update.getDocument().getPolicyElement().getSaplName())
+                .allMatch(name -> index.getTarget(name).getClauses().get(0).getLiterals().get(0).getBool() == first));
+    }
+
     @Test
     void testPutSimple() {
         // given
@@ -391,7 +447,7 @@ void exception_while_retaining_Target() {
                 CanonicalIndexDataCreationStrategy.class,
                 (mock, context) -> doReturn(null).when(mock).constructNew(any(), any()))) {
 
-            emptyIndex.recreateIndex(saplMap, true);
+            emptyIndex.recreateIndex(saplMap, Map.of(), true);
             verify(mocked.constructed().get(0), times(1)).constructNew(any(), any());
         }
     }
@@ -409,7 +465,7 @@ void null_while_retaining_Target() {
                 CanonicalIndexDataCreationStrategy.class,
                 (mock, context) -> doReturn(null).when(mock).constructNew(any(), any()))) {
 
-            emptyIndex.recreateIndex(saplMap, true);
+            emptyIndex.recreateIndex(saplMap, Map.of(), true);
             verify(mocked.constructed().get(0), times(1)).constructNew(any(), any());
         }
     }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp.index.canonical;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.interpreter.DefaultSAPLInterpreter;
+import io.sapl.interpreter.context.AuthorizationContext;
+import io.sapl.interpreter.functions.AnnotationFunctionContext;
+import io.sapl.interpreter.pip.AnnotationAttributeContext;
+import io.sapl.prp.PrpUpdateEvent;
+import io.sapl.prp.PrpUpdateEvent.Type;
+import io.sapl.prp.PrpUpdateEvent.Update;
+import io.sapl.prp.index.ImmutableParsedDocumentIndex;
+
+class CanonicalIndexSnapshotTests {
+
+    private static final DefaultSAPLInterpreter INTERPRETER = new DefaultSAPLInterpreter();
+
+    private static final List<String> DOCUMENTS = List.of("policy \"p_0\" permit resource.x0 & !resource.x1",
+            "policy \"p_1\" permit resource.x1 | (resource.x0 & resource.x2)",
+            "policy \"p_2\" permit !(resource.x0 | resource.x2)",
+            "set \"s_0\" first-applicable for resource.x2 policy \"p_3\" permit", "policy \"p_4\" permit");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void when_documentsAreUnchanged_then_indexIsRestoredFromSnapshot() {
+        // GIVEN
+        var snapshotFile = tempDir.resolve("index.snapshot");
+        var builtIndex   = newIndex(snapshotFile).apply(publish(DOCUMENTS));
+        CanonicalIndexSnapshot.awaitPendingWrites();
+        assertTrue(Files.isRegularFile(snapshotFile));
+
+        // WHEN
+        var                          seedIndex = newIndex(snapshotFile);
+        var                          event     = publish(DOCUMENTS);
+        ImmutableParsedDocumentIndex restoredIndex;
+        try (var strategies = Mockito.mockConstruction(CanonicalIndexDataCreationStrategy.class)) {
+            restoredIndex = seedIndex.apply(event);
+
+            // THEN
+            assertThat(strategies.constructed().size(), is(0));
+        }
+        for (int i = 0; i < 8; i++) {
+            var resource = resource((i & 1) != 0, (i & 2) != 0, (i & 4) != 0);
+            assertThat(matchingNames(restoredIndex, resource),
+                    containsInAnyOrder(matchingNames(builtIndex, resource).toArray()));
+        }
+    }
+
+    @Test
+    void when_documentContentChanged_then_indexIsRebuiltAndSnapshotReplaced() throws IOException {
+        // GIVEN
+        var snapshotFile = tempDir.resolve("index.snapshot");
+        newIndex(snapshotFile).apply(publish(DOCUMENTS));
+        CanonicalIndexSnapshot.awaitPendingWrites();
+        var originalSnapshot = Files.readAllBytes(snapshotFile);
+        var changed          = new ArrayList<>(DOCUMENTS);
+        changed.set(0, "policy \"p_0\" permit resource.x0 & resource.x1");
+
+        // WHEN
+        var index = newIndex(snapshotFile).apply(publish(changed));
+        CanonicalIndexSnapshot.awaitPendingWrites();
+
+        // THEN
+        assertNotEquals(new String(originalSnapshot), new String(Files.readAllBytes(snapshotFile)));
+        assertThat(matchingNames(index, resource(true, true, false)), containsInAnyOrder("p_0", "p_1", "p_4"));
+    }
+
+    @Test
+    void when_snapshotIsCorrupt_then_indexIsRebuilt() throws IOException {
+        // GIVEN
+        var snapshotFile = tempDir.resolve("index.snapshot");
+        Files.write(snapshotFile, new byte[] { 0x53, 0x41, 0x50, 0x4C, 0, 0, 0, 1, 0, 0 });
+
+        // WHEN
+        var index = newIndex(snapshotFile).apply(publish(DOCUMENTS));
+        CanonicalIndexSnapshot.awaitPendingWrites();
+
+        // THEN
+        assertThat(matchingNames(index, resource(true, false, false)), containsInAnyOrder("p_0", "p_4"));
+        assertTrue(Files.size(snapshotFile) > 10);
+    }
+
+    @Test
+    void when_snapshotHasOtherFingerprint_then_indexIsRebuilt() throws IOException {
+        // GIVEN
+        var snapshotFile = tempDir.resolve("index.snapshot");
+        newIndex(snapshotFile).apply(publish(DOCUMENTS));
+        CanonicalIndexSnapshot.awaitPendingWrites();
+        var snapshot = Files.readAllBytes(snapshotFile);
+        // the fingerprint follows magic number, version and its length
+        snapshot[12] = (byte) (snapshot[12] == 'A' ? 'B' : 'A');
+        Files.write(snapshotFile, snapshot);
+
+        // WHEN
+        var seedIndex = newIndex(snapshotFile);
+        var event     = publish(DOCUMENTS);
+        try (var strategies = Mockito.mockConstruction(CanonicalIndexDataCreationStrategy.class)) {
+            seedIndex.apply(event);
+
+            // THEN
+            assertThat(strategies.constructed().size(), is(1));
+        }
+    }
+
+    @Test
+    void when_indexIsUpdatedRepeatedly_then_snapshotOfLatestDocumentsIsKept() {
+        // GIVEN
+        var snapshotFile = tempDir.resolve("index.snapshot");
+        var added        = "policy \"p_5\" permit resource.x1 & resource.x2";
+        var changed      = new ArrayList<>(DOCUMENTS);
+        changed.add(added);
+        newIndex(snapshotFile).apply(publish(DOCUMENTS))
+                .apply(new PrpUpdateEvent(new Update(Type.PUBLISH, INTERPRETER.parse(added), added)));
+
+        // WHEN
+        CanonicalIndexSnapshot.awaitPendingWrites();
+
+        // THEN
+        var seedIndex = newIndex(snapshotFile);
+        var event     = publish(changed);
+        try (var strategies = Mockito.mockConstruction(CanonicalIndexDataCreationStrategy.class)) {
+            var restoredIndex = seedIndex.apply(event);
+            assertThat(strategies.constructed().size(), is(0));
+            assertThat(matchingNames(restoredIndex, resource(false, true, true)),
+                    containsInAnyOrder("p_1", "s_0", "p_4", "p_5"));
+        }
+    }
+
+    @Test
+    void when_fingerprintIsComputedTwice_then_itIsStable() {
+        assertThat(CanonicalIndexSnapshot.fingerprint(), is(CanonicalIndexSnapshot.fingerprint()));
+    }
+
+    private static CanonicalImmutableParsedDocumentIndex newIndex(Path snapshotFile) {
+        return new CanonicalImmutableParsedDocumentIndex(new AnnotationAttributeContext(),
+                new AnnotationFunctionContext(), snapshotFile);
+    }
+
+    private static PrpUpdateEvent publish(List<String> documents) {
+        var updates = new ArrayList<Update>();
+        for (var document : documents)
+            updates.add(new Update(Type.PUBLISH, INTERPRETER.parse(document), document));
+        updates.add(new Update(Type.CONSISTENT, null, null));
+        return new PrpUpdateEvent(updates);
+    }
+
+    private static JsonNode resource(boolean x0, boolean x1, boolean x2) {
+        return JsonNodeFactory.instance.objectNode().put("x0", x0).put("x1", x1).put("x2", x2);
+    }
+
+    private static List<String> matchingNames(ImmutableParsedDocumentIndex index, JsonNode resource) {
+        var subscription = new AuthorizationSubscription(NullNode.getInstance(), NullNode.getInstance(), resource,
+                NullNode.getInstance());
+        var result       = index.retrievePolicies().contextWrite(ctx -> {
+                             ctx = AuthorizationContext.setAttributeContext(ctx, new AnnotationAttributeContext());
+                             ctx = AuthorizationContext.setFunctionContext(ctx, new AnnotationFunctionContext());
+                             ctx = AuthorizationContext.setVariables(ctx, new HashMap<>());
+                             ctx = AuthorizationContext.setSubscriptionVariables(ctx, subscription);
+                             return ctx;
+                         }).block();
+        return result.getMatchingDocuments().stream().map(document -> document.getPolicyElement().getSaplName())
+                .toList();
+    }
+
+}
@@ -24,6 +24,7 @@
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.function.UnaryOperator;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
@@ -102,27 +103,27 @@ void traverse_should_call_walk_when_node_has_no_filters_steps_and_subTemplate()
 
     private void verifyTraverseCalledWalk(BasicGroup group) {
         try (MockedStatic<TreeWalker> mock = mockStatic(TreeWalker.class)) {
-            mock.when(() -> TreeWalker.walk(any(), any())).thenReturn(mock(DisjunctiveFormula.class));
-            mock.when(() -> TreeWalker.traverse(any(), any())).thenCallRealMethod();
-            mock.when(() -> TreeWalker.endRecursion(any(), any())).thenReturn(mock(DisjunctiveFormula.class));
+            mock.when(() -> TreeWalker.walk(any(), any(), any())).thenReturn(mock(DisjunctiveFormula.class));
+            mock.when(() -> TreeWalker.traverse(any(), any(), any())).thenCallRealMethod();
+            mock.when(() -> TreeWalker.endRecursion(any(), any(), any())).thenReturn(mock(DisjunctiveFormula.class));
 
-            TreeWalker.traverse(group, Collections.emptyMap());
+            TreeWalker.traverse(group, Collections.emptyMap(), UnaryOperator.identity());
 
-            mock.verify(() -> TreeWalker.traverse(any(), any()));
-            mock.verify(() -> TreeWalker.walk(any(), any()));
+            mock.verify(() -> TreeWalker.traverse(any(), any(), any()));
+            mock.verify(() -> TreeWalker.walk(any(), any(), any()));
         }
     }
 
     private void verifyTraverseCalledEndRecursion(BasicGroup group) {
         try (MockedStatic<TreeWalker> mock = mockStatic(TreeWalker.class)) {
-            mock.when(() -> TreeWalker.walk(any(), any())).thenReturn(mock(DisjunctiveFormula.class));
-            mock.when(() -> TreeWalker.traverse(any(), any())).thenCallRealMethod();
-            mock.when(() -> TreeWalker.endRecursion(any(), any())).thenReturn(mock(DisjunctiveFormula.class));
+            mock.when(() -> TreeWalker.walk(any(), any(), any())).thenReturn(mock(DisjunctiveFormula.class));
+            mock.when(() -> TreeWalker.traverse(any(), any(), any())).thenCallRealMethod();
+            mock.when(() -> TreeWalker.endRecursion(any(), any(), any())).thenReturn(mock(DisjunctiveFormula.class));
 
-            TreeWalker.traverse(group, Collections.emptyMap());
+            TreeWalker.traverse(group, Collections.emptyMap(), UnaryOperator.identity());
 
-            mock.verify(() -> TreeWalker.traverse(any(), any()));
-            mock.verify(() -> TreeWalker.endRecursion(any(), any()));
+            mock.verify(() -> TreeWalker.traverse(any(), any(), any()));
+            mock.verify(() -> TreeWalker.endRecursion(any(), any(), any()));
         }
     }
 
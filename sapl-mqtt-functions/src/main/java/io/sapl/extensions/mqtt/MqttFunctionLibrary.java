@@ -19,6 +19,8 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttTopicFilter;
 
@@ -32,6 +34,10 @@
 /**
  * This sapl function library provides functions to check whether mqtt topics
  * are matching against mqtt topics which contain wildcards.
+ * <p>
+ * Parsed topic filters are cached, as policies usually match the same wildcard
+ * topics over and over again. The topics to match vary with each subscription,
+ * so they are parsed on each call and not cached.
  */
 @UtilityClass
 @FunctionLibrary(name = MqttFunctionLibrary.NAME, description = MqttFunctionLibrary.DESCRIPTION)
@@ -41,6 +47,12 @@ public class MqttFunctionLibrary {
     static final String DESCRIPTION = "Functions for matching topics to wildcard topics.";
 
     private static final String TOPIC_CONTAINS_WILDCARD_ERROR_MESSAGE = "The wildcard topic must not be matched against topics containing wildcards.";
+    private static final String SHARED_TOPIC_ERROR_MESSAGE            = "The wildcard topic must not be matched against shared subscription topics.";
+    private static final String SHARED_SUBSCRIPTION_PREFIX            = "$share/";
+    static final int            MAXIMUM_CACHED_TOPIC_FILTERS          = 10_000;
+
+    private static final Cache<String, MqttTopicFilter> TOPIC_FILTER_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_TOPIC_FILTERS).build();
 
     /**
      * This function checks whether all given mqtt topics are matching the wildcard
@@ -83,22 +95,22 @@ public Val isMatchingAtLeastOneTopic(@Text Val wildcardTopic, @Text @Array Val t
     }
 
     private Val isMatchingSingleTopic(MqttTopicFilter mqttTopicFilter, Val topic) {
-        if (MqttTopicFilter.of(topic.getText()).containsWildcards()) {
-            return Val.error(TOPIC_CONTAINS_WILDCARD_ERROR_MESSAGE);
+        var error = topicError(topic.getText());
+        if (error != null) {
+            return Val.error(error);
         } else {
-            var mqttTopic = MqttTopic.of(topic.getText());
-            return Val.of(mqttTopicFilter.matches(mqttTopic));
+            return Val.of(mqttTopicFilter.matches(MqttTopic.of(topic.getText())));
         }
     }
 
     private Val isMatchingAllTopics(MqttTopicFilter mqttTopicFilter, ArrayNode topicsArray) {
         var isMatching = true;
         for (JsonNode topic : topicsArray) {
-            if (MqttTopicFilter.of(topic.asText()).containsWildcards()) {
-                return Val.error(TOPIC_CONTAINS_WILDCARD_ERROR_MESSAGE);
+            var error = topicError(topic.asText());
+            if (error != null) {
+                return Val.error(error);
             }
-            var mqttTopic = MqttTopic.of(topic.asText());
-            if (!mqttTopicFilter.matches(mqttTopic)) {
+            if (!mqttTopicFilter.matches(MqttTopic.of(topic.asText()))) {
                 isMatching = false;
             }
         }
@@ -108,11 +120,11 @@ private Val isMatchingAllTopics(MqttTopicFilter mqttTopicFilter, ArrayNode topic
     private Val isMatchingAtLeastOneTopic(MqttTopicFilter mqttTopicFilter, ArrayNode topicsArray) {
         var isMatching = false;
         for (JsonNode topic : topicsArray) {
-            if (MqttTopicFilter.of(topic.asText()).containsWildcards()) {
-                return Val.error(TOPIC_CONTAINS_WILDCARD_ERROR_MESSAGE);
+            var error = topicError(topic.asText());
+            if (error != null) {
+                return Val.error(error);
             }
-            var mqttTopic = MqttTopic.of(topic.asText());
-            if (mqttTopicFilter.matches(mqttTopic)) {
+            if (mqttTopicFilter.matches(MqttTopic.of(topic.asText()))) {
                 isMatching = true;
             }
         }
@@ -120,6 +132,43 @@ private Val isMatchingAtLeastOneTopic(MqttTopicFilter mqttTopicFilter, ArrayNode
     }
 
     private MqttTopicFilter buildMqttTopicFilter(Val wildcardTopic) {
-        return MqttTopicFilter.of(wildcardTopic.getText());
+        return topicFilterOf(wildcardTopic.getText());
+    }
+
+    /**
+     * Topics to match must be concrete topics. Wildcards and the prefix of shared
+     * subscriptions are only allowed in topic filters.
+     *
+     * @param topic a textual mqtt topic
+     * @return the error message, or null if the topic can be matched
+     */
+    private String topicError(String topic) {
+        if (topic.indexOf(MqttTopicFilter.SINGLE_LEVEL_WILDCARD) >= 0
+                || topic.indexOf(MqttTopicFilter.MULTI_LEVEL_WILDCARD) >= 0) {
+            return TOPIC_CONTAINS_WILDCARD_ERROR_MESSAGE;
+        }
+        if (topic.startsWith(SHARED_SUBSCRIPTION_PREFIX)) {
+            return SHARED_TOPIC_ERROR_MESSAGE;
+        }
+        return null;
+    }
+
+    /**
+     * Parses the given wildcard topic into a topic filter. The least recently used
+     * filters are evicted once the cache is full.
+     *
+     * @param wildcardTopic a textual mqtt topic, possibly containing wildcards
+     * @return the parsed topic filter
+     */
+    MqttTopicFilter topicFilterOf(String wildcardTopic) {
+        return TOPIC_FILTER_CACHE.asMap().computeIfAbsent(wildcardTopic, MqttTopicFilter::of);
+    }
+
+    /**
+     * @return the number of cached topic filters.
+     */
+    long cachedTopicFilters() {
+        TOPIC_FILTER_CACHE.cleanUp();
+        return TOPIC_FILTER_CACHE.size();
     }
 }
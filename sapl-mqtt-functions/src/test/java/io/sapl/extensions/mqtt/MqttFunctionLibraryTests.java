@@ -17,7 +17,9 @@
  */
 package io.sapl.extensions.mqtt;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -268,4 +270,60 @@ void when_atLeastOneTopicShouldMatchWithSingleLevelWildcardAndSingleTopicDoesNot
                 .verify();
     }
 
+    @Test
+    void when_topicIsParsedTwice_then_cachedTopicFilterIsReturned() {
+        // WHEN
+        var first  = MqttFunctionLibrary.topicFilterOf("first/+/third");
+        var second = MqttFunctionLibrary.topicFilterOf("first/+/third");
+
+        // THEN
+        assertSame(first, second);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "$share/group/first/second", "$share/group/#" })
+    void when_topicIsSharedSubscriptionTopic_then_returnValError(String sharedTopic) {
+        // GIVEN
+        Val wildcardTopic = Val.of("#");
+        Val topics        = Val.of(JSON.arrayNode().add("first/second").add(sharedTopic));
+
+        // WHEN
+        var allMatching        = MqttFunctionLibrary.isMatchingAllTopics(wildcardTopic, Val.of(sharedTopic));
+        var atLeastOneMatching = MqttFunctionLibrary.isMatchingAtLeastOneTopic(wildcardTopic, topics);
+
+        // THEN
+        assertTrue(allMatching.isError());
+        assertTrue(atLeastOneMatching.isError());
+    }
+
+    @Test
+    void when_topicsAreMatched_then_onlyTheWildcardTopicIsCached() {
+        // GIVEN
+        var wildcardTopic = "cache/+/test";
+        MqttFunctionLibrary.topicFilterOf(wildcardTopic);
+        var cachedTopicFilters = MqttFunctionLibrary.cachedTopicFilters();
+        var topics             = JSON.arrayNode();
+        for (var i = 0; i < 100; i++) {
+            topics.add("cache/" + i + "/test");
+        }
+
+        // WHEN
+        boolean isMatching = MqttFunctionLibrary.isMatchingAllTopics(Val.of(wildcardTopic), Val.of(topics))
+                .getBoolean();
+
+        // THEN
+        assertTrue(isMatching);
+        assertEquals(cachedTopicFilters, MqttFunctionLibrary.cachedTopicFilters());
+    }
+
+    @Test
+    void when_manyWildcardTopicsAreParsed_then_numberOfCachedTopicFiltersIsBounded() {
+        // WHEN
+        for (var i = 0; i <= MqttFunctionLibrary.MAXIMUM_CACHED_TOPIC_FILTERS; i++) {
+            MqttFunctionLibrary.topicFilterOf("bounded/" + i + "/#");
+        }
+
+        // THEN
+        assertTrue(MqttFunctionLibrary.cachedTopicFilters() <= MqttFunctionLibrary.MAXIMUM_CACHED_TOPIC_FILTERS);
+    }
 }
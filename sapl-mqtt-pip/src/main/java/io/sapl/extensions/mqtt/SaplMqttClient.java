@@ -39,9 +39,9 @@
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -71,6 +71,13 @@
 /**
  * This mqtt client allows the user to receive mqtt messages of subscribed
  * topics from a mqtt broker.
+ * <p>
+ * Attribute streams subscribing to the same topic(s) with the same quality of
+ * service on the same broker share a single broker subscription. The mqtt
+ * client routes incoming messages to this subscription by its topic filters,
+ * the payload is decoded once per message and the subscription is released as
+ * soon as the last attribute stream is cancelled. New attribute streams joining
+ * an existing subscription receive the last message immediately.
  */
 @Slf4j
 public class SaplMqttClient {
@@ -96,8 +103,12 @@ public class SaplMqttClient {
     private static final int    DEFAULT_BROKER_PORT         = 1883;
     private static final int    DEFAULT_QOS                 = 0;              // AT_MOST_ONCE
 
-    static final ConcurrentHashMap<Integer, MqttClientValues>   MQTT_CLIENT_CACHE             = new ConcurrentHashMap<>();
-    static final ConcurrentHashMap<UUID, DefaultResponseConfig> DEFAULT_RESPONSE_CONFIG_CACHE = new ConcurrentHashMap<>();
+    static final ConcurrentHashMap<ObjectNode, MqttClientValues>     MQTT_CLIENT_CACHE             = new ConcurrentHashMap<>();
+    static final ConcurrentHashMap<UUID, DefaultResponseConfig>      DEFAULT_RESPONSE_CONFIG_CACHE = new ConcurrentHashMap<>();
+    static final ConcurrentHashMap<SharedSubscriptionKey, Flux<Val>> SHARED_SUBSCRIPTIONS          = new ConcurrentHashMap<>();
+
+    record SharedSubscriptionKey(ObjectNode brokerConfig, Val topic, Val qos) {
+    }
 
     /**
      * This method returns a reactive stream of mqtt messages of one or many
@@ -171,8 +182,7 @@ private Flux<Val> buildMqttMessageFlux(Val topic, Val qos, Val mqttPipConfig, Js
         Sinks.Many<Val> emitterUndefined = Sinks.many().multicast().directAllOrNothing();
 
         var mqttMessageFlux = buildFluxOfConfigParams(qos, mqttPipConfig, pipMqttClientConfig)
-                .map(params -> getConnectionAndSubscription(topic, pipMqttClientConfig, params))
-                .switchMap(this::connectAndSubscribe).map(this::getValFromMqttPublishMessage).share()
+                .switchMap(params -> sharedMqttMessages(topic, pipMqttClientConfig, params)).share()
                 .retryWhen(getRetrySpec(pipMqttClientConfig).doBeforeRetry(
                         retrySignal -> emitValueOnRetry(pipMqttClientConfig, emitterUndefined, retrySignal)));
 
@@ -228,30 +238,46 @@ private Flux<Tuple2<Val, Val>> buildFluxOfConfigParams(Val qos, Val mqttPipConfi
         return Flux.just(Tuples.of(qos, Val.of(mqttBrokerConfig)));
     }
 
-    private Tuple4<Mqtt5ReactorClient, Mono<Mqtt5ConnAck>, Flux<Mqtt5Publish>, Integer> getConnectionAndSubscription(
-            Val topic, JsonNode pipMqttClientConfig, Tuple2<Val, Val> params) {
+    private Flux<Val> sharedMqttMessages(Val topic, JsonNode pipMqttClientConfig, Tuple2<Val, Val> params) {
         var mqttBrokerConfig = params.getT2().getObjectNode();
-        var brokerConfigHash = mqttBrokerConfig.hashCode();
-        var clientValues     = getOrBuildMqttClientValues(mqttBrokerConfig, brokerConfigHash, pipMqttClientConfig);
-        var qos              = params.getT1();
-        var mqttSubscription = buildMqttSubscription(brokerConfigHash, topic, qos);
+        var subscriptionKey  = new SharedSubscriptionKey(mqttBrokerConfig.deepCopy(), topic, params.getT1());
+        return SHARED_SUBSCRIPTIONS.computeIfAbsent(subscriptionKey,
+                key -> newSharedMqttMessages(key, pipMqttClientConfig));
+    }
+
+    private Flux<Val> newSharedMqttMessages(SharedSubscriptionKey subscriptionKey, JsonNode pipMqttClientConfig) {
+        var sharedMessages = new AtomicReference<Flux<Val>>();
+        sharedMessages.set(Flux
+                .defer(() -> connectAndSubscribe(getConnectionAndSubscription(subscriptionKey, pipMqttClientConfig)))
+                .map(this::getValFromMqttPublishMessage)
+                .doFinally(signalType -> SHARED_SUBSCRIPTIONS.remove(subscriptionKey, sharedMessages.get())).replay(1)
+                .refCount());
+        return sharedMessages.get();
+    }
+
+    private Tuple4<Mqtt5ReactorClient, Mono<Mqtt5ConnAck>, Flux<Mqtt5Publish>, ObjectNode> getConnectionAndSubscription(
+            SharedSubscriptionKey subscriptionKey, JsonNode pipMqttClientConfig) {
+        var brokerConfig     = subscriptionKey.brokerConfig();
+        var clientValues     = getOrBuildMqttClientValues(brokerConfig, pipMqttClientConfig);
+        var mqttSubscription = buildMqttSubscription(brokerConfig, clientValues, subscriptionKey.topic(),
+                subscriptionKey.qos());
 
         return Tuples.of(clientValues.getMqttReactorClient(), clientValues.getClientConnection(), mqttSubscription,
-                brokerConfigHash);
+                brokerConfig);
     }
 
     private Flux<Mqtt5Publish> connectAndSubscribe(
-            Tuple4<Mqtt5ReactorClient, Mono<Mqtt5ConnAck>, Flux<Mqtt5Publish>, Integer> buildParams) {
+            Tuple4<Mqtt5ReactorClient, Mono<Mqtt5ConnAck>, Flux<Mqtt5Publish>, ObjectNode> buildParams) {
         var clientConnection = buildParams.getT2();
         var mqttSubscription = buildParams.getT3();
-        var brokerConfigHash = buildParams.getT4();
+        var brokerConfig     = buildParams.getT4();
         return clientConnection.thenMany(mqttSubscription).doOnError(ErrorUtility::isErrorRelevantToRemoveClientCache,
-                throwable -> MQTT_CLIENT_CACHE.remove(brokerConfigHash));
+                throwable -> MQTT_CLIENT_CACHE.remove(brokerConfig));
     }
 
-    private Flux<Mqtt5Publish> buildMqttSubscription(int brokerConfigHash, Val topic, Val qos) {
+    private Flux<Mqtt5Publish> buildMqttSubscription(ObjectNode brokerConfig, MqttClientValues mqttClientValues,
+            Val topic, Val qos) {
         var topicSubscription = buildTopicSubscription(topic, qos);
-        var mqttClientValues  = Objects.requireNonNull(MQTT_CLIENT_CACHE.get(brokerConfigHash));
         var mqttClientReactor = mqttClientValues.getMqttReactorClient();
         return mqttClientReactor
                 // FluxWithSingle is a combination of the single 'subscription acknowledgement'
@@ -268,28 +294,20 @@ private Flux<Mqtt5Publish> buildMqttSubscription(int brokerConfigHash, Val topic
                 .doOnNext(mqtt5Publish -> log.debug("Mqtt client '{}' received message of topic '{}' with QoS '{}'.",
                         getClientId(mqttClientReactor), mqtt5Publish.getTopic(), mqtt5Publish.getQos()))
                 .onErrorResume(ErrorUtility::isClientCausedDisconnect, throwable -> Mono.empty())
-                .doOnCancel(() -> handleMessageFluxCancel(brokerConfigHash, topic));
+                .doOnCancel(() -> handleMessageFluxCancel(brokerConfig, topic));
     }
 
-    private MqttClientValues getOrBuildMqttClientValues(ObjectNode mqttBrokerConfig, int brokerConfigHash,
-            JsonNode pipMqttClientConfig) {
-        var clientValues = MQTT_CLIENT_CACHE.get(brokerConfigHash);
-        if (clientValues == null) {
-            clientValues = buildClientValues(mqttBrokerConfig, brokerConfigHash, pipMqttClientConfig);
-        }
-        return clientValues;
+    private MqttClientValues getOrBuildMqttClientValues(ObjectNode mqttBrokerConfig, JsonNode pipMqttClientConfig) {
+        return MQTT_CLIENT_CACHE.computeIfAbsent(mqttBrokerConfig,
+                brokerConfig -> buildClientValues(brokerConfig, pipMqttClientConfig));
     }
 
-    private MqttClientValues buildClientValues(ObjectNode mqttBrokerConfig, int brokerConfigHash,
-            JsonNode pipMqttClientConfig) {
+    private MqttClientValues buildClientValues(ObjectNode mqttBrokerConfig, JsonNode pipMqttClientConfig) {
         var clientId             = getConfigValueOrDefault(mqttBrokerConfig, ENVIRONMENT_CLIENT_ID,
                 getConfigValueOrDefault(pipMqttClientConfig, ENVIRONMENT_CLIENT_ID, DEFAULT_CLIENT_ID));
         var mqttClientReactor    = buildMqttReactorClient(mqttBrokerConfig, pipMqttClientConfig);
         var mqttClientConnection = buildClientConnection(mqttClientReactor).share();
-        var clientValues         = new MqttClientValues(clientId, mqttClientReactor, mqttBrokerConfig,
-                mqttClientConnection);
-        MQTT_CLIENT_CACHE.put(brokerConfigHash, clientValues);
-        return clientValues;
+        return new MqttClientValues(clientId, mqttClientReactor, mqttBrokerConfig, mqttClientConnection);
     }
 
     private Mqtt5ReactorClient buildMqttReactorClient(JsonNode mqttBrokerConfig, JsonNode pipMqttClientConfig) {
@@ -327,16 +345,16 @@ private Mqtt5SimpleAuth buildAuthn(JsonNode config) {
                 .password(getPassword(config)).build();
     }
 
-    private void handleMessageFluxCancel(int brokerConfigHash, Val topic) {
-        unsubscribeTopics(brokerConfigHash, topic);
-        var mqttClientValuesDisconnect = MQTT_CLIENT_CACHE.get(brokerConfigHash);
+    private void handleMessageFluxCancel(ObjectNode brokerConfig, Val topic) {
+        unsubscribeTopics(brokerConfig, topic);
+        var mqttClientValuesDisconnect = MQTT_CLIENT_CACHE.get(brokerConfig);
         if (mqttClientValuesDisconnect != null && mqttClientValuesDisconnect.isTopicSubscriptionsCountMapEmpty()) {
-            disconnectClient(brokerConfigHash, mqttClientValuesDisconnect);
+            disconnectClient(brokerConfig, mqttClientValuesDisconnect);
         }
     }
 
-    private void unsubscribeTopics(int brokerConfigHash, Val topics) {
-        var mqttClientValues = MQTT_CLIENT_CACHE.get(brokerConfigHash);
+    private void unsubscribeTopics(ObjectNode brokerConfig, Val topics) {
+        var mqttClientValues = MQTT_CLIENT_CACHE.get(brokerConfig);
         if (mqttClientValues != null) {
             var mqttTopicFilters   = getMqttTopicFiltersToUnsubscribeAndReduceCount(topics, mqttClientValues);
             var unsubscribeMessage = Mqtt5Unsubscribe.builder().addTopicFilters(mqttTopicFilters).build();
@@ -344,8 +362,8 @@ private void unsubscribeTopics(int brokerConfigHash, Val topics) {
         }
     }
 
-    private void disconnectClient(int brokerConfigHash, MqttClientValues mqttClientValues) {
-        MQTT_CLIENT_CACHE.remove(brokerConfigHash);
+    private void disconnectClient(ObjectNode brokerConfig, MqttClientValues mqttClientValues) {
+        MQTT_CLIENT_CACHE.remove(brokerConfig);
         var clientId = mqttClientValues.getClientId();
         mqttClientValues.getMqttReactorClient().disconnect()
                 .onErrorResume(MqttClientStateException.class, e -> Mono.empty()) // if client already disconnected
@@ -22,9 +22,11 @@
 import static io.sapl.extensions.mqtt.MqttTestUtility.buildVariables;
 import static io.sapl.extensions.mqtt.MqttTestUtility.startClient;
 import static io.sapl.extensions.mqtt.MqttTestUtility.stopBroker;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +40,7 @@
 
 import io.sapl.api.interpreter.Val;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 @Timeout(30)
@@ -260,4 +263,62 @@ void when_unsubscribingSingleLevelWildcardTopicOnSharedConnectionWithSimpleTopic
                 .then(() -> mqttClient.publish(buildMqttPublishMessage("level1/xxx/level3", "message1", false)))
                 .expectNoEvent(Duration.ofMillis(2 * DELAY_MS)).thenCancel().verify();
     }
+
+    @Test
+    void when_subscribingSameTopicOnDifferentFlux_then_brokerSubscriptionIsShared() {
+        // GIVEN
+        var saplMqttMessageFluxFirst  = saplMqttClient.buildSaplMqttMessageFlux(Val.of("shared"), buildVariables());
+        var saplMqttMessageFluxSecond = saplMqttClient.buildSaplMqttMessageFlux(Val.of("shared"), buildVariables());
+
+        // WHEN
+        var saplMqttMessageFluxMerge = Flux.merge(saplMqttMessageFluxFirst, saplMqttMessageFluxSecond)
+                .filter(val -> !val.isUndefined());
+
+        // THEN
+        StepVerifier.create(saplMqttMessageFluxMerge).thenAwait(Duration.ofMillis(2 * DELAY_MS))
+                .then(() -> assertEquals(1L, sharedSubscriptionsOfTopic("shared")))
+                .then(() -> mqttClient.publish(buildMqttPublishMessage("shared", "message", false)))
+                .expectNext(Val.of("message")).expectNext(Val.of("message")).thenCancel().verify();
+        StepVerifier.create(Mono.fromCallable(() -> sharedSubscriptionsOfTopic("shared"))
+                .delaySubscription(Duration.ofMillis(DELAY_MS))).expectNext(0L).verifyComplete();
+    }
+
+    @Test
+    void when_brokerConfigsHaveSameHashCode_then_subscriptionsAndClientsAreNotShared() {
+        // GIVEN
+        var firstVariables  = buildVariablesWithClientId("Aa");
+        var secondVariables = buildVariablesWithClientId("BB");
+        assertEquals(firstVariables.get("mqttPipConfig").get().hashCode(),
+                secondVariables.get("mqttPipConfig").get().hashCode());
+
+        var saplMqttMessageFluxFirst  = saplMqttClient.buildSaplMqttMessageFlux(Val.of("collision"), firstVariables);
+        var saplMqttMessageFluxSecond = saplMqttClient.buildSaplMqttMessageFlux(Val.of("collision"), secondVariables);
+
+        // WHEN
+        var saplMqttMessageFluxMerge = Flux.merge(saplMqttMessageFluxFirst, saplMqttMessageFluxSecond)
+                .filter(val -> !val.isUndefined());
+
+        // THEN
+        StepVerifier.create(saplMqttMessageFluxMerge).thenAwait(Duration.ofMillis(2 * DELAY_MS))
+                .then(() -> assertEquals(2L, sharedSubscriptionsOfTopic("collision")))
+                .then(() -> mqttClient.publish(buildMqttPublishMessage("collision", "message", false)))
+                .expectNext(Val.of("message")).expectNext(Val.of("message")).expectNoEvent(Duration.ofMillis(DELAY_MS))
+                .thenCancel().verify();
+        StepVerifier.create(Mono.fromCallable(() -> sharedSubscriptionsOfTopic("collision"))
+                .delaySubscription(Duration.ofMillis(DELAY_MS))).expectNext(0L).verifyComplete();
+    }
+
+    private static long sharedSubscriptionsOfTopic(String topic) {
+        return SaplMqttClient.SHARED_SUBSCRIPTIONS.keySet().stream().filter(key -> Val.of(topic).equals(key.topic()))
+                .count();
+    }
+
+    private static Map<String, Val> buildVariablesWithClientId(String clientId) {
+        var brokerConfig  = JSON.objectNode().put("name", "production").put("brokerAddress", "localhost")
+                .put("brokerPort", 1883).put("clientId", clientId);
+        var mqttPipConfig = JSON.objectNode().put("defaultBrokerConfigName", "production");
+        mqttPipConfig.set("brokerConfig", JSON.arrayNode().add(brokerConfig));
+        return Map.of("action", Val.NULL, "environment", Val.NULL, "mqttPipConfig", Val.of(mqttPipConfig), "resource",
+                Val.NULL, "subject", Val.NULL);
+    }
 }
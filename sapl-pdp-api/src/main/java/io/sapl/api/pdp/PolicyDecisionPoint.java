@@ -82,4 +82,18 @@ default Mono<AuthorizationDecision> decideOnce(AuthorizationSubscription authzSu
      *         decision for each authorization subscription is available.
      */
     Flux<MultiAuthorizationDecision> decideAll(MultiAuthorizationSubscription multiAuthzSubscription);
+
+    /**
+     * Multi-subscription variant of {@link #decideOnce(AuthorizationSubscription)}.
+     *
+     * @param multiAuthzSubscription the multi-subscription object containing the
+     *                               subjects, actions, resources, and environments
+     *                               of the authorization subscriptions to be
+     *                               evaluated by the PDP.
+     * @return a {@link Mono} emitting the first authorization decisions for all
+     *         given authorization subscriptions.
+     */
+    default Mono<MultiAuthorizationDecision> decideAllOnce(MultiAuthorizationSubscription multiAuthzSubscription) {
+        return Mono.from(decideAll(multiAuthzSubscription));
+    }
 }
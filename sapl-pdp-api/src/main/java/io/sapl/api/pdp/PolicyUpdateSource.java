@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.api.pdp;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Implemented by policy decision points which are able to signal changes of
+ * their policies or configuration. Components memoizing authorization decisions
+ * use these signals to discard decisions which may have become outdated.
+ */
+public interface PolicyUpdateSource {
+
+    /**
+     * @return a {@link Flux} emitting a consecutive number whenever the policies or
+     *         the configuration may have changed. The current state may be
+     *         signalled upon subscription.
+     */
+    Flux<Long> policyUpdates();
+
+}
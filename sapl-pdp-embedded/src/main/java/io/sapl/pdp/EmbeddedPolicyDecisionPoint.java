@@ -30,6 +30,7 @@
 import io.sapl.api.pdp.MultiAuthorizationDecision;
 import io.sapl.api.pdp.MultiAuthorizationSubscription;
 import io.sapl.api.pdp.PolicyDecisionPoint;
+import io.sapl.api.pdp.PolicyUpdateSource;
 import io.sapl.api.pdp.TracedDecision;
 import io.sapl.grammar.sapl.CombiningAlgorithm;
 import io.sapl.grammar.sapl.SAPL;
@@ -41,10 +42,12 @@
 import io.sapl.prp.PolicyRetrievalResult;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.util.context.Context;
+import reactor.util.function.Tuple2;
 
 @RequiredArgsConstructor
-public class EmbeddedPolicyDecisionPoint implements PolicyDecisionPoint {
+public class EmbeddedPolicyDecisionPoint implements PolicyDecisionPoint, PolicyUpdateSource {
 
     private final PDPConfigurationProvider configurationProvider;
     private final PolicyRetrievalPoint     policyRetrievalPoint;
@@ -59,22 +62,66 @@ public Flux<TracedDecision> decideTraced(AuthorizationSubscription authorization
         return configurationProvider.pdpConfiguration().switchMap(decideSubscription(authorizationSubscription));
     }
 
+    /**
+     * Evaluates the authorization subscription once against the current PDP
+     * configuration and the current policies. In contrast to
+     * {@link #decide(AuthorizationSubscription)}, no update streams are subscribed
+     * to. If no attribute finders are involved in the evaluation, the decision is
+     * made on the calling thread. Hence, blocking on the result is cheap, also on
+     * virtual threads.
+     */
+    @Override
+    public Mono<AuthorizationDecision> decideOnce(AuthorizationSubscription authorizationSubscription) {
+        return decideOnceTraced(authorizationSubscription).map(TracedDecision::getAuthorizationDecision);
+    }
+
+    public Mono<TracedDecision> decideOnceTraced(AuthorizationSubscription authorizationSubscription) {
+        return configurationProvider.currentConfiguration().flatMap(pdpConfiguration -> Flux
+                .from(decide(pdpConfiguration, authorizationSubscription, policyRetrievalPoint.retrievePoliciesOnce()))
+                .next());
+    }
+
+    /**
+     * Signals changes of the PDP configuration as well as of the policies. The
+     * current configuration and policies are signalled by both sources upon
+     * subscription. They are skipped, so that only actual changes are reported.
+     */
+    @Override
+    public Flux<Long> policyUpdates() {
+        return Flux.merge(configurationProvider.pdpConfiguration().skip(1L).map(configuration -> 0L),
+                policyRetrievalPoint.policyUpdates().skip(1L)).index().map(Tuple2::getT1);
+    }
+
+    /**
+     * @return a {@link Mono} completing as soon as the PDP configuration and the
+     *         initial set of policies are loaded. May be used as a readiness
+     *         signal, e.g., for container orchestration.
+     */
+    public Mono<Void> ready() {
+        return Mono.when(configurationProvider.currentConfiguration(), policyRetrievalPoint.ready());
+    }
+
     private Function<? super PDPConfiguration, Publisher<? extends TracedDecision>> decideSubscription(
             AuthorizationSubscription authorizationSubscription) {
-        return pdpConfiguration -> {
-            var combiningAlgorithm = pdpConfiguration.documentsCombinator();
-            if (pdpConfiguration.isValid()) {
-                var subscription = pdpConfiguration.subscriptionInterceptorChain().apply(authorizationSubscription);
-                return retrieveAndCombineDocuments(pdpConfiguration.documentsCombinator(), subscription)
-                        .map(pdpConfiguration.decisionInterceptorChain())
-                        .contextWrite(buildSubscriptionScopedContext(pdpConfiguration, authorizationSubscription));
-            } else {
-                var decision = CombinedDecision.error(
-                        combiningAlgorithm == null ? "Misconfigured PDP." : combiningAlgorithm.getName(),
-                        "PDP In Invalid State.");
-                return Flux.just(PDPDecision.of(authorizationSubscription, decision));
-            }
-        };
+        return pdpConfiguration -> decide(pdpConfiguration, authorizationSubscription,
+                policyRetrievalPoint.retrievePolicies());
+    }
+
+    private Flux<TracedDecision> decide(PDPConfiguration pdpConfiguration,
+            AuthorizationSubscription authorizationSubscription,
+            Publisher<PolicyRetrievalResult> policyRetrievalResults) {
+        var combiningAlgorithm = pdpConfiguration.documentsCombinator();
+        if (pdpConfiguration.isValid()) {
+            var subscription = pdpConfiguration.subscriptionInterceptorChain().apply(authorizationSubscription);
+            return retrieveAndCombineDocuments(policyRetrievalResults, pdpConfiguration.documentsCombinator(),
+                    subscription).map(pdpConfiguration.decisionInterceptorChain())
+                    .contextWrite(buildSubscriptionScopedContext(pdpConfiguration, authorizationSubscription));
+        } else {
+            var decision = CombinedDecision.error(
+                    combiningAlgorithm == null ? "Misconfigured PDP." : combiningAlgorithm.getName(),
+                    "PDP In Invalid State.");
+            return Flux.just(PDPDecision.of(authorizationSubscription, decision));
+        }
     }
 
     private Function<Context, Context> buildSubscriptionScopedContext(PDPConfiguration pdpConfiguration,
@@ -88,9 +135,9 @@ private Function<Context, Context> buildSubscriptionScopedContext(PDPConfigurati
         };
     }
 
-    private Flux<PDPDecision> retrieveAndCombineDocuments(CombiningAlgorithm documentsCombinator,
-            AuthorizationSubscription authorizationSubscription) {
-        return policyRetrievalPoint.retrievePolicies()
+    private Flux<PDPDecision> retrieveAndCombineDocuments(Publisher<PolicyRetrievalResult> policyRetrievalResults,
+            CombiningAlgorithm documentsCombinator, AuthorizationSubscription authorizationSubscription) {
+        return Flux.from(policyRetrievalResults)
                 .switchMap(combineDocuments(documentsCombinator, authorizationSubscription));
     }
 
@@ -131,6 +178,28 @@ public Flux<MultiAuthorizationDecision> decideAll(MultiAuthorizationSubscription
         return Flux.just(MultiAuthorizationDecision.indeterminate());
     }
 
+    /**
+     * Evaluates all authorization subscriptions once against the same snapshot of
+     * the PDP configuration. The subscriptions are evaluated concurrently, and only
+     * a single decision is made for each of them.
+     */
+    @Override
+    public Mono<MultiAuthorizationDecision> decideAllOnce(
+            MultiAuthorizationSubscription multiAuthorizationSubscription) {
+        if (!multiAuthorizationSubscription.hasAuthorizationSubscriptions())
+            return Mono.just(MultiAuthorizationDecision.indeterminate());
+
+        return configurationProvider.currentConfiguration().flatMap(pdpConfiguration -> Flux
+                .fromIterable(multiAuthorizationSubscription)
+                .flatMap(identifiable -> Flux
+                        .from(decide(pdpConfiguration, identifiable.authorizationSubscription(),
+                                policyRetrievalPoint.retrievePoliciesOnce()))
+                        .next()
+                        .map(traced -> new IdentifiableAuthorizationDecision(identifiable.authorizationSubscriptionId(),
+                                traced.getAuthorizationDecision())))
+                .collectList().map(decisions -> collectAuthorizationDecisions(decisions.toArray())));
+    }
+
     private List<Flux<IdentifiableAuthorizationDecision>> createIdentifiableAuthorizationDecisionFluxes(
             Iterable<IdentifiableAuthorizationSubscription> multiDecision) {
         final List<Flux<IdentifiableAuthorizationDecision>> identifiableAuthorizationDecisionFluxes = new ArrayList<>();
@@ -21,6 +21,8 @@
 import java.util.Collection;
 import java.util.List;
 
+import org.springframework.web.reactive.function.client.WebClient;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.sapl.api.functions.FunctionLibrarySupplier;
@@ -44,6 +46,7 @@
 import io.sapl.pdp.config.VariablesAndCombinatorSource;
 import io.sapl.pdp.config.filesystem.FileSystemVariablesAndCombinatorSource;
 import io.sapl.pdp.config.fixed.FixedFunctionsAndAttributesPDPConfigurationProvider;
+import io.sapl.pdp.config.remote.RemoteVariablesAndCombinatorSource;
 import io.sapl.pdp.config.resources.ResourcesVariablesAndCombinatorSource;
 import io.sapl.pip.TimePolicyInformationPoint;
 import io.sapl.pip.http.HttpPolicyInformationPoint;
@@ -53,6 +56,7 @@
 import io.sapl.prp.filesystem.FileSystemPrpUpdateEventSource;
 import io.sapl.prp.index.ImmutableParsedDocumentIndex;
 import io.sapl.prp.index.naive.NaiveImmutableParsedDocumentIndex;
+import io.sapl.prp.remote.RemotePrpUpdateEventSource;
 import io.sapl.prp.resources.ResourcesPrpUpdateEventSource;
 import lombok.experimental.UtilityClass;
 
@@ -127,6 +131,33 @@ public static EmbeddedPolicyDecisionPoint resourcesPolicyDecisionPoint(String pa
         return new EmbeddedPolicyDecisionPoint(configurationProvider, policyRetrievalPoint);
     }
 
+    /**
+     * Creates an embedded PDP replicating policies and configuration from a remote
+     * PDP server. Decisions are evaluated locally.
+     *
+     * @param client a WebClient with the base URL and authentication for the remote
+     *               server
+     * @return an embedded PDP kept in sync with the remote server
+     * @throws InitializationException on initialization errors
+     */
+    public static EmbeddedPolicyDecisionPoint remoteReplicaPolicyDecisionPoint(WebClient client)
+            throws InitializationException {
+        return remoteReplicaPolicyDecisionPoint(client, List::of, List::of, List::of, List::of, List.of(), List.of());
+    }
+
+    public static EmbeddedPolicyDecisionPoint remoteReplicaPolicyDecisionPoint(WebClient client,
+            PolicyInformationPointSupplier pips, StaticPolicyInformationPointSupplier staticPips,
+            FunctionLibrarySupplier functionLibraries, StaticFunctionLibrarySupplier staticFunctionLibraries,
+            Collection<AuthorizationSubscriptionInterceptor> subscriptionInterceptors,
+            Collection<TracedDecisionInterceptor> authorizationSubscriptionInterceptors)
+            throws InitializationException {
+        var remoteSource          = new RemoteVariablesAndCombinatorSource(client);
+        var configurationProvider = constructConfigurationProvider(remoteSource, pips, staticPips, functionLibraries,
+                staticFunctionLibraries, subscriptionInterceptors, authorizationSubscriptionInterceptors);
+        var policyRetrievalPoint  = constructRemotePolicyRetrievalPoint(client);
+        return new EmbeddedPolicyDecisionPoint(configurationProvider, policyRetrievalPoint);
+    }
+
     private static PDPConfigurationProvider constructConfigurationProvider(
             VariablesAndCombinatorSource combinatorProvider, PolicyInformationPointSupplier pips,
             StaticPolicyInformationPointSupplier staticPips, FunctionLibrarySupplier functionLibraries,
@@ -174,6 +205,12 @@ private static PolicyRetrievalPoint constructFilesystemPolicyRetrievalPoint(Stri
         return new GenericInMemoryIndexedPolicyRetrievalPoint(seedIndex, source);
     }
 
+    private static PolicyRetrievalPoint constructRemotePolicyRetrievalPoint(WebClient client) {
+        var seedIndex = constructDocumentIndex();
+        var source    = new RemotePrpUpdateEventSource(client, new DefaultSAPLInterpreter());
+        return new GenericInMemoryIndexedPolicyRetrievalPoint(seedIndex, source);
+    }
+
     private static ImmutableParsedDocumentIndex constructDocumentIndex() {
         return new NaiveImmutableParsedDocumentIndex();
     }
@@ -18,11 +18,20 @@
 package io.sapl.pdp.config;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface PDPConfigurationProvider {
 
     Flux<PDPConfiguration> pdpConfiguration();
 
+    /**
+     * @return the current PDP configuration. Later changes of the configuration are
+     *         not reported.
+     */
+    default Mono<PDPConfiguration> currentConfiguration() {
+        return pdpConfiguration().next();
+    }
+
     default void destroy() {
         // NOOP
     }
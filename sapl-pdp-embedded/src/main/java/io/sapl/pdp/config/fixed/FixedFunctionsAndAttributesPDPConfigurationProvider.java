@@ -22,6 +22,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.UnaryOperator;
 
 import io.sapl.api.interpreter.Val;
@@ -35,7 +36,9 @@
 import io.sapl.pdp.config.PDPConfiguration;
 import io.sapl.pdp.config.PDPConfigurationProvider;
 import io.sapl.pdp.config.VariablesAndCombinatorSource;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class FixedFunctionsAndAttributesPDPConfigurationProvider implements PDPConfigurationProvider {
 
@@ -49,6 +52,10 @@ public class FixedFunctionsAndAttributesPDPConfigurationProvider implements PDPC
 
     private final List<TracedDecisionInterceptor> decisionInterceptors;
 
+    private final Flux<PDPConfiguration> latestConfiguration;
+
+    private final AtomicReference<Disposable> latestConfigurationSubscription = new AtomicReference<>();
+
     public FixedFunctionsAndAttributesPDPConfigurationProvider(AttributeContext attributeCtx,
             FunctionContext functionCtx, VariablesAndCombinatorSource variablesAndCombinatorSource,
             Collection<AuthorizationSubscriptionInterceptor> subscriptionInterceptors,
@@ -59,6 +66,9 @@ public FixedFunctionsAndAttributesPDPConfigurationProvider(AttributeContext attr
         this.subscriptionInterceptors     = subscriptionInterceptors.stream().sorted(Comparator.reverseOrder())
                 .toList();
         this.decisionInterceptors         = decisionInterceptors.stream().sorted(Comparator.reverseOrder()).toList();
+        // connected upon first use and kept up to date until destroyed
+        this.latestConfiguration = Flux.defer(this::pdpConfiguration).replay(1).autoConnect(1,
+                latestConfigurationSubscription::set);
     }
 
     @Override
@@ -67,6 +77,15 @@ public Flux<PDPConfiguration> pdpConfiguration() {
                 variablesAndCombinatorSource.getVariables(), this::createConfiguration);
     }
 
+    /**
+     * Returns the latest configuration. Once connected, this completes immediately
+     * on the calling thread.
+     */
+    @Override
+    public Mono<PDPConfiguration> currentConfiguration() {
+        return latestConfiguration.next();
+    }
+
     private PDPConfiguration createConfiguration(Optional<CombiningAlgorithm> combinator,
             Optional<Map<String, Val>> variables) {
         return new PDPConfiguration(attributeCtx, functionCtx, variables.orElse(null), combinator.orElse(null),
@@ -93,6 +112,9 @@ private UnaryOperator<TracedDecision> decisionInterceptorChain() {
 
     @Override
     public void destroy() {
+        var subscription = latestConfigurationSubscription.get();
+        if (subscription != null)
+            subscription.dispose();
         variablesAndCombinatorSource.destroy();
     }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pdp.config.remote;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.sapl.api.interpreter.Val;
+import io.sapl.grammar.sapl.CombiningAlgorithm;
+import io.sapl.interpreter.combinators.CombiningAlgorithmFactory;
+import io.sapl.interpreter.combinators.PolicyDocumentCombiningAlgorithm;
+import io.sapl.pdp.config.PolicyDecisionPointConfiguration;
+import io.sapl.pdp.config.VariablesAndCombinatorSource;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+/**
+ * Sources the combining algorithm and variables from a remote PDP server. The
+ * server streams its configuration in the format of the pdp.json file whenever
+ * it changes. If the server has no valid configuration, the field
+ * {@value #UNAVAILABLE} is set.
+ * <p>
+ * If the connection is lost, the last known configuration remains in effect
+ * until the source reconnects.
+ */
+@Slf4j
+public class RemoteVariablesAndCombinatorSource implements VariablesAndCombinatorSource {
+
+    public static final String CONFIGURATION_PATH = "/api/replication/configuration";
+    public static final String ALGORITHM          = "algorithm";
+    public static final String VARIABLES          = "variables";
+    public static final String UNAVAILABLE        = "unavailable";
+
+    private static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofSeconds(5L);
+
+    private final Flux<Optional<PolicyDecisionPointConfiguration>> configFlux;
+
+    private final Disposable monitorSubscription;
+
+    public RemoteVariablesAndCombinatorSource(@NonNull WebClient client) {
+        this(client, DEFAULT_RECONNECT_DELAY);
+    }
+
+    public RemoteVariablesAndCombinatorSource(@NonNull WebClient client, @NonNull Duration reconnectDelay) {
+        configFlux          = client.get().uri(CONFIGURATION_PATH).accept(MediaType.APPLICATION_NDJSON).retrieve()
+                .bodyToFlux(JsonNode.class).map(RemoteVariablesAndCombinatorSource::toConfiguration)
+                .repeatWhen(completed -> completed.delayElements(reconnectDelay))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, reconnectDelay).doBeforeRetry(
+                        retry -> log.warn("PDP configuration replication failed. Retrying in {}. Cause: {}",
+                                reconnectDelay, retry.failure().getMessage())))
+                .distinctUntilChanged().share().cache(1);
+        monitorSubscription = Flux.from(configFlux).subscribe();
+    }
+
+    static Optional<PolicyDecisionPointConfiguration> toConfiguration(JsonNode jsonNode) {
+        if (jsonNode == null || !jsonNode.isObject() || jsonNode.path(UNAVAILABLE).asBoolean(false)) {
+            log.warn("Remote PDP has no valid configuration. No configuration available.");
+            return Optional.empty();
+        }
+        var config = new PolicyDecisionPointConfiguration();
+        if (jsonNode.has(ALGORITHM)) {
+            try {
+                config.setAlgorithm(PolicyDocumentCombiningAlgorithm.valueOf(jsonNode.get(ALGORITHM).asText()));
+            } catch (IllegalArgumentException e) {
+                log.error("Remote PDP sent unknown combining algorithm: {}", jsonNode.get(ALGORITHM));
+                return Optional.empty();
+            }
+        }
+        var variables = new HashMap<String, Val>();
+        if (jsonNode.has(VARIABLES)) {
+            jsonNode.get(VARIABLES).fields().forEachRemaining(field -> variables.put(field.getKey(),
+                    Val.of(field.getValue()).withTrace(VariablesAndCombinatorSource.class)));
+        }
+        config.setVariables(variables);
+        log.debug("Received PDP configuration from remote PDP: {}", config);
+        return Optional.of(config);
+    }
+
+    @Override
+    public Flux<Optional<CombiningAlgorithm>> getCombiningAlgorithm() {
+        return Flux.from(configFlux).map(config -> config.map(PolicyDecisionPointConfiguration::getAlgorithm)
+                .map(CombiningAlgorithmFactory::getCombiningAlgorithm));
+    }
+
+    @Override
+    public Flux<Optional<Map<String, Val>>> getVariables() {
+        return Flux.from(configFlux).map(config -> config.map(PolicyDecisionPointConfiguration::getVariables));
+    }
+
+    @Override
+    public void destroy() {
+        if (!monitorSubscription.isDisposed())
+            monitorSubscription.dispose();
+    }
+
+}
@@ -18,8 +18,12 @@
 package io.sapl.prp.filesystem;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 
 import io.sapl.api.interpreter.PolicyEvaluationException;
 import io.sapl.grammar.sapl.SAPL;
@@ -27,32 +31,45 @@
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * A policy document of the file system PRP. To keep the memory footprint of
+ * large policy directories low, only the compact parse tree and a digest of the
+ * source are retained once a document is published. Valid documents that are
+ * not published, e.g., due to a name collision, keep the source they were
+ * parsed from, so that they can be published later without reading the file
+ * again, which may have changed in the meantime.
+ */
 @Data
 @Slf4j
 class Document {
 
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
     Path path;
 
-    String rawDocument;
+    String contentDigest;
 
     SAPL parsedDocument;
 
     String documentName;
 
+    String unpublishedRawDocument;
+
     boolean published;
 
     public Document(Path path, SAPLInterpreter interpreter) {
+        this(path, readRawDocument(path), interpreter);
+    }
+
+    public Document(Path path, String rawDocument, SAPLInterpreter interpreter) {
         this.path = path;
-        try {
-            rawDocument = Files.readString(path);
-        } catch (IOException e) {
-            log.warn("Error reading file '{}': {}. Will lead to inconsistent index.", path.toAbsolutePath(),
-                    e.getMessage());
-        }
         try {
             if (rawDocument != null) {
-                parsedDocument = interpreter.parse(rawDocument);
+                contentDigest  = digest(rawDocument);
+                parsedDocument = interpreter.parseCompact(rawDocument);
                 documentName   = parsedDocument.getPolicyElement().getSaplName();
+
+                unpublishedRawDocument = rawDocument;
             }
         } catch (PolicyEvaluationException e) {
             log.warn("Error in document '{}': {}. Will lead to inconsistent index.", path.toAbsolutePath(),
@@ -63,9 +80,38 @@ public Document(Path path, SAPLInterpreter interpreter) {
     public Document(Document document) {
         this.path           = document.path;
         this.published      = document.published;
-        this.rawDocument    = document.rawDocument;
+        this.contentDigest  = document.contentDigest;
         this.parsedDocument = document.parsedDocument;
         this.documentName   = document.documentName;
+
+        this.unpublishedRawDocument = document.unpublishedRawDocument;
+    }
+
+    static String readRawDocument(Path path) {
+        try {
+            return Files.readString(path);
+        } catch (IOException e) {
+            log.warn("Error reading file '{}': {}. Will lead to inconsistent index.", path.toAbsolutePath(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Marks the document as published. The source of a published document is no
+     * longer retained.
+     *
+     * @param published true, if the document is published
+     */
+    public void setPublished(boolean published) {
+        this.published = published;
+        if (published) {
+            unpublishedRawDocument = null;
+        }
+    }
+
+    public boolean hasContent(String rawDocument) {
+        return contentDigest != null && rawDocument != null && contentDigest.equals(digest(rawDocument));
     }
 
     public String getAbsolutePath() {
@@ -76,4 +122,13 @@ public boolean isInvalid() {
         return parsedDocument == null;
     }
 
+    private static String digest(String rawDocument) {
+        try {
+            var digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            return Base64.getEncoder().encodeToString(digest.digest(rawDocument.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Digest algorithm " + DIGEST_ALGORITHM + " is not available.", e);
+        }
+    }
+
 }
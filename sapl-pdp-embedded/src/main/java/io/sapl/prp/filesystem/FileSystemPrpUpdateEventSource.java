@@ -19,6 +19,8 @@
 
 import static io.sapl.util.filemonitoring.FileMonitorUtil.resolveHomeFolderIfPresent;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import io.sapl.interpreter.SAPLInterpreter;
@@ -29,13 +31,16 @@
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
 @Slf4j
 public class FileSystemPrpUpdateEventSource implements PrpUpdateEventSource {
 
-    private static final String SAPL_SUFFIX = ".sapl";
+    private static final String   SAPL_SUFFIX  = ".sapl";
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(200);
+    private static final Duration MAXIMUM_WAIT = Duration.ofSeconds(2);
 
     private final SAPLInterpreter interpreter;
 
@@ -52,10 +57,12 @@ public void dispose() {
         // NOOP
     }
 
+    /**
+     * The initial set of documents is loaded asynchronously on subscription. Hence,
+     * the PRP can be constructed without blocking until all documents are parsed.
+     */
     @Override
     public Flux<PrpUpdateEvent> getUpdates() {
-        var seedIndex    = new ImmutableFileIndex(this.watchDir, interpreter);
-        var initialEvent = seedIndex.getUpdateEvent();
         // If the predicate filters inside the monitorDirectory by suffix, then no
         // sub-folders are monitored.
         // I do not know why. But putting a filter after the monitorDirectory solves the
@@ -63,25 +70,56 @@ public Flux<PrpUpdateEvent> getUpdates() {
         var monitoringFlux = FileMonitorUtil.monitorDirectory(watchDir, file -> true)
                 .filter(event -> event.file() != null)
                 .filter(event -> event.file().getAbsolutePath().endsWith(SAPL_SUFFIX));
-        log.debug("Initial event: {}", initialEvent);
-        return Mono.just(initialEvent).concatWith(directoryMonitor(monitoringFlux, seedIndex));
+        return Mono.fromCallable(() -> new ImmutableFileIndex(this.watchDir, interpreter))
+                .subscribeOn(Schedulers.boundedElastic()).flatMapMany(seedIndex -> {
+                    var initialEvent = seedIndex.getUpdateEvent();
+                    log.debug("Initial event: {}", initialEvent);
+                    return Mono.just(initialEvent).concatWith(directoryMonitor(monitoringFlux, seedIndex));
+                });
     }
 
     private Flux<PrpUpdateEvent> directoryMonitor(Flux<FileEvent> fileEvents, ImmutableFileIndex seedIndex) {
-        return fileEvents.scan(createInitialTuple(seedIndex), this::processFileEvent)
-                .filter(tuple -> tuple.getT1().isPresent()).map(Tuple2::getT1).map(Optional::get);
+        return fileEventBursts(fileEvents, QUIET_PERIOD, MAXIMUM_WAIT)
+                .scan(createInitialTuple(seedIndex), this::processFileEvents).filter(tuple -> tuple.getT1().isPresent())
+                .map(Tuple2::getT1).map(Optional::get);
+    }
+
+    /**
+     * Bursts of file events, e.g., from syncing the policy directory, are collected
+     * until no new event occurred for the quiet period and are then applied to the
+     * index at once. A continuous stream of events would never leave a quiet
+     * period. Hence, the collected events are also applied at the end of each
+     * maximum wait period.
+     *
+     * @param fileEvents  the file events
+     * @param quietPeriod the period without events ending a burst
+     * @param maximumWait the period after which collected events are applied in any
+     *                    case
+     * @return the bursts of file events
+     */
+    static Flux<List<FileEvent>> fileEventBursts(Flux<FileEvent> fileEvents, Duration quietPeriod,
+            Duration maximumWait) {
+        return fileEvents
+                .publish(events -> events.buffer(
+                        events.sampleTimeout(event -> Mono.delay(quietPeriod)).mergeWith(events.sample(maximumWait))))
+                .filter(burst -> !burst.isEmpty());
     }
 
     private Tuple2<Optional<PrpUpdateEvent>, ImmutableFileIndex> createInitialTuple(ImmutableFileIndex seedIndex) {
         return Tuples.of(Optional.empty(), seedIndex);
     }
 
-    private Tuple2<Optional<PrpUpdateEvent>, ImmutableFileIndex> processFileEvent(
-            Tuple2<Optional<PrpUpdateEvent>, ImmutableFileIndex> tuple, FileEvent fileEvent) {
-        var index    = tuple.getT2();
-        var newIndex = index.afterFileEvent(fileEvent);
-        log.debug("Update event: {}", newIndex.getUpdateEvent());
-        return Tuples.of(Optional.of(newIndex.getUpdateEvent()), newIndex);
+    private Tuple2<Optional<PrpUpdateEvent>, ImmutableFileIndex> processFileEvents(
+            Tuple2<Optional<PrpUpdateEvent>, ImmutableFileIndex> tuple, List<FileEvent> fileEvents) {
+        var index       = tuple.getT2();
+        var newIndex    = index.afterFileEvents(fileEvents);
+        var updateEvent = newIndex.getUpdateEvent();
+        if (updateEvent.getUpdates().length == 0) {
+            log.debug("No changes in {} file events.", fileEvents.size());
+            return Tuples.of(Optional.empty(), newIndex);
+        }
+        log.debug("Update event: {}", updateEvent);
+        return Tuples.of(Optional.of(updateEvent), newIndex);
     }
 
 }
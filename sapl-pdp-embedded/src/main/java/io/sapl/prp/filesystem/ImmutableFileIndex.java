@@ -20,6 +20,7 @@
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,7 @@
 import io.sapl.prp.PrpUpdateEvent;
 import io.sapl.prp.PrpUpdateEvent.Type;
 import io.sapl.prp.PrpUpdateEvent.Update;
+import io.sapl.util.ParallelDocumentParser;
 import io.sapl.util.filemonitoring.FileCreatedEvent;
 import io.sapl.util.filemonitoring.FileDeletedEvent;
 import io.sapl.util.filemonitoring.FileEvent;
@@ -40,12 +42,21 @@
 @Slf4j
 class ImmutableFileIndex {
 
+    private record LoadedDocument(Document document, String rawDocument) {
+    }
+
     private final SAPLInterpreter interpreter;
 
     private int numberOfInvalidDocuments = 0;
 
     private int numberOfNameCollisions = 0;
 
+    /**
+     * The directory could not be read initially. Subsequent file events imply that
+     * it exists now.
+     */
+    private boolean directoryUnavailable = false;
+
     final List<Update> updates = new LinkedList<>();
 
     @Getter
@@ -63,12 +74,14 @@ public ImmutableFileIndex(String watchDir, SAPLInterpreter interpreter) {
         this.namesToDocuments = new HashMap<>();
 
         try {
-            FileMonitorUtil.findSaplDocuments(watchDir).forEach(file -> {
+            var documents = ParallelDocumentParser.parseAll(FileMonitorUtil.findSaplDocuments(watchDir), file -> {
                 log.debug("loading SAPL document: {}", file);
-                load(file);
+                return read(file);
             });
+            documents.forEach(this::add);
         } catch (IOException e) {
             log.error("Unable to open the directory containing policies: {}", watchDir);
+            directoryUnavailable = true;
             updates.add(new Update(Type.INCONSISTENT, null, null));
             updateEvent = new PrpUpdateEvent(updates);
             return;
@@ -115,7 +128,10 @@ List<Document> getDocumentByName(String documentName) {
 
     void addWithdrawUpdate(Document oldDocument) {
         log.info("The document was previously published. It will withdrawn from the index.");
-        updates.add(new Update(Type.WITHDRAW, oldDocument.getParsedDocument(), oldDocument.getRawDocument()));
+        // the source of a published document is not retained and the file may
+        // already be gone or changed. Hence, the withdrawal carries no source and is
+        // identified by the name of the parsed document.
+        updates.add(new Update(Type.WITHDRAW, oldDocument.getParsedDocument(), null));
     }
 
     public ImmutableFileIndex afterFileEvent(FileEvent event) {
@@ -132,23 +148,64 @@ public ImmutableFileIndex afterFileEvent(FileEvent event) {
             log.info("Loading updated SAPL document: {}", fileName);
             newIndex.change(path);
         }
+        newIndex.completeUpdateEvent(this);
+        return newIndex;
+    }
+
+    /**
+     * Applies a burst of file events at once, resulting in a single update event.
+     * Only the last event per file is considered, and files whose content did not
+     * change are skipped. Hence, the resulting update event may be empty.
+     *
+     * @param events the file events in the order of their occurrence
+     * @return the new index
+     */
+    public ImmutableFileIndex afterFileEvents(List<FileEvent> events) {
+        var lastEventsByPath = new LinkedHashMap<Path, FileEvent>();
+        for (var event : events) {
+            var path = event.file().toPath().toAbsolutePath();
+            lastEventsByPath.remove(path);
+            lastEventsByPath.put(path, event);
+        }
+        var newIndex = new ImmutableFileIndex(this);
+        lastEventsByPath.forEach((path, event) -> {
+            var fileName = event.file().getName();
+            if (event instanceof FileDeletedEvent) {
+                log.info("Unloading deleted SAPL document: {}", fileName);
+                newIndex.unload(path);
+            } else if (!newIndex.containsDocumentWithPath(newIndex.getAbsolutePathAsString(path))) {
+                log.info("Loading new SAPL document: {}", fileName);
+                newIndex.load(path);
+            } else if (newIndex.isModified(path)) {
+                log.info("Loading updated SAPL document: {}", fileName);
+                newIndex.change(path);
+            } else {
+                log.debug("Skipping unchanged SAPL document: {}", fileName);
+            }
+        });
+        newIndex.completeUpdateEvent(this);
+        return newIndex;
+    }
 
-        if (newIndex.becameConsistentComparedTo(this)) {
+    private void completeUpdateEvent(ImmutableFileIndex oldIndex) {
+        if (becameConsistentComparedTo(oldIndex)) {
             log.info("The set of documents was previously INCONSISTENT and is now CONSISTENT again.");
-            newIndex.updates.add(new Update(Type.CONSISTENT, null, null));
+            updates.add(new Update(Type.CONSISTENT, null, null));
         }
-        if (newIndex.becameInconsistentComparedTo(this)) {
+        if (becameInconsistentComparedTo(oldIndex)) {
             log.warn("The set of documents was previously CONSISTENT and is now INCONSISTENT.");
-            newIndex.updates.add(new Update(Type.INCONSISTENT, null, null));
+            updates.add(new Update(Type.INCONSISTENT, null, null));
         }
+        updateEvent = new PrpUpdateEvent(updates);
+    }
 
-        newIndex.updateEvent = new PrpUpdateEvent(newIndex.updates);
-
-        return newIndex;
+    private boolean isModified(Path filePath) {
+        var indexedDocument = documentsByPath.get(getAbsolutePathAsString(filePath));
+        return !indexedDocument.hasContent(Document.readRawDocument(filePath));
     }
 
     final boolean isConsistent() {
-        return numberOfInvalidDocuments == 0 && numberOfNameCollisions == 0;
+        return !directoryUnavailable && numberOfInvalidDocuments == 0 && numberOfNameCollisions == 0;
     }
 
     final boolean isInconsistent() {
@@ -164,7 +221,17 @@ public boolean becameInconsistentComparedTo(ImmutableFileIndex idx) {
     }
 
     final void load(Path filePath) {
-        var newDocument = new Document(filePath, interpreter);
+        add(read(filePath));
+    }
+
+    private LoadedDocument read(Path filePath) {
+        var rawDocument = Document.readRawDocument(filePath);
+        return new LoadedDocument(new Document(filePath, rawDocument, interpreter), rawDocument);
+    }
+
+    private void add(LoadedDocument loadedDocument) {
+        var newDocument = loadedDocument.document();
+        var rawDocument = loadedDocument.rawDocument();
         documentsByPath.put(newDocument.getAbsolutePath(), newDocument);
         if (newDocument.isInvalid()) {
             numberOfInvalidDocuments++;
@@ -181,7 +248,7 @@ final void load(Path filePath) {
         if (documentsWithName.size() == 1) {
             log.debug("The document has been parsed successfully. It will be published to the index.");
             newDocument.setPublished(true);
-            updates.add(new Update(Type.PUBLISH, newDocument.getParsedDocument(), newDocument.getRawDocument()));
+            updates.add(new Update(Type.PUBLISH, newDocument.getParsedDocument(), rawDocument));
         } else {
             log.warn(
                     "The document has been parsed successfully but it resulted in a name collision: '{}'. The document will not be published.",
@@ -228,7 +295,7 @@ void unload(Path filePath) {
                         onlyRemainingDocumentWithName.getPath().getFileName(),
                         onlyRemainingDocumentWithName.getDocumentName());
                 updates.add(new Update(Type.PUBLISH, onlyRemainingDocumentWithName.getParsedDocument(),
-                        onlyRemainingDocumentWithName.getRawDocument()));
+                        onlyRemainingDocumentWithName.getUnpublishedRawDocument()));
                 onlyRemainingDocumentWithName.setPublished(true);
             }
         }
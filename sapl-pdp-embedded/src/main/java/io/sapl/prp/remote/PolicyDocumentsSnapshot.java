@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp.remote;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.sapl.prp.PrpUpdateEvent;
+import io.sapl.prp.PrpUpdateEvent.Type;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The complete set of published SAPL documents of a PDP server, keyed by
+ * document name. Snapshots are exchanged between a server and replicas which
+ * evaluate the same policies locally.
+ * <p>
+ * Document names must be unique. A document published under the name of an
+ * already published document is rejected, and the snapshot is inconsistent
+ * until one of the documents with that name is withdrawn.
+ */
+@Data
+@Slf4j
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyDocumentsSnapshot {
+
+    private boolean consistent = true;
+
+    private Map<String, String> documents = new HashMap<>();
+
+    /**
+     * Number of rejected publications per document name. Not replicated, replicas
+     * only see the resulting consistency state.
+     */
+    @JsonIgnore
+    private Map<String, Integer> nameCollisions = new HashMap<>();
+
+    public PolicyDocumentsSnapshot(boolean consistent, Map<String, String> documents) {
+        this(consistent, documents, new HashMap<>());
+    }
+
+    /**
+     * @return true, if the source of the documents is consistent and no document
+     *         was rejected due to a name collision.
+     */
+    public boolean isConsistent() {
+        return consistent && nameCollisions.isEmpty();
+    }
+
+    /**
+     * Applies the updates of a PrpUpdateEvent to this snapshot.
+     *
+     * @param event an update event of a PrpUpdateEventSource
+     * @return a new snapshot reflecting the state after the event
+     */
+    public PolicyDocumentsSnapshot withUpdates(PrpUpdateEvent event) {
+        var newDocuments        = new HashMap<>(documents);
+        var newNameCollisions   = new HashMap<>(nameCollisions);
+        var newConsistencyState = consistent;
+        for (var update : event.getUpdates()) {
+            if (update.getType() == Type.CONSISTENT) {
+                newConsistencyState = true;
+            } else if (update.getType() == Type.INCONSISTENT) {
+                newConsistencyState = false;
+            } else {
+                var name = update.getDocument().getPolicyElement().getSaplName();
+                if (update.getType() == Type.WITHDRAW) {
+                    withdraw(name, newDocuments, newNameCollisions);
+                } else if (newDocuments.containsKey(name)) {
+                    log.warn("Rejected replication of a second SAPL document named '{}'.", name);
+                    newNameCollisions.merge(name, 1, Integer::sum);
+                } else {
+                    newDocuments.put(name, update.getRawDocument());
+                }
+            }
+        }
+        return new PolicyDocumentsSnapshot(newConsistencyState, newDocuments, newNameCollisions);
+    }
+
+    private static void withdraw(String name, Map<String, String> documents, Map<String, Integer> nameCollisions) {
+        var collisions = nameCollisions.getOrDefault(name, 0);
+        if (collisions == 0) {
+            documents.remove(name);
+        } else if (collisions == 1) {
+            // withdrawing one of the documents with the same name resolves the
+            // collision, the first published document stays in the snapshot
+            nameCollisions.remove(name);
+        } else {
+            nameCollisions.put(name, collisions - 1);
+        }
+    }
+
+}
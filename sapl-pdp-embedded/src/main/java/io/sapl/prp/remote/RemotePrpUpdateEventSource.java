@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp.remote;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.sapl.api.interpreter.PolicyEvaluationException;
+import io.sapl.grammar.sapl.SAPL;
+import io.sapl.interpreter.SAPLInterpreter;
+import io.sapl.prp.PrpUpdateEvent;
+import io.sapl.prp.PrpUpdateEvent.Type;
+import io.sapl.prp.PrpUpdateEvent.Update;
+import io.sapl.prp.PrpUpdateEventSource;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+/**
+ * Keeps an embedded PDP in sync with the policies of a remote PDP server. The
+ * server streams snapshots of its published documents, which are translated
+ * into PrpUpdateEvents relative to the previously received snapshot.
+ * <p>
+ * If the connection is lost, the last known set of documents remains in effect
+ * and the source reconnects after the configured delay. Upon reconnection, the
+ * server sends its current snapshot, and only the differences are applied.
+ */
+@Slf4j
+public class RemotePrpUpdateEventSource implements PrpUpdateEventSource {
+
+    public static final String DOCUMENTS_PATH = "/api/replication/documents";
+
+    private static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofSeconds(5L);
+
+    private final WebClient       client;
+    private final SAPLInterpreter interpreter;
+    private final Duration        reconnectDelay;
+
+    public RemotePrpUpdateEventSource(@NonNull WebClient client, @NonNull SAPLInterpreter interpreter) {
+        this(client, interpreter, DEFAULT_RECONNECT_DELAY);
+    }
+
+    public RemotePrpUpdateEventSource(@NonNull WebClient client, @NonNull SAPLInterpreter interpreter,
+            @NonNull Duration reconnectDelay) {
+        this.client         = client;
+        this.interpreter    = interpreter;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void dispose() {
+        // NOOP
+    }
+
+    @Override
+    public Flux<PrpUpdateEvent> getUpdates() {
+        var snapshots = client.get().uri(DOCUMENTS_PATH).accept(MediaType.APPLICATION_NDJSON).retrieve()
+                .bodyToFlux(PolicyDocumentsSnapshot.class)
+                .doOnSubscribe(s -> log.info("Connecting to remote PDP for policy replication."))
+                .repeatWhen(completed -> completed.delayElements(reconnectDelay))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, reconnectDelay).doBeforeRetry(
+                        retry -> log.warn("Policy replication connection failed. Retrying in {}. Cause: {}",
+                                reconnectDelay, retry.failure().getMessage())));
+        return snapshots.scan(ReplicaState.empty(), this::nextState).skip(1L).filter(ReplicaState::hasUpdates)
+                .map(ReplicaState::event);
+    }
+
+    private ReplicaState nextState(ReplicaState previous, PolicyDocumentsSnapshot snapshot) {
+        var updates         = new ArrayList<Update>();
+        var newRawDocuments = new HashMap<String, String>();
+        var newDocuments    = new HashMap<String, SAPL>();
+        var parseErrors     = false;
+
+        var remoteDocuments = snapshot.getDocuments() == null ? Map.<String, String>of() : snapshot.getDocuments();
+        for (var oldEntry : previous.rawDocuments.entrySet()) {
+            var name = oldEntry.getKey();
+            if (!Objects.equals(oldEntry.getValue(), remoteDocuments.get(name))) {
+                updates.add(new Update(Type.WITHDRAW, previous.documents.get(name), oldEntry.getValue()));
+            } else {
+                newRawDocuments.put(name, oldEntry.getValue());
+                newDocuments.put(name, previous.documents.get(name));
+            }
+        }
+        for (var remoteEntry : remoteDocuments.entrySet()) {
+            var name = remoteEntry.getKey();
+            if (newRawDocuments.containsKey(name)) {
+                continue;
+            }
+            try {
+                var document = interpreter.parse(remoteEntry.getValue());
+                updates.add(new Update(Type.PUBLISH, document, remoteEntry.getValue()));
+                newRawDocuments.put(name, remoteEntry.getValue());
+                newDocuments.put(name, document);
+            } catch (PolicyEvaluationException e) {
+                log.error("Replicated SAPL document '{}' could not be parsed: {}", name, e.getMessage());
+                parseErrors = true;
+            }
+        }
+
+        var consistent = snapshot.isConsistent() && !parseErrors;
+        if (consistent && !previous.consistent) {
+            log.info("The replicated set of documents is CONSISTENT again.");
+            updates.add(new Update(Type.CONSISTENT, null, null));
+        } else if (!consistent && previous.consistent) {
+            log.warn("The replicated set of documents is INCONSISTENT.");
+            updates.add(new Update(Type.INCONSISTENT, null, null));
+        }
+        // the first event must always be emitted, so that the index is initialized
+        var emit = previous.initial || !updates.isEmpty();
+        log.debug("Replicated {} document updates.", updates.size());
+        return new ReplicaState(false, emit, consistent, newRawDocuments, newDocuments, new PrpUpdateEvent(updates));
+    }
+
+    private record ReplicaState(boolean initial, boolean hasUpdates, boolean consistent,
+            Map<String, String> rawDocuments, Map<String, SAPL> documents, PrpUpdateEvent event) {
+
+        static ReplicaState empty() {
+            return new ReplicaState(true, false, true, Map.of(), Map.of(), new PrpUpdateEvent(List.of()));
+        }
+
+    }
+
+}
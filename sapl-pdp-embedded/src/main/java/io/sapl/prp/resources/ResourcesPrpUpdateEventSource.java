@@ -31,6 +31,7 @@
 import io.sapl.prp.PrpUpdateEvent.Type;
 import io.sapl.prp.PrpUpdateEvent.Update;
 import io.sapl.prp.PrpUpdateEventSource;
+import io.sapl.util.ParallelDocumentParser;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
@@ -50,12 +51,13 @@ public ResourcesPrpUpdateEventSource(@NonNull String policyPath, @NonNull SAPLIn
             if (saplDocuments.isEmpty()) {
                 log.warn("No SAPL policies/policy sets found in resources under path {}", policyPath);
             }
+            final List<String> rawDocuments = new ArrayList<>();
             saplDocuments.forEachByteArrayThrowingIOException((Resource res, byte[] rawDocument) -> {
                 log.debug("Loading SAPL document: {}", res.getPath());
-                var document = new String(rawDocument, StandardCharsets.UTF_8);
-                var update   = new Update(Type.PUBLISH, interpreter.parse(document), document);
-                updates.add(update);
+                rawDocuments.add(new String(rawDocument, StandardCharsets.UTF_8));
             });
+            updates.addAll(ParallelDocumentParser.parseAll(rawDocuments,
+                    document -> new Update(Type.PUBLISH, interpreter.parse(document), document)));
         } catch (PolicyEvaluationException e) {
             log.error("Error in SAPL document: {}", e.getMessage());
             log.error("The application will continue to boot up. "
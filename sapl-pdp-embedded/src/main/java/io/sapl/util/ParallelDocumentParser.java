@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.util;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Parses policy documents in bulk. Parsing and validating documents is
+ * independent per document and dominates the startup time of PDPs with many
+ * policies. Hence, larger sets of documents are parsed on a single fork-join
+ * pool shared by all PDPs in the JVM and bounded by the number of available
+ * processors.
+ */
+@UtilityClass
+public class ParallelDocumentParser {
+
+    /**
+     * Below this number of documents, parsing is done on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 16;
+
+    static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Created on first use. The worker threads are daemon threads and terminate
+     * when idle.
+     */
+    private static final class SharedPool {
+
+        static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM);
+
+    }
+
+    /**
+     * Applies the parser to all sources.
+     *
+     * @param <S>     the type of the document sources
+     * @param <D>     the type of the parsed documents
+     * @param sources the document sources
+     * @param parser  the function parsing a single source. Must be thread-safe.
+     * @return the parsed documents in the order of the sources
+     */
+    public static <S, D> List<D> parseAll(List<S> sources, Function<S, D> parser) {
+        if (sources.size() < PARALLEL_THRESHOLD || PARALLELISM < 2) {
+            return sources.stream().map(parser).toList();
+        }
+        try {
+            return SharedPool.POOL.submit(() -> sources.parallelStream().map(parser).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing documents.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to parse documents.", e.getCause());
+        }
+    }
+
+}
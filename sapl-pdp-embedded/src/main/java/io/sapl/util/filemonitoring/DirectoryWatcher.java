@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.util.filemonitoring;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Watches a directory tree using the native {@link WatchService} of the file
+ * system and emits an event for each created, changed, or deleted file.
+ * Sub-directories, including those created while watching, are registered
+ * recursively. If the file system drops events, the affected directory is
+ * rescanned and all of its files are reported as changed.
+ * <p>
+ * The watcher remembers the files it has seen. When a directory is moved away
+ * or deleted, the file system only reports the directory itself. Hence, all
+ * remembered files below it that no longer exist are reported as deleted. The
+ * same applies to files that vanished while events were lost.
+ * <p>
+ * If the root directory does not exist yet, the watcher polls for it. Once it
+ * appears, it is registered and all of its files are reported as created.
+ * <p>
+ * Note that the JDK on macOS has no native watch service and polls the watched
+ * directories about every ten seconds instead. Hence, changes may take up to
+ * ten seconds to be reported on macOS.
+ */
+@Slf4j
+class DirectoryWatcher implements Runnable {
+
+    private final Path                rootDirectory;
+    private final FileFilter          fileFilter;
+    private final FluxSink<FileEvent> emitter;
+    private final Duration            directoryPollInterval;
+    private final WatchService        watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private final Set<Path>           knownFiles         = ConcurrentHashMap.newKeySet();
+    private volatile boolean          closed;
+
+    DirectoryWatcher(Path rootDirectory, FileFilter fileFilter, FluxSink<FileEvent> emitter,
+            Duration directoryPollInterval) throws IOException {
+        this.rootDirectory         = rootDirectory;
+        this.fileFilter            = fileFilter;
+        this.emitter               = emitter;
+        this.directoryPollInterval = directoryPollInterval;
+        this.watchService          = rootDirectory.getFileSystem().newWatchService();
+        if (!Files.isDirectory(rootDirectory)) {
+            log.warn("Cannot monitor {} yet. It is not a directory. Waiting for it to be created.",
+                    rootDirectory.toAbsolutePath());
+            return;
+        }
+        try {
+            registerRecursively(rootDirectory);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            awaitRootDirectory();
+            while (!Thread.currentThread().isInterrupted()) {
+                processEvents(watchService.take());
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Stopped watching directories: {}", watchedDirectories.values());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitRootDirectory() throws InterruptedException {
+        if (!watchedDirectories.isEmpty()) {
+            return;
+        }
+        while (!Files.isDirectory(rootDirectory)) {
+            if (closed) {
+                throw new ClosedWatchServiceException();
+            }
+            Thread.sleep(directoryPollInterval.toMillis());
+        }
+        log.info("Directory {} was created. Start monitoring it.", rootDirectory.toAbsolutePath());
+        registerNewDirectory(rootDirectory);
+    }
+
+    void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.warn("Failed to close directory watch service: {}", e.getMessage());
+        }
+    }
+
+    private void processEvents(WatchKey key) {
+        var directory = watchedDirectories.get(key);
+        if (directory == null) {
+            key.cancel();
+            return;
+        }
+        for (var event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                log.warn("File system events for {} were lost. Rescanning the directory.", directory);
+                rescan(directory);
+            } else {
+                processEvent(directory.resolve((Path) event.context()), event.kind());
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private void processEvent(Path path, WatchEvent.Kind<?> kind) {
+        if (kind == ENTRY_DELETE) {
+            emit(new FileDeletedEvent(path.toFile()));
+            emitForMissingFiles(path);
+        } else if (Files.isDirectory(path, NOFOLLOW_LINKS)) {
+            if (kind == ENTRY_CREATE) {
+                registerNewDirectory(path);
+            }
+        } else if (kind == ENTRY_CREATE) {
+            emit(new FileCreatedEvent(path.toFile()));
+        } else {
+            emit(new FileChangedEvent(path.toFile()));
+        }
+    }
+
+    void rescan(Path directory) {
+        try {
+            registerRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Failed to watch directory {}: {}", directory, e.getMessage());
+        }
+        emitForAllFiles(directory, FileChangedEvent::new);
+        emitForMissingFiles(directory);
+    }
+
+    private void registerNewDirectory(Path directory) {
+        try {
+            registerRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Failed to watch new directory {}: {}", directory, e.getMessage());
+        }
+        // files may have been created before the directory was registered
+        emitForAllFiles(directory, FileCreatedEvent::new);
+    }
+
+    private void registerRecursively(Path directory) throws IOException {
+        try (var walk = Files.walk(directory)) {
+            for (var path : walk.toList()) {
+                if (Files.isDirectory(path, NOFOLLOW_LINKS)) {
+                    watchedDirectories.put(path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), path);
+                } else if (Files.isRegularFile(path) && fileFilter.accept(path.toFile())) {
+                    knownFiles.add(path);
+                }
+            }
+        }
+    }
+
+    private void emitForAllFiles(Path directory, Function<File, FileEvent> eventFactory) {
+        try (var walk = Files.walk(directory)) {
+            walk.filter(Files::isRegularFile).forEach(file -> emit(eventFactory.apply(file.toFile())));
+        } catch (IOException e) {
+            log.warn("Failed to scan directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void emitForMissingFiles(Path directory) {
+        knownFiles.stream().filter(file -> file.startsWith(directory) && !Files.exists(file, NOFOLLOW_LINKS)).toList()
+                .forEach(file -> emit(new FileDeletedEvent(file.toFile())));
+    }
+
+    private void emit(FileEvent event) {
+        if (!fileFilter.accept(event.file())) {
+            return;
+        }
+        if (event instanceof FileDeletedEvent) {
+            knownFiles.remove(event.file().toPath());
+        } else {
+            knownFiles.add(event.file().toPath());
+        }
+        emitter.next(event);
+    }
+
+}
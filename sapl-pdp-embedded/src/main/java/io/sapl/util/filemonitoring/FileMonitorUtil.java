@@ -23,20 +23,21 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Stream;
 
-import org.apache.commons.io.monitor.FileAlterationMonitor;
-import org.apache.commons.io.monitor.FileAlterationObserver;
-
 import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 
+@Slf4j
 @UtilityClass
 public class FileMonitorUtil {
 
-    private static final long   POLL_INTERVAL_IN_MS = 500;
-    private static final String SAPL_FILE_EXTENSION = "sapl";
+    private static final String   SAPL_FILE_EXTENSION     = "sapl";
+    private static final String   WATCHER_THREAD_NAME     = "sapl-directory-watcher";
+    private static final Duration DIRECTORY_POLL_INTERVAL = Duration.ofSeconds(1);
 
     public static String resolveHomeFolderIfPresent(String policyPath) {
         policyPath = policyPath.replace("/", File.separator);
@@ -51,24 +52,32 @@ static String getUserHomeProperty() {
         return System.getProperty("user.home");
     }
 
+    /**
+     * Monitors a directory tree for file changes using the native watch service of
+     * the file system. Sub-directories are monitored recursively. On macOS, the JDK
+     * polls for changes about every ten seconds instead.
+     *
+     * @param watchDir   the directory to monitor
+     * @param fileFilter only events for files accepted by this filter are emitted
+     * @return a stream of file events. If the directory does not exist yet, it is
+     *         monitored as soon as it is created, and its files are reported as
+     *         created.
+     */
     public static Flux<FileEvent> monitorDirectory(final String watchDir, final FileFilter fileFilter) {
-        return Flux.push(emitter -> {
-            var adaptor  = new FileEventAdaptor(emitter);
-            var monitor  = new FileAlterationMonitor(POLL_INTERVAL_IN_MS);
-            var observer = new FileAlterationObserver(watchDir, fileFilter);
-            monitor.addObserver(observer);
-            observer.addListener(adaptor);
-            emitter.onDispose(() -> {
-                try {
-                    monitor.stop();
-                } catch (Exception e) {
-                    emitter.error(e);
-                }
-            });
+        return monitorDirectory(watchDir, fileFilter, DIRECTORY_POLL_INTERVAL);
+    }
 
+    static Flux<FileEvent> monitorDirectory(final String watchDir, final FileFilter fileFilter,
+            Duration directoryPollInterval) {
+        return Flux.push(emitter -> {
+            var directory = Paths.get(watchDir);
             try {
-                monitor.start();
-            } catch (Exception e) {
+                var watcher = new DirectoryWatcher(directory, fileFilter, emitter, directoryPollInterval);
+                emitter.onDispose(watcher::close);
+                var watcherThread = new Thread(watcher, WATCHER_THREAD_NAME);
+                watcherThread.setDaemon(true);
+                watcherThread.start();
+            } catch (IOException e) {
                 emitter.error(e);
             }
         });
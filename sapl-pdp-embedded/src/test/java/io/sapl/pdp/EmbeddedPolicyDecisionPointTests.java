@@ -17,11 +17,14 @@
  */
 package io.sapl.pdp;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.function.UnaryOperator;
@@ -52,6 +55,8 @@
 import io.sapl.prp.PolicyRetrievalPoint;
 import io.sapl.prp.PolicyRetrievalResult;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 class EmbeddedPolicyDecisionPointTests {
@@ -271,4 +276,77 @@ void when_errorsInTarget_then_returnError() {
                 .expectNextMatches(combinedDecision -> combinedDecision.getDecision() == Decision.INDETERMINATE)
                 .verifyComplete();
     }
+
+    @Test
+    void decideOnce_withAllowedAndForbiddenAction_shouldReturnSameDecisionsAsDecide() {
+        var allowed   = new AuthorizationSubscription(JSON.textNode("willi"), JSON.textNode("read"),
+                JSON.textNode("something"), JSON.nullNode());
+        var forbidden = new AuthorizationSubscription(JSON.textNode("willi"), JSON.textNode("write"),
+                JSON.textNode("something"), JSON.nullNode());
+
+        assertThat(pdp.decideOnce(allowed).block()).isEqualTo(pdp.decide(allowed).blockFirst());
+        assertThat(pdp.decideOnce(forbidden).block()).isEqualTo(pdp.decide(forbidden).blockFirst());
+        assertThat(pdp.decideOnce(allowed).block().getDecision()).isEqualTo(Decision.PERMIT);
+    }
+
+    @Test
+    void decideOnce_shouldNotSubscribeToUpdateStreams() {
+        var prp            = mock(PolicyRetrievalPoint.class);
+        var configProvider = mock(PDPConfigurationProvider.class);
+        var mockAlgorithm  = mock(CombiningAlgorithm.class);
+        var validConfig    = new PDPConfiguration(mock(AttributeContext.class), mock(FunctionContext.class), Map.of(),
+                mockAlgorithm, UnaryOperator.identity(), UnaryOperator.identity());
+        when(configProvider.currentConfiguration()).thenReturn(Mono.just(validConfig));
+
+        var retrievalResult = mock(PolicyRetrievalResult.class);
+        when(retrievalResult.isPrpValidState()).thenReturn(Boolean.TRUE);
+        when(retrievalResult.isErrorsInTarget()).thenReturn(Boolean.TRUE);
+        when(prp.retrievePoliciesOnce()).thenReturn(Mono.just(retrievalResult));
+
+        var subscription = new AuthorizationSubscription(JSON.textNode("willi"), JSON.textNode("read"),
+                JSON.textNode("something"), JSON.nullNode());
+        var sut          = new EmbeddedPolicyDecisionPoint(configProvider, prp);
+        StepVerifier.create(sut.decideOnce(subscription))
+                .expectNextMatches(decision -> decision.getDecision() == Decision.INDETERMINATE).verifyComplete();
+
+        verify(configProvider, never()).pdpConfiguration();
+        verify(prp, never()).retrievePolicies();
+    }
+
+    @Test
+    void policyUpdates_shouldSkipCurrentStateAndSignalChangesOfConfigurationAndPolicies() {
+        var prp            = mock(PolicyRetrievalPoint.class);
+        var configProvider = mock(PDPConfigurationProvider.class);
+        var configurations = Sinks.many().replay().<PDPConfiguration>latest();
+        var policies       = Sinks.many().replay().<Long>latest();
+        configurations.tryEmitNext(mock(PDPConfiguration.class));
+        policies.tryEmitNext(0L);
+        when(configProvider.pdpConfiguration()).thenReturn(configurations.asFlux());
+        when(prp.policyUpdates()).thenReturn(policies.asFlux());
+
+        var sut = new EmbeddedPolicyDecisionPoint(configProvider, prp);
+        StepVerifier.create(sut.policyUpdates()).expectSubscription().expectNoEvent(Duration.ofMillis(50L))
+                .then(() -> configurations.tryEmitNext(mock(PDPConfiguration.class))).expectNext(0L)
+                .then(() -> policies.tryEmitNext(1L)).expectNext(1L).thenCancel().verify(Duration.ofSeconds(5L));
+    }
+
+    @Test
+    void decideAllOnce_withMultiSubscriptionContainingTwoSubscriptions_shouldReturnBothDecisions() {
+        var multiAuthzSubscription = new MultiAuthorizationSubscription()
+                .addAuthorizationSubscription("id1", "willi", "read", "something")
+                .addAuthorizationSubscription("id2", "willi", "write", "something");
+
+        StepVerifier.create(pdp.decideAllOnce(multiAuthzSubscription))
+                .expectNextMatches(mad -> mad.getDecisionForSubscriptionWithId("id1") == Decision.PERMIT
+                        && mad.getDecisionForSubscriptionWithId("id2") == Decision.DENY)
+                .verifyComplete();
+    }
+
+    @Test
+    void decideAllOnce_withEmptyMultiSubscription_shouldReturnIndeterminate() {
+        StepVerifier.create(pdp.decideAllOnce(new MultiAuthorizationSubscription())).expectNextMatches(
+                mad -> mad.getAuthorizationDecisionForSubscriptionWithId("").getDecision() == Decision.INDETERMINATE)
+                .verifyComplete();
+    }
+
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.pdp.config.remote;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sapl.api.interpreter.Val;
+import io.sapl.grammar.sapl.PermitUnlessDenyCombiningAlgorithm;
+import io.sapl.interpreter.combinators.PolicyDocumentCombiningAlgorithm;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RemoteVariablesAndCombinatorSourceTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static WebClient clientRespondingWith(String ndjson) {
+        // the connector is never used, it only avoids initializing a Reactor Netty
+        // client
+        return WebClient.builder().baseUrl("http://localhost")
+                .clientConnector((method, uri, requestCallback) -> Mono.empty())
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE).body(ndjson).build()))
+                .build();
+    }
+
+    private static JsonNode json(String json) throws JsonProcessingException {
+        return MAPPER.readTree(json);
+    }
+
+    @Test
+    void whenAlgorithmAndVariablesReceived_thenConfigurationContainsBoth() throws JsonProcessingException {
+        var config = RemoteVariablesAndCombinatorSource
+                .toConfiguration(json("{\"algorithm\":\"PERMIT_UNLESS_DENY\",\"variables\":{\"a\":1,\"b\":\"x\"}}"));
+
+        assertThat(config).hasValueSatisfying(value -> {
+            assertThat(value.getAlgorithm()).isEqualTo(PolicyDocumentCombiningAlgorithm.PERMIT_UNLESS_DENY);
+            assertThat(value.getVariables()).containsOnlyKeys("a", "b");
+            assertThat(value.getVariables().get("a")).isEqualTo(Val.of(1));
+            assertThat(value.getVariables().get("b")).isEqualTo(Val.of("x"));
+        });
+    }
+
+    @Test
+    void whenEmptyConfigurationReceived_thenDefaultsApply() throws JsonProcessingException {
+        var config = RemoteVariablesAndCombinatorSource.toConfiguration(json("{}"));
+
+        assertThat(config).hasValueSatisfying(value -> {
+            assertThat(value.getAlgorithm()).isEqualTo(PolicyDocumentCombiningAlgorithm.DENY_OVERRIDES);
+            assertThat(value.getVariables()).isEmpty();
+        });
+    }
+
+    @Test
+    void whenEmptyVariablesReceived_thenConfigurationHasNoVariables() throws JsonProcessingException {
+        var config = RemoteVariablesAndCombinatorSource
+                .toConfiguration(json("{\"algorithm\":\"ONLY_ONE_APPLICABLE\",\"variables\":{}}"));
+
+        assertThat(config).hasValueSatisfying(value -> {
+            assertThat(value.getAlgorithm()).isEqualTo(PolicyDocumentCombiningAlgorithm.ONLY_ONE_APPLICABLE);
+            assertThat(value.getVariables()).isEmpty();
+        });
+    }
+
+    @Test
+    void whenServerHasNoValidConfiguration_thenNoConfigurationIsAvailable() throws JsonProcessingException {
+        assertThat(RemoteVariablesAndCombinatorSource.toConfiguration(json("{\"unavailable\":true}"))).isEmpty();
+    }
+
+    @Test
+    void whenUnknownAlgorithmReceived_thenNoConfigurationIsAvailable() throws JsonProcessingException {
+        assertThat(RemoteVariablesAndCombinatorSource.toConfiguration(json("{\"algorithm\":\"MAJORITY_VOTE\"}")))
+                .isEmpty();
+    }
+
+    @Test
+    void whenNoObjectReceived_thenNoConfigurationIsAvailable() throws JsonProcessingException {
+        assertThat(RemoteVariablesAndCombinatorSource.toConfiguration(null)).isEmpty();
+        assertThat(RemoteVariablesAndCombinatorSource.toConfiguration(json("[]"))).isEmpty();
+        assertThat(RemoteVariablesAndCombinatorSource.toConfiguration(json("\"algorithm\""))).isEmpty();
+    }
+
+    @Test
+    void whenConfigurationsStreamed_thenLatestAlgorithmAndVariablesAreProvided() {
+        var ndjson = """
+                {"unavailable":true}
+                {"algorithm":"PERMIT_UNLESS_DENY","variables":{"a":1}}
+                """;
+        var sut    = new RemoteVariablesAndCombinatorSource(clientRespondingWith(ndjson), Duration.ofHours(1L));
+
+        StepVerifier.create(sut.getCombiningAlgorithm().take(1L))
+                .assertNext(
+                        algorithm -> assertThat(algorithm).get().isInstanceOf(PermitUnlessDenyCombiningAlgorithm.class))
+                .verifyComplete();
+        StepVerifier.create(sut.getVariables().take(1L))
+                .assertNext(variables -> assertThat(variables).get().isEqualTo(Map.of("a", Val.of(1))))
+                .verifyComplete();
+        sut.destroy();
+    }
+
+}
@@ -18,23 +18,20 @@
 package io.sapl.prp.filesystem;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.when;
 
 import java.io.File;
-import java.util.Collections;
+import java.time.Duration;
 
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 
 import io.sapl.interpreter.DefaultSAPLInterpreter;
-import io.sapl.prp.PrpUpdateEvent;
+import io.sapl.prp.PrpUpdateEvent.Type;
 import io.sapl.util.filemonitoring.FileCreatedEvent;
 import io.sapl.util.filemonitoring.FileDeletedEvent;
+import io.sapl.util.filemonitoring.FileEvent;
 import io.sapl.util.filemonitoring.FileMonitorUtil;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
@@ -45,29 +42,36 @@ class FileSystemPrpUpdateEventSourceTests {
     void testProcessFileEvent() {
         var source = new FileSystemPrpUpdateEventSource("src/test/resources/it/empty", new DefaultSAPLInterpreter());
 
-        var file1 = mock(File.class);
-        when(file1.getAbsolutePath()).thenReturn("/file1.sapl");
-        var file2 = mock(File.class);
-        when(file2.getAbsolutePath()).thenReturn("/file2.sapl");
+        // the initial index is built on another thread, hence real files are used
+        var file1 = new File("src/test/resources/it/empty/notExisting1.sapl");
+        var file2 = new File("src/test/resources/it/empty/notExisting2.sapl");
 
-        try (MockedConstruction<ImmutableFileIndex> mocked = Mockito.mockConstruction(ImmutableFileIndex.class,
-                (mock, context) -> {
-                    when(mock.afterFileEvent(any())).thenReturn(mock);
-                    when(mock.getUpdateEvent()).thenReturn(new PrpUpdateEvent(Collections.emptyList()));
-                })) {
+        try (MockedStatic<FileMonitorUtil> mock = mockStatic(FileMonitorUtil.class)) {
+            mock.when(() -> FileMonitorUtil.monitorDirectory(any(), any()))
+                    .thenReturn(Flux.just(new FileCreatedEvent(file1), new FileDeletedEvent(file2)));
 
-            try (MockedStatic<FileMonitorUtil> mock = mockStatic(FileMonitorUtil.class)) {
-                mock.when(() -> FileMonitorUtil.monitorDirectory(any(), any()))
-                        .thenReturn(Flux.just(new FileCreatedEvent(file1), new FileDeletedEvent(file2)));
+            // initial event and one event for the burst of file events
+            var updates = source.getUpdates();
+            StepVerifier.create(updates).expectNextMatches(event -> event.getUpdates().length == 0)
+                    .expectNextMatches(event -> event.getUpdates()[0].getType() == Type.INCONSISTENT).verifyComplete();
 
-                var updates = source.getUpdates();
-                StepVerifier.create(updates).expectNextCount(2L).thenCancel().verify();
-
-                mock.verify(() -> FileMonitorUtil.monitorDirectory(any(), any()), times(1));
-            }
+            mock.verify(() -> FileMonitorUtil.monitorDirectory(any(), any()), times(1));
         }
 
         source.dispose();
     }
 
+    @Test
+    void whenFileEventsNeverPause_thenBurstsAreAppliedAfterTheMaximumWait() {
+        var event = new FileCreatedEvent(new File("src/test/resources/it/empty/notExisting.sapl"));
+
+        StepVerifier
+                .withVirtualTime(() -> FileSystemPrpUpdateEventSource.fileEventBursts(
+                        Flux.interval(Duration.ofMillis(100)).<FileEvent>map(tick -> event).take(Duration.ofSeconds(3)),
+                        Duration.ofMillis(200), Duration.ofSeconds(1)))
+                .thenAwait(Duration.ofSeconds(1)).expectNextMatches(burst -> burst.size() >= 9)
+                .thenAwait(Duration.ofSeconds(1)).expectNextMatches(burst -> burst.size() >= 9)
+                .thenAwait(Duration.ofSeconds(1)).thenConsumeWhile(burst -> true).verifyComplete();
+    }
+
 }
@@ -24,6 +24,7 @@
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -36,6 +37,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
@@ -106,6 +108,8 @@ void when_initializingWithEmptyDirectory_and_update_then_updatePublish() {
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -137,6 +141,8 @@ void when_initializingWithEmptyDirectory_and_updateAddAndRemove_then_updateWithd
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -175,6 +181,8 @@ void when_initializingWithEmptyDirectory_and_updateAddAndChange_then_update() {
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -214,6 +222,8 @@ void when_initializingWithEmptyDirectory_and_updateAddAndAddNameCollision_then_I
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -252,6 +262,8 @@ void when_initializingWithEmptyDirectory_and_updateAddAndAddNameCollisionAddAnot
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -296,6 +308,8 @@ void when_initializingWithEmptyDirectory_and_updateAddAndAddNameCollisionAndRemo
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -341,6 +355,8 @@ void when_initializingWithEmptyDirectory_and_updateAddAndAddNameCollisionAndRemo
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -384,6 +400,8 @@ void when_initializingWithEmptyDirectory_and_addInvalidAndRemoveInvalid_then_Fir
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load invalid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -428,6 +446,8 @@ void when_initializingWithEmptyDirectory_and_tryUnloadingNonExisting_then_nothin
             when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
             mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
                     .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
 
             // 1st event load valid policy
             var mockInterpreter = mock(SAPLInterpreter.class);
@@ -447,6 +467,185 @@ void when_initializingWithEmptyDirectory_and_tryUnloadingNonExisting_then_nothin
         }
     }
 
+    @Test
+    void when_burstOfEventsForSameFile_then_singlePublish() {
+        try (MockedStatic<Files> mockedFiles = mockStatic(Files.class)) {
+            // Setup initial Index
+            var mockPaths           = List.of();
+            var mockDirectoryStream = mock(DirectoryStream.class);
+            when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
+            mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
+                    .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
+
+            var mockInterpreter = mock(SAPLInterpreter.class);
+            var mockFile        = mockPolicyFile(POLICY_1, SAPL_1, POLICY_1_NAME, mockedFiles, mockInterpreter);
+
+            var sut = new ImmutableFileIndex(PATH, mockInterpreter);
+
+            // create and modify the same document in one burst
+            var event1 = mock(FileCreatedEvent.class);
+            when(event1.file()).thenReturn(mockFile);
+            var event2 = mock(FileChangedEvent.class);
+            when(event2.file()).thenReturn(mockFile);
+            sut = sut.afterFileEvents(List.of(event1, event2, event2));
+
+            var actualUpdates = sut.getUpdateEvent();
+
+            // validate
+            assertThat(actualUpdates.getUpdates(),
+                    arrayContaining(isUpdateWithName(PrpUpdateEvent.Type.PUBLISH, POLICY_1_NAME)));
+        }
+    }
+
+    @Test
+    void when_changeEventForUnchangedContent_then_nothing() {
+        try (MockedStatic<Files> mockedFiles = mockStatic(Files.class)) {
+            // Setup initial Index
+            var mockPaths           = List.of();
+            var mockDirectoryStream = mock(DirectoryStream.class);
+            when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
+            mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
+                    .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
+
+            var mockInterpreter = mock(SAPLInterpreter.class);
+            var mockFile        = mockPolicyFile(POLICY_1, SAPL_1, POLICY_1_NAME, mockedFiles, mockInterpreter);
+
+            var sut = new ImmutableFileIndex(PATH, mockInterpreter);
+
+            var event1 = mock(FileCreatedEvent.class);
+            when(event1.file()).thenReturn(mockFile);
+            sut = sut.afterFileEvents(List.of(event1));
+
+            // touch document without changing its content
+            var event2 = mock(FileChangedEvent.class);
+            when(event2.file()).thenReturn(mockFile);
+            sut = sut.afterFileEvents(List.of(event2));
+
+            var actualUpdates = sut.getUpdateEvent();
+
+            // validate
+            assertThat(actualUpdates.getUpdates(), emptyArray());
+        }
+    }
+
+    @Test
+    void when_changeEventForChangedContent_then_withdrawAndPublish() {
+        try (MockedStatic<Files> mockedFiles = mockStatic(Files.class)) {
+            // Setup initial Index
+            var mockPaths           = List.of();
+            var mockDirectoryStream = mock(DirectoryStream.class);
+            when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
+            mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
+                    .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
+
+            var mockInterpreter = mock(SAPLInterpreter.class);
+            var mockFile        = mockPolicyFile(POLICY_1, SAPL_1, POLICY_1_NAME, mockedFiles, mockInterpreter);
+
+            var sut = new ImmutableFileIndex(PATH, mockInterpreter);
+
+            var event1 = mock(FileCreatedEvent.class);
+            when(event1.file()).thenReturn(mockFile);
+            sut = sut.afterFileEvents(List.of(event1));
+
+            // replace the content of the document
+            var mockPath = mockFile.toPath();
+            mockedFiles.when(() -> Files.readString(eq(mockPath))).thenReturn(POLICY_2);
+            when(mockInterpreter.parseCompact(POLICY_2)).thenReturn(SAPL_2);
+            var event2 = mock(FileChangedEvent.class);
+            when(event2.file()).thenReturn(mockFile);
+            sut = sut.afterFileEvents(List.of(event2));
+
+            var actualUpdates = sut.getUpdateEvent();
+
+            // validate
+            // @formatter:off
+			assertThat(actualUpdates.getUpdates(),
+					arrayContaining(
+							isUpdateWithName(PrpUpdateEvent.Type.WITHDRAW, POLICY_1_NAME),
+							isUpdateWithName(PrpUpdateEvent.Type.PUBLISH, POLICY_2_NAME)
+					));
+			// @formatter:on
+        }
+    }
+
+    @Test
+    void when_nameCollisionResolvedAfterFileChangedOnDisk_then_updatesCarrySourceFromParseTime() {
+        try (MockedStatic<Files> mockedFiles = mockStatic(Files.class)) {
+            // Setup initial Index
+            var mockPaths           = List.of();
+            var mockDirectoryStream = mock(DirectoryStream.class);
+            when(mockDirectoryStream.iterator()).thenReturn(mockPaths.iterator());
+            mockedFiles.when(() -> Files.newDirectoryStream(any(Path.class), any(String.class)))
+                    .thenReturn(mockDirectoryStream);
+            mockedFiles.when(() -> Files.isDirectory(Path.of(PATH))).thenReturn(true);
+            mockedFiles.when(() -> Files.walk(Path.of(PATH))).thenReturn(Stream.empty());
+
+            var mockInterpreter   = mock(SAPLInterpreter.class);
+            var mockFile          = mockPolicyFile(POLICY_1, SAPL_1, POLICY_1_NAME, mockedFiles, mockInterpreter);
+            var collidingPolicy   = "policy \"policy1\" deny";
+            var mockCollidingFile = mockPolicyFile(collidingPolicy, SAPL_1, "alternatePath", mockedFiles,
+                    mockInterpreter);
+
+            var sut = new ImmutableFileIndex(PATH, mockInterpreter);
+
+            var event1 = mock(FileCreatedEvent.class);
+            when(event1.file()).thenReturn(mockFile);
+            var event2 = mock(FileCreatedEvent.class);
+            when(event2.file()).thenReturn(mockCollidingFile);
+            sut = sut.afterFileEvents(List.of(event1, event2));
+
+            // both files change on disk before their events arrive
+            mockedFiles.when(() -> Files.readString(any())).thenReturn(POLICY_2);
+            var event3 = mock(FileDeletedEvent.class);
+            when(event3.file()).thenReturn(mockFile);
+            sut = sut.afterFileEvents(List.of(event3));
+
+            var actualUpdates = sut.getUpdateEvent();
+
+            // validate
+            // @formatter:off
+			assertThat(actualUpdates.getUpdates(),
+					arrayContaining(
+							isUpdateWithName(PrpUpdateEvent.Type.WITHDRAW, POLICY_1_NAME)
+								.withProperty("rawDocument", is(nullValue())),
+							isUpdateWithName(PrpUpdateEvent.Type.PUBLISH, POLICY_1_NAME)
+								.withProperty("rawDocument", is(collidingPolicy)),
+							isUpdateType(PrpUpdateEvent.Type.CONSISTENT)
+					));
+			// @formatter:on
+        }
+    }
+
+    @Test
+    void when_initializingWithMissingDirectory_and_fileCreatedLater_then_publishAndConsistent() {
+        try (MockedStatic<Files> mockedFiles = mockStatic(Files.class)) {
+            var mockInterpreter = mock(SAPLInterpreter.class);
+            var mockFile        = mockPolicyFile(POLICY_1, SAPL_1, POLICY_1_NAME, mockedFiles, mockInterpreter);
+            var event           = mock(FileCreatedEvent.class);
+            when(event.file()).thenReturn(mockFile);
+
+            var sut = new ImmutableFileIndex(PATH, mockInterpreter);
+            assertThat(sut.getUpdateEvent().getUpdates(),
+                    arrayContaining(isUpdateType(PrpUpdateEvent.Type.INCONSISTENT)));
+
+            sut = sut.afterFileEvents(List.of(event));
+
+            // @formatter:off
+			assertThat(sut.getUpdateEvent().getUpdates(),
+					arrayContaining(
+							isUpdateWithName(PrpUpdateEvent.Type.PUBLISH, POLICY_1_NAME),
+							isUpdateType(PrpUpdateEvent.Type.CONSISTENT)
+					));
+			// @formatter:on
+        }
+    }
+
     private File mockPolicyFile(String document, SAPL sapl, String path, MockedStatic<Files> mockedFiles,
             SAPLInterpreter mockInterpreter) {
         var mockPath = mock(Path.class);
@@ -455,7 +654,7 @@ private File mockPolicyFile(String document, SAPL sapl, String path, MockedStati
         var mockFile = mock(File.class);
         when(mockFile.toPath()).thenReturn(mockPath);
         mockedFiles.when(() -> Files.readString(eq(mockPath))).thenReturn(document);
-        when(mockInterpreter.parse(document)).thenReturn(sapl);
+        when(mockInterpreter.parseCompact(document)).thenReturn(sapl);
         return mockFile;
     }
 
@@ -467,7 +666,7 @@ private File mockInvalidPolicyFile(String document, String path, MockedStatic<Fi
         var mockFile = mock(File.class);
         when(mockFile.toPath()).thenReturn(mockPath);
         mockedFiles.when(() -> Files.readString(eq(mockPath))).thenReturn(document);
-        when(mockInterpreter.parse(document)).thenThrow(new PolicyEvaluationException());
+        when(mockInterpreter.parseCompact(document)).thenThrow(new PolicyEvaluationException());
         return mockFile;
     }
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.prp.remote;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.sapl.interpreter.DefaultSAPLInterpreter;
+import io.sapl.prp.PrpUpdateEvent;
+import io.sapl.prp.PrpUpdateEvent.Type;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RemotePrpUpdateEventSourceTests {
+
+    private static final String POLICY_A   = "policy \"a\" permit";
+    private static final String POLICY_B   = "policy \"b\" deny";
+    private static final String POLICY_B_2 = "policy \"b\" permit";
+
+    private static WebClient clientRespondingWith(String ndjson) {
+        // the connector is never used, it only avoids initializing a Reactor Netty
+        // client
+        return WebClient.builder().baseUrl("http://localhost")
+                .clientConnector((method, uri, requestCallback) -> Mono.empty())
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE).body(ndjson).build()))
+                .build();
+    }
+
+    private static List<Type> types(PrpUpdateEvent event) {
+        return Arrays.stream(event.getUpdates()).map(PrpUpdateEvent.Update::getType).toList();
+    }
+
+    @Test
+    void whenSnapshotsReceived_thenDifferencesArePublishedAndWithdrawn() {
+        var ndjson = """
+                {"consistent":true,"documents":{"a":"policy \\"a\\" permit","b":"policy \\"b\\" deny"}}
+                {"consistent":true,"documents":{"a":"policy \\"a\\" permit","b":"policy \\"b\\" permit"}}
+                {"consistent":true,"documents":{"b":"policy \\"b\\" permit"}}
+                """;
+        var sut    = new RemotePrpUpdateEventSource(clientRespondingWith(ndjson), new DefaultSAPLInterpreter(),
+                Duration.ofHours(1L));
+
+        StepVerifier.create(sut.getUpdates().take(3L)).assertNext(event -> {
+            assertThat(types(event)).containsExactly(Type.PUBLISH, Type.PUBLISH);
+            assertThat(Arrays.stream(event.getUpdates()).map(PrpUpdateEvent.Update::getRawDocument))
+                    .containsExactlyInAnyOrder(POLICY_A, POLICY_B);
+        }).assertNext(event -> {
+            assertThat(types(event)).containsExactly(Type.WITHDRAW, Type.PUBLISH);
+            assertThat(event.getUpdates()[0].getRawDocument()).isEqualTo(POLICY_B);
+            assertThat(event.getUpdates()[1].getRawDocument()).isEqualTo(POLICY_B_2);
+        }).assertNext(event -> {
+            assertThat(types(event)).containsExactly(Type.WITHDRAW);
+            assertThat(event.getUpdates()[0].getRawDocument()).isEqualTo(POLICY_A);
+        }).verifyComplete();
+    }
+
+    @Test
+    void whenReconnectedWithUnchangedSnapshot_thenNoUpdateIsEmitted() {
+        var ndjson = """
+                {"consistent":true,"documents":{"a":"policy \\"a\\" permit"}}
+                {"consistent":true,"documents":{"a":"policy \\"a\\" permit"}}
+                {"consistent":false,"documents":{"a":"policy \\"a\\" permit"}}
+                """;
+        var sut    = new RemotePrpUpdateEventSource(clientRespondingWith(ndjson), new DefaultSAPLInterpreter(),
+                Duration.ofHours(1L));
+
+        StepVerifier.create(sut.getUpdates().take(2L))
+                .assertNext(event -> assertThat(types(event)).containsExactly(Type.PUBLISH))
+                .assertNext(event -> assertThat(types(event)).containsExactly(Type.INCONSISTENT)).verifyComplete();
+    }
+
+    @Test
+    void whenDocumentCannotBeParsed_thenIndexBecomesInconsistent() {
+        var ndjson = """
+                {"consistent":true,"documents":{"broken":"policy \\"broken\\" permit where ;;;"}}
+                """;
+        var sut    = new RemotePrpUpdateEventSource(clientRespondingWith(ndjson), new DefaultSAPLInterpreter(),
+                Duration.ofHours(1L));
+
+        StepVerifier.create(sut.getUpdates().take(1L))
+                .assertNext(event -> assertThat(types(event)).containsExactly(Type.INCONSISTENT)).verifyComplete();
+    }
+
+    @Test
+    void whenEventsApplied_thenSnapshotContainsPublishedDocuments() {
+        var interpreter = new DefaultSAPLInterpreter();
+        var event       = new PrpUpdateEvent(
+                new PrpUpdateEvent.Update(Type.PUBLISH, interpreter.parse(POLICY_A), POLICY_A),
+                new PrpUpdateEvent.Update(Type.PUBLISH, interpreter.parse(POLICY_B), POLICY_B));
+        var snapshot    = new PolicyDocumentsSnapshot().withUpdates(event);
+        assertThat(snapshot.getDocuments()).isEqualTo(Map.of("a", POLICY_A, "b", POLICY_B));
+
+        var withdrawn = snapshot.withUpdates(
+                new PrpUpdateEvent(new PrpUpdateEvent.Update(Type.WITHDRAW, interpreter.parse(POLICY_A), POLICY_A),
+                        new PrpUpdateEvent.Update(Type.INCONSISTENT, null, null)));
+        assertThat(withdrawn.getDocuments()).isEqualTo(Map.of("b", POLICY_B));
+        assertThat(withdrawn.isConsistent()).isFalse();
+    }
+
+    @Test
+    void whenDocumentNameIsPublishedTwice_thenSnapshotRejectsDuplicateUntilWithdrawn() {
+        var interpreter = new DefaultSAPLInterpreter();
+        var snapshot    = new PolicyDocumentsSnapshot().withUpdates(
+                new PrpUpdateEvent(new PrpUpdateEvent.Update(Type.PUBLISH, interpreter.parse(POLICY_B), POLICY_B),
+                        new PrpUpdateEvent.Update(Type.PUBLISH, interpreter.parse(POLICY_B_2), POLICY_B_2)));
+        assertThat(snapshot.getDocuments()).isEqualTo(Map.of("b", POLICY_B));
+        assertThat(snapshot.isConsistent()).isFalse();
+
+        var resolved = snapshot.withUpdates(new PrpUpdateEvent(
+                new PrpUpdateEvent.Update(Type.WITHDRAW, interpreter.parse(POLICY_B_2), POLICY_B_2)));
+        assertThat(resolved.getDocuments()).isEqualTo(Map.of("b", POLICY_B));
+        assertThat(resolved.isConsistent()).isTrue();
+    }
+
+}
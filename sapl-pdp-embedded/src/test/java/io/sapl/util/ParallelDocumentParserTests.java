@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelDocumentParserTests {
+
+    @Test
+    void when_parsingManyDocuments_then_orderOfSourcesIsRetained() {
+        var sources = IntStream.range(0, 1_000).boxed().toList();
+
+        var parsed = ParallelDocumentParser.parseAll(sources, source -> "document" + source);
+
+        assertThat(parsed, is(sources.stream().map(source -> "document" + source).toList()));
+    }
+
+    @Test
+    void when_parsingFewDocuments_then_parsedOnCallingThread() {
+        var threads = ConcurrentHashMap.<Thread>newKeySet();
+
+        ParallelDocumentParser.parseAll(List.of(1, 2, 3), source -> threads.add(Thread.currentThread()));
+
+        assertThat(threads, is(Set.of(Thread.currentThread())));
+    }
+
+    @Test
+    void when_parsingRepeatedly_then_sharedBoundedPoolIsUsed() {
+        assumeTrue(ParallelDocumentParser.PARALLELISM >= 2);
+        var sources = IntStream.range(0, 100).boxed().toList();
+        var pools   = ConcurrentHashMap.<ForkJoinPool>newKeySet();
+
+        for (var i = 0; i < 3; i++) {
+            ParallelDocumentParser.parseAll(sources,
+                    source -> pools.add(((ForkJoinWorkerThread) Thread.currentThread()).getPool()));
+        }
+
+        assertThat(pools.size(), is(1));
+        assertThat(pools.iterator().next().getParallelism(), is(lessThanOrEqualTo(ParallelDocumentParser.PARALLELISM)));
+    }
+
+    @Test
+    void when_parserThrows_then_exceptionIsPropagated() {
+        var sources = IntStream.range(0, 100).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> ParallelDocumentParser.parseAll(sources, source -> {
+            if (source == 42) {
+                throw new IllegalArgumentException("broken document");
+            }
+            return source;
+        }));
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.util.filemonitoring;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reactor.core.publisher.FluxSink;
+
+class DirectoryWatcherTests {
+
+    @Test
+    void whenRescanningAfterLostEvents_thenVanishedFilesAreReportedDeleted(@TempDir Path watchDir) throws IOException {
+        // GIVEN
+        var kept    = Files.writeString(watchDir.resolve("kept.sapl"), "policy \"a\" permit");
+        var removed = Files.writeString(Files.createDirectory(watchDir.resolve("sub")).resolve("removed.sapl"),
+                "policy \"b\" permit");
+        @SuppressWarnings("unchecked")
+        var sink    = (FluxSink<FileEvent>) mock(FluxSink.class);
+        var watcher = new DirectoryWatcher(watchDir, __ -> true, sink, Duration.ofMillis(50));
+        Files.delete(removed);
+        Files.delete(removed.getParent());
+
+        // WHEN
+        watcher.rescan(watchDir);
+        watcher.close();
+
+        // THEN
+        verify(sink).next(new FileChangedEvent(kept.toFile()));
+        verify(sink).next(new FileDeletedEvent(removed.toFile()));
+        verify(sink, never()).next(new FileDeletedEvent(kept.toFile()));
+    }
+
+    @Test
+    void whenRescanningTwice_thenVanishedFilesAreReportedDeletedOnlyOnce(@TempDir Path watchDir) throws IOException {
+        // GIVEN
+        var removed = Files.writeString(watchDir.resolve("removed.sapl"), "policy \"a\" permit");
+        @SuppressWarnings("unchecked")
+        var sink    = (FluxSink<FileEvent>) mock(FluxSink.class);
+        var watcher = new DirectoryWatcher(watchDir, __ -> true, sink, Duration.ofMillis(50));
+        Files.delete(removed);
+
+        // WHEN
+        watcher.rescan(watchDir);
+        watcher.rescan(watchDir);
+        watcher.close();
+
+        // THEN
+        verify(sink).next(new FileDeletedEvent(removed.toFile()));
+        verify(sink, never()).next(any(FileChangedEvent.class));
+    }
+
+}
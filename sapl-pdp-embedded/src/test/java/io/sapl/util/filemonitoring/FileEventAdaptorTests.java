@@ -1,50 +0,0 @@
-/*
- * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
- *
- * SPDX-License-Identifier: Apache-2.0
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package io.sapl.util.filemonitoring;
-
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
-
-import java.io.File;
-
-import org.junit.jupiter.api.Test;
-
-import reactor.core.publisher.FluxSink;
-
-class FileEventAdaptorTests {
-
-    @Test
-    void doTest() {
-        @SuppressWarnings("unchecked")
-        var sinkMock = (FluxSink<FileEvent>) mock(FluxSink.class);
-        when(sinkMock.next(any())).thenReturn(null);
-
-        var fileMock = mock(File.class);
-
-        var eventAdaptor = new FileEventAdaptor(sinkMock);
-        eventAdaptor.onFileCreate(fileMock);
-        eventAdaptor.onFileChange(fileMock);
-        eventAdaptor.onFileDelete(fileMock);
-
-        verify(sinkMock, times(3)).next(any());
-    }
-
-}
@@ -20,18 +20,17 @@
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
-import org.apache.commons.io.monitor.FileAlterationMonitor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
-import org.mockito.MockedConstruction;
-import org.mockito.Mockito;
+import org.junit.jupiter.api.io.TempDir;
 
+import lombok.SneakyThrows;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
@@ -65,6 +64,21 @@ void return_no_event_for_non_existent_directory() {
         monitorFlux.take(1L).subscribe();
     }
 
+    @Test
+    void return_events_for_files_of_directory_created_after_monitoring_started(@TempDir Path parentDir) {
+        var watchDir    = parentDir.resolve("policies");
+        var file        = watchDir.resolve("policy.sapl");
+        var monitorFlux = FileMonitorUtil.monitorDirectory(watchDir.toString(), __ -> true, Duration.ofMillis(50))
+                .filter(event -> event.file().toPath().equals(file) && !(event instanceof FileChangedEvent))
+                .distinctUntilChanged(Object::getClass);
+
+        StepVerifier.create(monitorFlux).expectSubscription().expectNoEvent(Duration.ofMillis(200)).then(() -> {
+            createDirectory(watchDir);
+            writeString(file, "policy \"a\" permit");
+        }).expectNextMatches(FileCreatedEvent.class::isInstance).then(() -> delete(file))
+                .expectNextMatches(FileDeletedEvent.class::isInstance).thenCancel().verify();
+    }
+
     @Test
     void return_no_event_when_nothing_changes() {
         Flux<FileEvent> monitorFlux = FileMonitorUtil.monitorDirectory("src/test/resources/policies", __ -> true);
@@ -72,15 +86,88 @@ void return_no_event_when_nothing_changes() {
     }
 
     @Test
-    void throw_exception_in_monitor_start() throws Exception {
-        try (MockedConstruction<FileAlterationMonitor> mocked = Mockito.mockConstruction(FileAlterationMonitor.class,
-                (mock, context) -> doThrow(new Exception()).when(mock).start())) {
-
-            Flux<FileEvent> monitorFlux = FileMonitorUtil.monitorDirectory("~/", __ -> true);
-            monitorFlux.take(1L).subscribe();
-            assertThat(mocked.constructed().size(), is(1));
-            verify(mocked.constructed().get(0), times(1)).start();
-        }
+    void return_events_for_created_changed_and_deleted_files(@TempDir Path watchDir) {
+        var file        = watchDir.resolve("policy.sapl");
+        var monitorFlux = FileMonitorUtil.monitorDirectory(watchDir.toString(), __ -> true)
+                .filter(event -> event.file().toPath().equals(file)).distinctUntilChanged(Object::getClass);
+
+        StepVerifier.create(monitorFlux).then(() -> writeString(file, "policy \"a\" permit"))
+                .expectNextMatches(FileCreatedEvent.class::isInstance)
+                .then(() -> writeString(file, "policy \"a\" deny"))
+                .expectNextMatches(FileChangedEvent.class::isInstance).then(() -> delete(file))
+                .expectNextMatches(FileDeletedEvent.class::isInstance).thenCancel().verify();
+    }
+
+    @Test
+    void return_events_for_files_in_new_sub_directories(@TempDir Path watchDir) {
+        var file        = watchDir.resolve("sub").resolve("policy.sapl");
+        var monitorFlux = FileMonitorUtil.monitorDirectory(watchDir.toString(), __ -> true)
+                .filter(event -> event.file().toPath().equals(file));
+
+        StepVerifier.create(monitorFlux).then(() -> {
+            createDirectory(file.getParent());
+            writeString(file, "policy \"a\" permit");
+        }).expectNextMatches(event -> event instanceof FileCreatedEvent || event instanceof FileChangedEvent)
+                .thenCancel().verify();
+    }
+
+    @Test
+    void return_deleted_events_for_files_in_directories_moved_away(@TempDir Path watchDir, @TempDir Path otherDir) {
+        var file = watchDir.resolve("sub").resolve("policy.sapl");
+        createDirectory(file.getParent());
+        writeString(file, "policy \"a\" permit");
+        var monitorFlux = FileMonitorUtil.monitorDirectory(watchDir.toString(), __ -> true)
+                .filter(event -> event.file().toPath().equals(file));
+
+        StepVerifier.create(monitorFlux).then(() -> move(file.getParent(), otherDir.resolve("sub")))
+                .expectNextMatches(FileDeletedEvent.class::isInstance).thenCancel().verify();
+    }
+
+    @Test
+    void return_deleted_and_created_events_for_files_in_renamed_directories(@TempDir Path watchDir) {
+        var file        = watchDir.resolve("sub").resolve("policy.sapl");
+        var renamedFile = watchDir.resolve("renamed").resolve("policy.sapl");
+        createDirectory(file.getParent());
+        writeString(file, "policy \"a\" permit");
+        var monitorFlux = FileMonitorUtil.monitorDirectory(watchDir.toString(), __ -> true)
+                .filter(event -> event.file().toPath().equals(file) || event.file().toPath().equals(renamedFile))
+                .map(event -> event.getClass().getSimpleName() + ":" + event.file().toPath());
+
+        StepVerifier.create(monitorFlux.take(2).collectList())
+                .then(() -> move(file.getParent(), renamedFile.getParent()))
+                .expectNextMatches(events -> events.contains("FileDeletedEvent:" + file)
+                        && events.contains("FileCreatedEvent:" + renamedFile))
+                .verifyComplete();
+    }
+
+    @Test
+    void return_no_event_for_files_rejected_by_filter(@TempDir Path watchDir) {
+        var monitorFlux = FileMonitorUtil.monitorDirectory(watchDir.toString(),
+                file -> file.getName().endsWith(".sapl"));
+
+        StepVerifier.create(monitorFlux).then(() -> writeString(watchDir.resolve("notes.txt"), "text"))
+                .expectNoEvent(Duration.ofMillis(500)).then(() -> writeString(watchDir.resolve("a.sapl"), "text"))
+                .expectNextMatches(event -> "a.sapl".equals(event.file().getName())).thenCancel().verify();
+    }
+
+    @SneakyThrows
+    private static void writeString(Path path, String content) {
+        Files.writeString(path, content);
+    }
+
+    @SneakyThrows
+    private static void createDirectory(Path path) {
+        Files.createDirectory(path);
+    }
+
+    @SneakyThrows
+    private static void move(Path source, Path target) {
+        Files.move(source, target);
+    }
+
+    @SneakyThrows
+    private static void delete(Path path) {
+        Files.delete(path);
     }
 
 }
@@ -17,9 +17,16 @@
  */
 package io.sapl.server.pdpcontroller;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.stereotype.Controller;
 
+import io.rsocket.exceptions.RejectedException;
 import io.sapl.api.pdp.AuthorizationDecision;
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.api.pdp.IdentifiableAuthorizationDecision;
@@ -27,13 +34,105 @@
 import io.sapl.api.pdp.MultiAuthorizationSubscription;
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+/**
+ * RSocket controller providing endpoints for a policy decision point.
+ * <p>
+ * Streaming endpoints apply the same flow control as the HTTP endpoints.
+ * Undelivered intermediate decisions and multi-decisions exceeding a small
+ * buffer are conflated, always retaining the latest one, streams of individual
+ * decisions of a multi-subscription are bounded, and the number of concurrent
+ * streams per client can be limited.
+ * <p>
+ * Clients are identified by the name of the principal authenticated for the
+ * connection, so that opening additional connections does not bypass the limit.
+ * RSocket does not expose the remote address of a connection to handlers.
+ * Therefore, all unauthenticated connections share a single limit.
+ */
 @Controller
 @RequiredArgsConstructor
 public class RSocketPDPController {
+    private static final String ANONYMOUS_CLIENT = "anonymous";
+
     private final PolicyDecisionPoint pdp;
+    @Value("#{'${io.sapl.server.max-subscriptions-per-client:${io.sapl.server-lt.max-subscriptions-per-client:0}}'}")
+    private int                       maxSubscriptionsPerClient = 0;
+    @Value("#{'${io.sapl.server.decision-buffer-size:${io.sapl.server-lt.decision-buffer-size:16}}'}")
+    private int                       decisionBufferSize        = 16;
+    @Value("#{'${io.sapl.server.multi-decision-buffer-size:${io.sapl.server-lt.multi-decision-buffer-size:256}}'}")
+    private int                       multiDecisionBufferSize   = 256;
+
+    private final SubscriptionLimiter<String> subscriptionLimiter     = new SubscriptionLimiter<>(
+            () -> maxSubscriptionsPerClient,
+            () -> new RejectedException("Maximum number of concurrent subscriptions exceeded."));
+    private final AtomicLong                  conflatedDecisions      = new AtomicLong();
+    private final AtomicLong                  overflowedSubscriptions = new AtomicLong();
+
+    /**
+     * Only retains the latest undelivered decisions if the client does not keep up
+     * with the decisions emitted by the PDP. Older decisions are superseded and
+     * dropped. A buffer size of 1 only retains the latest decision.
+     */
+    private <T> Flux<T> conflateToLatest(Flux<T> decisions) {
+        return decisions.onBackpressureBuffer(Math.max(1, decisionBufferSize),
+                dropped -> conflatedDecisions.incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * Buffers a bounded number of undelivered decisions and signals an error if the
+     * client does not keep up.
+     */
+    private <T> Flux<T> boundedBuffer(Flux<T> decisions) {
+        return decisions.onBackpressureBuffer(multiDecisionBufferSize,
+                dropped -> overflowedSubscriptions.incrementAndGet(), BufferOverflowStrategy.ERROR);
+    }
+
+    /**
+     * Limits the number of concurrent streaming subscriptions of the authenticated
+     * client across all of its connections.
+     */
+    private <T> Flux<T> limitSubscriptionsPerClient(Flux<T> decisions) {
+        if (!subscriptionLimiter.isEnabled()) {
+            return decisions;
+        }
+        return ReactiveSecurityContextHolder.getContext().mapNotNull(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated).map(Authentication::getName).defaultIfEmpty(ANONYMOUS_CLIENT)
+                .flatMapMany(client -> subscriptionLimiter.limit(client, decisions));
+    }
+
+    /**
+     * @return the number of intermediate decisions not delivered to slow clients
+     *         because a newer decision superseded them.
+     */
+    public long getConflatedDecisions() {
+        return conflatedDecisions.get();
+    }
+
+    /**
+     * @return the number of multi-subscription streams terminated because a slow
+     *         client exceeded the decision buffer.
+     */
+    public long getOverflowedSubscriptions() {
+        return overflowedSubscriptions.get();
+    }
+
+    /**
+     * @return the number of subscriptions rejected because the client exceeded the
+     *         maximum number of concurrent subscriptions.
+     */
+    public long getRejectedSubscriptions() {
+        return subscriptionLimiter.getRejectedSubscriptions();
+    }
+
+    /**
+     * @return the number of currently active streaming subscriptions.
+     */
+    public int getActiveSubscriptions() {
+        return subscriptionLimiter.getActiveSubscriptions();
+    }
 
     /**
      * Delegates to {@link PolicyDecisionPoint#decide(AuthorizationSubscription)}.
@@ -45,7 +144,8 @@ public class RSocketPDPController {
      */
     @MessageMapping("decide")
     Flux<AuthorizationDecision> decide(AuthorizationSubscription authzSubscription) {
-        return pdp.decide(authzSubscription).onErrorResume(error -> Flux.just(AuthorizationDecision.INDETERMINATE));
+        return limitSubscriptionsPerClient(conflateToLatest(
+                pdp.decide(authzSubscription).onErrorResume(error -> Flux.just(AuthorizationDecision.INDETERMINATE))));
     }
 
     /**
@@ -75,8 +175,8 @@ public Mono<AuthorizationDecision> decideOnce(AuthorizationSubscription authzSub
      */
     @MessageMapping("multi-decide")
     public Flux<IdentifiableAuthorizationDecision> decide(MultiAuthorizationSubscription multiAuthzSubscription) {
-        return pdp.decide(multiAuthzSubscription)
-                .onErrorResume(error -> Flux.just(IdentifiableAuthorizationDecision.INDETERMINATE));
+        return limitSubscriptionsPerClient(boundedBuffer(pdp.decide(multiAuthzSubscription))
+                .onErrorResume(error -> Flux.just(IdentifiableAuthorizationDecision.INDETERMINATE)));
     }
 
     /**
@@ -92,8 +192,8 @@ public Flux<IdentifiableAuthorizationDecision> decide(MultiAuthorizationSubscrip
      */
     @MessageMapping("multi-decide-all")
     public Flux<MultiAuthorizationDecision> decideAll(MultiAuthorizationSubscription multiAuthzSubscription) {
-        return pdp.decideAll(multiAuthzSubscription)
-                .onErrorResume(error -> Flux.just(MultiAuthorizationDecision.indeterminate()));
+        return limitSubscriptionsPerClient(conflateToLatest(pdp.decideAll(multiAuthzSubscription)
+                .onErrorResume(error -> Flux.just(MultiAuthorizationDecision.indeterminate()))));
     }
 
     /**
@@ -17,11 +17,14 @@
  */
 package io.sapl.server;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -34,14 +37,20 @@
 import org.springframework.messaging.rsocket.RSocketRequester;
 import org.springframework.messaging.rsocket.RSocketStrategies;
 import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.util.TestSocketUtils;
 
+import io.rsocket.Payload;
 import io.rsocket.SocketAcceptor;
 import io.rsocket.core.RSocketServer;
+import io.rsocket.exceptions.RejectedException;
 import io.rsocket.frame.decoder.PayloadDecoder;
 import io.rsocket.transport.netty.client.TcpClientTransport;
 import io.rsocket.transport.netty.server.TcpServerTransport;
+import io.rsocket.util.RSocketProxy;
 import io.sapl.api.pdp.AuthorizationDecision;
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.api.pdp.IdentifiableAuthorizationDecision;
@@ -65,14 +74,17 @@ class RsocketPDPControllerTests {
     @MockBean
     private PolicyDecisionPoint pdp;
 
-    final RSocketStrategies  rSocketStrategies = RSocketStrategies.builder().encoder(new Jackson2JsonEncoder())
+    final RSocketStrategies      rSocketStrategies = RSocketStrategies.builder().encoder(new Jackson2JsonEncoder())
             .decoder(new Jackson2JsonDecoder()).build();
-    private RSocketRequester requester;
+    private RSocketRequester     requester;
+    private RSocketPDPController controller;
 
     @BeforeAll
     public void startRsocketServer() {
-        SocketAcceptor responder = RSocketMessageHandler.responder(rSocketStrategies, new RSocketPDPController(pdp));
+        this.controller = new RSocketPDPController(pdp);
+        SocketAcceptor responder = RSocketMessageHandler.responder(rSocketStrategies, controller);
         this.server = RSocketServer.create(responder).payloadDecoder(PayloadDecoder.ZERO_COPY)
+                .interceptors(registry -> registry.forSocketAcceptor(RsocketPDPControllerTests::authenticateSetupData))
                 .bind(TcpServerTransport.create(serverPort)).block();
 
         this.requester = createRSocketRequester();
@@ -83,6 +95,29 @@ RSocketRequester createRSocketRequester() {
         return builder.transport(TcpClientTransport.create(TcpClient.create().port(serverPort)));
     }
 
+    RSocketRequester createRSocketRequester(String username) {
+        var builder = RSocketRequester.builder().rsocketStrategies(rSocketStrategies).setupData(username);
+        return builder.transport(TcpClientTransport.create(TcpClient.create().port(serverPort)));
+    }
+
+    /**
+     * Authenticates the connection as the user named in the setup data, similar to
+     * the security context Spring Security establishes for RSocket requests.
+     */
+    private static SocketAcceptor authenticateSetupData(SocketAcceptor acceptor) {
+        return (setup, sendingSocket) -> {
+            var username = setup.getDataUtf8().replace("\"", "");
+            return acceptor.accept(setup, sendingSocket)
+                    .map(responder -> username.isEmpty() ? responder : new RSocketProxy(responder) {
+                        @Override
+                        public Flux<Payload> requestStream(Payload payload) {
+                            return super.requestStream(payload).contextWrite(ReactiveSecurityContextHolder
+                                    .withAuthentication(new TestingAuthenticationToken(username, null, "USER")));
+                        }
+                    });
+        };
+    }
+
     @Test
     void decideWithValidPayload() {
         when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.just(AuthorizationDecision.DENY,
@@ -266,4 +301,80 @@ void subscribeToMultiDecisionsAllInvalidBody() {
                 .retrieveFlux(IdentifiableAuthorizationDecision.class);
         StepVerifier.create(result).expectError().verify();
     }
+
+    @Test
+    void decideRejectsSubscriptionsExceedingLimitPerClient() {
+        ReflectionTestUtils.setField(controller, "maxSubscriptionsPerClient", 1);
+        try {
+            when(pdp.decide(any(AuthorizationSubscription.class)))
+                    .thenReturn(Flux.concat(Flux.just(AuthorizationDecision.PERMIT), Flux.never()));
+            var rejectedBefore = controller.getRejectedSubscriptions();
+            var subscription   = AuthorizationSubscription.of("subject", "action", "resource");
+            var first          = requester.route("decide").data(subscription).retrieveFlux(AuthorizationDecision.class);
+            var second         = requester.route("decide").data(subscription).retrieveFlux(AuthorizationDecision.class);
+
+            StepVerifier
+                    .create(first).expectNext(AuthorizationDecision.PERMIT).then(() -> StepVerifier.create(second)
+                            .expectError(RejectedException.class).verify(Duration.ofSeconds(5L)))
+                    .thenCancel().verify(Duration.ofSeconds(5L));
+
+            assertThat(controller.getRejectedSubscriptions()).isEqualTo(rejectedBefore + 1L);
+        } finally {
+            ReflectionTestUtils.setField(controller, "maxSubscriptionsPerClient", 0);
+        }
+    }
+
+    @Test
+    void multiDecideLimitIsAppliedPerPrincipalAcrossConnections() {
+        ReflectionTestUtils.setField(controller, "maxSubscriptionsPerClient", 1);
+        var aliceRequester      = createRSocketRequester("alice");
+        var otherAliceRequester = createRSocketRequester("alice");
+        var bobRequester        = createRSocketRequester("bob");
+        try {
+            var decision = new IdentifiableAuthorizationDecision("id", AuthorizationDecision.PERMIT);
+            when(pdp.decide(any(MultiAuthorizationSubscription.class)))
+                    .thenReturn(Flux.concat(Flux.just(decision), Flux.never()));
+            var subscription = new MultiAuthorizationSubscription().addAuthorizationSubscription("id", "subject",
+                    "action", "resource");
+            var first        = aliceRequester.route("multi-decide").data(subscription)
+                    .retrieveFlux(IdentifiableAuthorizationDecision.class);
+            var second       = otherAliceRequester.route("multi-decide").data(subscription)
+                    .retrieveFlux(IdentifiableAuthorizationDecision.class);
+            var other        = bobRequester.route("multi-decide").data(subscription)
+                    .retrieveFlux(IdentifiableAuthorizationDecision.class);
+
+            StepVerifier.create(first).expectNext(decision).then(() -> {
+                StepVerifier.create(second).expectError(RejectedException.class).verify(Duration.ofSeconds(5L));
+                StepVerifier.create(other).expectNext(decision).thenCancel().verify(Duration.ofSeconds(5L));
+            }).thenCancel().verify(Duration.ofSeconds(5L));
+        } finally {
+            aliceRequester.dispose();
+            otherAliceRequester.dispose();
+            bobRequester.dispose();
+            ReflectionTestUtils.setField(controller, "maxSubscriptionsPerClient", 0);
+        }
+    }
+
+    @Test
+    void decideLimitIsSharedByUnauthenticatedConnections() {
+        ReflectionTestUtils.setField(controller, "maxSubscriptionsPerClient", 1);
+        var otherRequester = createRSocketRequester();
+        try {
+            when(pdp.decide(any(AuthorizationSubscription.class)))
+                    .thenReturn(Flux.concat(Flux.just(AuthorizationDecision.PERMIT), Flux.never()));
+            var subscription = AuthorizationSubscription.of("subject", "action", "resource");
+            var first        = requester.route("decide").data(subscription).retrieveFlux(AuthorizationDecision.class);
+            var second       = otherRequester.route("decide").data(subscription)
+                    .retrieveFlux(AuthorizationDecision.class);
+
+            StepVerifier
+                    .create(first).expectNext(AuthorizationDecision.PERMIT).then(() -> StepVerifier.create(second)
+                            .expectError(RejectedException.class).verify(Duration.ofSeconds(5L)))
+                    .thenCancel().verify(Duration.ofSeconds(5L));
+        } finally {
+            otherRequester.dispose();
+            ReflectionTestUtils.setField(controller, "maxSubscriptionsPerClient", 0);
+        }
+    }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.pdpcontroller;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Limits the number of concurrent decision streams per client for the PDP
+ * server endpoints. A subscription exceeding the limit fails with the error of
+ * the endpoint's protocol. The slot of a subscription is released when its
+ * stream terminates or is cancelled.
+ *
+ * @param <K> the type identifying a client
+ */
+@RequiredArgsConstructor
+public class SubscriptionLimiter<K> {
+
+    /**
+     * Supplies the maximum number of concurrent subscriptions per client. Zero or
+     * less disables the limit.
+     */
+    @NonNull
+    private final IntSupplier maxSubscriptionsPerClient;
+
+    /**
+     * Supplies the error signalled to rejected subscriptions.
+     */
+    @NonNull
+    private final Supplier<? extends Throwable> rejection;
+
+    private final Map<K, Integer> activeSubscriptions   = new ConcurrentHashMap<>();
+    private final AtomicLong      rejectedSubscriptions = new AtomicLong();
+
+    /**
+     * @return true, if the number of subscriptions per client is limited.
+     */
+    public boolean isEnabled() {
+        return maxSubscriptionsPerClient.getAsInt() > 0;
+    }
+
+    /**
+     * Subscribes to the decisions if the client has not reached the maximum number
+     * of concurrent subscriptions.
+     *
+     * @param <T>       the type of the decisions
+     * @param client    the client identity
+     * @param decisions the decisions for the client
+     * @return the decisions, or an error if the client exceeded the limit.
+     */
+    public <T> Flux<T> limit(@NonNull K client, Flux<T> decisions) {
+        return Flux.defer(() -> {
+            if (!tryAcquireSubscription(client)) {
+                rejectedSubscriptions.incrementAndGet();
+                return Flux.error(rejection.get());
+            }
+            return decisions.doFinally(signal -> releaseSubscription(client));
+        });
+    }
+
+    private boolean tryAcquireSubscription(K client) {
+        var maxSubscriptions = maxSubscriptionsPerClient.getAsInt();
+        var acquired         = new AtomicBoolean(false);
+        activeSubscriptions.compute(client, (key, active) -> {
+            var current = active == null ? 0 : active;
+            if (maxSubscriptions > 0 && current >= maxSubscriptions) {
+                return active;
+            }
+            acquired.set(true);
+            return current + 1;
+        });
+        return acquired.get();
+    }
+
+    private void releaseSubscription(K client) {
+        activeSubscriptions.computeIfPresent(client, (key, active) -> active <= 1 ? null : active - 1);
+    }
+
+    /**
+     * @return the number of subscriptions rejected because the client exceeded the
+     *         maximum number of concurrent subscriptions.
+     */
+    public long getRejectedSubscriptions() {
+        return rejectedSubscriptions.get();
+    }
+
+    /**
+     * @return the number of currently active subscriptions.
+     */
+    public int getActiveSubscriptions() {
+        return activeSubscriptions.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.pdpcontroller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class SubscriptionLimiterTests {
+
+    @Test
+    void whenClientExceedsLimit_thenFurtherSubscriptionsAreRejected() {
+        // GIVEN
+        var sut = new SubscriptionLimiter<String>(() -> 1, IllegalStateException::new);
+
+        // WHEN
+        var first = sut.limit("client", Flux.never()).subscribe();
+
+        // THEN
+        StepVerifier.create(sut.limit("client", Flux.just(1))).verifyError(IllegalStateException.class);
+        StepVerifier.create(sut.limit("other", Flux.just(1))).expectNext(1).verifyComplete();
+        assertThat(sut.getRejectedSubscriptions(), is(1L));
+        assertThat(sut.getActiveSubscriptions(), is(1));
+        first.dispose();
+    }
+
+    @Test
+    void whenSubscriptionIsCancelled_thenSlotIsReleased() {
+        // GIVEN
+        var sut   = new SubscriptionLimiter<String>(() -> 1, IllegalStateException::new);
+        var first = sut.limit("client", Flux.never()).subscribe();
+
+        // WHEN
+        first.dispose();
+
+        // THEN
+        assertThat(sut.getActiveSubscriptions(), is(0));
+        StepVerifier.create(sut.limit("client", Flux.just(1))).expectNext(1).verifyComplete();
+    }
+
+    @Test
+    void whenLimitIsZero_thenLimiterIsDisabledAndSubscriptionsAreNotRejected() {
+        // GIVEN
+        var sut = new SubscriptionLimiter<String>(() -> 0, IllegalStateException::new);
+
+        // WHEN
+        var first = sut.limit("client", Flux.never()).subscribe();
+
+        // THEN
+        assertThat(sut.isEnabled(), is(false));
+        StepVerifier.create(sut.limit("client", Flux.just(1))).expectNext(1).verifyComplete();
+        first.dispose();
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * PasswordEncoder decorator remembering successfully verified credentials for a
+ * short time. Memory-hard encoders like Argon2 make every basic authentication
+ * request expensive. Within the configured window, repeated requests with the
+ * same credentials are accepted without re-running the delegate.
+ * <p>
+ * Cache keys are a HMAC of the encoded and the raw password under a random
+ * per-process key. Hence, neither the raw secret nor a value that can be
+ * attacked offline is retained in memory. Failed verifications are never
+ * cached.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int    HMAC_KEY_BYTES = 32;
+
+    private final PasswordEncoder        delegate;
+    private final boolean                enabled;
+    private final SecretKeySpec          hmacKey;
+    private final Cache<String, Boolean> verifiedCredentials;
+
+    /**
+     * Creates a caching password encoder.
+     *
+     * @param delegate    the encoder performing the actual verification.
+     * @param timeToLive  how long a successful verification is remembered.
+     * @param maximumSize upper bound for the number of remembered credentials.
+     */
+    public CachingPasswordEncoder(PasswordEncoder delegate, Duration timeToLive, int maximumSize) {
+        this(delegate, timeToLive, maximumSize, Clock.systemUTC());
+    }
+
+    CachingPasswordEncoder(PasswordEncoder delegate, Duration timeToLive, int maximumSize, Clock clock) {
+        this.delegate            = delegate;
+        this.enabled             = maximumSize > 0 && !timeToLive.isZero() && !timeToLive.isNegative();
+        this.verifiedCredentials = CacheBuilder.newBuilder().maximumSize(Math.max(maximumSize, 0))
+                .expireAfterWrite(enabled ? timeToLive : Duration.ZERO).ticker(ticker(clock)).build();
+        var keyBytes = new byte[HMAC_KEY_BYTES];
+        new SecureRandom().nextBytes(keyBytes);
+        this.hmacKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || !enabled) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        var cacheKey = digest(rawPassword, encodedPassword);
+        if (verifiedCredentials.getIfPresent(cacheKey) != null) {
+            return true;
+        }
+
+        var matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            verifiedCredentials.put(cacheKey, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * @return the number of currently remembered credentials.
+     */
+    long size() {
+        verifiedCredentials.cleanUp();
+        return verifiedCredentials.size();
+    }
+
+    private static Ticker ticker(Clock clock) {
+        return new Ticker() {
+            @Override
+            public long read() {
+                return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+            }
+        };
+    }
+
+    private String digest(CharSequence rawPassword, String encodedPassword) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder()
+                    .encodeToString(mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC algorithm " + HMAC_ALGORITHM + " is not available.", e);
+        }
+    }
+
+}
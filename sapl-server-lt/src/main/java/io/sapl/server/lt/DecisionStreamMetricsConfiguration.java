@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.sapl.server.pdpcontroller.PDPController;
+import io.sapl.server.pdpcontroller.RSocketPDPController;
+
+/**
+ * Exposes the flow control statistics of the HTTP and RSocket decision
+ * endpoints via the actuator metrics endpoint.
+ */
+@Configuration
+public class DecisionStreamMetricsConfiguration {
+
+    private static final String ENDPOINT_TAG = "endpoint";
+
+    @Bean
+    MeterBinder httpDecisionStreamMetrics(PDPController controller) {
+        return registry -> {
+            FunctionCounter.builder("sapl.decisions.conflated", controller, PDPController::getConflatedDecisions)
+                    .tag(ENDPOINT_TAG, "http").register(registry);
+            FunctionCounter
+                    .builder("sapl.subscriptions.overflowed", controller, PDPController::getOverflowedSubscriptions)
+                    .tag(ENDPOINT_TAG, "http").register(registry);
+            FunctionCounter.builder("sapl.subscriptions.rejected", controller, PDPController::getRejectedSubscriptions)
+                    .tag(ENDPOINT_TAG, "http").register(registry);
+            Gauge.builder("sapl.subscriptions.active", controller, PDPController::getActiveSubscriptions)
+                    .tag(ENDPOINT_TAG, "http").register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder rsocketDecisionStreamMetrics(RSocketPDPController controller) {
+        return registry -> {
+            FunctionCounter.builder("sapl.decisions.conflated", controller, RSocketPDPController::getConflatedDecisions)
+                    .tag(ENDPOINT_TAG, "rsocket").register(registry);
+            FunctionCounter
+                    .builder("sapl.subscriptions.overflowed", controller,
+                            RSocketPDPController::getOverflowedSubscriptions)
+                    .tag(ENDPOINT_TAG, "rsocket").register(registry);
+            FunctionCounter
+                    .builder("sapl.subscriptions.rejected", controller, RSocketPDPController::getRejectedSubscriptions)
+                    .tag(ENDPOINT_TAG, "rsocket").register(registry);
+            Gauge.builder("sapl.subscriptions.active", controller, RSocketPDPController::getActiveSubscriptions)
+                    .tag(ENDPOINT_TAG, "rsocket").register(registry);
+        };
+    }
+
+}
@@ -17,14 +17,19 @@
  */
 package io.sapl.server.lt;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 @Data
 @ConfigurationProperties(prefix = "io.sapl.server-lt")
@@ -36,14 +41,25 @@ public class SAPLServerLTProperties {
     private boolean allowApiKeyAuth = false;
     private boolean allowOauth2Auth = false;
 
+    // stream documents and configuration to replicating embedded PDPs
+    private boolean allowPolicyReplication = false;
+
     // Basic authentication
     private String key    = "";
     private String secret = "";
 
+    // Basic authentication credential cache
+    private Duration basicAuthCacheTimeToLive = Duration.ofMinutes(5);
+    private int      basicAuthCacheMaxSize    = 1000;
+
     // API Key authentication
     private String       apiKeyHeaderName = "API_KEY";
     private List<String> allowedApiKeys   = List.of();
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<String> allowedApiKeySet = Set.of();
+
     public List<String> getAllowedApiKeys() {
         return Collections.unmodifiableList(allowedApiKeys);
     }
@@ -52,7 +68,16 @@ public void setAllowedApiKeys(Collection<String> allowedApiKeys) {
         for (String apiKey : allowedApiKeys) {
             assertIsValidApiKey(apiKey);
         }
-        this.allowedApiKeys = new ArrayList<>(allowedApiKeys);
+        this.allowedApiKeys   = new ArrayList<>(allowedApiKeys);
+        this.allowedApiKeySet = Set.copyOf(allowedApiKeys);
+    }
+
+    /**
+     * @param apiKey an API key presented by a client
+     * @return true, if the key is one of the allowed API keys
+     */
+    public boolean isAllowedApiKey(String apiKey) {
+        return apiKey != null && allowedApiKeySet.contains(apiKey);
     }
 
     private void assertIsValidApiKey(String key) {
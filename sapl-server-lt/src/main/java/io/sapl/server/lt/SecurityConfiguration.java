@@ -142,7 +142,8 @@ MapReactiveUserDetailsService userDetailsServiceLocal() {
 
     @Bean
     PasswordEncoder passwordEncoder() {
-        return Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        return new CachingPasswordEncoder(Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8(),
+                pdpProperties.getBasicAuthCacheTimeToLive(), pdpProperties.getBasicAuthCacheMaxSize());
     }
 
     /**
@@ -45,7 +45,7 @@ public Mono<Authentication> convert(ServerWebExchange exchange) {
      * @param apiKey api key
      */
     private Mono<ApiKeyAuthenticationToken> lookup(final String apiKey) {
-        if (pdpProperties.getAllowedApiKeys().contains(apiKey)) {
+        if (pdpProperties.isAllowedApiKey(apiKey)) {
             return Mono.just(new ApiKeyAuthenticationToken(apiKey, "apikey"));
         } else {
             return Mono.error(() -> new ApiKeyAuthenticationException("ApiKey not authorized"));
@@ -45,7 +45,7 @@ public Mono<Authentication> convert(PayloadExchange exchange) {
         for (CompositeMetadata.Entry entry : compositeMetadata) {
             if (apiKeyMimeTypeValue.equals(entry.getMimeType())) {
                 String apikey = entry.getContent().toString(StandardCharsets.UTF_8);
-                if (pdpProperties.getAllowedApiKeys().contains(apikey)) {
+                if (pdpProperties.isAllowedApiKey(apikey)) {
                     return Mono.just(new ApiKeyAuthenticationToken(apikey, "apikey"));
                 } else {
                     return Mono.error(() -> new ApiKeyAuthenticationException("ApiKey not authorized"));
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.replication;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.sapl.prp.PrpUpdateEventSource;
+import io.sapl.prp.remote.PolicyDocumentsSnapshot;
+import reactor.core.publisher.Flux;
+
+/**
+ * Shares the PrpUpdateEventSource of the embedded PDP with the policy
+ * replication. Thus, activating replication neither starts a second monitor of
+ * the policy directory, nor parses the documents again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "io.sapl.server-lt", name = "allowPolicyReplication", havingValue = "true")
+public class PolicyDocumentsReplication implements BeanPostProcessor {
+
+    private SharedPrpUpdateEventSource sharedSource;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof PrpUpdateEventSource source && !(bean instanceof SharedPrpUpdateEventSource)) {
+            sharedSource = new SharedPrpUpdateEventSource(source);
+            return sharedSource;
+        }
+        return bean;
+    }
+
+    /**
+     * @return a flux of snapshots of all published SAPL documents, starting with
+     *         the current snapshot.
+     */
+    public Flux<PolicyDocumentsSnapshot> snapshots() {
+        return Flux.defer(() -> {
+            if (sharedSource == null) {
+                return Flux.error(new IllegalStateException("No PrpUpdateEventSource available for replication."));
+            }
+            return sharedSource.snapshots();
+        });
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.replication;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.sapl.api.interpreter.Val;
+import io.sapl.grammar.sapl.CombiningAlgorithm;
+import io.sapl.interpreter.combinators.CombiningAlgorithmFactory;
+import io.sapl.pdp.config.VariablesAndCombinatorSource;
+import io.sapl.pdp.config.remote.RemoteVariablesAndCombinatorSource;
+import io.sapl.prp.remote.PolicyDocumentsSnapshot;
+import io.sapl.prp.remote.RemotePrpUpdateEventSource;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams the SAPL documents and the PDP configuration of this server to
+ * embedded PDPs running in replica mode. Each change is sent as a complete
+ * snapshot, so that replicas can resynchronize after reconnecting.
+ * <p>
+ * Replication exposes the policies to clients and must be explicitly activated
+ * by setting {@code io.sapl.server-lt.allowPolicyReplication}.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(prefix = "io.sapl.server-lt", name = "allowPolicyReplication", havingValue = "true")
+public class PolicyReplicationController {
+
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private final Flux<PolicyDocumentsSnapshot> documents;
+    private final Flux<JsonNode>                configuration;
+
+    public PolicyReplicationController(PolicyDocumentsReplication policyDocumentsReplication,
+            VariablesAndCombinatorSource variablesAndCombinatorSource) {
+        log.info("Policy replication to remote embedded PDPs activated.");
+        documents     = policyDocumentsReplication.snapshots();
+        configuration = Flux
+                .combineLatest(variablesAndCombinatorSource.getCombiningAlgorithm(),
+                        variablesAndCombinatorSource.getVariables(), PolicyReplicationController::toPdpJson)
+                .distinctUntilChanged().replay(1).refCount();
+    }
+
+    /**
+     * @return a flux of snapshots of all published SAPL documents.
+     */
+    @GetMapping(value = RemotePrpUpdateEventSource.DOCUMENTS_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PolicyDocumentsSnapshot> documents() {
+        return documents;
+    }
+
+    /**
+     * @return a flux of the PDP configuration in the format of pdp.json.
+     */
+    @GetMapping(value = RemoteVariablesAndCombinatorSource.CONFIGURATION_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<JsonNode> configuration() {
+        return configuration;
+    }
+
+    private static JsonNode toPdpJson(Optional<CombiningAlgorithm> algorithm, Optional<Map<String, Val>> variables) {
+        var pdpJson = JSON.objectNode();
+        if (algorithm.isEmpty() || variables.isEmpty()) {
+            pdpJson.put(RemoteVariablesAndCombinatorSource.UNAVAILABLE, true);
+            return pdpJson;
+        }
+        pdpJson.put(RemoteVariablesAndCombinatorSource.ALGORITHM,
+                CombiningAlgorithmFactory.getPolicyDocumentCombiningAlgorithm(algorithm.get()).name());
+        var variablesJson = pdpJson.putObject(RemoteVariablesAndCombinatorSource.VARIABLES);
+        variables.get().forEach((name, value) -> {
+            if (value.isDefined()) {
+                variablesJson.set(name, value.get());
+            }
+        });
+        return pdpJson;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.replication;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.sapl.prp.PrpUpdateEvent;
+import io.sapl.prp.PrpUpdateEvent.Type;
+import io.sapl.prp.PrpUpdateEvent.Update;
+import io.sapl.prp.PrpUpdateEventSource;
+import io.sapl.prp.remote.PolicyDocumentsSnapshot;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Shares a single subscription of a PrpUpdateEventSource between the policy
+ * retrieval point and the policy replication, so that the documents are only
+ * monitored and parsed once.
+ * <p>
+ * The first update event is applied to an empty set of documents. Subscribers
+ * joining later receive the current documents as a single update event,
+ * followed by all subsequent update events.
+ */
+class SharedPrpUpdateEventSource implements PrpUpdateEventSource {
+
+    private record State(PolicyDocumentsSnapshot snapshot, Map<String, Update> published, PrpUpdateEvent event) {
+
+        static State empty() {
+            return new State(new PolicyDocumentsSnapshot(), Map.of(), new PrpUpdateEvent(List.of()));
+        }
+
+        State next(PrpUpdateEvent updateEvent) {
+            var newSnapshot  = snapshot.withUpdates(updateEvent);
+            var newPublished = new LinkedHashMap<>(published);
+            for (var update : updateEvent.getUpdates()) {
+                if (update.getType() == Type.PUBLISH) {
+                    var name = update.getDocument().getPolicyElement().getSaplName();
+                    if (Objects.equals(update.getRawDocument(), newSnapshot.getDocuments().get(name))) {
+                        newPublished.put(name, update);
+                    }
+                }
+            }
+            newPublished.keySet().retainAll(newSnapshot.getDocuments().keySet());
+            return new State(newSnapshot, newPublished, updateEvent);
+        }
+
+        PrpUpdateEvent currentDocuments() {
+            var updates = new ArrayList<>(published.values());
+            if (!snapshot.isConsistent()) {
+                updates.add(new Update(Type.INCONSISTENT, null, null));
+            }
+            return new PrpUpdateEvent(updates);
+        }
+
+    }
+
+    private final PrpUpdateEventSource        delegate;
+    private final Flux<State>                 states;
+    private final AtomicReference<Disposable> connection = new AtomicReference<>();
+
+    SharedPrpUpdateEventSource(PrpUpdateEventSource delegate) {
+        this.delegate = delegate;
+        this.states   = Flux.defer(delegate::getUpdates).scan(State.empty(), State::next).skip(1L).replay(1)
+                .autoConnect(1, connection::set);
+    }
+
+    @Override
+    public Flux<PrpUpdateEvent> getUpdates() {
+        return states.index()
+                .map(indexed -> indexed.getT1() == 0L ? indexed.getT2().currentDocuments() : indexed.getT2().event());
+    }
+
+    /**
+     * @return a flux of snapshots of all published SAPL documents, starting with
+     *         the current snapshot.
+     */
+    Flux<PolicyDocumentsSnapshot> snapshots() {
+        return states.map(State::snapshot);
+    }
+
+    @Override
+    public void dispose() {
+        var sharedSubscription = connection.get();
+        if (sharedSubscription != null) {
+            sharedSubscription.dispose();
+        }
+        delegate.dispose();
+    }
+
+}
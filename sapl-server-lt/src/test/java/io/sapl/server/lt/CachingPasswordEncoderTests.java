@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class CachingPasswordEncoderTests {
+
+    private static final String ENCODED = "$encoded$";
+
+    @Test
+    void whenMatchedTwice_thenDelegateIsOnlyCalledOnce() {
+        var delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), anyString())).thenReturn(true);
+        var sut = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 10);
+
+        assertThat(sut.matches("secret", ENCODED)).isTrue();
+        assertThat(sut.matches("secret", ENCODED)).isTrue();
+
+        verify(delegate, times(1)).matches(any(), anyString());
+    }
+
+    @Test
+    void whenNotMatching_thenResultIsNotCached() {
+        var delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), anyString())).thenReturn(false);
+        var sut = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 10);
+
+        assertThat(sut.matches("wrong", ENCODED)).isFalse();
+        assertThat(sut.matches("wrong", ENCODED)).isFalse();
+
+        verify(delegate, times(2)).matches(any(), anyString());
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    void whenDifferentPassword_thenDelegateIsConsulted() {
+        var delegate = mock(PasswordEncoder.class);
+        when(delegate.matches("secret", ENCODED)).thenReturn(true);
+        when(delegate.matches("other", ENCODED)).thenReturn(false);
+        var sut = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 10);
+
+        assertThat(sut.matches("secret", ENCODED)).isTrue();
+        assertThat(sut.matches("other", ENCODED)).isFalse();
+    }
+
+    @Test
+    void whenEntryExpired_thenDelegateIsCalledAgain() {
+        var delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), anyString())).thenReturn(true);
+        var clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        var sut   = new CachingPasswordEncoder(delegate, Duration.ofSeconds(10), 10, clock);
+
+        sut.matches("secret", ENCODED);
+        clock.advance(Duration.ofSeconds(11));
+        sut.matches("secret", ENCODED);
+
+        verify(delegate, times(2)).matches(any(), anyString());
+    }
+
+    @Test
+    void whenMaximumSizeExceeded_thenOldestEntriesAreEvicted() {
+        var delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), anyString())).thenReturn(true);
+        var sut = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 2);
+
+        sut.matches("a", ENCODED);
+        sut.matches("b", ENCODED);
+        sut.matches("c", ENCODED);
+
+        assertThat(sut.size()).isEqualTo(2);
+        sut.matches("a", ENCODED);
+        verify(delegate, times(2)).matches("a", ENCODED);
+    }
+
+    @Test
+    void whenCredentialsFailAndMatchAgain_thenCacheKeepsOneEntryPerCredential() {
+        var delegate = mock(PasswordEncoder.class);
+        when(delegate.matches("a", ENCODED)).thenReturn(true, false, true);
+        when(delegate.matches("b", ENCODED)).thenReturn(true);
+        var clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        var sut   = new CachingPasswordEncoder(delegate, Duration.ofSeconds(10), 2, clock);
+
+        assertThat(sut.matches("a", ENCODED)).isTrue();
+        clock.advance(Duration.ofSeconds(11));
+        assertThat(sut.matches("a", ENCODED)).isFalse();
+        assertThat(sut.matches("a", ENCODED)).isTrue();
+        assertThat(sut.matches("b", ENCODED)).isTrue();
+
+        assertThat(sut.size()).isEqualTo(2);
+        assertThat(sut.matches("a", ENCODED)).isTrue();
+        assertThat(sut.matches("b", ENCODED)).isTrue();
+        verify(delegate, times(3)).matches("a", ENCODED);
+        verify(delegate, times(1)).matches("b", ENCODED);
+    }
+
+    @Test
+    void whenCacheDisabled_thenAlwaysDelegates() {
+        var delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), anyString())).thenReturn(true);
+        var sut = new CachingPasswordEncoder(delegate, Duration.ZERO, 10);
+
+        sut.matches("secret", ENCODED);
+        sut.matches("secret", ENCODED);
+
+        verify(delegate, times(2)).matches(any(), anyString());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.replication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.sapl.prp.PrpUpdateEventSource;
+import reactor.test.StepVerifier;
+
+@ActiveProfiles(profiles = { "quiet" })
+@SpringBootTest(properties = "io.sapl.server-lt.allowPolicyReplication=true")
+class PolicyDocumentsReplicationTests {
+
+    @Autowired
+    PrpUpdateEventSource prpUpdateEventSource;
+
+    @Autowired
+    PolicyReplicationController controller;
+
+    @Test
+    void whenReplicationIsActivated_thenPolicyRetrievalPointAndReplicationShareTheSource() {
+        assertThat(prpUpdateEventSource).isInstanceOf(SharedPrpUpdateEventSource.class);
+        StepVerifier.create(controller.documents().take(1L))
+                .assertNext(snapshot -> assertThat(snapshot.getDocuments()).isNotNull()).expectComplete()
+                .verify(Duration.ofSeconds(10L));
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.lt.replication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.sapl.interpreter.DefaultSAPLInterpreter;
+import io.sapl.prp.PrpUpdateEvent;
+import io.sapl.prp.PrpUpdateEvent.Type;
+import io.sapl.prp.PrpUpdateEvent.Update;
+import io.sapl.prp.PrpUpdateEventSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class SharedPrpUpdateEventSourceTests {
+
+    private static final String POLICY_A = "policy \"a\" permit";
+    private static final String POLICY_B = "policy \"b\" deny";
+
+    private final DefaultSAPLInterpreter interpreter = new DefaultSAPLInterpreter();
+
+    private static class CountingSource implements PrpUpdateEventSource {
+
+        final Sinks.Many<PrpUpdateEvent> events        = Sinks.many().multicast().onBackpressureBuffer();
+        final AtomicInteger              subscriptions = new AtomicInteger();
+        boolean                          disposed;
+
+        @Override
+        public Flux<PrpUpdateEvent> getUpdates() {
+            return events.asFlux().doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+    }
+
+    private PrpUpdateEvent publish(String rawDocument) {
+        return new PrpUpdateEvent(new Update(Type.PUBLISH, interpreter.parse(rawDocument), rawDocument));
+    }
+
+    private PrpUpdateEvent withdraw(String rawDocument) {
+        return new PrpUpdateEvent(new Update(Type.WITHDRAW, interpreter.parse(rawDocument), rawDocument));
+    }
+
+    @Test
+    void whenRetrievalPointAndReplicationSubscribe_thenSourceIsSubscribedOnce() {
+        // GIVEN
+        var source = new CountingSource();
+        var sut    = new SharedPrpUpdateEventSource(source);
+
+        // WHEN
+        var updates = sut.getUpdates().subscribe();
+        source.events.tryEmitNext(publish(POLICY_A));
+        var snapshots = sut.snapshots().subscribe();
+
+        // THEN
+        assertThat(source.subscriptions).hasValue(1);
+        updates.dispose();
+        snapshots.dispose();
+    }
+
+    @Test
+    void whenSubscribingLate_thenCurrentDocumentsAreReceivedAsOneEvent() {
+        // GIVEN
+        var source = new CountingSource();
+        var sut    = new SharedPrpUpdateEventSource(source);
+        var first  = sut.getUpdates().subscribe();
+        source.events.tryEmitNext(publish(POLICY_A));
+        source.events.tryEmitNext(publish(POLICY_B));
+        source.events.tryEmitNext(withdraw(POLICY_A));
+
+        // WHEN
+        var late = sut.getUpdates();
+
+        // THEN
+        StepVerifier.create(late.take(1L))
+                .assertNext(event -> assertThat(Arrays.stream(event.getUpdates()).map(Update::getRawDocument))
+                        .containsExactly(POLICY_B))
+                .verifyComplete();
+        StepVerifier.create(sut.snapshots().take(1L))
+                .assertNext(snapshot -> assertThat(snapshot.getDocuments()).isEqualTo(Map.of("b", POLICY_B)))
+                .verifyComplete();
+        first.dispose();
+    }
+
+    @Test
+    void whenDisposed_thenSharedSubscriptionAndSourceAreDisposed() {
+        // GIVEN
+        var source = new CountingSource();
+        var sut    = new SharedPrpUpdateEventSource(source);
+        // like the policy retrieval point, first cancel and then dispose the source
+        sut.getUpdates().subscribe().dispose();
+
+        // WHEN
+        sut.dispose();
+
+        // THEN
+        assertThat(source.events.currentSubscriberCount()).isZero();
+        assertThat(source.disposed).isTrue();
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatacommon.handlers;
+
+import static io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils.getConstraintHandlerByTypeIfResponsible;
+import static io.sapl.springdatacommon.sapl.utils.Utilities.CONDITIONS;
+import static io.sapl.springdatacommon.sapl.utils.Utilities.FILTER_JSON_CONTENT;
+import static io.sapl.springdatacommon.sapl.utils.Utilities.FILTER_JSON_CONTENT_PREDICATE;
+import static io.sapl.springdatacommon.sapl.utils.Utilities.TYPE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This class derives the fields which do not have to be fetched from the
+ * database from the filterJsonContent obligation of a decision. Such fields can
+ * be excluded from the projection of the query, so that data which must not be
+ * shown is neither transferred nor deserialized.
+ * <p>
+ * Only unconditional delete actions with simple paths like '$.field' or
+ * '$.field.nested' are considered. Fields which are also used by other actions
+ * or by a jsonContentFilterPredicate obligation are still fetched. The
+ * in-memory content filter is applied afterwards in any case.
+ */
+public class FieldExclusionProvider {
+
+    private static final String  ACTIONS     = "actions";
+    private static final String  PATH        = "path";
+    private static final String  DELETE      = "delete";
+    private static final Pattern SIMPLE_PATH = Pattern.compile("^\\$\\.([A-Za-z_]\\w*(?:\\.[A-Za-z_]\\w*)*)$");
+
+    /**
+     * Extracts the fields that can be excluded from the query result.
+     *
+     * @param obligations are the obligations of the decision.
+     * @return the dot separated names of the fields which can be excluded.
+     */
+    public List<String> getExcludedFields(JsonNode obligations) {
+        var contentFilter = getConstraintHandlerByTypeIfResponsible(obligations, FILTER_JSON_CONTENT);
+        if (!contentFilter.isObject() || contentFilter.has(CONDITIONS)) {
+            return List.of();
+        }
+
+        var actions = contentFilter.get(ACTIONS);
+        if (actions == null || !actions.isArray()) {
+            return List.of();
+        }
+
+        var pathsInUse = pathsInUse(obligations, actions);
+        var excluded   = new ArrayList<String>();
+        for (var action : actions) {
+            var field = deletedField(action);
+            if (field != null && !isInUse(field, pathsInUse) && !excluded.contains(field)) {
+                excluded.add(field);
+            }
+        }
+        return excluded;
+    }
+
+    private String deletedField(JsonNode action) {
+        if (!isDeleteAction(action)) {
+            return null;
+        }
+        var matcher = SIMPLE_PATH.matcher(action.get(PATH).asText().trim());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private boolean isDeleteAction(JsonNode action) {
+        return action.isObject() && action.has(TYPE) && action.has(PATH) && action.get(PATH).isTextual()
+                && DELETE.equals(action.get(TYPE).asText().trim().toLowerCase());
+    }
+
+    /**
+     * Collects the paths of all other actions and of the conditions of a
+     * jsonContentFilterPredicate obligation.
+     */
+    private List<String> pathsInUse(JsonNode obligations, JsonNode actions) {
+        var paths = new ArrayList<String>();
+        for (var action : actions) {
+            if (!isDeleteAction(action) && action.has(PATH)) {
+                paths.add(action.get(PATH).asText().trim());
+            }
+        }
+
+        var predicate = getConstraintHandlerByTypeIfResponsible(obligations, FILTER_JSON_CONTENT_PREDICATE);
+        if (predicate.isObject() && predicate.has(CONDITIONS)) {
+            for (var condition : predicate.get(CONDITIONS)) {
+                if (condition.has(PATH)) {
+                    paths.add(condition.get(PATH).asText().trim());
+                }
+            }
+        }
+        return paths;
+    }
+
+    private boolean isInUse(String field, List<String> pathsInUse) {
+        var path = "$." + field;
+        for (var pathInUse : pathsInUse) {
+            if (pathInUse.equals(path) || pathInUse.startsWith(path + ".") || pathInUse.startsWith(path + "[")
+                    || path.startsWith(pathInUse + ".") || !pathInUse.startsWith("$.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
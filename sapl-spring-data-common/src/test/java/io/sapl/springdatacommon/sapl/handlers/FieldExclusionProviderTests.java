@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatacommon.sapl.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.sapl.springdatacommon.handlers.FieldExclusionProvider;
+
+class FieldExclusionProviderTests {
+
+    final static ObjectMapper MAPPER = new ObjectMapper();
+
+    final FieldExclusionProvider provider = new FieldExclusionProvider();
+
+    @Test
+    void when_deleteActionsWithSimplePaths_then_fieldsAreExcluded() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readTree("""
+                [
+                  {
+                    "type": "filterJsonContent",
+                    "actions": [
+                      { "type": "delete", "path": "$.birthday" },
+                      { "type": "delete", "path": "$.address.street" },
+                      { "type": "delete", "path": "$..secret" },
+                      { "type": "blacken", "path": "$.firstname" }
+                    ]
+                  }
+                ]
+                """);
+
+        // WHEN
+        var result = provider.getExcludedFields(obligations);
+
+        // THEN
+        assertEquals(List.of("birthday", "address.street"), result);
+    }
+
+    @Test
+    void when_fieldIsUsedByOtherActionOrPredicate_then_fieldIsNotExcluded() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readTree("""
+                [
+                  {
+                    "type": "filterJsonContent",
+                    "actions": [
+                      { "type": "blacken", "path": "$.firstname" },
+                      { "type": "delete", "path": "$.firstname" },
+                      { "type": "delete", "path": "$.age" },
+                      { "type": "delete", "path": "$.role" }
+                    ]
+                  },
+                  {
+                    "type": "jsonContentFilterPredicate",
+                    "conditions": [ { "type": "==", "path": "$.age", "value": 30 } ]
+                  }
+                ]
+                """);
+
+        // WHEN
+        var result = provider.getExcludedFields(obligations);
+
+        // THEN
+        assertEquals(List.of("role"), result);
+    }
+
+    @Test
+    void when_contentFilterHasConditions_then_noFieldIsExcluded() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readTree("""
+                [
+                  {
+                    "type": "filterJsonContent",
+                    "conditions": [ { "type": "==", "path": "$.role", "value": "USER" } ],
+                    "actions": [ { "type": "delete", "path": "$.birthday" } ]
+                  }
+                ]
+                """);
+
+        // WHEN
+        var result = provider.getExcludedFields(obligations);
+
+        // THEN
+        assertEquals(List.of(), result);
+    }
+
+    @Test
+    void when_noContentFilter_then_noFieldIsExcluded() throws JsonProcessingException {
+        // GIVEN
+        var obligations = MAPPER.readTree("""
+                [ { "type": "r2dbcQueryManipulation", "conditions": [ "role IN ('USER')" ] } ]
+                """);
+
+        // WHEN
+        var result = provider.getExcludedFields(obligations);
+
+        // THEN
+        assertEquals(List.of(), result);
+    }
+
+}
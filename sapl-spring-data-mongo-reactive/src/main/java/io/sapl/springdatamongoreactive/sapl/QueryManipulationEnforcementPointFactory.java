@@ -24,10 +24,13 @@
 import io.sapl.springdatacommon.sapl.queries.enforcement.ProceededDataFilterEnforcementPoint;
 import io.sapl.springdatamongoreactive.sapl.queries.enforcement.MongoAnnotationQueryManipulationEnforcementPoint;
 import io.sapl.springdatamongoreactive.sapl.queries.enforcement.MongoMethodNameQueryManipulationEnforcementPoint;
+import io.sapl.springdatamongoreactive.sapl.queries.enforcement.MongoQueryMethods;
 
 @Service
 public class QueryManipulationEnforcementPointFactory {
 
+    private final MongoQueryMethods queryMethods = new MongoQueryMethods();
+
     public <T> QueryManipulationEnforcementPoint<T> createMongoAnnotationQueryManipulationEnforcementPoint(
             QueryManipulationEnforcementData<T> enforcementData) {
         return new MongoAnnotationQueryManipulationEnforcementPoint<>(enforcementData);
@@ -35,7 +38,7 @@ public <T> QueryManipulationEnforcementPoint<T> createMongoAnnotationQueryManipu
 
     public <T> QueryManipulationEnforcementPoint<T> createMongoMethodNameQueryManipulationEnforcementPoint(
             QueryManipulationEnforcementData<T> enforcementData) {
-        return new MongoMethodNameQueryManipulationEnforcementPoint<>(enforcementData);
+        return new MongoMethodNameQueryManipulationEnforcementPoint<>(enforcementData, queryMethods);
     }
 
     public <T> QueryManipulationEnforcementPoint<T> createProceededDataFilterEnforcementPoint(
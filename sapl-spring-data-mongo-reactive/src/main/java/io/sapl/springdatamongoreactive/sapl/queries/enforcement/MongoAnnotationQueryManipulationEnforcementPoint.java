@@ -30,6 +30,7 @@
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.api.pdp.Decision;
 import io.sapl.springdatacommon.handlers.DataManipulationHandler;
+import io.sapl.springdatacommon.handlers.FieldExclusionProvider;
 import io.sapl.springdatacommon.handlers.LoggingConstraintHandlerProvider;
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
@@ -52,6 +53,7 @@
 
     private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
     private final QueryManipulationObligationProvider queryManipulationObligationProvider = new QueryManipulationObligationProvider();
+    private final FieldExclusionProvider              fieldExclusionProvider              = new FieldExclusionProvider();
     private final DataManipulationHandler<T>          dataManipulationHandler;
     private final ReactiveMongoTemplate               reactiveMongoTemplate;
 
@@ -110,8 +112,9 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
 
     /**
      * If desired, the query is manipulated and then the database is called with it.
-     * Otherwise, receives the data from the database by original method and
-     * forwards it.
+     * Fields which are deleted by the obligations anyway are excluded from the
+     * projection of the manipulated query. Otherwise, receives the data from the
+     * database by original method and forwards it.
      *
      * @param obligations     are the obligations from the {@link Decision}.
      * @param annotationQuery is the original value from the
@@ -127,6 +130,10 @@ private Flux<T> retrieveData(ArrayNode obligations, BasicQuery annotationQuery)
             var conditions                       = queryManipulationObligationProvider
                     .getConditions(mongoQueryManipulationObligation);
             var query                            = enforceQueryManipulation(annotationQuery, conditions);
+            var excludedFields                   = fieldExclusionProvider.getExcludedFields(obligations);
+            if (!excludedFields.isEmpty()) {
+                query.fields().exclude(excludedFields.toArray(String[]::new));
+            }
 
             return reactiveMongoTemplate.find(query, enforcementData.getDomainType());
         } else {
@@ -28,6 +28,7 @@
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.api.pdp.Decision;
 import io.sapl.springdatacommon.handlers.DataManipulationHandler;
+import io.sapl.springdatacommon.handlers.FieldExclusionProvider;
 import io.sapl.springdatacommon.handlers.LoggingConstraintHandlerProvider;
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
@@ -49,19 +50,21 @@
 
     private final QueryManipulationObligationProvider mongoQueryManipulationObligationProvider = new QueryManipulationObligationProvider();
     private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider         = new LoggingConstraintHandlerProvider();
+    private final FieldExclusionProvider              fieldExclusionProvider                   = new FieldExclusionProvider();
     private final SaplPartTreeCriteriaCreator<T>      saplPartTreeCriteriaCreator;
     private final ReactiveMongoTemplate               reactiveMongoTemplate;
     private final DataManipulationHandler<T>          dataManipulationHandler;
     private final QueryManipulationEnforcementData<T> enforcementData;
 
-    public MongoMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData) {
+    public MongoMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData,
+            MongoQueryMethods queryMethods) {
         this.enforcementData             = new QueryManipulationEnforcementData<>(enforcementData.getMethodInvocation(),
                 enforcementData.getBeanFactory(), enforcementData.getDomainType(), enforcementData.getPdp(),
                 enforcementData.getAuthSub());
         this.reactiveMongoTemplate       = enforcementData.getBeanFactory().getBean(ReactiveMongoTemplate.class);
         this.dataManipulationHandler     = new DataManipulationHandler<>(enforcementData.getDomainType(), false);
         this.saplPartTreeCriteriaCreator = new SaplPartTreeCriteriaCreator<>(reactiveMongoTemplate,
-                enforcementData.getMethodInvocation(), enforcementData.getDomainType());
+                enforcementData.getMethodInvocation(), enforcementData.getDomainType(), queryMethods);
     }
 
     /**
@@ -102,13 +105,16 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
     }
 
     /**
-     * Manipulates the original query and calls the database with it.
+     * Manipulates the original query and calls the database with it. Fields which
+     * are deleted by the obligations anyway are excluded from the projection.
      *
-     * @param conditions are the query conditions of the {@link Decision}
+     * @param conditions  are the query conditions of the {@link Decision}
+     * @param obligations are the obligations from the {@link Decision}.
      * @return the queried data from the database.
      */
-    private Flux<T> executeMongoQueryManipulation(ArrayNode conditions) {
-        var query = saplPartTreeCriteriaCreator.createManipulatedQuery(conditions);
+    private Flux<T> executeMongoQueryManipulation(ArrayNode conditions, ArrayNode obligations) {
+        var query = saplPartTreeCriteriaCreator.createManipulatedQuery(conditions,
+                fieldExclusionProvider.getExcludedFields(obligations));
 
         return reactiveMongoTemplate.find(query, enforcementData.getDomainType());
     }
@@ -128,7 +134,7 @@ private Flux<T> retrieveData(ArrayNode obligations) {
             var conditions                       = mongoQueryManipulationObligationProvider
                     .getConditions(mongoQueryManipulationObligation);
 
-            return executeMongoQueryManipulation(conditions);
+            return executeMongoQueryManipulation(conditions, obligations);
         } else {
             return HandleProceedingData.proceed(enforcementData);
         }
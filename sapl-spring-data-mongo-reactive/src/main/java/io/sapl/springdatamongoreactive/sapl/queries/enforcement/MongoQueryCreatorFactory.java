@@ -37,10 +37,11 @@ public class MongoQueryCreatorFactory {
 
     private final ReflectedMongoQueryCreatorInstantiator mongoQueryCreatorInstantiator;
 
-    public MongoQueryCreatorFactory(Class<?> repository, ReactiveMongoTemplate reactiveMongoTemplate) {
+    public MongoQueryCreatorFactory(Class<?> repository, ReactiveMongoTemplate reactiveMongoTemplate,
+            MongoQueryMethods queryMethods) {
         this.reflectedMongoQueryCreatorMethods = new ReflectedMongoQueryCreatorMethods();
         this.mongoQueryCreatorInstantiator     = new ReflectedMongoQueryCreatorInstantiator(reactiveMongoTemplate,
-                repository);
+                repository, queryMethods);
     }
 
     /**
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatamongoreactive.sapl.queries.enforcement;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.repository.query.MongoQueryMethod;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches resolved {@link MongoQueryMethod}s per repository method and mapping
+ * context. Resolving the repository metadata and parameters of a query method
+ * is expensive and its result only depends on these.
+ * <p>
+ * The cache is owned by the
+ * {@link io.sapl.springdatamongoreactive.sapl.QueryManipulationEnforcementPointFactory}
+ * of the application context, so the repository methods and mapping contexts
+ * are not referenced beyond its lifetime.
+ */
+public class MongoQueryMethods {
+
+    private record QueryMethodKey(Class<?> repository, Method method, MappingContext<?, ?> mappingContext) {
+    }
+
+    static final int MAX_CACHED_QUERY_METHODS = 10_000;
+
+    private final Cache<QueryMethodKey, MongoQueryMethod> queryMethods = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_QUERY_METHODS).build();
+
+    /**
+     * @param repository     the repository interface.
+     * @param method         the repository method.
+     * @param mappingContext the mapping context of the template.
+     * @param resolver       resolves the query method if not yet cached.
+     * @return the query method.
+     */
+    MongoQueryMethod queryMethodFor(Class<?> repository, Method method, MappingContext<?, ?> mappingContext,
+            Supplier<MongoQueryMethod> resolver) {
+        return queryMethods.asMap().computeIfAbsent(new QueryMethodKey(repository, method, mappingContext),
+                key -> resolver.get());
+    }
+
+    /**
+     * @return the number of cached query methods.
+     */
+    long size() {
+        queryMethods.cleanUp();
+        return queryMethods.size();
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatamongoreactive.sapl.queries.enforcement;
+
+import org.springframework.data.repository.query.parser.PartTree;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Caches parsed {@link PartTree}s per method name and domain type. A PartTree
+ * is immutable once parsed, so it can be shared between enforced calls.
+ * Policies may yield an arbitrary number of condition shapes, each resulting in
+ * a manipulated method name. Hence, the number of cached trees is bounded and
+ * the least recently used ones are evicted.
+ */
+@UtilityClass
+class PartTrees {
+
+    private record PartTreeKey(String methodName, Class<?> domainType) {
+    }
+
+    static final int MAX_CACHED_PART_TREES = 10_000;
+
+    private final Cache<PartTreeKey, PartTree> PART_TREES = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PART_TREES)
+            .build();
+
+    /**
+     * @param methodName the (manipulated) name of the repository method.
+     * @param domainType the domain type of the repository.
+     * @return the parsed PartTree of the method name.
+     */
+    PartTree partTreeFor(String methodName, Class<?> domainType) {
+        return PART_TREES.asMap().computeIfAbsent(new PartTreeKey(methodName, domainType),
+                key -> new PartTree(key.methodName(), key.domainType()));
+    }
+
+    /**
+     * @return the number of cached trees.
+     */
+    long size() {
+        PART_TREES.cleanUp();
+        return PART_TREES.size();
+    }
+
+}
@@ -38,17 +38,20 @@
 
 public class ReflectedMongoQueryCreatorInstantiator {
 
+    private static volatile Constructor<?> mongoQueryCreatorConstructor;
+
     private ProjectionFactory                                                           projectionFactory;
     private ConvertingParameterAccessor                                                 convertingParameterAccessor;
     private MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
-    private final ReflectedMongoQueryCreatorConstructor                                 mongoQueryCreator;
     private final Class<?>                                                              repository;
     private final ReactiveMongoTemplate                                                 reactiveMongoTemplate;
+    private final MongoQueryMethods                                                     queryMethods;
 
-    public ReflectedMongoQueryCreatorInstantiator(ReactiveMongoTemplate reactiveMongoTemplate, Class<?> repository) {
+    public ReflectedMongoQueryCreatorInstantiator(ReactiveMongoTemplate reactiveMongoTemplate, Class<?> repository,
+            MongoQueryMethods queryMethods) {
         this.repository            = repository;
         this.reactiveMongoTemplate = reactiveMongoTemplate;
-        this.mongoQueryCreator     = new ReflectedMongoQueryCreatorConstructor(Utilities.MONGO_QUERY_CREATOR_NAME);
+        this.queryMethods          = queryMethods;
     }
 
     /**
@@ -88,20 +91,25 @@ public Object createMongoQueryCreatorInstance(PartTree partTree, Method method,
      *      to create the query, you have to do some trickery.
      */
     private MongoQueryMethod getMongoQueryMethod(Method method) {
-        return new MongoQueryMethod(method, AbstractRepositoryMetadata.getMetadata(repository), projectionFactory,
-                mappingContext);
+        return queryMethods.queryMethodFor(repository, method, mappingContext, () -> new MongoQueryMethod(method,
+                AbstractRepositoryMetadata.getMetadata(repository), projectionFactory, mappingContext));
     }
 
     /**
      * Creates the constructor for the later instance of the MongoQueryCreator
-     * class.
+     * class. The constructor is only looked up once and reused afterwards.
      *
      * @return constructor of the MongoQueryCreator class.
      */
-    private Constructor<?> createMongoQueryCreatorConstructor() throws InvocationTargetException {
-        Constructor<?> constructor = mongoQueryCreator.getDeclaredConstructor(PartTree.class,
-                ConvertingParameterAccessor.class, MappingContext.class, boolean.class);
-        ReflectionUtils.makeAccessible(constructor);
+    private static Constructor<?> createMongoQueryCreatorConstructor() throws InvocationTargetException {
+        var constructor = mongoQueryCreatorConstructor;
+        if (constructor == null) {
+            constructor = new ReflectedMongoQueryCreatorConstructor(Utilities.MONGO_QUERY_CREATOR_NAME)
+                    .getDeclaredConstructor(PartTree.class, ConvertingParameterAccessor.class, MappingContext.class,
+                            boolean.class);
+            ReflectionUtils.makeAccessible(constructor);
+            mongoQueryCreatorConstructor = constructor;
+        }
         return constructor;
     }
 
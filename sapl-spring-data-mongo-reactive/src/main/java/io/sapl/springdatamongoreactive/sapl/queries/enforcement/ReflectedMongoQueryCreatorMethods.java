@@ -24,28 +24,46 @@
 
 import java.lang.reflect.Method;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReflectedMongoQueryCreatorMethods {
 
+    private record CreatorMethods(Method create, Method and, Method or) {
+    }
+
+    /**
+     * The methods are resolved only once per class, since looking them up and
+     * making them accessible is considerably more expensive than invoking them.
+     */
+    private static final Map<Class<?>, CreatorMethods> CREATOR_METHODS = new ConcurrentHashMap<>();
+
     private Object mongoQueryCreatorInstance;
     private Method createMethod;
     private Method andMethod;
     private Method orMethod;
 
-    @SneakyThrows // throws NoSuchMethodException, SecurityException
     public void initializeMethods(Object mongoQueryCreatorInstance) {
         this.mongoQueryCreatorInstance = mongoQueryCreatorInstance;
 
-        this.createMethod = mongoQueryCreatorInstance.getClass().getDeclaredMethod("create", Part.class,
-                Iterator.class);
-        this.andMethod    = mongoQueryCreatorInstance.getClass().getDeclaredMethod("and", Part.class, Criteria.class,
-                Iterator.class);
-        this.orMethod     = mongoQueryCreatorInstance.getClass().getDeclaredMethod("or", Criteria.class,
-                Criteria.class);
+        var methods = CREATOR_METHODS.computeIfAbsent(mongoQueryCreatorInstance.getClass(),
+                ReflectedMongoQueryCreatorMethods::resolveMethods);
+        this.createMethod = methods.create();
+        this.andMethod    = methods.and();
+        this.orMethod     = methods.or();
+    }
+
+    @SneakyThrows // throws NoSuchMethodException, SecurityException
+    private static CreatorMethods resolveMethods(Class<?> mongoQueryCreator) {
+        var createMethod = mongoQueryCreator.getDeclaredMethod("create", Part.class, Iterator.class);
+        var andMethod    = mongoQueryCreator.getDeclaredMethod("and", Part.class, Criteria.class, Iterator.class);
+        var orMethod     = mongoQueryCreator.getDeclaredMethod("or", Criteria.class, Criteria.class);
+
+        ReflectionUtils.makeAccessible(createMethod);
+        ReflectionUtils.makeAccessible(andMethod);
+        ReflectionUtils.makeAccessible(orMethod);
 
-        ReflectionUtils.makeAccessible(this.createMethod);
-        ReflectionUtils.makeAccessible(this.andMethod);
-        ReflectionUtils.makeAccessible(this.orMethod);
+        return new CreatorMethods(createMethod, andMethod, orMethod);
     }
 
     /**
@@ -19,6 +19,7 @@
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -50,13 +51,13 @@
     private final MongoQueryCreatorFactory mongoQueryCreatorFactory;
 
     public SaplPartTreeCriteriaCreator(ReactiveMongoTemplate reactiveMongoTemplate, MethodInvocation methodInvocation,
-            Class<T> domainType) {
+            Class<T> domainType, MongoQueryMethods queryMethods) {
         this.domainType       = domainType;
         this.repositoryMethod = methodInvocation.getMethod();
         this.args             = methodInvocation.getArguments();
-        var partTree   = new PartTree(repositoryMethod.getName(), domainType);
+        var partTree   = PartTrees.partTreeFor(repositoryMethod.getName(), domainType);
         var repository = methodInvocation.getMethod().getDeclaringClass();
-        this.mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repository, reactiveMongoTemplate);
+        this.mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repository, reactiveMongoTemplate, queryMethods);
         this.mongoQueryCreatorFactory.createInstance(partTree, repositoryMethod, args);
     }
 
@@ -73,6 +74,20 @@ public SaplPartTreeCriteriaCreator(ReactiveMongoTemplate reactiveMongoTemplate,
      * @return a manipulated {@link Query}
      */
     public Query createManipulatedQuery(ArrayNode conditions) {
+        return createManipulatedQuery(conditions, List.of());
+    }
+
+    /**
+     * Creates the manipulated {@link Query} like
+     * {@link #createManipulatedQuery(ArrayNode)} and excludes the given fields from
+     * the projection, so that they are not transferred from the database.
+     *
+     * @param conditions     are the query condition from the
+     *                       {@link io.sapl.api.pdp.Decision}
+     * @param excludedFields are the fields which are not fetched.
+     * @return a manipulated {@link Query}
+     */
+    public Query createManipulatedQuery(ArrayNode conditions, Collection<String> excludedFields) {
         // Converts Parameters of the repository method to SaplConditions for further
         // operations.
         var saplParametersFromMethod = SaplConditionOperation.methodToSaplConditions(args, repositoryMethod,
@@ -91,8 +106,8 @@ public Query createManipulatedQuery(ArrayNode conditions) {
         var modifiedMethodName = SaplConditionOperation.toModifiedMethodName(repositoryMethod.getName(),
                 saplParametersFromObligation);
 
-        // Create PartTree of new method name
-        var manipulatedPartTree = new PartTree(modifiedMethodName, domainType);
+        // Create PartTree of new method name, parsed only once per method name
+        var manipulatedPartTree = PartTrees.partTreeFor(modifiedMethodName, domainType);
 
         // Creates an object list of all values of all SaplParameters
         saplParametersFromMethod.addAll(saplParametersFromObligation);
@@ -109,11 +124,15 @@ public Query createManipulatedQuery(ArrayNode conditions) {
                     "The parameters specified in the policy do not appear to match the desired changes to the query.");
         }
 
-        return createNewQuery(criteria);
+        return createNewQuery(criteria, excludedFields);
     }
 
-    private Query createNewQuery(CriteriaDefinition criteria) {
-        return new Query(criteria).with(mongoQueryCreatorFactory.getConvertingParameterAccessor().getSort());
+    private Query createNewQuery(CriteriaDefinition criteria, Collection<String> excludedFields) {
+        var query = new Query(criteria).with(mongoQueryCreatorFactory.getConvertingParameterAccessor().getSort());
+        if (!excludedFields.isEmpty()) {
+            query.fields().exclude(excludedFields.toArray(String[]::new));
+        }
+        return query;
     }
 
     /**
@@ -23,6 +23,7 @@
 import io.sapl.springdatacommon.handlers.DataManipulationHandler;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatamongoreactive.sapl.queries.enforcement.MongoAnnotationQueryManipulationEnforcementPoint;
+import io.sapl.springdatamongoreactive.sapl.queries.enforcement.MongoQueryMethods;
 import io.sapl.springdatamongoreactive.sapl.queries.enforcement.SaplPartTreeCriteriaCreator;
 
 public class SupporterClasses {
@@ -40,7 +41,7 @@ public static class SaplPartTreeCriteriaCreatorTestUser extends SaplPartTreeCrit
 
         public SaplPartTreeCriteriaCreatorTestUser(ReactiveMongoTemplate reactiveMongoTemplate,
                 MethodInvocation methodInvocation, Class<TestUser> domainType) {
-            super(reactiveMongoTemplate, methodInvocation, domainType);
+            super(reactiveMongoTemplate, methodInvocation, domainType, new MongoQueryMethods());
             // TODO Auto-generated constructor stub
         }
 
@@ -46,6 +46,7 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
 import io.sapl.api.pdp.AuthorizationDecision;
 import io.sapl.api.pdp.AuthorizationSubscription;
@@ -136,6 +137,9 @@ public void beforeEach() {
         pdpMock                                      = mock(EmbeddedPolicyDecisionPoint.class);
         reactiveMongoTemplateMock                    = mock(ReactiveMongoTemplate.class);
         beanFactoryMock                              = mock(BeanFactory.class);
+        constraintHandlerUtilsMock
+                .when(() -> ConstraintHandlerUtils.getConstraintHandlerByTypeIfResponsible(any(), any()))
+                .thenReturn(JsonNodeFactory.instance.nullNode());
     }
 
     @AfterEach
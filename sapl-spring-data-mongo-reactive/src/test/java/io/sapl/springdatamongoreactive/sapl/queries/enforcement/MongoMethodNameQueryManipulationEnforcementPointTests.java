@@ -49,6 +49,7 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
 import io.sapl.api.pdp.AuthorizationDecision;
 import io.sapl.api.pdp.AuthorizationSubscription;
@@ -133,6 +134,9 @@ static void setUp() throws JsonProcessingException {
     @BeforeEach
     void beforeEach() {
         constraintHandlerUtilsMock = mockStatic(ConstraintHandlerUtils.class);
+        constraintHandlerUtilsMock
+                .when(() -> ConstraintHandlerUtils.getConstraintHandlerByTypeIfResponsible(any(), any()))
+                .thenReturn(JsonNodeFactory.instance.nullNode());
     }
 
     @AfterEach
@@ -171,7 +175,7 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             .thenReturn(OBLIGATIONS);
 
                     var mongoMethodNameQueryManipulationEnforcementPoint = new MongoMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new MongoQueryMethods());
 
                     var mongoQueryManipulationObligationProviderMock = mongoQueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -188,7 +192,8 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             .thenReturn(CONDITIONS);
                     when(dataManipulationHandlerMock.manipulate(OBLIGATIONS))
                             .thenReturn(obligations -> Flux.just(cathrin));
-                    when(saplPartTreeCriteriaCreatorMock.createManipulatedQuery(CONDITIONS)).thenReturn(expectedQuery);
+                    when(saplPartTreeCriteriaCreatorMock.createManipulatedQuery(CONDITIONS, List.of()))
+                            .thenReturn(expectedQuery);
 
                     // THEN
                     var result = mongoMethodNameQueryManipulationEnforcementPoint.enforce();
@@ -196,7 +201,7 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                     StepVerifier.create(result).expectNext(cathrin).expectComplete().verify();
 
                     verify(reactiveMongoTemplateMock, times(1)).find(expectedQuery, TestUser.class);
-                    verify(saplPartTreeCriteriaCreatorMock, times(1)).createManipulatedQuery(CONDITIONS);
+                    verify(saplPartTreeCriteriaCreatorMock, times(1)).createManipulatedQuery(CONDITIONS, List.of());
                     verify(dataManipulationHandlerMock, times(1)).manipulate(OBLIGATIONS);
                     verify(mongoQueryManipulationObligationProviderMock, times(1)).isResponsible(OBLIGATIONS,
                             MONGO_QUERY_MANIPULATION_TYPE);
@@ -236,7 +241,7 @@ void when_decisionIsNotPermit_then_throwAccessDeniedException() {
                     when(beanFactoryMock.getBean(ReactiveMongoTemplate.class)).thenReturn(reactiveMongoTemplateMock);
 
                     var mongoMethodNameQueryManipulationEnforcementPoint = new MongoMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new MongoQueryMethods());
                     var accessDeniedException                            = mongoMethodNameQueryManipulationEnforcementPoint
                             .enforce();
 
@@ -284,7 +289,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             .thenReturn(OBLIGATIONS);
 
                     var mongoMethodNameQueryManipulationEnforcementPoint = new MongoMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new MongoQueryMethods());
 
                     var mongoQueryManipulationObligationProviderMock = mongoQueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -350,7 +355,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .thenReturn(OBLIGATIONS);
 
                     var mongoMethodNameQueryManipulationEnforcementPoint = new MongoMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new MongoQueryMethods());
 
                     var mongoQueryManipulationObligationProviderMock = mongoQueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -416,7 +421,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .thenReturn(OBLIGATIONS);
 
                     var mongoMethodNameQueryManipulationEnforcementPoint = new MongoMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new MongoQueryMethods());
 
                     var mongoQueryManipulationObligationProviderMock = mongoQueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -92,7 +92,7 @@ void when_mongoQueryCreatorInstanceCanBeCreated_then_createInstance() {
                         ConvertingParameterAccessor.class)) {
 
                     var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                            reactiveMongoTemplateSpy);
+                            reactiveMongoTemplateSpy, new MongoQueryMethods());
 
                     mongoQueryCreatorFactory.createInstance(partTree, method, args);
 
@@ -114,6 +114,74 @@ void when_mongoQueryCreatorInstanceCanBeCreated_then_createInstance() {
                 times(1));
     }
 
+    @Test
+    void when_mongoQueryCreatorInstanceIsCreatedTwiceForSameMethod_then_queryMethodIsReused() {
+        // GIVEN
+        var mongoMethodInvocationTest = new MethodInvocationForTesting("findAllByFirstnameAndAgeBefore",
+                new ArrayList<>(List.of(String.class, int.class)), new ArrayList<>(List.of("Aaron", 22)), null);
+        var partTree                  = new PartTree("findAllByFirstnameAndAgeBefore", TestUser.class);
+        var method                    = mongoMethodInvocationTest.getMethod();
+        var queryMethods              = new MongoQueryMethods();
+
+        // WHEN
+        try (MockedConstruction<MongoQueryMethod> mongoQueryMethodMockedConstruction = mockConstruction(
+                MongoQueryMethod.class)) {
+            try (MockedConstruction<MongoParametersParameterAccessor> mongoParametersParameterAccessorMockedConstruction = mockConstruction(
+                    MongoParametersParameterAccessor.class)) {
+                try (MockedConstruction<ConvertingParameterAccessor> convertingParameterAccessorMockedConstruction = mockConstruction(
+                        ConvertingParameterAccessor.class)) {
+
+                    new MongoQueryCreatorFactory(repositoryTest.getClass(), reactiveMongoTemplateSpy, queryMethods)
+                            .createInstance(partTree, method, new Object[] { "Aaron", 22 });
+                    new MongoQueryCreatorFactory(repositoryTest.getClass(), reactiveMongoTemplateSpy, queryMethods)
+                            .createInstance(partTree, method, new Object[] { "Brian", 33 });
+
+                    // THEN
+                    assertEquals(1, mongoQueryMethodMockedConstruction.constructed().size());
+                    assertEquals(2, mongoParametersParameterAccessorMockedConstruction.constructed().size());
+                    assertEquals(2, convertingParameterAccessorMockedConstruction.constructed().size());
+                    assertEquals(1, queryMethods.size());
+                }
+            }
+        }
+
+        abstractRepositoryMetadataMockedStatic.verify(() -> AbstractRepositoryMetadata.getMetadata(any(Class.class)),
+                times(1));
+    }
+
+    @Test
+    void when_mongoQueryCreatorInstancesUseSeparateCaches_then_queryMethodIsNotShared() {
+        // GIVEN
+        var mongoMethodInvocationTest = new MethodInvocationForTesting("findAllByFirstnameAndAgeBefore",
+                new ArrayList<>(List.of(String.class, int.class)), new ArrayList<>(List.of("Aaron", 22)), null);
+        var partTree                  = new PartTree("findAllByFirstnameAndAgeBefore", TestUser.class);
+        var method                    = mongoMethodInvocationTest.getMethod();
+
+        // WHEN
+        try (MockedConstruction<MongoQueryMethod> mongoQueryMethodMockedConstruction = mockConstruction(
+                MongoQueryMethod.class)) {
+            try (MockedConstruction<MongoParametersParameterAccessor> mongoParametersParameterAccessorMockedConstruction = mockConstruction(
+                    MongoParametersParameterAccessor.class)) {
+                try (MockedConstruction<ConvertingParameterAccessor> convertingParameterAccessorMockedConstruction = mockConstruction(
+                        ConvertingParameterAccessor.class)) {
+
+                    new MongoQueryCreatorFactory(repositoryTest.getClass(), reactiveMongoTemplateSpy,
+                            new MongoQueryMethods()).createInstance(partTree, method, new Object[] { "Aaron", 22 });
+                    new MongoQueryCreatorFactory(repositoryTest.getClass(), reactiveMongoTemplateSpy,
+                            new MongoQueryMethods()).createInstance(partTree, method, new Object[] { "Brian", 33 });
+
+                    // THEN
+                    assertEquals(2, mongoQueryMethodMockedConstruction.constructed().size());
+                    assertEquals(2, mongoParametersParameterAccessorMockedConstruction.constructed().size());
+                    assertEquals(2, convertingParameterAccessorMockedConstruction.constructed().size());
+                }
+            }
+        }
+
+        abstractRepositoryMetadataMockedStatic.verify(() -> AbstractRepositoryMetadata.getMetadata(any(Class.class)),
+                times(2));
+    }
+
     @Test
     void when_mongoQueryCreatorInstanceCanBeCreated_then_createCriteria() {
         // GIVEN
@@ -136,7 +204,7 @@ void when_mongoQueryCreatorInstanceCanBeCreated_then_createCriteria() {
                             ReflectedMongoQueryCreatorMethods.class)) {
 
                         var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                                reactiveMongoTemplateSpy);
+                                reactiveMongoTemplateSpy, new MongoQueryMethods());
 
                         var reflectedMongoQueryCreatorMethods = reflectedMongoQueryCreatorMethodsMockedConstruction
                                 .constructed().get(0);
@@ -194,7 +262,7 @@ void when_mongoQueryCreatorInstanceCanBeCreated_then_andCriteria() {
                             ReflectedMongoQueryCreatorMethods.class)) {
 
                         var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                                reactiveMongoTemplateSpy);
+                                reactiveMongoTemplateSpy, new MongoQueryMethods());
 
                         var reflectedMongoQueryCreatorMethods = reflectedMongoQueryCreatorMethodsMockedConstruction
                                 .constructed().get(0);
@@ -257,7 +325,7 @@ void when_mongoQueryCreatorInstanceCanBeCreated_then_orCriteria() {
                             ReflectedMongoQueryCreatorMethods.class)) {
 
                         var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                                reactiveMongoTemplateSpy);
+                                reactiveMongoTemplateSpy, new MongoQueryMethods());
 
                         var reflectedMongoQueryCreatorMethods = reflectedMongoQueryCreatorMethodsMockedConstruction
                                 .constructed().get(0);
@@ -310,7 +378,7 @@ void when_mongoQueryCreatorInstanceCanNotBeCreated_then_throwInvocationTargetExc
                 try (MockedConstruction<ConvertingParameterAccessor> convertingParameterAccessorMockedConstruction = mockConstruction(
                         ConvertingParameterAccessor.class)) {
                     var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                            reactiveMongoTemplateSpy);
+                            reactiveMongoTemplateSpy, new MongoQueryMethods());
 
                     // THEN
                     assertThrows(InvocationTargetException.class,
@@ -338,7 +406,7 @@ void when_mongoQueryCreatorInstanceCanBeCreatedButNotCreateMethodInvoked_then_th
                 try (MockedConstruction<ConvertingParameterAccessor> convertingParameterAccessorMockedConstruction = mockConstruction(
                         ConvertingParameterAccessor.class)) {
                     var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                            reactiveMongoTemplateSpy);
+                            reactiveMongoTemplateSpy, new MongoQueryMethods());
                     mongoQueryCreatorFactory.createInstance(partTree, method, args);
 
                     // THEN
@@ -366,7 +434,7 @@ void when_mongoQueryCreatorInstanceCanBeCreatedButNotAndMethodInvoked_then_throw
                 try (MockedConstruction<ConvertingParameterAccessor> convertingParameterAccessorMockedConstruction = mockConstruction(
                         ConvertingParameterAccessor.class)) {
                     var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                            reactiveMongoTemplateSpy);
+                            reactiveMongoTemplateSpy, new MongoQueryMethods());
                     mongoQueryCreatorFactory.createInstance(partTree, method, args);
 
                     // THEN
@@ -393,7 +461,7 @@ void when_mongoQueryCreatorInstanceCanBeCreatedButNotOrMethodInvoked_then_throwI
                 try (MockedConstruction<ConvertingParameterAccessor> convertingParameterAccessorMockedConstruction = mockConstruction(
                         ConvertingParameterAccessor.class)) {
                     var mongoQueryCreatorFactory = new MongoQueryCreatorFactory(repositoryTest.getClass(),
-                            reactiveMongoTemplateSpy);
+                            reactiveMongoTemplateSpy, new MongoQueryMethods());
                     mongoQueryCreatorFactory.createInstance(partTree, method, args);
 
                     // THEN
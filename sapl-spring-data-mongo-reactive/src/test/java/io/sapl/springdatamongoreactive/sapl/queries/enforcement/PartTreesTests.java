@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatamongoreactive.sapl.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.sapl.springdatamongoreactive.sapl.database.TestUser;
+
+class PartTreesTests {
+
+    @Test
+    void when_partTreeIsRequestedTwice_then_parsedTreeIsReused() {
+        // GIVEN
+        var methodName = "findAllByFirstnameAndAgeBefore";
+
+        // WHEN
+        var first  = PartTrees.partTreeFor(methodName, TestUser.class);
+        var second = PartTrees.partTreeFor(methodName, TestUser.class);
+
+        // THEN
+        assertSame(first, second);
+        assertEquals(2, first.getParts().toList().size());
+    }
+
+    @Test
+    void when_methodNamesDiffer_then_separateTreesAreParsed() {
+        // GIVEN
+
+        // WHEN
+        var first  = PartTrees.partTreeFor("findAllByFirstname", TestUser.class);
+        var second = PartTrees.partTreeFor("findAllByFirstnameAndAgeBefore", TestUser.class);
+
+        // THEN
+        assertNotSame(first, second);
+        assertEquals(1, first.getParts().toList().size());
+    }
+
+    @Test
+    void when_manyMethodNamesOccur_then_numberOfCachedTreesIsBounded() {
+        // GIVEN
+
+        // WHEN
+        for (var i = 0; i <= PartTrees.MAX_CACHED_PART_TREES; i++) {
+            PartTrees.partTreeFor("findFirst" + (i + 1) + "ByFirstname", TestUser.class);
+        }
+
+        // THEN
+        assertTrue(PartTrees.size() <= PartTrees.MAX_CACHED_PART_TREES);
+    }
+
+}
@@ -33,7 +33,9 @@
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedConstruction;
 import org.springframework.data.domain.Sort;
@@ -90,7 +92,7 @@ void when_policyDecisionContainsQueryManipulationConditions_then_createManipulat
                     .with(Sort.by(List.of()));
 
             var saplPartTreeCriteriaCreator = new SaplPartTreeCriteriaCreator<>(reactiveMongoTemplateMock,
-                    methodInvocation, TestUser.class);
+                    methodInvocation, TestUser.class, new MongoQueryMethods());
 
             var mongoQueryCreatorFactoryMock = mockedConstruction.constructed().get(0);
 
@@ -160,7 +162,7 @@ void when_policyDecisionContainsQueryManipulationWithOrCondition_then_createMani
                     .addCriteria(Criteria.where("age").lt(40).orOperator(criteriaOrPart)).with(Sort.by(List.of()));
 
             var saplPartTreeCriteriaCreator = new SaplPartTreeCriteriaCreator<>(reactiveMongoTemplateMock,
-                    methodInvocation, TestUser.class);
+                    methodInvocation, TestUser.class, new MongoQueryMethods());
 
             var mongoQueryCreatorFactoryMock = mockedConstruction.constructed().get(0);
 
@@ -222,7 +224,7 @@ void when_policyDecisionContainsQueryManipulationWithParameterNotFittingToManipu
                     List.of(new SaplCondition("age", 40, OperatorMongoDB.BEFORE, "And")));
 
             var saplPartTreeCriteriaCreator = new SaplPartTreeCriteriaCreator<>(reactiveMongoTemplateMock,
-                    methodInvocation, TestUser.class);
+                    methodInvocation, TestUser.class, new MongoQueryMethods());
 
             var mongoQueryCreatorFactoryMock = mockedConstruction.constructed().get(0);
 
@@ -253,4 +255,50 @@ void when_policyDecisionContainsQueryManipulationWithParameterNotFittingToManipu
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked") // generic types in arguments of methods that are mocked
+    void when_fieldsAreExcluded_then_manipulatedQueryExcludesFieldsFromProjection() {
+        var saplConditionOperationMockedStatic = mockStatic(SaplConditionOperation.class);
+
+        try (MockedConstruction<MongoQueryCreatorFactory> mockedConstruction = mockConstruction(
+                MongoQueryCreatorFactory.class)) {
+
+            // GIVEN
+            var methodInvocation = new MethodInvocationForTesting("findAllByAgeBefore",
+                    new ArrayList<>(List.of(int.class)), new ArrayList<>(List.of(40)), null);
+
+            var criteria    = Criteria.where("age").lt(40);
+            var mongoWriter = mock(MongoWriter.class);
+            var delegate    = mock(MongoParameterAccessor.class);
+
+            var saplPartTreeCriteriaCreator = new SaplPartTreeCriteriaCreator<>(reactiveMongoTemplateMock,
+                    methodInvocation, TestUser.class, new MongoQueryMethods());
+
+            var mongoQueryCreatorFactoryMock = mockedConstruction.constructed().get(0);
+
+            // WHEN
+            when(mongoQueryCreatorFactoryMock.create(any(Part.class), any(Iterator.class))).thenReturn(criteria);
+            when(mongoQueryCreatorFactoryMock.getConvertingParameterAccessor())
+                    .thenReturn(new ConvertingParameterAccessor(mongoWriter, delegate));
+            when(mongoQueryCreatorFactoryMock.getConvertingParameterAccessor().getSort())
+                    .thenReturn(Sort.by(List.of()));
+            saplConditionOperationMockedStatic
+                    .when(() -> SaplConditionOperation.methodToSaplConditions(any(Object[].class), any(Method.class),
+                            any(Class.class)))
+                    .thenReturn(new ArrayList<>(List.of(new SaplCondition("age", 40, OperatorMongoDB.BEFORE, "And"))));
+            saplConditionOperationMockedStatic
+                    .when(() -> SaplConditionOperation.toModifiedMethodName(anyString(), any(List.class)))
+                    .thenReturn("findAllByAgeBefore");
+            saplConditionOperationMockedStatic
+                    .when(() -> SaplConditionOperation.jsonNodeToSaplConditions(any(ArrayNode.class)))
+                    .thenReturn(new ArrayList<>());
+
+            var actualResult = saplPartTreeCriteriaCreator.createManipulatedQuery(MAPPER.createArrayNode(),
+                    List.of("firstname", "birthday"));
+
+            // THEN
+            assertEquals(new Document(Map.of("firstname", 0, "birthday", 0)), actualResult.getFieldsObject());
+        }
+        saplConditionOperationMockedStatic.close();
+    }
 }
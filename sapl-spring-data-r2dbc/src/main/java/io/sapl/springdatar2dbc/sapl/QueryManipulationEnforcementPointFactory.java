@@ -22,20 +22,23 @@
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementPoint;
 import io.sapl.springdatacommon.sapl.queries.enforcement.ProceededDataFilterEnforcementPoint;
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.QueryTemplates;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.R2dbcAnnotationQueryManipulationEnforcementPoint;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.R2dbcMethodNameQueryManipulationEnforcementPoint;
 
 @Service
 public class QueryManipulationEnforcementPointFactory {
 
+    private final QueryTemplates queryTemplates = new QueryTemplates();
+
     public <T> QueryManipulationEnforcementPoint<T> createR2dbcAnnotationQueryManipulationEnforcementPoint(
             QueryManipulationEnforcementData<T> enforcementData) {
-        return new R2dbcAnnotationQueryManipulationEnforcementPoint<>(enforcementData);
+        return new R2dbcAnnotationQueryManipulationEnforcementPoint<>(enforcementData, queryTemplates);
     }
 
     public <T> QueryManipulationEnforcementPoint<T> createR2dbcMethodNameQueryManipulationEnforcementPoint(
             QueryManipulationEnforcementData<T> enforcementData) {
-        return new R2dbcMethodNameQueryManipulationEnforcementPoint<>(enforcementData);
+        return new R2dbcMethodNameQueryManipulationEnforcementPoint<>(enforcementData, queryTemplates);
     }
 
     public <T> QueryManipulationEnforcementPoint<T> createProceededDataFilterEnforcementPoint(
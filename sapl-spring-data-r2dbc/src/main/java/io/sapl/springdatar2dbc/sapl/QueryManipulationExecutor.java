@@ -17,34 +17,88 @@
  */
 package io.sapl.springdatar2dbc.sapl;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.mapping.Table;
 
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.ParameterizedQuery;
 import reactor.core.publisher.Flux;
 
 public class QueryManipulationExecutor {
 
+    private static final Pattern SELECT_ALL = Pattern.compile("^\\s*SELECT\\s+\\*\\s+FROM\\s",
+            Pattern.CASE_INSENSITIVE);
+
+    private final R2dbcEntityTemplate         r2dbcEntityTemplate;
     private final R2dbcEntityTemplateExecutor r2dbcEntityTemplateExecutor;
 
     public QueryManipulationExecutor(BeanFactory beanFactory) {
-        var r2dbcEntityTemplate = beanFactory.getBean(R2dbcEntityTemplate.class);
+        r2dbcEntityTemplate         = beanFactory.getBean(R2dbcEntityTemplate.class);
         r2dbcEntityTemplateExecutor = new R2dbcEntityTemplateExecutor(r2dbcEntityTemplate);
     }
 
-    public <T> Flux<Map<String, Object>> execute(String query, Class<T> domainType) {
+    public <T> Flux<Map<String, Object>> execute(ParameterizedQuery query, Class<T> domainType) {
+        return execute(query, domainType, List.of());
+    }
 
-        if (query.toLowerCase().contains("where")) {
-            return r2dbcEntityTemplateExecutor.executeQuery(query);
+    /**
+     * Executes the query. If the query selects all columns, the excluded fields of
+     * the domain type are removed from the column list, so that their values are
+     * not transferred from the database.
+     *
+     * @param query          the query to execute.
+     * @param domainType     the domain type.
+     * @param excludedFields names of the fields of the domain type which are not
+     *                       fetched.
+     * @param <T>            the domain type.
+     * @return the rows of the result.
+     */
+    public <T> Flux<Map<String, Object>> execute(ParameterizedQuery query, Class<T> domainType,
+            Collection<String> excludedFields) {
+        if (query.sql().toLowerCase().contains("where")) {
+            return r2dbcEntityTemplateExecutor.executeQuery(project(query, domainType, excludedFields));
         } else {
             String tableName           = getTableName(domainType);
-            var    queryWithSelectPart = "SELECT * FROM %s WHERE %s".formatted(tableName, query);
+            var    queryWithSelectPart = "SELECT * FROM %s WHERE %s".formatted(tableName, query.sql());
+
+            return r2dbcEntityTemplateExecutor
+                    .executeQuery(project(query.withSql(queryWithSelectPart, Map.of()), domainType, excludedFields));
+        }
+    }
+
+    private <T> ParameterizedQuery project(ParameterizedQuery query, Class<T> domainType,
+            Collection<String> excludedFields) {
+        if (excludedFields.isEmpty()) {
+            return query;
+        }
+
+        var matcher = SELECT_ALL.matcher(query.sql());
+        if (!matcher.find()) {
+            return query;
+        }
 
-            return r2dbcEntityTemplateExecutor.executeQuery(queryWithSelectPart);
+        var entity  = r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(domainType);
+        var columns = new StringBuilder();
+        for (var property : entity) {
+            if (!excludedFields.contains(property.getName())) {
+                if (!columns.isEmpty()) {
+                    columns.append(", ");
+                }
+                columns.append(property.getColumnName().getReference());
+            }
         }
+
+        if (columns.isEmpty()) {
+            return query;
+        }
+
+        return query.withSql("SELECT " + columns + " FROM " + query.sql().substring(matcher.end()), Map.of());
     }
 
     private <T> String getTableName(Class<T> domainType) {
@@ -21,6 +21,7 @@
 
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.ParameterizedQuery;
 import reactor.core.publisher.Flux;
 
 public class R2dbcEntityTemplateExecutor {
@@ -31,8 +32,16 @@ public R2dbcEntityTemplateExecutor(R2dbcEntityTemplate r2dbcEntityTemplate) {
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
     }
 
-    Flux<Map<String, Object>> executeQuery(String sqlQuery) {
-        return r2dbcEntityTemplate.getDatabaseClient().sql(sqlQuery).fetch().all();
+    Flux<Map<String, Object>> executeQuery(ParameterizedQuery sqlQuery) {
+        var spec = r2dbcEntityTemplate.getDatabaseClient().sql(sqlQuery.sql());
+        for (var parameter : sqlQuery.parameters().entrySet()) {
+            if (parameter.getValue() == null) {
+                spec = spec.bindNull(parameter.getKey(), Object.class);
+            } else {
+                spec = spec.bind(parameter.getKey(), parameter.getValue());
+            }
+        }
+        return spec.fetch().all();
     }
 
 }
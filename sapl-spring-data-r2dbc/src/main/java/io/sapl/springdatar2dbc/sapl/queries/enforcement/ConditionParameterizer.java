@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Replaces the numeric literals in SQL conditions of query manipulation
+ * obligations by bind markers. Policies typically yield conditions of the same
+ * shape which only differ in their literals, e.g., a limit or an id. Binding
+ * the literals instead of inlining them results in identical statement texts
+ * for all these decisions.
+ * <p>
+ * Quoted literals are kept inline. Their type is only known to the database,
+ * e.g., a uuid, date, or enum column compared to {@code '...'}, and binding
+ * them as strings would break these comparisons.
+ */
+@UtilityClass
+public class ConditionParameterizer {
+
+    private static final String MARKER_PREFIX = "saplCondition";
+
+    /**
+     * Replaces numeric literals of the condition by bind markers. Quoted literals,
+     * quoted identifiers, and numbers which are part of identifiers or quoted text
+     * are left untouched.
+     *
+     * @param condition a SQL condition.
+     * @return the condition with bind markers and the values of the literals.
+     * @throws IllegalArgumentException if the condition contains an unterminated
+     *                                  quote.
+     */
+    public ParameterizedQuery parameterize(String condition) {
+        var sql        = new StringBuilder(condition.length());
+        var parameters = new LinkedHashMap<String, Object>();
+        var length     = condition.length();
+        var i          = 0;
+        while (i < length) {
+            var c = condition.charAt(i);
+            if (Character.isWhitespace(c)) {
+                sql.append(c);
+                i++;
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                var end = readQuoted(condition, i, c);
+                sql.append(condition, i, end);
+                i = end;
+            } else if (isIdentifierPart(c)) {
+                var start = i;
+                while (i < length && isIdentifierPart(condition.charAt(i))) {
+                    i++;
+                }
+                if (Character.isDigit(c) && isNumber(condition, start, i)) {
+                    var end = i;
+                    if (i + 1 < length && condition.charAt(i) == '.' && Character.isDigit(condition.charAt(i + 1))) {
+                        end = i + 1;
+                        while (end < length && Character.isDigit(condition.charAt(end))) {
+                            end++;
+                        }
+                    }
+                    bind(sql, parameters, numericValue(condition.substring(start, end)));
+                    i = end;
+                } else {
+                    sql.append(condition, start, i);
+                }
+            } else {
+                sql.append(c);
+                i++;
+            }
+        }
+        return new ParameterizedQuery(sql.toString(), parameters);
+    }
+
+    /**
+     * @return the index after the closing quote.
+     */
+    private int readQuoted(String condition, int openingQuote, char quote) {
+        var i = openingQuote + 1;
+        while (i < condition.length()) {
+            if (condition.charAt(i) == quote) {
+                if (i + 1 < condition.length() && condition.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        throw new IllegalArgumentException("Unterminated quote in condition: " + condition);
+    }
+
+    private void bind(StringBuilder sql, LinkedHashMap<String, Object> parameters, Object value) {
+        var name = MARKER_PREFIX + parameters.size();
+        parameters.put(name, value);
+        sql.append(':').append(name);
+    }
+
+    private boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private boolean isNumber(String condition, int start, int end) {
+        if (start > 0 && (condition.charAt(start - 1) == '.' || condition.charAt(start - 1) == ':')) {
+            return false;
+        }
+        for (var i = start; i < end; i++) {
+            if (!Character.isDigit(condition.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object numericValue(String number) {
+        var value = new BigDecimal(number);
+        if (value.scale() > 0) {
+            return value;
+        }
+        try {
+            return value.intValueExact();
+        } catch (ArithmeticException notAnInteger) {
+            try {
+                return value.longValueExact();
+            } catch (ArithmeticException notALong) {
+                return value;
+            }
+        }
+    }
+
+}
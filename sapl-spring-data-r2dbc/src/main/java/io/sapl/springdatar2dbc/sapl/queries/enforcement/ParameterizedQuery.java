@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SQL text containing named bind markers of the form {@code :name} together
+ * with the values bound to them. As the text itself does not contain any
+ * values, queries of the same shape result in the same statement text, which
+ * allows the driver and the database to reuse prepared statements and plans.
+ *
+ * @param sql        the SQL text containing bind markers.
+ * @param parameters the values of the bind markers by name.
+ */
+public record ParameterizedQuery(String sql, Map<String, Object> parameters) {
+
+    public ParameterizedQuery {
+        parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+    }
+
+    /**
+     * Creates a query which does not require any bound values.
+     *
+     * @param sql the SQL text.
+     * @return the query.
+     */
+    public static ParameterizedQuery of(String sql) {
+        return new ParameterizedQuery(sql, Map.of());
+    }
+
+    /**
+     * Creates a query with a different SQL text, binding the values of this query
+     * and the additional values.
+     *
+     * @param sql                  the new SQL text.
+     * @param additionalParameters values of bind markers added by the new text.
+     * @return the new query.
+     */
+    public ParameterizedQuery withSql(String sql, Map<String, Object> additionalParameters) {
+        var allParameters = new LinkedHashMap<>(parameters);
+        allParameters.putAll(additionalParameters);
+        return new ParameterizedQuery(sql, allParameters);
+    }
+
+    /**
+     * Finds the names of the bind markers in a SQL text. Markers in quoted literals
+     * or identifiers and type casts, e.g., {@code ::text}, are ignored.
+     *
+     * @param sql a SQL text.
+     * @return the names of all bind markers.
+     */
+    static Set<String> bindMarkerNames(String sql) {
+        var names  = new HashSet<String>();
+        var length = sql.length();
+        var i      = 0;
+        while (i < length) {
+            var c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                var closingQuote = sql.indexOf(c, i + 1);
+                i = closingQuote < 0 ? length : closingQuote + 1;
+            } else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+                i += 2;
+            } else if (c == ':' && i + 1 < length && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+                var start = ++i;
+                while (i < length && Character.isJavaIdentifierPart(sql.charAt(i))) {
+                    i++;
+                }
+                names.add(sql.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return names;
+    }
+
+}
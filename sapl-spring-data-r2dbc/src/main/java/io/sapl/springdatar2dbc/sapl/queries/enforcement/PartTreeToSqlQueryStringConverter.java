@@ -21,6 +21,7 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -28,48 +29,81 @@
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatar2dbc.sapl.OperatorR2dbc;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
 /**
- * This class is responsible for translating a PartTree into a Sql-Query.
+ * This class is responsible for translating a PartTree into a Sql-Query. The
+ * arguments of the method are bound as parameters and the SQL template is only
+ * derived once per domain type and method name. The number of cached templates
+ * is bounded, the least recently used ones are evicted.
  */
 @UtilityClass
 public class PartTreeToSqlQueryStringConverter {
 
+    private static final String ARGUMENT_MARKER_PREFIX = "argument";
+
+    private record BaseQueryKey(Class<?> domainType, String methodName) {
+    }
+
+    private record ArgumentBinding(String name, boolean isArray, boolean isString) {
+    }
+
+    private record BaseQueryTemplate(String sql, List<ArgumentBinding> bindings) {
+    }
+
+    static final int MAX_CACHED_BASE_QUERY_TEMPLATES = 1_000;
+
+    private final Cache<BaseQueryKey, BaseQueryTemplate> BASE_QUERY_TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_BASE_QUERY_TEMPLATES).build();
+
     /**
      * Builds the corresponding Sql-Query with the information of a
      * {@link QueryManipulationEnforcementData} object.
      *
      * @param enforcementData which contains the necessary information.
      * @param <T>             the domain type
-     * @return SQL query of a {@link PartTree}.
+     * @return SQL query of a {@link PartTree} with the bound method arguments.
      */
-    public <T> String createSqlBaseQuery(QueryManipulationEnforcementData<T> enforcementData) {
+    public <T> ParameterizedQuery createSqlBaseQuery(QueryManipulationEnforcementData<T> enforcementData) {
         var methodName       = enforcementData.getMethodInvocation().getMethod().getName();
         var arguments        = enforcementData.getMethodInvocation().getArguments();
         var domainType       = enforcementData.getDomainType();
-        var partTree         = new PartTree(methodName, domainType);
-        var baseConditions   = new ArrayList<SqlCondition>();
+        var template         = BASE_QUERY_TEMPLATES.asMap().computeIfAbsent(new BaseQueryKey(domainType, methodName),
+                key -> createBaseQueryTemplate(methodName, domainType));
+        var parameters       = new LinkedHashMap<String, Object>();
         var argumentIterator = Arrays.stream(arguments).iterator();
 
-        for (PartTree.OrPart node : partTree) {
+        for (var binding : template.bindings()) {
+            parameters.put(binding.name(), bindValue(binding, argumentIterator.next()));
+        }
 
-            var partsIterator = node.iterator();
+        return new ParameterizedQuery(template.sql(), parameters);
+    }
 
-            var currentOrPart = new ArrayList<SqlCondition>();
-            currentOrPart.add(and(partsIterator.next(), argumentIterator.next(), domainType));
+    private <T> BaseQueryTemplate createBaseQueryTemplate(String methodName, Class<T> domainType) {
+        var partTree       = new PartTree(methodName, domainType);
+        var baseConditions = new ArrayList<SqlCondition>();
+        var bindings       = new ArrayList<ArgumentBinding>();
 
-            while (partsIterator.hasNext()) {
-                currentOrPart.add(and(partsIterator.next(), argumentIterator.next(), domainType));
+        for (PartTree.OrPart node : partTree) {
+
+            var currentOrPart = new ArrayList<SqlCondition>();
+            for (var part : node) {
+                var binding = binding(part, ARGUMENT_MARKER_PREFIX + bindings.size(), domainType);
+                bindings.add(binding);
+                currentOrPart.add(and(part, binding));
             }
 
             baseConditions = baseConditions.isEmpty() ? currentOrPart : or(baseConditions, currentOrPart);
         }
 
-        return toString(baseConditions, partTree.getSort().get());
+        return new BaseQueryTemplate(toString(baseConditions, partTree.getSort().get()), List.copyOf(bindings));
     }
 
     /**
@@ -126,24 +160,13 @@ private ArrayList<SqlCondition> or(ArrayList<SqlCondition> baseConditions, Array
     }
 
     /**
-     * In an SQL query, strings are enclosed in quotation marks.
-     *
-     * @param value is the string which is enclosed.
-     * @return the enclosed value.
-     */
-    private String toSqlConditionString(String value) {
-        return "'" + value + "'";
-    }
-
-    /**
-     * Accepts an object which is supposed to be a list of strings. The values are
-     * enclosed in quotation marks and round brackets, since lists are specified
-     * this way within sql queries.
+     * Accepts an object which is supposed to be a list of strings. Only the string
+     * values are bound, as the field is of type string.
      *
      * @param arg which is supposed to be a list of strings.
-     * @return the transformed list as string.
+     * @return the string values of the list.
      */
-    private String createSqlArgumentArray(Object arg) {
+    private List<String> createSqlArgumentArray(Object arg) {
         if (!(arg instanceof List<?> arguments)) {
             throw new IllegalStateException("Operator requires array of arguments.");
         }
@@ -152,53 +175,60 @@ private String createSqlArgumentArray(Object arg) {
 
         for (Object argument : arguments) {
             if (argument instanceof String stringArgument) {
-                arrayList.add(toSqlConditionString(stringArgument));
+                arrayList.add(stringArgument);
             }
         }
 
-        return replaceSquareBracketsWithRoundBrackets(arrayList);
+        return arrayList;
     }
 
     /**
-     * Accepts an object which is supposed to be a list. The list is converted to a
-     * string and the square brackets are replaced with round brackets.
+     * Converts a method argument into the value bound to the corresponding
+     * parameter.
      *
-     * @param arrayList which is supposed to be a list.
-     * @return the transformed list as string.
+     * @param binding  describes the parameter.
+     * @param argument is the corresponding value of the part.
+     * @return the value to bind.
      */
-    private String replaceSquareBracketsWithRoundBrackets(Object arrayList) {
-        return arrayList.toString().replace(']', ')').replace('[', '(');
-    }
-
-    /**
-     * Builds a {@link SqlCondition} from the available parameters.
-     *
-     * @param part       is the current {@link Part}
-     * @param argument   is the corresponding value of the part.
-     * @param domainType is the domain type.
-     * @return created {@link SqlCondition}.
-     */
-    @SneakyThrows // NoSuchFieldException, NullPointerException
-    public <T> SqlCondition and(Part part, Object argument, Class<T> domainType) {
+    private Object bindValue(ArgumentBinding binding, Object argument) {
         if (argument == null) {
             throw new NullPointerException("The appropriate argument is missing for this part of the method. ");
         }
-        var operator  = OperatorR2dbc.valueOf(part.getType().name());
-        var fieldType = domainType.getDeclaredField(part.getProperty().toDotPath()).getType();
 
-        if (isString(fieldType) && operator.isArray()) {
-            argument = createSqlArgumentArray(argument);
+        if (binding.isString() && binding.isArray()) {
+            return createSqlArgumentArray(argument);
         }
 
-        if (!isString(fieldType) && operator.isArray()) {
-            argument = replaceSquareBracketsWithRoundBrackets(argument);
+        if (binding.isString()) {
+            return argument.toString();
         }
 
-        if (isString(fieldType) && !operator.isArray()) {
-            argument = toSqlConditionString(argument.toString());
+        return argument;
+    }
+
+    @SneakyThrows // NoSuchFieldException
+    private <T> ArgumentBinding binding(Part part, String name, Class<T> domainType) {
+        var operator  = OperatorR2dbc.valueOf(part.getType().name());
+        var fieldType = domainType.getDeclaredField(part.getProperty().toDotPath()).getType();
+        return new ArgumentBinding(name, operator.isArray(), isString(fieldType));
+    }
+
+    /**
+     * Builds a {@link SqlCondition} from the available parameters.
+     *
+     * @param part    is the current {@link Part}
+     * @param binding describes the parameter bound to the part.
+     * @return created {@link SqlCondition}.
+     */
+    private SqlCondition and(Part part, ArgumentBinding binding) {
+        var operator = OperatorR2dbc.valueOf(part.getType().name());
+        var marker   = ':' + binding.name();
+
+        if (binding.isArray()) {
+            marker = '(' + marker + ')';
         }
 
         return new SqlCondition(Conjunction.AND,
-                part.getProperty().toDotPath() + " " + operator.getSqlQueryBasedKeywords().get(0) + " " + argument);
+                part.getProperty().toDotPath() + " " + operator.getSqlQueryBasedKeywords().get(0) + " " + marker);
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import java.lang.reflect.Method;
+import java.util.function.UnaryOperator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches manipulated SQL templates per repository method and shape of the
+ * obligation condition. Policies may yield an arbitrary number of condition
+ * shapes, e.g., IN lists of varying length. Hence, the number of cached
+ * templates is bounded and the least recently used ones are evicted.
+ * <p>
+ * The cache is owned by the
+ * {@link io.sapl.springdatar2dbc.sapl.QueryManipulationEnforcementPointFactory}
+ * of the application context, so the repository methods are not referenced
+ * beyond its lifetime.
+ */
+public class QueryTemplates {
+
+    private record TemplateKey(Method method, String conditionShape) {
+    }
+
+    static final int MAX_CACHED_TEMPLATES = 10_000;
+
+    private final Cache<TemplateKey, String> templates = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_TEMPLATES)
+            .build();
+
+    /**
+     * @param method         the repository method.
+     * @param conditionShape the obligation condition containing bind markers.
+     * @param compiler       creates the template if not yet cached.
+     * @return the SQL template for the method and condition.
+     */
+    String templateFor(Method method, String conditionShape, UnaryOperator<String> compiler) {
+        return templates.asMap().computeIfAbsent(new TemplateKey(method, conditionShape),
+                key -> compiler.apply(key.conditionShape()));
+    }
+
+    /**
+     * @return the number of cached templates.
+     */
+    long size() {
+        templates.cleanUp();
+        return templates.size();
+    }
+
+}
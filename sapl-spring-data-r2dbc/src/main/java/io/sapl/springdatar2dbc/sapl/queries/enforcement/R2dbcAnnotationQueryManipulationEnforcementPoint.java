@@ -20,8 +20,12 @@
 import static io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils.getAdvice;
 import static io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils.getObligations;
 
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.security.access.AccessDeniedException;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -30,11 +34,11 @@
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.api.pdp.Decision;
 import io.sapl.springdatacommon.handlers.DataManipulationHandler;
+import io.sapl.springdatacommon.handlers.FieldExclusionProvider;
 import io.sapl.springdatacommon.handlers.LoggingConstraintHandlerProvider;
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementPoint;
-import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
 import io.sapl.springdatacommon.sapl.utils.HandleProceedingData;
 import io.sapl.springdatar2dbc.sapl.QueryManipulationExecutor;
 import reactor.core.publisher.Flux;
@@ -52,19 +56,48 @@
 
     private final QueryManipulationObligationProvider queryManipulationObligationProvider = new QueryManipulationObligationProvider();
     private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
+    private final FieldExclusionProvider              fieldExclusionProvider              = new FieldExclusionProvider();
     private final DataManipulationHandler<T>          dataManipulationHandler;
     private final QueryManipulationExecutor           queryManipulationExecutor;
     private final QueryManipulationEnforcementData<T> enforcementData;
-    private final String                              query;
+    private final Method                              method;
+    private final ParameterizedQuery                  query;
+    private final QueryTemplates                      queryTemplates;
 
-    public R2dbcAnnotationQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData) {
+    public R2dbcAnnotationQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData,
+            QueryTemplates queryTemplates) {
         this.enforcementData           = enforcementData;
+        this.queryTemplates            = queryTemplates;
         this.dataManipulationHandler   = new DataManipulationHandler<>(enforcementData.getDomainType(), true);
         this.queryManipulationExecutor = new QueryManipulationExecutor(enforcementData.getBeanFactory());
 
-        this.query = QueryAnnotationParameterResolver.resolveBoundedMethodParametersAndAnnotationParameters(
-                enforcementData.getMethodInvocation().getMethod(), enforcementData.getMethodInvocation().getArguments(),
-                true);
+        this.method = enforcementData.getMethodInvocation().getMethod();
+        var sql = method.getAnnotation(Query.class).value();
+        this.query = new ParameterizedQuery(sql,
+                methodParameters(method, enforcementData.getMethodInvocation().getArguments(), sql));
+    }
+
+    /**
+     * The named parameters of the query annotation, e.g., '(:age)', are bound to
+     * the arguments of the method instead of being inlined into the query. Only
+     * arguments referenced by the query are bound, as the driver rejects values for
+     * unknown markers, e.g., for a Sort or Pageable argument.
+     *
+     * @param method    is the original repository method.
+     * @param arguments are the arguments of the method invocation.
+     * @param sql       is the value of the query annotation.
+     * @return the referenced arguments by parameter name.
+     */
+    private static Map<String, Object> methodParameters(Method method, Object[] arguments, String sql) {
+        var markerNames      = ParameterizedQuery.bindMarkerNames(sql);
+        var parameters       = method.getParameters();
+        var parametersByName = new LinkedHashMap<String, Object>();
+        for (var i = 0; i < parameters.length && i < arguments.length; i++) {
+            if (markerNames.contains(parameters[i].getName())) {
+                parametersByName.put(parameters[i].getName(), arguments[i]);
+            }
+        }
+        return parametersByName;
     }
 
     /**
@@ -116,7 +149,7 @@ public Function<AuthorizationDecision, Flux<T>> enforceDecision() {
      * @return objects from the database that were queried with the manipulated
      *         query.
      */
-    private Flux<T> retrieveData(ArrayNode obligations, String query) {
+    private Flux<T> retrieveData(ArrayNode obligations, ParameterizedQuery query) {
 
         if (queryManipulationObligationProvider.isResponsible(obligations, R2DBC_QUERY_MANIPULATION_TYPE)) {
             var r2dbcQueryManipulationObligation = queryManipulationObligationProvider.getObligation(obligations,
@@ -125,7 +158,9 @@ private Flux<T> retrieveData(ArrayNode obligations, String query) {
                     .getConditions(r2dbcQueryManipulationObligation);
             var manipulatedCondition             = enforceQueryManipulation(query, condition);
 
-            return queryManipulationExecutor.execute(manipulatedCondition, enforcementData.getDomainType())
+            return queryManipulationExecutor
+                    .execute(manipulatedCondition, enforcementData.getDomainType(),
+                            fieldExclusionProvider.getExcludedFields(obligations))
                     .map(dataManipulationHandler.toDomainObject(true));
         } else {
             return HandleProceedingData.proceed(enforcementData);
@@ -134,16 +169,21 @@ private Flux<T> retrieveData(ArrayNode obligations, String query) {
 
     /**
      * Enforces the conditions of the decision on the query and returning the
-     * manipulated query.
+     * manipulated query. The numeric literals of the condition are bound as
+     * parameters and the manipulated SQL template is cached per method and
+     * condition shape.
      *
      * @param query     is the original value from the
      *                  {@link org.springframework.data.r2dbc.repository.Query}
-     *                  annotation.
+     *                  annotation with the bound method arguments.
      * @param condition are the query conditions from the {@link Decision}.
      * @return the manipulated query.
      */
-    private String enforceQueryManipulation(String query, ArrayNode condition) {
-        return manipulateQuery(query, condition);
+    private ParameterizedQuery enforceQueryManipulation(ParameterizedQuery query, ArrayNode condition) {
+        var parameterizedCondition = ConditionParameterizer.parameterize(condition.get(0).asText());
+        var template               = queryTemplates.templateFor(method, parameterizedCondition.sql(),
+                conditionShape -> manipulateQuery(query.sql(), conditionShape));
+        return query.withSql(template, parameterizedCondition.parameters());
     }
 
     /**
@@ -151,14 +191,14 @@ private String enforceQueryManipulation(String query, ArrayNode condition) {
      * if the original query contains the keyword ' where '. Else just append the
      * conditions from the obligation.
      *
-     * @param query     is the original value from the
-     *                  {@link org.springframework.data.r2dbc.repository.Query}
-     *                  annotation.
-     * @param condition are the query conditions from the {@link Decision}.
+     * @param query                       is the original value from the
+     *                                    {@link org.springframework.data.r2dbc.repository.Query}
+     *                                    annotation.
+     * @param conditionObligationAsString is the query condition from the
+     *                                    {@link Decision}.
      * @return the manipulated query.
      */
-    private String manipulateQuery(String query, ArrayNode condition) {
-        var conditionObligationAsString = condition.get(0).asText();
+    private String manipulateQuery(String query, String conditionObligationAsString) {
 
         if (query.toLowerCase().contains(" where ")) {
             var indexWithoutWhere = query.toLowerCase().indexOf(" where ");
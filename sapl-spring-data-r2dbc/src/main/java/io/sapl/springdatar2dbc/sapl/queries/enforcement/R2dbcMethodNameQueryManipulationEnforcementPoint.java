@@ -30,6 +30,7 @@
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.api.pdp.Decision;
 import io.sapl.springdatacommon.handlers.DataManipulationHandler;
+import io.sapl.springdatacommon.handlers.FieldExclusionProvider;
 import io.sapl.springdatacommon.handlers.LoggingConstraintHandlerProvider;
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
@@ -51,13 +52,17 @@
 
     private final QueryManipulationObligationProvider queryManipulationObligationProvider = new QueryManipulationObligationProvider();
     private final LoggingConstraintHandlerProvider    loggingConstraintHandlerProvider    = new LoggingConstraintHandlerProvider();
+    private final FieldExclusionProvider              fieldExclusionProvider              = new FieldExclusionProvider();
     private final DataManipulationHandler<T>          dataManipulationHandler;
     private final QueryManipulationExecutor           queryManipulationExecutor;
 
     private final QueryManipulationEnforcementData<T> enforcementData;
+    private final QueryTemplates                      queryTemplates;
 
-    public R2dbcMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData) {
+    public R2dbcMethodNameQueryManipulationEnforcementPoint(QueryManipulationEnforcementData<T> enforcementData,
+            QueryTemplates queryTemplates) {
         this.enforcementData           = enforcementData;
+        this.queryTemplates            = queryTemplates;
         this.dataManipulationHandler   = new DataManipulationHandler<>(enforcementData.getDomainType(), true);
         this.queryManipulationExecutor = new QueryManipulationExecutor(enforcementData.getBeanFactory());
     }
@@ -126,27 +131,33 @@ private Flux<T> retrieveData(ArrayNode obligations) {
     private Flux<T> enforceQueryManipulation(ArrayNode obligations) {
         var manipulatedCondition = createSqlQuery(obligations);
 
-        return queryManipulationExecutor.execute(manipulatedCondition, enforcementData.getDomainType())
+        return queryManipulationExecutor
+                .execute(manipulatedCondition, enforcementData.getDomainType(),
+                        fieldExclusionProvider.getExcludedFields(obligations))
                 .map(dataManipulationHandler.toDomainObject(true));
     }
 
     /**
      * The method fetches the matching obligation and extracts the condition from
      * it. This condition is appended to the end of the sql query. The base query is
-     * converted from the method name.
+     * converted from the method name. Method arguments and numeric literals of the
+     * condition are bound as parameters.
      *
      * @param obligations are the obligations from the {@link Decision}.
      * @return created sql query.
      */
-    private String createSqlQuery(ArrayNode obligations) {
+    private ParameterizedQuery createSqlQuery(ArrayNode obligations) {
         var r2dbcQueryManipulationObligation = queryManipulationObligationProvider.getObligation(obligations,
                 R2DBC_QUERY_MANIPULATION_TYPE);
         var condition                        = queryManipulationObligationProvider
                 .getConditions(r2dbcQueryManipulationObligation);
-        var sqlConditionFromDecision         = addMissingConjunction(condition.get(0).asText());
+        var sqlConditionFromDecision         = ConditionParameterizer.parameterize(condition.get(0).asText());
         var baseQuery                        = PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData);
+        var template                         = queryTemplates.templateFor(
+                enforcementData.getMethodInvocation().getMethod(), sqlConditionFromDecision.sql(),
+                conditionShape -> baseQuery.sql() + addMissingConjunction(conditionShape));
 
-        return baseQuery + sqlConditionFromDecision;
+        return baseQuery.withSql(template, sqlConditionFromDecision.parameters());
     }
 
     /**
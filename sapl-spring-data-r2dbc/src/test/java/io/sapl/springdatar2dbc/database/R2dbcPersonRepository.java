@@ -20,6 +20,7 @@
 import java.util.List;
 import java.util.stream.Stream;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
@@ -70,6 +71,10 @@
     @Query("SELECT * FROM testUser")
     Flux<Person> findAllUsersTest();
 
+    @SaplProtectedR2dbc
+    @Query("SELECT * FROM testUser WHERE age = (:age)")
+    Flux<Person> findAllUsersTest(int age, String unused, Sort sort);
+
     @Query("SELECT * FROM testUser WHERE firstname = (:firstname)")
     Mono<Person> findUserTest(String firstname);
 
@@ -27,6 +27,7 @@
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 
@@ -39,12 +40,12 @@
 import org.junit.platform.commons.util.ReflectionUtils;
 import org.mockito.Answers;
 import org.springframework.beans.factory.BeanFactory;
-import org.springframework.data.repository.query.parser.Part;
 
 import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.pdp.EmbeddedPolicyDecisionPoint;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
 import io.sapl.springdatar2dbc.database.Person;
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.ParameterizedQuery;
 import io.sapl.springdatar2dbc.sapl.queries.enforcement.PartTreeToSqlQueryStringConverter;
 
 class PartTreeToSqlQueryStringConverterTests {
@@ -66,7 +67,7 @@ void beforeEach() {
     @ParameterizedTest
     @MethodSource("methodNameToSqlQuery")
     void when_sqlQueryCanBeDerivedFromMethodName_then_createSqlBaseQuery(String methodName, Object[] arguments,
-            String sqlQueryResult) {
+            String sqlQueryResult, Map<String, Object> parameters) {
         // GIVEN
         var enforcementData = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
                 Person.class, pdpMock, authSubPermit);
@@ -78,7 +79,7 @@ void when_sqlQueryCanBeDerivedFromMethodName_then_createSqlBaseQuery(String meth
         var result = PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData);
 
         // THEN
-        assertEquals(sqlQueryResult, result);
+        assertEquals(new ParameterizedQuery(sqlQueryResult, parameters), result);
     }
 
     @Test
@@ -114,12 +115,34 @@ void when_operatorRequiresArrayOfArgumentsButItIsNoArray_then_throwIllegalStateE
     @Test
     void when_partOfPartTreeHasNoArgument_then_throwNullPointerException() {
         // GIVEN
-        Part part = new Part("firstname", Person.class);
+        var enforcementData = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
+                Person.class, pdpMock, authSubPermit);
+
+        // WHEN
+        when(methodInvocationMock.getMethod().getName()).thenReturn("findAllByFirstname");
+        when(methodInvocationMock.getArguments()).thenReturn(new Object[] { null });
+
+        // THEN
+        assertThrows(NullPointerException.class,
+                () -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData));
+    }
+
+    @Test
+    void when_sameMethodIsCalledWithDifferentArguments_then_sqlTemplateIsEqual() {
+        // GIVEN
+        var enforcementData = new QueryManipulationEnforcementData<>(methodInvocationMock, beanFactoryMock,
+                Person.class, pdpMock, authSubPermit);
 
         // WHEN
+        when(methodInvocationMock.getMethod().getName()).thenReturn("findAllByFirstnameAndAgeBefore");
+        when(methodInvocationMock.getArguments()).thenReturn(new Object[] { "Aaron", 30 });
+        var first = PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData);
+        when(methodInvocationMock.getArguments()).thenReturn(new Object[] { "Brian", 40 });
+        var second = PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData);
 
         // THEN
-        assertThrows(NullPointerException.class, () -> PartTreeToSqlQueryStringConverter.and(part, null, Person.class));
+        assertEquals(first.sql(), second.sql());
+        assertEquals(Map.of("argument0", "Brian", "argument1", 40), second.parameters());
     }
 
     @Test
@@ -134,23 +157,32 @@ void when_classIsStaticUtilityClass_then_instantiateThisTestForCoverageReasonsOf
 
     private static Stream<Arguments> methodNameToSqlQuery() {
 
-        return Stream.of(arguments("readByAgeIs", new Object[] { 30 }, "age = 30"),
-                arguments("getByAgeAfter", new Object[] { 30 }, "age > 30"),
-                arguments("readByAgeIsLessThanEqual", new Object[] { 30 }, "age <= 30"),
-                arguments("queryByAgeIsGreaterThanEqual", new Object[] { 30 }, "age >= 30"),
-                arguments("findByFirstnameIsNot", new Object[] { "Aaron" }, "firstname <> 'Aaron'"),
-                arguments("findByFirstnameExists", new Object[] { "Aaron" }, "firstname EXISTS 'Aaron'"),
-                arguments("streamAllByFirstnameLike", new Object[] { "Aaron" }, "firstname LIKE 'Aaron'"),
-                arguments("streamAllByAgeIn", new Object[] { List.of(20, 30, 40) }, "age IN (20, 30, 40)"),
-                arguments("searchAllByFirstnameIsNotLike", new Object[] { "Aaron" }, "firstname NOT LIKE 'Aaron'"),
-                arguments("findAllByFirstnameAndAgeBefore", new Object[] { '2', 30 }, "firstname = '2' AND age < 30"),
+        return Stream.of(arguments("readByAgeIs", new Object[] { 30 }, "age = :argument0", Map.of("argument0", 30)),
+                arguments("getByAgeAfter", new Object[] { 30 }, "age > :argument0", Map.of("argument0", 30)),
+                arguments("readByAgeIsLessThanEqual", new Object[] { 30 }, "age <= :argument0",
+                        Map.of("argument0", 30)),
+                arguments("queryByAgeIsGreaterThanEqual", new Object[] { 30 }, "age >= :argument0",
+                        Map.of("argument0", 30)),
+                arguments("findByFirstnameIsNot", new Object[] { "Aaron" }, "firstname <> :argument0",
+                        Map.of("argument0", "Aaron")),
+                arguments("findByFirstnameExists", new Object[] { "Aaron" }, "firstname EXISTS :argument0",
+                        Map.of("argument0", "Aaron")),
+                arguments("streamAllByFirstnameLike", new Object[] { "Aaron" }, "firstname LIKE :argument0",
+                        Map.of("argument0", "Aaron")),
+                arguments("streamAllByAgeIn", new Object[] { List.of(20, 30, 40) }, "age IN (:argument0)",
+                        Map.of("argument0", List.of(20, 30, 40))),
+                arguments("searchAllByFirstnameIsNotLike", new Object[] { "Aaron" }, "firstname NOT LIKE :argument0",
+                        Map.of("argument0", "Aaron")),
+                arguments("findAllByFirstnameAndAgeBefore", new Object[] { '2', 30 },
+                        "firstname = :argument0 AND age < :argument1", Map.of("argument0", "2", "argument1", 30)),
                 arguments("findAllByAgeOrderByAgeAscFirstnameDesc", new Object[] { 30 },
-                        "age = 30 ORDER BY age ASC, firstname DESC"),
+                        "age = :argument0 ORDER BY age ASC, firstname DESC", Map.of("argument0", 30)),
                 arguments("queryByAgeIsGreaterThanEqualOrFirstnameIs", new Object[] { 30, "Aaron" },
-                        "age >= 30 OR firstname = 'Aaron'"),
+                        "age >= :argument0 OR firstname = :argument1", Map.of("argument0", 30, "argument1", "Aaron")),
                 arguments("streamAllByAgeBetweenAndFirstname", new Object[] { List.of(1, 30), "Aaron" },
-                        "age BETWEEN (1, 30) AND firstname = 'Aaron'"),
+                        "age BETWEEN (:argument0) AND firstname = :argument1",
+                        Map.of("argument0", List.of(1, 30), "argument1", "Aaron")),
                 arguments("streamAllByFirstnameIsNotIn", new Object[] { List.of("Aaron", 123, "Brian", "Cathrin") },
-                        "firstname NIN ('Aaron', 'Brian', 'Cathrin')"));
+                        "firstname NIN (:argument0)", Map.of("argument0", List.of("Aaron", "Brian", "Cathrin"))));
     }
 }
@@ -21,6 +21,7 @@
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -29,11 +30,14 @@
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
 
 import io.sapl.springdatar2dbc.database.Person;
 import io.sapl.springdatar2dbc.database.PersonWithoutTableAnnotation;
 import io.sapl.springdatar2dbc.database.Role;
+import io.sapl.springdatar2dbc.sapl.queries.enforcement.ParameterizedQuery;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
@@ -48,7 +52,8 @@ class QueryManipulationExecutorTests {
     void when_r2dbcEntityTemplateWasFoundAndQueryContainsWHERE_then_executeQuery() {
         // GIVEN
         var beanFactoryMock = mock(BeanFactory.class);
-        var query           = "SELECT * FROM person WHERE firstname = 'Melinda'";
+        var query           = new ParameterizedQuery("SELECT * FROM person WHERE firstname = :firstname",
+                Map.of("firstname", "Melinda"));
 
         try (MockedConstruction<R2dbcEntityTemplateExecutor> r2dbcEntityTemplateExecutorMockedConstruction = Mockito
                 .mockConstruction(R2dbcEntityTemplateExecutor.class)) {
@@ -74,8 +79,9 @@ void when_r2dbcEntityTemplateWasFoundAndQueryContainsWHERE_then_executeQuery() {
     @Test
     void when_r2dbcEntityTemplateWasFound_then_executeQuery() {
         // GIVEN
-        var query           = "firstname = 'Malinda'";
-        var completeQuery   = "SELECT * FROM person WHERE " + query;
+        var query           = new ParameterizedQuery("firstname = :firstname", Map.of("firstname", "Malinda"));
+        var completeQuery   = new ParameterizedQuery("SELECT * FROM person WHERE firstname = :firstname",
+                Map.of("firstname", "Malinda"));
         var beanFactoryMock = mock(BeanFactory.class);
 
         try (MockedConstruction<R2dbcEntityTemplateExecutor> r2dbcEntityTemplateExecutorMockedConstruction = Mockito
@@ -101,8 +107,10 @@ void when_r2dbcEntityTemplateWasFound_then_executeQuery() {
     @Test
     void when_r2dbcEntityTemplateWasFoundAndPersonHasNoAtTableAnnotation_then_executeQuery() {
         // GIVEN
-        var query           = "firstname = 'Malinda'";
-        var completeQuery   = "SELECT * FROM PersonWithoutTableAnnotation WHERE " + query;
+        var query           = new ParameterizedQuery("firstname = :firstname", Map.of("firstname", "Malinda"));
+        var completeQuery   = new ParameterizedQuery(
+                "SELECT * FROM PersonWithoutTableAnnotation WHERE firstname = :firstname",
+                Map.of("firstname", "Malinda"));
         var beanFactoryMock = mock(BeanFactory.class);
 
         try (MockedConstruction<R2dbcEntityTemplateExecutor> r2dbcEntityTemplateExecutorMockedConstruction = Mockito
@@ -125,4 +133,36 @@ void when_r2dbcEntityTemplateWasFoundAndPersonHasNoAtTableAnnotation_then_execut
             Mockito.verify(r2dbcEntityTemplateExecutor, times(1)).executeQuery(completeQuery);
         }
     }
+
+    @Test
+    void when_fieldsAreExcluded_then_selectAllIsReplacedByRemainingColumns() {
+        // GIVEN
+        var query               = new ParameterizedQuery("SELECT * FROM person WHERE firstname = :firstname",
+                Map.of("firstname", "Malinda"));
+        var projectedQuery      = new ParameterizedQuery(
+                "SELECT id, firstname, age, role, active FROM person WHERE firstname = :firstname",
+                Map.of("firstname", "Malinda"));
+        var beanFactoryMock     = mock(BeanFactory.class);
+        var r2dbcEntityTemplate = mock(R2dbcEntityTemplate.class);
+        when(r2dbcEntityTemplate.getConverter()).thenReturn(new MappingR2dbcConverter(new R2dbcMappingContext()));
+
+        try (MockedConstruction<R2dbcEntityTemplateExecutor> r2dbcEntityTemplateExecutorMockedConstruction = Mockito
+                .mockConstruction(R2dbcEntityTemplateExecutor.class)) {
+
+            // WHEN
+            when(beanFactoryMock.getBean(R2dbcEntityTemplate.class)).thenReturn(r2dbcEntityTemplate);
+
+            var queryManipulationExecutor   = new QueryManipulationExecutor(beanFactoryMock);
+            var r2dbcEntityTemplateExecutor = r2dbcEntityTemplateExecutorMockedConstruction.constructed().get(0);
+
+            when(r2dbcEntityTemplateExecutor.executeQuery(projectedQuery)).thenReturn(Flux.just(userHashMap));
+
+            var result = queryManipulationExecutor.execute(query, Person.class, List.of("lastname"));
+
+            // THEN
+            StepVerifier.create(result).expectNext(userHashMap).verifyComplete();
+
+            Mockito.verify(r2dbcEntityTemplateExecutor, times(1)).executeQuery(projectedQuery);
+        }
+    }
 }
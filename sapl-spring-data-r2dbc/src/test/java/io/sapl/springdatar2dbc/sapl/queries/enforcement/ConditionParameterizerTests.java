@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConditionParameterizerTests {
+
+    @Test
+    void when_conditionContainsStringLiterals_then_literalsAreKeptInline() {
+        // GIVEN
+        var condition = "firstname IN('Aaron', 'O''Brian')";
+
+        // WHEN
+        var result = ConditionParameterizer.parameterize(condition);
+
+        // THEN
+        assertEquals(condition, result.sql());
+        assertEquals(Map.of(), result.parameters());
+    }
+
+    @Test
+    void when_conditionContainsNumbers_then_numbersAreBoundButIdentifiersAreKept() {
+        // GIVEN
+        var condition = "AND age2 > 18 OR score <= 2.5 OR id = 12345678901";
+
+        // WHEN
+        var result = ConditionParameterizer.parameterize(condition);
+
+        // THEN
+        assertEquals("AND age2 > :saplCondition0 OR score <= :saplCondition1 OR id = :saplCondition2", result.sql());
+        assertEquals(
+                Map.of("saplCondition0", 18, "saplCondition1", new BigDecimal("2.5"), "saplCondition2", 12345678901L),
+                result.parameters());
+    }
+
+    @Test
+    void when_conditionsDifferOnlyInNumbers_then_sqlIsEqual() {
+        // GIVEN
+        var first  = "owner = 'alice' AND level > 3";
+        var second = "owner = 'alice' AND level > 7";
+
+        // WHEN
+        var firstResult  = ConditionParameterizer.parameterize(first);
+        var secondResult = ConditionParameterizer.parameterize(second);
+
+        // THEN
+        assertEquals(firstResult.sql(), secondResult.sql());
+    }
+
+    @Test
+    void when_conditionContainsQuotedIdentifier_then_identifierIsKept() {
+        // GIVEN
+        var condition = "\"first name 1\" = 'Aaron' AND \"age\" > 2";
+
+        // WHEN
+        var result = ConditionParameterizer.parameterize(condition);
+
+        // THEN
+        assertEquals("\"first name 1\" = 'Aaron' AND \"age\" > :saplCondition0", result.sql());
+        assertEquals(Map.of("saplCondition0", 2), result.parameters());
+    }
+
+    @Test
+    void when_uuidAndDateColumnsAreComparedToQuotedLiterals_then_literalsAreNotBoundAsStrings() {
+        // GIVEN
+        var condition = "id = 'a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11' AND birthday > '2000-01-01' AND level > 3";
+
+        // WHEN
+        var result = ConditionParameterizer.parameterize(condition);
+
+        // THEN
+        assertEquals(
+                "id = 'a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11' AND birthday > '2000-01-01' AND level > :saplCondition0",
+                result.sql());
+        assertEquals(Map.of("saplCondition0", 3), result.parameters());
+    }
+
+    @Test
+    void when_conditionContainsTypedLiterals_then_typedLiteralsAreKeptInline() {
+        // GIVEN
+        var condition = "birthday > DATE '2000-01-01' AND created < timestamp '2024-01-01 10:00:00' "
+                + "AND age(created) < INTERVAL '1'' year'";
+
+        // WHEN
+        var result = ConditionParameterizer.parameterize(condition);
+
+        // THEN
+        assertEquals(condition, result.sql());
+        assertEquals(Map.of(), result.parameters());
+    }
+
+    @Test
+    void when_quoteIsUnterminated_then_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> ConditionParameterizer.parameterize("firstname = 'Aaron"));
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ParameterizedQueryTests {
+
+    @Test
+    void when_sqlContainsBindMarkers_then_theirNamesAreFound() {
+        // GIVEN
+        var sql = "SELECT * FROM testUser WHERE age = (:age) AND id=:id_2 OR firstname IN (:names)";
+
+        // WHEN
+        var names = ParameterizedQuery.bindMarkerNames(sql);
+
+        // THEN
+        assertEquals(Set.of("age", "id_2", "names"), names);
+    }
+
+    @Test
+    void when_colonsAppearInQuotesOrCasts_then_theyAreNoBindMarkers() {
+        // GIVEN
+        var sql = "SELECT * FROM testUser WHERE created > '10:00:00' AND \"odd:name\" = :value AND id::text = :id";
+
+        // WHEN
+        var names = ParameterizedQuery.bindMarkerNames(sql);
+
+        // THEN
+        assertEquals(Set.of("value", "id"), names);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.springdatar2dbc.sapl.queries.enforcement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class QueryTemplatesTests {
+
+    @Test
+    void when_templateIsCached_then_compilerIsOnlyCalledOnce() throws NoSuchMethodException {
+        // GIVEN
+        var queryTemplates = new QueryTemplates();
+        var method         = Object.class.getMethod("toString");
+
+        // WHEN
+        var first  = queryTemplates.templateFor(method, "firstname = :saplCondition0", shape -> "first " + shape);
+        var second = queryTemplates.templateFor(method, "firstname = :saplCondition0", shape -> "second " + shape);
+
+        // THEN
+        assertEquals("first firstname = :saplCondition0", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void when_manyConditionShapesOccur_then_numberOfCachedTemplatesIsBounded() throws NoSuchMethodException {
+        // GIVEN
+        var queryTemplates = new QueryTemplates();
+        var method         = Object.class.getMethod("hashCode");
+
+        // WHEN
+        for (var i = 0; i <= QueryTemplates.MAX_CACHED_TEMPLATES; i++) {
+            queryTemplates.templateFor(method, "id = :saplCondition" + i, shape -> shape);
+        }
+
+        // THEN
+        assertTrue(queryTemplates.size() <= QueryTemplates.MAX_CACHED_TEMPLATES);
+    }
+
+    @Test
+    void when_templatesAreCachedByDifferentInstances_then_theyDoNotShareTemplates() throws NoSuchMethodException {
+        // GIVEN
+        var method = Object.class.getMethod("toString");
+        var first  = new QueryTemplates();
+        var second = new QueryTemplates();
+
+        // WHEN
+        first.templateFor(method, "firstname = :saplCondition0", shape -> "first " + shape);
+        var result = second.templateFor(method, "firstname = :saplCondition0", shape -> "second " + shape);
+
+        // THEN
+        assertEquals("second firstname = :saplCondition0", result);
+        assertEquals(1, second.size());
+    }
+
+}
@@ -18,6 +18,7 @@
 package io.sapl.springdatar2dbc.sapl.queries.enforcement;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -27,7 +28,6 @@
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +41,7 @@
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.security.access.AccessDeniedException;
 
@@ -48,6 +49,7 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
 import io.sapl.api.pdp.AuthorizationDecision;
 import io.sapl.api.pdp.AuthorizationSubscription;
@@ -56,7 +58,6 @@
 import io.sapl.springdatacommon.handlers.DataManipulationHandler;
 import io.sapl.springdatacommon.handlers.QueryManipulationObligationProvider;
 import io.sapl.springdatacommon.sapl.QueryManipulationEnforcementData;
-import io.sapl.springdatacommon.sapl.queries.enforcement.QueryAnnotationParameterResolver;
 import io.sapl.springdatacommon.sapl.utils.ConstraintHandlerUtils;
 import io.sapl.springdatar2dbc.database.MethodInvocationForTesting;
 import io.sapl.springdatar2dbc.database.Person;
@@ -91,8 +92,7 @@ class R2dbcAnnotationQueryManipulationEnforcementPointTests {
     @SuppressWarnings("unchecked") // mocking of generic type
     final Flux<Map<String, Object>> fluxMap                 = mock(Flux.class);
 
-    MockedStatic<ConstraintHandlerUtils>           constraintHandlerUtilsMock;
-    MockedStatic<QueryAnnotationParameterResolver> queryAnnotationParameterResolverMockedStatic;
+    MockedStatic<ConstraintHandlerUtils> constraintHandlerUtilsMock;
 
     @BeforeAll
     public static void setUp() throws JsonProcessingException {
@@ -152,14 +152,15 @@ public static void setUp() throws JsonProcessingException {
 
     @BeforeEach
     public void initBeforeEach() {
-        constraintHandlerUtilsMock                   = mockStatic(ConstraintHandlerUtils.class);
-        queryAnnotationParameterResolverMockedStatic = mockStatic(QueryAnnotationParameterResolver.class);
+        constraintHandlerUtilsMock = mockStatic(ConstraintHandlerUtils.class);
+        constraintHandlerUtilsMock
+                .when(() -> ConstraintHandlerUtils.getConstraintHandlerByTypeIfResponsible(any(), any()))
+                .thenReturn(JsonNodeFactory.instance.nullNode());
     }
 
     @AfterEach
     public void cleanUp() {
         constraintHandlerUtilsMock.close();
-        queryAnnotationParameterResolverMockedStatic.close();
     }
 
     @Test
@@ -172,19 +173,14 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                         .mockConstruction(QueryManipulationExecutor.class)) {
 
                     // GIVEN
-                    var r2dbcMethodInvocationTest = new MethodInvocationForTesting("findAllByAgeAfter",
-                            new ArrayList<>(List.of(int.class)), new ArrayList<>(List.of(30)), null);
+                    var r2dbcMethodInvocationTest = new MethodInvocationForTesting("findAllUsersTest",
+                            new ArrayList<>(List.of(int.class, String.class)), new ArrayList<>(List.of(30, "2")), null);
                     var authSub                   = AuthorizationSubscription.of("subject", "permitTest", "resource",
                             "environment");
 
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser WHERE age > 30");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -196,7 +192,7 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(any(JsonNode.class)))
@@ -213,7 +209,8 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             .thenReturn(CONDITIONS);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -229,10 +226,6 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -255,11 +248,6 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser WHERE age = 30 AND id = '2'");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -271,7 +259,7 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(OBLIGATIONS)).thenReturn(obligations -> Flux.just(malinda));
@@ -288,7 +276,8 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                             .thenReturn(CONDITION_WITH_AND_CONJUNCTION);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -305,10 +294,6 @@ void when_thereAreConditionsInTheDecisionButWithAnAndConjunction_then_enforce()
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -331,11 +316,6 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser WHERE age = 30 AND id = '2'");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -347,7 +327,7 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(OBLIGATIONS)).thenReturn(obligations -> Flux.just(malinda));
@@ -364,7 +344,8 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                             .thenReturn(CONDITION_WITH_OR_CONJUNCTION);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -381,10 +362,6 @@ void when_thereAreConditionsInTheDecisionButWithAnOrConjunction_then_enforce() {
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -404,7 +381,7 @@ void when_decisionIsNotPermit_then_throwAccessDeniedException() {
                 .thenReturn(Flux.just(new AuthorizationDecision(Decision.DENY)));
 
         var mongoAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                enforcementData);
+                enforcementData, new QueryTemplates());
         var accessDeniedException                            = mongoAnnotationQueryManipulationEnforcementPoint
                 .enforce();
 
@@ -431,15 +408,10 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             new ArrayList<>(List.of(int.class, String.class)), new ArrayList<>(List.of(30, '2')), null);
                     var authSub                   = AuthorizationSubscription.of("subject", "permitTest", "resource",
                             "environment");
-                    var expectedQuery             = "SELECT * FROM testUser WHERE age = 30 AND id = '2'";
 
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic.when(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)))
-                            .thenReturn(expectedQuery);
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -451,7 +423,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     when(dataManipulationHandler.constructed().get(0).manipulate(OBLIGATIONS))
                             .thenReturn(obligations -> malindaAsFlux);
@@ -478,10 +450,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -501,15 +469,10 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             Mono.just(malinda));
                     var authSub                   = AuthorizationSubscription.of("subject", "permitTest", "resource",
                             "environment");
-                    var expectedQuery             = "SELECT * FROM testUser WHERE age = 30 AND id = '2'";
 
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic.when(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)))
-                            .thenReturn(expectedQuery);
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -521,7 +484,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     when(dataManipulationHandler.constructed().get(0).manipulate(OBLIGATIONS))
                             .thenReturn(obligations -> malindaAsFlux);
@@ -547,10 +510,6 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -572,15 +531,9 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                     var authSub                   = AuthorizationSubscription.of("subject", "permitTest", "resource",
                             "environment");
 
-                    var expectedQuery = "SELECT * FROM testUser WHERE age = 30 AND id = '2'";
-
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic.when(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)))
-                            .thenReturn(expectedQuery);
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -592,7 +545,7 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     when(dataManipulationHandler.constructed().get(0).manipulate(OBLIGATIONS))
                             .thenReturn(obligations -> malindaAsFlux);
@@ -618,10 +571,6 @@ void when_mongoQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
@@ -645,11 +594,6 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                     // WHEN
                     when(pdpMock.decide(any(AuthorizationSubscription.class)))
                             .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
-                    queryAnnotationParameterResolverMockedStatic
-                            .when(() -> QueryAnnotationParameterResolver
-                                    .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                            any(Object[].class), any(Boolean.class)))
-                            .thenReturn("SELECT * FROM testUser");
                     constraintHandlerUtilsMock
                             .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
                             .thenReturn(emptyArrayNode);
@@ -661,7 +605,7 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                             beanFactoryMock, Person.class, pdpMock, authSub);
 
                     var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
                     when(dataManipulationHandler.manipulate(any(JsonNode.class)))
@@ -678,7 +622,8 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                             .thenReturn(CONDITIONS);
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
 
                     var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
 
@@ -694,12 +639,136 @@ void when_thereAreConditionsInTheDecisionButNoWhereClauseInOriginalQuery_then_en
                             .verify(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)), times(1));
                     constraintHandlerUtilsMock.verify(
                             () -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)), times(1));
-                    queryAnnotationParameterResolverMockedStatic.verify(() -> QueryAnnotationParameterResolver
-                            .resolveBoundedMethodParametersAndAnnotationParameters(any(Method.class),
-                                    any(Object[].class), any(Boolean.class)),
-                            times(1));
                 }
             }
         }
     }
+
+    @Test
+    void when_thereAreConditionsInTheDecision_then_argumentsAreBoundAsParameters() {
+        try (MockedConstruction<QueryManipulationObligationProvider> queryManipulationObligationProviderMockedConstruction = Mockito
+                .mockConstruction(QueryManipulationObligationProvider.class)) {
+            try (MockedConstruction<DataManipulationHandler> dataManipulationHandlerMockedConstruction = Mockito
+                    .mockConstruction(DataManipulationHandler.class)) {
+                try (MockedConstruction<QueryManipulationExecutor> queryManipulationExecutorMockedConstruction = Mockito
+                        .mockConstruction(QueryManipulationExecutor.class)) {
+
+                    // GIVEN
+                    var r2dbcMethodInvocationTest = new MethodInvocationForTesting("findAllUsersTest",
+                            new ArrayList<>(List.of(int.class, String.class)), new ArrayList<>(List.of(30, "2")), null);
+                    var authSub                   = AuthorizationSubscription.of("subject", "permitTest", "resource",
+                            "environment");
+                    var expectedQuery             = new ParameterizedQuery(
+                            "SELECT * FROM testUser WHERE firstname IN('Aaron', 'Cathrin') AND age = (:age) AND id = (:id)",
+                            Map.of("age", 30, "id", "2"));
+
+                    // WHEN
+                    when(pdpMock.decide(any(AuthorizationSubscription.class)))
+                            .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
+                    constraintHandlerUtilsMock
+                            .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
+                            .thenReturn(emptyArrayNode);
+                    constraintHandlerUtilsMock
+                            .when(() -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)))
+                            .thenReturn(OBLIGATIONS);
+
+                    var enforcementData = new QueryManipulationEnforcementData<>(r2dbcMethodInvocationTest,
+                            beanFactoryMock, Person.class, pdpMock, authSub);
+
+                    var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
+                            enforcementData, new QueryTemplates());
+
+                    var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
+                    when(dataManipulationHandler.manipulate(any(JsonNode.class)))
+                            .thenReturn(obligations -> malindaAsFlux);
+                    when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> malinda);
+
+                    var queryManipulationObligationProviderMock = queryManipulationObligationProviderMockedConstruction
+                            .constructed().get(0);
+                    when(queryManipulationObligationProviderMock.isResponsible(any(ArrayNode.class), anyString()))
+                            .thenReturn(Boolean.TRUE);
+                    when(queryManipulationObligationProviderMock.getObligation(any(ArrayNode.class), anyString()))
+                            .thenReturn(R2DBC_QUERY_MANIPULATION);
+                    when(queryManipulationObligationProviderMock.getConditions(any(JsonNode.class)))
+                            .thenReturn(CONDITIONS);
+
+                    var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
+
+                    var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
+
+                    // THEN
+                    StepVerifier.create(result).expectNext(malinda).expectComplete().verify();
+
+                    verify(queryManipulationExecutor, times(1)).execute(expectedQuery, Person.class, List.of());
+                }
+            }
+        }
+    }
+
+    @Test
+    void when_methodHasArgumentsNotReferencedByQuery_then_onlyReferencedArgumentsAreBound() {
+        try (MockedConstruction<QueryManipulationObligationProvider> queryManipulationObligationProviderMockedConstruction = Mockito
+                .mockConstruction(QueryManipulationObligationProvider.class)) {
+            try (MockedConstruction<DataManipulationHandler> dataManipulationHandlerMockedConstruction = Mockito
+                    .mockConstruction(DataManipulationHandler.class)) {
+                try (MockedConstruction<QueryManipulationExecutor> queryManipulationExecutorMockedConstruction = Mockito
+                        .mockConstruction(QueryManipulationExecutor.class)) {
+
+                    // GIVEN
+                    var r2dbcMethodInvocationTest = new MethodInvocationForTesting("findAllUsersTest",
+                            new ArrayList<>(List.of(int.class, String.class, Sort.class)),
+                            new ArrayList<>(List.of(30, "2", Sort.by("age"))), null);
+                    var authSub                   = AuthorizationSubscription.of("subject", "permitTest", "resource",
+                            "environment");
+                    var expectedQuery             = new ParameterizedQuery(
+                            "SELECT * FROM testUser WHERE firstname IN('Aaron', 'Cathrin') AND age = (:age)",
+                            Map.of("age", 30));
+
+                    // WHEN
+                    when(pdpMock.decide(any(AuthorizationSubscription.class)))
+                            .thenReturn(Flux.just(new AuthorizationDecision(Decision.PERMIT)));
+                    constraintHandlerUtilsMock
+                            .when(() -> ConstraintHandlerUtils.getAdvice(any(AuthorizationDecision.class)))
+                            .thenReturn(emptyArrayNode);
+                    constraintHandlerUtilsMock
+                            .when(() -> ConstraintHandlerUtils.getObligations(any(AuthorizationDecision.class)))
+                            .thenReturn(OBLIGATIONS);
+
+                    var enforcementData = new QueryManipulationEnforcementData<>(r2dbcMethodInvocationTest,
+                            beanFactoryMock, Person.class, pdpMock, authSub);
+
+                    var r2bcAnnotationQueryManipulationEnforcementPoint = new R2dbcAnnotationQueryManipulationEnforcementPoint<>(
+                            enforcementData, new QueryTemplates());
+
+                    var dataManipulationHandler = dataManipulationHandlerMockedConstruction.constructed().get(0);
+                    when(dataManipulationHandler.manipulate(any(JsonNode.class)))
+                            .thenReturn(obligations -> malindaAsFlux);
+                    when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> malinda);
+
+                    var queryManipulationObligationProviderMock = queryManipulationObligationProviderMockedConstruction
+                            .constructed().get(0);
+                    when(queryManipulationObligationProviderMock.isResponsible(any(ArrayNode.class), anyString()))
+                            .thenReturn(Boolean.TRUE);
+                    when(queryManipulationObligationProviderMock.getObligation(any(ArrayNode.class), anyString()))
+                            .thenReturn(R2DBC_QUERY_MANIPULATION);
+                    when(queryManipulationObligationProviderMock.getConditions(any(JsonNode.class)))
+                            .thenReturn(CONDITIONS);
+
+                    var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
+
+                    var result = r2bcAnnotationQueryManipulationEnforcementPoint.enforce();
+
+                    // THEN
+                    StepVerifier.create(result).expectNext(malinda).expectComplete().verify();
+
+                    verify(queryManipulationExecutor, times(1)).execute(expectedQuery, Person.class, List.of());
+                }
+            }
+        }
+    }
+
 }
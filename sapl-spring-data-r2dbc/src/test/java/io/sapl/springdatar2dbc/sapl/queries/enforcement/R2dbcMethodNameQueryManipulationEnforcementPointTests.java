@@ -19,6 +19,7 @@
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -48,6 +49,7 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
 import io.sapl.api.pdp.AuthorizationDecision;
 import io.sapl.api.pdp.AuthorizationSubscription;
@@ -212,6 +214,9 @@ public void initBeforeEach() {
         constraintHandlerUtilsMock            = mockStatic(ConstraintHandlerUtils.class);
         partTreeToSqlQueryStringConverterMock = mockStatic(PartTreeToSqlQueryStringConverter.class);
         queryExecutorMock                     = mockStatic(QueryManipulationExecutor.class);
+        constraintHandlerUtilsMock
+                .when(() -> ConstraintHandlerUtils.getConstraintHandlerByTypeIfResponsible(any(), any()))
+                .thenReturn(JsonNodeFactory.instance.nullNode());
     }
 
     @AfterEach
@@ -254,10 +259,11 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                             .thenReturn(OBLIGATIONS);
                     partTreeToSqlQueryStringConverterMock
                             .when(() -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData))
-                            .thenReturn("firstname = 'Cathrin'");
+                            .thenReturn(
+                                    new ParameterizedQuery("firstname = :argument0", Map.of("argument0", "Cathrin")));
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var QueryManipulationObligationProvider = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -273,7 +279,8 @@ void when_thereAreConditionsInTheDecision_then_enforce() {
                     when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> Flux.just(malinda));
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
 
                     // THEN
                     var result = r2dbcMethodNameQueryManipulationEnforcementPoint.enforce();
@@ -323,10 +330,11 @@ void when_thereAreConditionsInTheDecisionWithConjunctionAnd_then_enforce() {
                             .thenReturn(OBLIGATION_WITH_CONJUNCTION_AND);
                     partTreeToSqlQueryStringConverterMock
                             .when(() -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData))
-                            .thenReturn("firstname = 'Cathrin'");
+                            .thenReturn(
+                                    new ParameterizedQuery("firstname = :argument0", Map.of("argument0", "Cathrin")));
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var QueryManipulationObligationProvider = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -343,7 +351,8 @@ void when_thereAreConditionsInTheDecisionWithConjunctionAnd_then_enforce() {
                     when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> Flux.just(malinda));
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
 
                     // THEN
                     var result = r2dbcMethodNameQueryManipulationEnforcementPoint.enforce();
@@ -393,10 +402,11 @@ void when_thereAreConditionsInTheDecisionWithConjunctionOr_then_enforce() {
                             .thenReturn(OBLIGATION_WITH_CONJUNCTION_OR);
                     partTreeToSqlQueryStringConverterMock
                             .when(() -> PartTreeToSqlQueryStringConverter.createSqlBaseQuery(enforcementData))
-                            .thenReturn("firstname = 'Cathrin'");
+                            .thenReturn(
+                                    new ParameterizedQuery("firstname = :argument0", Map.of("argument0", "Cathrin")));
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var QueryManipulationObligationProvider = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -413,7 +423,8 @@ void when_thereAreConditionsInTheDecisionWithConjunctionOr_then_enforce() {
                     when(dataManipulationHandler.toDomainObject(true)).thenReturn(obligations -> Flux.just(malinda));
 
                     var queryManipulationExecutor = queryManipulationExecutorMockedConstruction.constructed().get(0);
-                    when(queryManipulationExecutor.execute(anyString(), eq(Person.class))).thenReturn(fluxMap);
+                    when(queryManipulationExecutor.execute(any(ParameterizedQuery.class), eq(Person.class),
+                            anyCollection())).thenReturn(fluxMap);
 
                     // THEN
                     var result = r2dbcMethodNameQueryManipulationEnforcementPoint.enforce();
@@ -456,7 +467,7 @@ void when_decisionIsNotPermit_then_throwAccessDeniedException() {
 
                     // WHEN
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
                     var accessDeniedException                            = r2dbcMethodNameQueryManipulationEnforcementPoint
                             .enforce();
 
@@ -503,7 +514,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalse_then_proceedWitho
                             .thenReturn(emptyArrayNode);
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var QueryManipulationObligationProviderMock = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -564,7 +575,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .thenReturn(emptyArrayNode);
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var QueryManipulationObligationProviderMock = QueryManipulationObligationProviderMockedConstruction
                             .constructed().get(0);
@@ -624,7 +635,7 @@ void when_r2dbcQueryManipulationObligationIsResponsibleIsFalseAndReturnTypeIsMon
                             .thenReturn(emptyArrayNode);
 
                     var r2dbcMethodNameQueryManipulationEnforcementPoint = new R2dbcMethodNameQueryManipulationEnforcementPoint<>(
-                            enforcementData);
+                            enforcementData, new QueryTemplates());
 
                     var QueryManipulationObligationProviderMock = QueryManipulationObligationProviders.constructed()
                             .get(0);
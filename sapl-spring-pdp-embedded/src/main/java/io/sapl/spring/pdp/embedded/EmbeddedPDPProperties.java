@@ -17,9 +17,12 @@
  */
 package io.sapl.spring.pdp.embedded;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -45,6 +48,10 @@ public class EmbeddedPDPProperties {
      * automatically update any changes made to the documents and configuration at
      * runtime. Changes will directly be reflected in the decisions made in already
      * existing subscriptions and send new decisions if applicable.
+     * <p>
+     * - REMOTE: Replicates documents and configuration from a remote PDP server and
+     * evaluates decisions locally. The server is configured by the remote
+     * properties.
      */
     @NotNull
     private PDPDataSource pdpConfigType = PDPDataSource.RESOURCES;
@@ -64,6 +71,32 @@ public class EmbeddedPDPProperties {
     @NotNull
     private IndexType index = IndexType.NAIVE;
 
+    /**
+     * Path of a file on the file system in which the CANONICAL index persists a
+     * snapshot of its index data. On startup, the index is restored from the
+     * snapshot instead of being rebuilt, if the policies did not change since the
+     * snapshot was written.
+     * <p>
+     * If not set, no snapshot is used.
+     */
+    private String indexSnapshotPath;
+
+    /**
+     * After the policies changed, open decision streams re-evaluate their matching
+     * policies. This property limits how many streams start their re-evaluation per
+     * reevaluationBatchInterval, to avoid load spikes on policy deployments with
+     * many open streams.
+     */
+    @Min(1)
+    private int reevaluationBatchSize = 1_000;
+
+    /**
+     * Interval between two batches of re-evaluations of open decision streams after
+     * the policies changed. Zero disables the limit.
+     */
+    @NotNull
+    private Duration reevaluationBatchInterval = Duration.ofMillis(100L);
+
     /**
      * This property sets the path to the folder where the pdp.json configuration
      * file is located.
@@ -97,7 +130,57 @@ public enum PDPDataSource {
          * Indicates to load policies dynamically from a monitored folder on the file
          * system.
          */
-        FILESYSTEM
+        FILESYSTEM,
+        /**
+         * Indicates to replicate policies and configuration dynamically from a remote
+         * PDP server.
+         */
+        REMOTE
+
+    }
+
+    /**
+     * Connection to the remote PDP server, if the pdpConfigType is set to REMOTE.
+     */
+    @NotNull
+    private Remote remote = new Remote();
+
+    /**
+     * Connection settings of a remote PDP server to replicate documents and
+     * configuration from.
+     */
+    @Data
+    public static class Remote {
+
+        /**
+         * The base URL of the remote PDP server, e.g., https://localhost:8443
+         */
+        private String baseUrl = "https://localhost:8443";
+
+        /**
+         * Client key for Basic authentication.
+         */
+        private String key;
+
+        /**
+         * Client secret for Basic authentication.
+         */
+        private String secret;
+
+        /**
+         * API key used for authentication instead of Basic authentication.
+         */
+        private String apiKey;
+
+        /**
+         * Name of the header carrying the API key.
+         */
+        private String apiKeyHeaderName = "API_KEY";
+
+        /**
+         * Delay before reconnecting after the connection to the server was lost.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5L);
 
     }
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.pdp.embedded;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+
+import io.sapl.pdp.EmbeddedPolicyDecisionPoint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+/**
+ * Keeps the application from accepting traffic until the embedded PDP has
+ * loaded its configuration and initial policies, i.e., until
+ * {@link EmbeddedPolicyDecisionPoint#ready()} completes. As long as the PDP is
+ * not ready, the readiness state {@link ReadinessState#ACCEPTING_TRAFFIC}
+ * published by Spring Boot on startup is replaced by
+ * {@link ReadinessState#REFUSING_TRAFFIC}. Once the PDP is ready,
+ * {@link ReadinessState#ACCEPTING_TRAFFIC} is published again.
+ * <p>
+ * The listener must be invoked after the listener recording the application
+ * availability. Otherwise, the replaced state is recorded last. Hence, it has
+ * the lowest precedence and is registered after the application availability
+ * bean.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class EmbeddedPDPReadinessListener
+        implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>>, DisposableBean, Ordered {
+
+    private final ObjectProvider<EmbeddedPolicyDecisionPoint> pdpProvider;
+
+    private final ApplicationEventPublisher publisher;
+
+    private boolean pdpReady = false;
+
+    private Disposable readySubscription;
+
+    @Override
+    public synchronized void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || pdpReady) {
+            return;
+        }
+
+        var pdp = pdpProvider.getIfUnique();
+        if (pdp == null) {
+            return;
+        }
+
+        if (readySubscription == null) {
+            readySubscription = pdp.ready().subscribe(null,
+                    error -> log.error("The embedded PDP failed to load its policies. Refusing traffic.", error),
+                    this::onPdpReady);
+        }
+
+        if (!pdpReady) {
+            log.info("The embedded PDP is still loading its policies. Refusing traffic until it is ready.");
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    private synchronized void onPdpReady() {
+        pdpReady = true;
+        log.info("The embedded PDP is ready. Accepting traffic.");
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (readySubscription != null) {
+            readySubscription.dispose();
+        }
+    }
+
+}
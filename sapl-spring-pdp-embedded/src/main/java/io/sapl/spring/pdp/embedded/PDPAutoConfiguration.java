@@ -17,10 +17,13 @@
  */
 package io.sapl.spring.pdp.embedded;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.availability.ApplicationAvailabilityAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Role;
 
@@ -34,7 +37,8 @@
 @Slf4j
 @AutoConfiguration
 @RequiredArgsConstructor
-@AutoConfigureAfter({ FunctionLibrariesAutoConfiguration.class, PolicyInformationPointsAutoConfiguration.class })
+@AutoConfigureAfter({ FunctionLibrariesAutoConfiguration.class, PolicyInformationPointsAutoConfiguration.class,
+        ApplicationAvailabilityAutoConfiguration.class })
 public class PDPAutoConfiguration {
 
     private final PolicyRetrievalPoint policyRetrievalPoint;
@@ -50,4 +54,11 @@ PolicyDecisionPoint policyDecisionPoint() {
         return new EmbeddedPolicyDecisionPoint(configurationProvider, policyRetrievalPoint);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    EmbeddedPDPReadinessListener embeddedPdpReadinessListener(ObjectProvider<EmbeddedPolicyDecisionPoint> pdpProvider,
+            ApplicationEventPublisher publisher) {
+        return new EmbeddedPDPReadinessListener(pdpProvider, publisher);
+    }
+
 }
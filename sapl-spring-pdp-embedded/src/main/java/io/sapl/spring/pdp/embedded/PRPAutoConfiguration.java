@@ -17,6 +17,8 @@
  */
 package io.sapl.spring.pdp.embedded;
 
+import java.nio.file.Path;
+
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -62,9 +64,12 @@ PolicyRetrievalPoint policyRetrievalPoint() throws PolicyEvaluationException {
             // scoped
             // evaluation context is sufficient. Variables will be bound later in the
             // subscription scoped EvaluationContext handed over for lookup.
-            seedIndex = new CanonicalImmutableParsedDocumentIndex(attributeContext, functionContext);
+            var snapshotPath = pdpProperties.getIndexSnapshotPath();
+            seedIndex = new CanonicalImmutableParsedDocumentIndex(attributeContext, functionContext,
+                    snapshotPath == null ? null : Path.of(snapshotPath));
         }
-        return new GenericInMemoryIndexedPolicyRetrievalPoint(seedIndex, eventSource);
+        return new GenericInMemoryIndexedPolicyRetrievalPoint(seedIndex, eventSource,
+                pdpProperties.getReevaluationBatchSize(), pdpProperties.getReevaluationBatchInterval());
     }
 
 }
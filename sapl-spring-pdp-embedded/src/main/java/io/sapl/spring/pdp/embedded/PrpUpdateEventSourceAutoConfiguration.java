@@ -27,6 +27,7 @@
 import io.sapl.interpreter.SAPLInterpreter;
 import io.sapl.prp.PrpUpdateEventSource;
 import io.sapl.prp.filesystem.FileSystemPrpUpdateEventSource;
+import io.sapl.prp.remote.RemotePrpUpdateEventSource;
 import io.sapl.prp.resources.ResourcesPrpUpdateEventSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +46,13 @@ public class PrpUpdateEventSourceAutoConfiguration {
     @ConditionalOnMissingBean
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
     PrpUpdateEventSource prpUpdateSource() {
+        if (pdpProperties.getPdpConfigType() == EmbeddedPDPProperties.PDPDataSource.REMOTE) {
+            var remote = pdpProperties.getRemote();
+            log.info("creating embedded PDP replicating access policies from remote PDP server: {}",
+                    remote.getBaseUrl());
+            return new RemotePrpUpdateEventSource(RemotePDPWebClientFactory.webClient(remote), interpreter,
+                    remote.getReconnectDelay());
+        }
         var policiesFolder = pdpProperties.getPoliciesPath();
         if (pdpProperties.getPdpConfigType() == EmbeddedPDPProperties.PDPDataSource.FILESYSTEM) {
             log.info("creating embedded PDP sourcing and monitoring access policies from the filesystem: {}",
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.pdp.embedded;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Creates the WebClient connecting a replicating embedded PDP to its remote PDP
+ * server.
+ */
+@UtilityClass
+class RemotePDPWebClientFactory {
+
+    static WebClient webClient(EmbeddedPDPProperties.Remote remote) {
+        var builder = WebClient.builder().baseUrl(remote.getBaseUrl());
+        if (remote.getApiKey() != null && !remote.getApiKey().isBlank()) {
+            builder = builder.defaultHeader(remote.getApiKeyHeaderName(), remote.getApiKey());
+        } else if (remote.getKey() != null && remote.getSecret() != null) {
+            builder = builder.defaultHeaders(headers -> headers.setBasicAuth(remote.getKey(), remote.getSecret()));
+        }
+        return builder.build();
+    }
+
+}
@@ -27,6 +27,7 @@
 import io.sapl.interpreter.InitializationException;
 import io.sapl.pdp.config.VariablesAndCombinatorSource;
 import io.sapl.pdp.config.filesystem.FileSystemVariablesAndCombinatorSource;
+import io.sapl.pdp.config.remote.RemoteVariablesAndCombinatorSource;
 import io.sapl.pdp.config.resources.ResourcesVariablesAndCombinatorSource;
 import io.sapl.spring.pdp.embedded.EmbeddedPDPProperties.PDPDataSource;
 import lombok.RequiredArgsConstructor;
@@ -50,6 +51,12 @@ VariablesAndCombinatorSource variablesAndCombinatorSource() throws Initializatio
         if (pdpProperties.getPdpConfigType() == PDPDataSource.FILESYSTEM)
             return new FileSystemVariablesAndCombinatorSource(pdpProperties.getConfigPath());
 
+        if (pdpProperties.getPdpConfigType() == PDPDataSource.REMOTE) {
+            var remote = pdpProperties.getRemote();
+            return new RemoteVariablesAndCombinatorSource(RemotePDPWebClientFactory.webClient(remote),
+                    remote.getReconnectDelay());
+        }
+
         return new ResourcesVariablesAndCombinatorSource(pdpProperties.getConfigPath());
     }
 
@@ -19,15 +19,23 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.availability.ApplicationAvailabilityAutoConfiguration;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import io.sapl.pdp.EmbeddedPolicyDecisionPoint;
+import io.sapl.pdp.config.PDPConfiguration;
 import io.sapl.pdp.config.PDPConfigurationProvider;
 import io.sapl.prp.PolicyRetrievalPoint;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 class PDPAutoConfigurationTests {
 
@@ -54,4 +62,45 @@ void whenAnotherPDPIsAlreadyPresent_thenDoNotLoadANewOne() {
         });
     }
 
+    @Test
+    void whenPoliciesAreNotLoadedYet_thenRefuseTrafficUntilThePdpIsReady() {
+        var policiesLoaded        = Sinks.<Void>empty();
+        var policyRetrievalPoint  = mock(PolicyRetrievalPoint.class);
+        var configurationProvider = mock(PDPConfigurationProvider.class);
+        when(policyRetrievalPoint.ready()).thenReturn(policiesLoaded.asMono());
+        when(configurationProvider.currentConfiguration()).thenReturn(Mono.just(mock(PDPConfiguration.class)));
+
+        new ApplicationContextRunner().withBean(PolicyRetrievalPoint.class, () -> policyRetrievalPoint)
+                .withBean(PDPConfigurationProvider.class, () -> configurationProvider)
+                .withConfiguration(AutoConfigurations.of(ApplicationAvailabilityAutoConfiguration.class,
+                        PDPAutoConfiguration.class))
+                .run(context -> {
+                    var availability = context.getBean(ApplicationAvailability.class);
+
+                    AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+                    assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+
+                    policiesLoaded.tryEmitEmpty();
+                    assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+                });
+    }
+
+    @Test
+    void whenThePdpIsAlreadyReady_thenKeepAcceptingTraffic() {
+        var policyRetrievalPoint  = mock(PolicyRetrievalPoint.class);
+        var configurationProvider = mock(PDPConfigurationProvider.class);
+        when(policyRetrievalPoint.ready()).thenReturn(Mono.empty());
+        when(configurationProvider.currentConfiguration()).thenReturn(Mono.just(mock(PDPConfiguration.class)));
+
+        new ApplicationContextRunner().withBean(PolicyRetrievalPoint.class, () -> policyRetrievalPoint)
+                .withBean(PDPConfigurationProvider.class, () -> configurationProvider)
+                .withConfiguration(AutoConfigurations.of(ApplicationAvailabilityAutoConfiguration.class,
+                        PDPAutoConfiguration.class))
+                .run(context -> {
+                    AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+                    assertThat(context.getBean(ApplicationAvailability.class).getReadinessState())
+                            .isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+                });
+    }
+
 }
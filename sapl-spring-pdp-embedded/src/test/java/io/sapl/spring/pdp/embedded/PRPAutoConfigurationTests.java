@@ -21,7 +21,10 @@
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
@@ -61,6 +64,26 @@ void whenPrpWithCanonicalIndexIsConfigured_thenOneIsCreated() {
         });
     }
 
+    @Test
+    void whenPrpWithCanonicalIndexAndSnapshotIsConfigured_thenOneIsCreated(@TempDir Path tempDir) {
+        contextRunner
+                .withPropertyValues("io.sapl.pdp.embedded.index=CANONICAL",
+                        "io.sapl.pdp.embedded.index-snapshot-path=" + tempDir.resolve("index.snapshot"))
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(GenericInMemoryIndexedPolicyRetrievalPoint.class);
+                });
+    }
+
+    @Test
+    void whenReevaluationBatchesAreConfigured_thenPrpIsCreated() {
+        contextRunner.withPropertyValues("io.sapl.pdp.embedded.reevaluation-batch-size=50",
+                "io.sapl.pdp.embedded.reevaluation-batch-interval=1s").run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(GenericInMemoryIndexedPolicyRetrievalPoint.class);
+                });
+    }
+
     @Test
     void whenAnotherPRPIsAlreadyPresent_thenDoNotLoadANewOne() {
         contextRunner.withBean(PolicyRetrievalPoint.class, () -> mock(PolicyRetrievalPoint.class)).run(context -> {
@@ -30,6 +30,7 @@
 import io.sapl.interpreter.SAPLInterpreter;
 import io.sapl.prp.PrpUpdateEventSource;
 import io.sapl.prp.filesystem.FileSystemPrpUpdateEventSource;
+import io.sapl.prp.remote.RemotePrpUpdateEventSource;
 import io.sapl.prp.resources.ResourcesPrpUpdateEventSource;
 
 class PrpUpdateEventSourceAutoConfigurationTests {
@@ -65,6 +66,18 @@ void whenResourcesPrpIsConfigured_thenOneIsCreated() {
                 });
     }
 
+    @Test
+    void whenRemotePrpIsConfigured_thenOneIsCreated() {
+        contextRunner.withPropertyValues("io.sapl.pdp.embedded.pdpConfigType=REMOTE",
+                "io.sapl.pdp.embedded.index=NAIVE", "io.sapl.pdp.embedded.remote.baseUrl=http://localhost:1",
+                "io.sapl.pdp.embedded.remote.key=client", "io.sapl.pdp.embedded.remote.secret=secret",
+                "io.sapl.pdp.embedded.remote.reconnectDelay=1h").run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(PrpUpdateEventSource.class);
+                    assertThat(context).hasSingleBean(RemotePrpUpdateEventSource.class);
+                });
+    }
+
     @Test
     void whenPrpPresent_thenDoNotLoadANewOne() {
         contextRunner.withBean(PrpUpdateEventSource.class, () -> mock(PrpUpdateEventSource.class))
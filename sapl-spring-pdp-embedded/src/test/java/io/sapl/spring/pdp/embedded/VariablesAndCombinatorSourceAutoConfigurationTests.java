@@ -28,6 +28,7 @@
 
 import io.sapl.pdp.config.VariablesAndCombinatorSource;
 import io.sapl.pdp.config.filesystem.FileSystemVariablesAndCombinatorSource;
+import io.sapl.pdp.config.remote.RemoteVariablesAndCombinatorSource;
 import io.sapl.pdp.config.resources.ResourcesVariablesAndCombinatorSource;
 
 class VariablesAndCombinatorSourceAutoConfigurationTests {
@@ -59,4 +60,18 @@ void whenResourcesIsSet_thenResourcesSourceIsDeployed() {
                 });
     }
 
+    @Test
+    void whenRemoteIsSet_thenRemoteSourceIsDeployed() {
+        contextRunner
+                .withPropertyValues("io.sapl.pdp.embedded.pdpConfigType=REMOTE",
+                        "io.sapl.pdp.embedded.remote.baseUrl=http://localhost:1",
+                        "io.sapl.pdp.embedded.remote.apiKey=key", "io.sapl.pdp.embedded.remote.reconnectDelay=1h")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(VariablesAndCombinatorSource.class);
+                    assertThat(context).hasSingleBean(RemoteVariablesAndCombinatorSource.class);
+                    context.getBean(VariablesAndCombinatorSource.class).destroy();
+                });
+    }
+
 }
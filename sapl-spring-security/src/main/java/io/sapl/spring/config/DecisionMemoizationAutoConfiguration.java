@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.config;
+
+import java.util.Arrays;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import io.sapl.spring.pdp.MemoizingPolicyDecisionPoint;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * If enabled by setting io.sapl.memoization.enabled=true, registers a
+ * {@link MemoizingPolicyDecisionPoint} as the primary PolicyDecisionPoint.
+ * Thus, the authorization managers and the blocking PEPs share memoized
+ * decisions.
+ * <p>
+ * The decorated PDP remains a bean of its own, keeps its lifecycle, and can
+ * still be injected by its concrete type.
+ */
+@Slf4j
+@AutoConfiguration
+@EnableConfigurationProperties(DecisionMemoizationProperties.class)
+@ConditionalOnProperty(prefix = "io.sapl.memoization", name = "enabled", havingValue = "true")
+public class DecisionMemoizationAutoConfiguration {
+
+    static final String MEMOIZING_PDP_BEAN_NAME = "memoizingPolicyDecisionPoint";
+
+    @Bean(MEMOIZING_PDP_BEAN_NAME)
+    @Primary
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    MemoizingPolicyDecisionPoint memoizingPolicyDecisionPoint(ListableBeanFactory beanFactory,
+            DecisionMemoizationProperties properties) {
+        var delegateNames = Arrays.stream(beanFactory.getBeanNamesForType(PolicyDecisionPoint.class))
+                .filter(name -> !MEMOIZING_PDP_BEAN_NAME.equals(name)).toList();
+        if (delegateNames.size() != 1) {
+            throw new IllegalStateException(
+                    "Decision memoization requires exactly one PolicyDecisionPoint to decorate, but found: "
+                            + delegateNames);
+        }
+        var delegateName = delegateNames.get(0);
+        log.debug("Memoizing decisions of PolicyDecisionPoint '{}'. Session time to live: {}", delegateName,
+                properties.getSessionTimeToLive());
+        return new MemoizingPolicyDecisionPoint(beanFactory.getBean(delegateName, PolicyDecisionPoint.class),
+                properties.getSessionTimeToLive(), properties.getMaximumSessionEntries());
+    }
+
+}
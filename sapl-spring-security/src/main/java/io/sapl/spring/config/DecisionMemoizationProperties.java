@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for memoizing authorization decisions of the
+ * blocking PEPs and the authorization managers.
+ */
+@Data
+@ConfigurationProperties(prefix = "io.sapl.memoization")
+public class DecisionMemoizationProperties {
+
+    /**
+     * If enabled, identical authorization subscriptions within one HTTP request are
+     * answered by the PDP only once.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long decisions without obligations, advice, or resource replacement are
+     * additionally remembered across requests. Zero disables memoization across
+     * requests.
+     */
+    private Duration sessionTimeToLive = Duration.ZERO;
+
+    /**
+     * Upper bound for the number of decisions remembered across requests.
+     */
+    private int maximumSessionEntries = 10_000;
+
+}
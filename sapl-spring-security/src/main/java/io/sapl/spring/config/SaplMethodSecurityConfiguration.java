@@ -33,6 +33,7 @@
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import io.sapl.spring.constraints.ConstraintEnforcementService;
 import io.sapl.spring.method.blocking.PolicyEnforcementPointAroundMethodInterceptor;
+import io.sapl.spring.method.blocking.PostEnforceEachPolicyEnforcementPoint;
 import io.sapl.spring.method.blocking.PostEnforcePolicyEnforcementPoint;
 import io.sapl.spring.method.blocking.PreEnforcePolicyEnforcementPoint;
 import io.sapl.spring.method.metadata.SaplAttributeRegistry;
@@ -80,6 +81,19 @@ Advisor postEnforcePolicyEnforcementPoint(ObjectProvider<PolicyDecisionPoint> po
         return PolicyEnforcementPointAroundMethodInterceptor.postEnforce(policyEnforcementPoint);
     }
 
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    Advisor postEnforceEachPolicyEnforcementPoint(ObjectProvider<PolicyDecisionPoint> policyDecisionPointProvider,
+            ObjectProvider<SaplAttributeRegistry> attributeRegistryProvider,
+            ObjectProvider<ConstraintEnforcementService> constraintEnforcementServiceProvider,
+            ObjectProvider<WebAuthorizationSubscriptionBuilderService> subscriptionBuilderProvider) {
+
+        log.debug("Deploy @PostEnforceEach Policy Enforcement Point");
+        var policyEnforcementPoint = new PostEnforceEachPolicyEnforcementPoint(policyDecisionPointProvider,
+                attributeRegistryProvider, constraintEnforcementServiceProvider, subscriptionBuilderProvider);
+        return PolicyEnforcementPointAroundMethodInterceptor.postEnforceEach(policyEnforcementPoint);
+    }
+
     @Bean
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
     SaplAttributeRegistry saplAttributeRegistry(ObjectProvider<GrantedAuthorityDefaults> defaultsProvider,
@@ -125,6 +125,19 @@ public static <T> BlockingConstraintHandlerBundle<T> accessManagerConstraintHand
                 UnaryOperator.identity());
     }
 
+    /**
+     * Creates a copy of this bundle replacing the RAP output with a value provided
+     * by the PDP. All other handlers are shared with this bundle.
+     *
+     * @param replaceResourceHandler Handler for replacing the RAP output.
+     * @return a constraint handler bundle.
+     */
+    BlockingConstraintHandlerBundle<T> withReplaceResourceHandler(UnaryOperator<T> replaceResourceHandler) {
+        return new BlockingConstraintHandlerBundle<>(onDecisionHandlers, methodInvocationHandlers, doOnNextHandlers,
+                onNextMapHandlers, doOnErrorHandlers, onErrorMapHandlers, filterPredicateHandlers,
+                replaceResourceHandler);
+    }
+
     /**
      * o Runs all method invocation handlers. These handlers may modify the
      * methodInvocation.
@@ -25,6 +25,7 @@
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -37,6 +38,8 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
@@ -64,11 +67,19 @@
  * constraint handlers in bundles for the PEP whenever the PDP sends a new
  * decision. The PEP in return will execute the matching handlers in the
  * protected code path.
+ * <p>
+ * Decisions usually carry the same few constraints over and over. Hence,
+ * constructed bundles are cached by their obligations, advice, and target type.
+ * This requires handlers returned by the providers to only depend on the
+ * constraint they were created for, and not on the context of the call to
+ * getHandler.
  */
 @Slf4j
 @Service
 public class ConstraintEnforcementService {
 
+    static final int MAX_CACHED_BUNDLES = 1000;
+
     private final List<ConsumerConstraintHandlerProvider<?>>          globalConsumerProviders;
     private final List<SubscriptionHandlerProvider>                   globalSubscriptionHandlerProviders;
     private final List<RequestHandlerProvider>                        globalRequestHandlerProviders;
@@ -79,6 +90,34 @@ public class ConstraintEnforcementService {
     private final List<MethodInvocationConstraintHandlerProvider>     methodInvocationHandlerProviders;
     private final ObjectMapper                                        mapper;
     private final Multimap<Signal, RunnableConstraintHandlerProvider> globalRunnableIndex;
+    private final Cache<BundleKey, Object>                            bundleCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_BUNDLES).recordStats().build();
+
+    private enum BundleType {
+        REACTIVE, BLOCKING_PRE_ENFORCE, BLOCKING_POST_ENFORCE, ACCESS_MANAGER
+    }
+
+    /**
+     * Identifies the constraint handlers required for a decision. The resource of a
+     * decision is not part of the key, as it is handled separately.
+     */
+    private record BundleKey(BundleType type, ArrayNode obligations, ArrayNode advice, Class<?> clazz) {
+
+        static BundleKey of(BundleType type, AuthorizationDecision decision, Class<?> clazz) {
+            return new BundleKey(type, decision.getObligations().orElse(null), decision.getAdvice().orElse(null),
+                    clazz);
+        }
+
+        /**
+         * @return a key that is not affected by later modifications of the decision's
+         *         constraints
+         */
+        BundleKey immutableCopy() {
+            return new BundleKey(type, obligations == null ? null : obligations.deepCopy(),
+                    advice == null ? null : advice.deepCopy(), clazz);
+        }
+
+    }
 
     /**
      * Constructor with dependency injection of all beans implementing handler
@@ -161,7 +200,12 @@ public <T> Flux<T> enforceConstraintsOfDecisionOnResourceAccessPoint(Authorizati
      */
     public <T> ReactiveConstraintHandlerBundle<T> reactiveTypeBundleFor(AuthorizationDecision decision,
             Class<T> clazz) {
+        return cachedBundle(BundleKey.of(BundleType.REACTIVE, decision, clazz),
+                () -> constructReactiveTypeBundle(decision, clazz));
+    }
 
+    private <T> ReactiveConstraintHandlerBundle<T> constructReactiveTypeBundle(AuthorizationDecision decision,
+            Class<T> clazz) {
         var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
 
         // @formatter:off
@@ -197,7 +241,14 @@ public <T> ReactiveConstraintHandlerBundle<T> reactiveTypeBundleFor(Authorizatio
      */
     public <T> BlockingConstraintHandlerBundle<T> blockingPostEnforceBundleFor(AuthorizationDecision decision,
             Class<T> clazz) {
+        BlockingConstraintHandlerBundle<T> bundle = cachedBundle(
+                BundleKey.of(BundleType.BLOCKING_POST_ENFORCE, decision, clazz),
+                () -> constructBlockingPostEnforceBundle(decision, clazz));
+        return withResourceReplacement(bundle, decision.getResource(), clazz);
+    }
 
+    private <T> BlockingConstraintHandlerBundle<T> constructBlockingPostEnforceBundle(AuthorizationDecision decision,
+            Class<T> clazz) {
         var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
 
         // @formatter:off
@@ -208,7 +259,7 @@ public <T> BlockingConstraintHandlerBundle<T> blockingPostEnforceBundleFor(Autho
 				onErrorHandlers(decision, unhandledObligations),
 				mapErrorHandlers(decision, unhandledObligations),
 				filterConstraintHandlers(decision, unhandledObligations),
-				replaceHandler(decision.getResource(),clazz));
+				UnaryOperator.identity());
 		// @formatter:on
 
         if (!unhandledObligations.isEmpty())
@@ -217,6 +268,50 @@ public <T> BlockingConstraintHandlerBundle<T> blockingPostEnforceBundleFor(Autho
         return bundle;
     }
 
+    private <T> BlockingConstraintHandlerBundle<T> withResourceReplacement(BlockingConstraintHandlerBundle<T> bundle,
+            Optional<JsonNode> resource, Class<T> clazz) {
+        if (resource.isEmpty())
+            return bundle;
+        return bundle.withReplaceResourceHandler(replaceHandler(resource, clazz));
+    }
+
+    /**
+     * Looks up a bundle in the cache or constructs it. Bundles are only cached if
+     * all obligations can be handled, i.e., construction does not fail.
+     */
+    @SuppressWarnings("unchecked") // the bundle type is determined by the key
+    private <B> B cachedBundle(BundleKey key, Supplier<B> bundleFactory) {
+        var cached = bundleCache.getIfPresent(key);
+        if (cached != null) {
+            return (B) cached;
+        }
+        var bundle = bundleFactory.get();
+        bundleCache.asMap().putIfAbsent(key.immutableCopy(), bundle);
+        return bundle;
+    }
+
+    /**
+     * @return the number of bundles served from the cache.
+     */
+    public long getBundleCacheHits() {
+        return bundleCache.stats().hitCount();
+    }
+
+    /**
+     * @return the number of bundles that had to be constructed.
+     */
+    public long getBundleCacheMisses() {
+        return bundleCache.stats().missCount();
+    }
+
+    /**
+     * @return the number of currently cached bundles.
+     */
+    public long getBundleCacheSize() {
+        bundleCache.cleanUp();
+        return bundleCache.size();
+    }
+
     private AccessDeniedException missingHandlerError(HashSet<JsonNode> unhandledObligations) {
         return new AccessDeniedException(String.format(
                 "Access Denied by PEP. The PDP required at least one obligation to be enforced for which no handler is registered. Obligations that could not be handled: %s",
@@ -233,6 +328,14 @@ private AccessDeniedException missingHandlerError(HashSet<JsonNode> unhandledObl
      */
     public <T> BlockingConstraintHandlerBundle<T> blockingPreEnforceBundleFor(AuthorizationDecision decision,
             Class<T> clazz) {
+        BlockingConstraintHandlerBundle<T> bundle = cachedBundle(
+                BundleKey.of(BundleType.BLOCKING_PRE_ENFORCE, decision, clazz),
+                () -> constructBlockingPreEnforceBundle(decision, clazz));
+        return withResourceReplacement(bundle, decision.getResource(), clazz);
+    }
+
+    private <T> BlockingConstraintHandlerBundle<T> constructBlockingPreEnforceBundle(AuthorizationDecision decision,
+            Class<T> clazz) {
         var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
         var bundle               = BlockingConstraintHandlerBundle.preEnforceConstraintHandlerBundle(
                 runnableHandlersForSignal(Signal.ON_DECISION, decision, unhandledObligations),
@@ -240,8 +343,7 @@ public <T> BlockingConstraintHandlerBundle<T> blockingPreEnforceBundleFor(Author
                 mapNextHandlers(decision, unhandledObligations, clazz), onErrorHandlers(decision, unhandledObligations),
                 mapErrorHandlers(decision, unhandledObligations),
                 filterConstraintHandlers(decision, unhandledObligations),
-                methodInvocationHandlers(decision, unhandledObligations),
-                replaceHandler(decision.getResource(), clazz));
+                methodInvocationHandlers(decision, unhandledObligations), UnaryOperator.identity());
 
         if (!unhandledObligations.isEmpty())
             throw missingHandlerError(unhandledObligations);
@@ -259,6 +361,11 @@ public <T> BlockingConstraintHandlerBundle<T> blockingPreEnforceBundleFor(Author
      *         bundle cannot be constructed.
      */
     public <T> BlockingConstraintHandlerBundle<T> accessManagerBundleFor(AuthorizationDecision decision) {
+        return cachedBundle(BundleKey.of(BundleType.ACCESS_MANAGER, decision, null),
+                () -> constructAccessManagerBundle(decision));
+    }
+
+    private <T> BlockingConstraintHandlerBundle<T> constructAccessManagerBundle(AuthorizationDecision decision) {
         var unhandledObligations = Sets.newHashSet(decision.getObligations().orElseGet(mapper::createArrayNode));
         var bundle               = BlockingConstraintHandlerBundle.<T>accessManagerConstraintHandlerBundle(
                 runnableHandlersForSignal(Signal.ON_DECISION, decision, unhandledObligations));
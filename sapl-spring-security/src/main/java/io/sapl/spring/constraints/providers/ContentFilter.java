@@ -18,11 +18,13 @@
 package io.sapl.spring.constraints.providers;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
@@ -37,6 +39,7 @@
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.MapFunction;
 import com.jayway.jsonpath.PathNotFoundException;
@@ -85,22 +88,25 @@ public class ContentFilter {
     private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
 
     public static UnaryOperator<Object> getHandler(JsonNode constraint, ObjectMapper objectMapper) {
-        var predicate      = predicateFromConditions(constraint, objectMapper);
-        var transformation = getTransformationHandler(constraint, objectMapper);
+        var                   jsonPathConfiguration = jsonPathConfiguration(objectMapper);
+        var                   predicate             = compilePredicate(constraint, jsonPathConfiguration);
+        var                   transformation        = compileTransformation(constraint, jsonPathConfiguration);
+        UnaryOperator<Object> elementHandler        = element -> filterElement(element, predicate, transformation,
+                objectMapper);
 
         return payload -> {
             if (payload == null)
                 return null;
             if (payload instanceof Optional<?> optional)
-                return optional.map(x -> mapElement(x, transformation, predicate));
+                return optional.map(elementHandler);
             if (payload instanceof List<?> list)
-                return mapListContents(list, transformation, predicate);
+                return mapListContents(list, elementHandler);
             if (payload instanceof Set<?> set)
-                return mapSetContents(set, transformation, predicate);
+                return mapSetContents(set, elementHandler);
             if (payload instanceof Publisher<?> publisher)
-                return mapPublisherContents(publisher, transformation, predicate);
+                return mapPublisherContents(publisher, elementHandler);
             if (payload instanceof Object[] array) {
-                var filteredAsList = mapListContents(Arrays.asList(array), transformation, predicate);
+                var filteredAsList = mapListContents(Arrays.asList(array), elementHandler);
                 var resultArray    = Array.newInstance(payload.getClass().getComponentType(), filteredAsList.size());
 
                 var i = 0;
@@ -110,52 +116,85 @@ public static UnaryOperator<Object> getHandler(JsonNode constraint, ObjectMapper
                 return resultArray;
             }
 
-            return mapElement(payload, transformation, predicate);
+            return elementHandler.apply(payload);
         };
     }
 
-    private static Object mapPublisherContents(Publisher<?> payload, UnaryOperator<Object> transformation,
-            Predicate<Object> predicate) {
-        if (payload instanceof Mono<?> mono) {
-            return mono.map(element -> mapElement(element, transformation, predicate));
+    /**
+     * Applies the compiled conditions and actions to a single element. The element
+     * is converted into a JSON tree at most once and only converted back if it was
+     * modified.
+     */
+    private static Object filterElement(Object element, Predicate<JsonNode> predicate,
+            UnaryOperator<JsonNode> transformation, ObjectMapper objectMapper) {
+        if (predicate == null && transformation == null)
+            return element;
+
+        JsonNode tree = objectMapper.valueToTree(element);
+        if (predicate != null && !predicate.test(tree))
+            return element;
+
+        if (transformation == null)
+            return element;
+
+        return treeToValue(transformation.apply(tree), element.getClass(), objectMapper);
+    }
+
+    private static Object treeToValue(JsonNode tree, Class<?> clazz, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.treeToValue(tree, clazz);
+        } catch (JsonProcessingException e) {
+            throw new AccessConstraintViolationException("Error converting modified object to original class type.", e);
         }
-        return ((Flux<?>) payload).map(element -> mapElement(element, transformation, predicate));
     }
 
-    private static Object mapElement(Object payload, UnaryOperator<Object> transformation,
-            Predicate<Object> predicate) {
-        if (predicate.test(payload))
-            return transformation.apply(payload);
+    private static Configuration jsonPathConfiguration(ObjectMapper objectMapper) {
+        return Configuration.builder().jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper)).build();
+    }
 
-        return payload;
+    private static Object mapPublisherContents(Publisher<?> payload, UnaryOperator<Object> elementHandler) {
+        if (payload instanceof Mono<?> mono) {
+            return mono.map(elementHandler);
+        }
+        return ((Flux<?>) payload).map(elementHandler);
     }
 
-    private static List<?> mapListContents(Collection<?> payload, UnaryOperator<Object> transformation,
-            Predicate<Object> predicate) {
+    private static List<?> mapListContents(Collection<?> payload, UnaryOperator<Object> elementHandler) {
         /*
          * Attention: Do not replace with .toList() instead of Collectors.toList(). The
          * Axon integration will break, as Axon Server is not able to handle classes
          * like ListN or List12
          */
-        return payload.stream().map(o -> mapElement(o, transformation, predicate)).collect(Collectors.toList());
+        return payload.stream().map(elementHandler).collect(Collectors.toList());
     }
 
-    private static Set<?> mapSetContents(Collection<?> payload, UnaryOperator<Object> transformation,
-            Predicate<Object> predicate) {
-        return payload.stream().map(o -> mapElement(o, transformation, predicate)).collect(Collectors.toSet());
+    private static Set<?> mapSetContents(Collection<?> payload, UnaryOperator<Object> elementHandler) {
+        return payload.stream().map(elementHandler).collect(Collectors.toSet());
     }
 
     public static Predicate<Object> predicateFromConditions(JsonNode constraint, ObjectMapper objectMapper) {
+        var predicate = compilePredicate(constraint, jsonPathConfiguration(objectMapper));
+        if (predicate == null)
+            return anything -> true;
+
+        return original -> predicate.test(objectMapper.valueToTree(original));
+    }
+
+    /**
+     * @return a predicate on the JSON representation of an element, or null if the
+     *         constraint has no conditions.
+     */
+    private static Predicate<JsonNode> compilePredicate(JsonNode constraint, Configuration jsonPathConfiguration) {
         assertConstraintIsAnObjectNode(constraint);
-        Predicate<Object> predicate = anything -> true;
         if (noConditionsPresent(constraint))
-            return predicate;
+            return null;
 
         assertConditionsIsAnArrayNode(constraint);
 
-        var conditions = (ArrayNode) constraint.get(CONDITIONS);
+        Predicate<JsonNode> predicate  = anything -> true;
+        var                 conditions = (ArrayNode) constraint.get(CONDITIONS);
         for (var condition : conditions) {
-            var newPredicate      = conditionToPredicate(condition, objectMapper);
+            var newPredicate      = conditionToPredicate(condition, jsonPathConfiguration);
             var previousPredicate = predicate;
             predicate = x -> previousPredicate.test(x) && newPredicate.test(x);
         }
@@ -168,7 +207,7 @@ private static void assertConstraintIsAnObjectNode(JsonNode constraint) {
 
     }
 
-    private static Predicate<Object> mapPathNotFoundToAccessDeniedException(Predicate<Object> predicate) {
+    private static Predicate<JsonNode> mapPathNotFoundToAccessDeniedException(Predicate<JsonNode> predicate) {
         return x -> {
             try {
                 return predicate.test(x);
@@ -180,7 +219,7 @@ private static Predicate<Object> mapPathNotFoundToAccessDeniedException(Predicat
         };
     }
 
-    private static Predicate<Object> conditionToPredicate(JsonNode condition, ObjectMapper objectMapper) {
+    private static Predicate<JsonNode> conditionToPredicate(JsonNode condition, Configuration jsonPathConfiguration) {
         if (!condition.isObject())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
@@ -197,126 +236,92 @@ private static Predicate<Object> conditionToPredicate(JsonNode condition, Object
         if (!condition.has(VALUE))
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
-        var jsonPathConfiguration = Configuration.builder().jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper))
-                .build();
+        var nodeAtPath = nodeAtPath(path, jsonPathConfiguration);
 
         if (EQUALS.equals(type))
-            return equalsCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return equalsCondition(condition, nodeAtPath);
 
         if (NEQ.equals(type))
-            return Predicate.not(equalsCondition(condition, path, jsonPathConfiguration, objectMapper));
+            return Predicate.not(equalsCondition(condition, nodeAtPath));
 
         if (GEQ.equals(type))
-            return geqCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return numberCondition(condition, nodeAtPath, (actual, value) -> actual >= value);
 
         if (LEQ.equals(type))
-            return leqCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return numberCondition(condition, nodeAtPath, (actual, value) -> actual <= value);
 
         if (LT.equals(type))
-            return ltCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return numberCondition(condition, nodeAtPath, (actual, value) -> actual < value);
 
         if (GT.equals(type))
-            return gtCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return numberCondition(condition, nodeAtPath, (actual, value) -> actual > value);
 
         if (REGEX.equals(type))
-            return regexCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return regexCondition(condition, nodeAtPath);
 
         throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
     }
 
-    private static Predicate<Object> regexCondition(JsonNode condition, String path,
-            Configuration jsonPathConfiguration, ObjectMapper objectMapper) {
+    /**
+     * Compiles the path once. An invalid path is only reported when the condition
+     * is evaluated.
+     */
+    private static UnaryOperator<JsonNode> nodeAtPath(String path, Configuration jsonPathConfiguration) {
+        JsonPath compiledPath;
+        try {
+            compiledPath = JsonPath.compile(path);
+        } catch (InvalidPathException e) {
+            return tree -> {
+                throw e;
+            };
+        }
+        return tree -> compiledPath.read(tree, jsonPathConfiguration);
+    }
+
+    private static Predicate<JsonNode> regexCondition(JsonNode condition, UnaryOperator<JsonNode> nodeAtPath) {
 
         if (!condition.get(VALUE).isTextual())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
-        var regex = Pattern.compile(condition.get(VALUE).textValue());
+        var regex = Pattern.compile(condition.get(VALUE).textValue()).asMatchPredicate();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isTextual())
                 return false;
-            return regex.asMatchPredicate().test(node.textValue());
+            return regex.test(node.textValue());
         };
     }
 
-    private static Predicate<Object> leqCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
+    private static Predicate<JsonNode> numberCondition(JsonNode condition, UnaryOperator<JsonNode> nodeAtPath,
+            DoubleBinaryPredicate comparison) {
         if (!condition.get(VALUE).isNumber())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
 
-        var value = condition.get(VALUE).asDouble();
-
-        return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
-            if (!node.isNumber())
-                return false;
-            return node.asDouble() <= value;
-        };
+        return numberComparison(condition, nodeAtPath, comparison);
     }
 
-    private static Predicate<Object> geqCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
-        if (!condition.get(VALUE).isNumber())
-            throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
-
+    private static Predicate<JsonNode> numberComparison(JsonNode condition, UnaryOperator<JsonNode> nodeAtPath,
+            DoubleBinaryPredicate comparison) {
         var value = condition.get(VALUE).asDouble();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isNumber())
                 return false;
-            return node.asDouble() >= value;
+            return comparison.test(node.asDouble(), value);
         };
     }
 
-    private static Predicate<Object> ltCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
-        if (!condition.get(VALUE).isNumber())
-            throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
-
-        var value = condition.get(VALUE).asDouble();
-
-        return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
-            if (!node.isNumber())
-                return false;
-            return node.asDouble() < value;
-        };
+    @FunctionalInterface
+    private interface DoubleBinaryPredicate {
+        boolean test(double actual, double value);
     }
 
-    private static Predicate<Object> gtCondition(JsonNode condition, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
-        if (!condition.get(VALUE).isNumber())
-            throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
-
-        var value = condition.get(VALUE).asDouble();
-
-        return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
-            if (!node.isNumber())
-                return false;
-            return node.asDouble() > value;
-        };
-    }
-
-    private static Predicate<Object> numberEqCondition(JsonNode condition, String path,
-            Configuration jsonPathConfiguration, ObjectMapper objectMapper) {
-        var value = condition.get(VALUE).asDouble();
-
-        return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
-            if (!node.isNumber())
-                return false;
-            return value == node.asDouble();
-        };
-    }
-
-    private static Predicate<Object> equalsCondition(JsonNode condition, String path,
-            Configuration jsonPathConfiguration, ObjectMapper objectMapper) {
+    private static Predicate<JsonNode> equalsCondition(JsonNode condition, UnaryOperator<JsonNode> nodeAtPath) {
         var valueNode = condition.get(VALUE);
         if (valueNode.isNumber())
-            return numberEqCondition(condition, path, jsonPathConfiguration, objectMapper);
+            return numberComparison(condition, nodeAtPath, (actual, value) -> actual == value);
 
         if (!valueNode.isTextual())
             throw new AccessConstraintViolationException(NOT_A_VALID_PREDICATE_CONDITION + condition);
@@ -324,20 +329,13 @@ private static Predicate<Object> equalsCondition(JsonNode condition, String path
         var value = valueNode.textValue();
 
         return original -> {
-            var node = getNodeAtPath(original, path, jsonPathConfiguration, objectMapper);
+            var node = nodeAtPath.apply(original);
             if (!node.isTextual())
                 return false;
             return value.equals(node.textValue());
         };
     }
 
-    private static JsonNode getNodeAtPath(Object original, String path, Configuration jsonPathConfiguration,
-            ObjectMapper objectMapper) {
-        var originalJsonNode = objectMapper.valueToTree(original);
-        var jsonContext      = JsonPath.using(jsonPathConfiguration).parse(originalJsonNode);
-        return jsonContext.read(path);
-    }
-
     private static boolean noConditionsPresent(JsonNode constraint) {
         return !constraint.has(CONDITIONS);
     }
@@ -349,70 +347,90 @@ private static void assertConditionsIsAnArrayNode(JsonNode constraint) {
     }
 
     public static UnaryOperator<Object> getTransformationHandler(JsonNode constraint, ObjectMapper objectMapper) {
+        var transformation = compileTransformation(constraint, jsonPathConfiguration(objectMapper));
         return original -> {
-            var actions               = constraint.get(ACTIONS);
-            var jsonPathConfiguration = Configuration.builder()
-                    .jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper)).build();
-            if (actions == null)
+            if (transformation == null)
                 return original;
 
+            JsonNode originalJsonNode = objectMapper.valueToTree(original);
+            return treeToValue(transformation.apply(originalJsonNode), original.getClass(), objectMapper);
+        };
+    }
+
+    /**
+     * Compiles the actions of a constraint once. Errors in the actions are reported
+     * when the transformation is applied.
+     *
+     * @return a transformation modifying the JSON representation of an element in
+     *         place, or null if the constraint has no actions.
+     */
+    private static UnaryOperator<JsonNode> compileTransformation(JsonNode constraint,
+            Configuration jsonPathConfiguration) {
+        var actions = constraint.get(ACTIONS);
+        if (actions == null)
+            return null;
+
+        var compiledActions = new ArrayList<Consumer<DocumentContext>>();
+        try {
             if (!actions.isArray())
                 throw new AccessConstraintViolationException(ACTIONS_NOT_AN_ARRAY);
 
-            var originalJsonNode = objectMapper.valueToTree(original);
-
-            var jsonContext = JsonPath.using(jsonPathConfiguration).parse(originalJsonNode);
-
             for (var action : actions)
-                applyAction(jsonContext, action);
-
-            JsonNode modifiedJsonNode = jsonContext.json();
+                compiledActions.add(compileAction(action));
+        } catch (AccessConstraintViolationException | InvalidPathException e) {
+            return original -> {
+                throw e;
+            };
+        }
 
-            try {
-                return objectMapper.treeToValue(modifiedJsonNode, original.getClass());
-            } catch (JsonProcessingException e) {
-                throw new AccessConstraintViolationException("Error converting modified object to original class type.",
-                        e);
-            }
+        return original -> {
+            var jsonContext = JsonPath.using(jsonPathConfiguration).parse(original);
+            for (var action : compiledActions)
+                action.accept(jsonContext);
+            return jsonContext.json();
         };
     }
 
-    private static void applyAction(DocumentContext jsonContext, JsonNode action) {
+    private static Consumer<DocumentContext> compileAction(JsonNode action) {
         if (!action.isObject())
             throw new AccessConstraintViolationException(ACTION_NOT_AN_OBJECT);
 
-        var path       = getTextualValueOfActionKey(action, PATH);
+        var path       = JsonPath.compile(getTextualValueOfActionKey(action, PATH));
         var actionType = getTextualValueOfActionKey(action, TYPE).trim().toLowerCase();
 
-        try {
-            jsonContext.read(path);
-        } catch (PathNotFoundException e) {
-            throw new AccessConstraintViolationException(
-                    "Constraint enforcement failed. Error evaluating a constraint predicate. The path defined in the constraint is not present in the data.",
-                    e);
-        }
-
-        if (DELETE.equals(actionType)) {
-            jsonContext.delete(path);
-            return;
-        }
+        if (DELETE.equals(actionType))
+            return jsonContext -> {
+                assertPathPresent(jsonContext, path);
+                jsonContext.delete(path);
+            };
 
         if (BLACKEN.equals(actionType)) {
-            blacken(jsonContext, path, action);
-            return;
+            var blacken = blackenNode(action);
+            return jsonContext -> {
+                assertPathPresent(jsonContext, path);
+                jsonContext.map(path, blacken);
+            };
         }
 
         if (REPLACE.equals(actionType)) {
-            replace(jsonContext, path, action);
-            return;
+            var replace = replaceNode(action);
+            return jsonContext -> {
+                assertPathPresent(jsonContext, path);
+                jsonContext.map(path, replace);
+            };
         }
 
         throw new AccessConstraintViolationException(String.format(UNKNOWN_ACTION_S, actionType));
-
     }
 
-    private static void replace(DocumentContext jsonContext, String path, JsonNode action) {
-        jsonContext.map(path, replaceNode(action));
+    private static void assertPathPresent(DocumentContext jsonContext, JsonPath path) {
+        try {
+            jsonContext.read(path);
+        } catch (PathNotFoundException e) {
+            throw new AccessConstraintViolationException(
+                    "Constraint enforcement failed. Error evaluating a constraint predicate. The path defined in the constraint is not present in the data.",
+                    e);
+        }
     }
 
     private static MapFunction replaceNode(JsonNode action) {
@@ -424,31 +442,39 @@ private static MapFunction replaceNode(JsonNode action) {
         };
     }
 
-    private static void blacken(DocumentContext jsonContext, String path, JsonNode action) {
-        jsonContext.map(path, blackenNode(action));
-    }
-
+    /**
+     * The parameters of the action are evaluated once. Invalid parameters are only
+     * reported if a node is blackened.
+     */
     private static MapFunction blackenNode(JsonNode action) {
-        return (original, configuration) -> {
+        String replacementString;
+        int    discloseRight;
+        int    discloseLeft;
+        int    blackenLength;
+        try {
+            replacementString = determineReplacementString(action);
+            discloseRight     = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_RIGHT);
+            discloseLeft      = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_LEFT);
+            blackenLength     = determineBlackenLength(action);
+        } catch (AccessConstraintViolationException e) {
+            return (original, configuration) -> {
+                assertTextual(original);
+                throw e;
+            };
+        }
 
-            String originalString;
+        return (original, configuration) -> JSON.textNode(
+                blackenUtil(assertTextual(original), replacementString, discloseRight, discloseLeft, blackenLength));
+    }
 
-            if (original instanceof String stringValue) {
-                originalString = stringValue;
-            } else if (original instanceof JsonNode json && json.isTextual()) {
-                originalString = json.textValue();
-            } else {
-                throw new AccessConstraintViolationException(PATH_NOT_TEXTUAL);
-            }
+    private static String assertTextual(Object original) {
+        if (original instanceof String stringValue)
+            return stringValue;
 
-            var replacementString = determineReplacementString(action);
-            var discloseRight     = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_RIGHT);
-            var discloseLeft      = getIntegerValueOfActionKeyOrDefaultToZero(action, DISCLOSE_LEFT);
-            var blackenLength     = determineBlackenLength(action);
+        if (original instanceof JsonNode json && json.isTextual())
+            return json.textValue();
 
-            return JSON.textNode(
-                    blackenUtil(originalString, replacementString, discloseRight, discloseLeft, blackenLength));
-        };
+        throw new AccessConstraintViolationException(PATH_NOT_TEXTUAL);
     }
 
     private static int determineBlackenLength(JsonNode action) {
@@ -87,8 +87,7 @@ public Mono<org.springframework.security.authorization.AuthorizationDecision> ch
     }
 
     private Mono<Boolean> isPermitted(AuthorizationSubscription authzSubscription) {
-        return pdp.decide(authzSubscription).next().defaultIfEmpty(AuthorizationDecision.DENY)
-                .map(this::enforceDecision);
+        return pdp.decideOnce(authzSubscription).defaultIfEmpty(AuthorizationDecision.DENY).map(this::enforceDecision);
     }
 
     private boolean enforceDecision(AuthorizationDecision authzDecision) {
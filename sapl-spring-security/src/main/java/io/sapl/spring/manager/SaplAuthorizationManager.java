@@ -49,7 +49,7 @@ public AuthorizationDecision check(Supplier<Authentication> authenticationSuppli
         var request        = requestAuthorizationContext.getRequest();
         var authentication = authenticationSupplier.get();
         var subscription   = AuthorizationSubscription.of(authentication, request, request, mapper);
-        var authzDecision  = pdp.decide(subscription).blockFirst();
+        var authzDecision  = pdp.decideOnce(subscription).block();
 
         if (authzDecision == null || authzDecision.getResource().isPresent())
             return new AuthorizationDecision(false);
@@ -34,6 +34,7 @@
 import io.sapl.spring.method.metadata.EnforceRecoverableIfDenied;
 import io.sapl.spring.method.metadata.EnforceTillDenied;
 import io.sapl.spring.method.metadata.PostEnforce;
+import io.sapl.spring.method.metadata.PostEnforceEach;
 import io.sapl.spring.method.metadata.PreEnforce;
 import lombok.Getter;
 import lombok.NonNull;
@@ -57,6 +58,12 @@ public static PolicyEnforcementPointAroundMethodInterceptor postEnforce(MethodIn
                 SaplAuthorizationInterceptorsOrder.POST_ENFORCE.getOrder(), policyEnforcementPoint);
     }
 
+    public static PolicyEnforcementPointAroundMethodInterceptor postEnforceEach(
+            MethodInterceptor policyEnforcementPoint) {
+        return new PolicyEnforcementPointAroundMethodInterceptor(PostEnforceEach.class,
+                SaplAuthorizationInterceptorsOrder.POST_ENFORCE_EACH.getOrder(), policyEnforcementPoint);
+    }
+
     public static PolicyEnforcementPointAroundMethodInterceptor reactive(MethodInterceptor policyEnforcementPoint) {
         return new PolicyEnforcementPointAroundMethodInterceptor(
                 SaplAuthorizationInterceptorsOrder.PRE_ENFORCE.getOrder(), policyEnforcementPoint);
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.method.blocking;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.Decision;
+import io.sapl.api.pdp.MultiAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import io.sapl.spring.constraints.BlockingConstraintHandlerBundle;
+import io.sapl.spring.constraints.ConstraintEnforcementService;
+import io.sapl.spring.method.metadata.PostEnforceEach;
+import io.sapl.spring.method.metadata.SaplAttribute;
+import io.sapl.spring.method.metadata.SaplAttributeRegistry;
+import io.sapl.spring.subscriptions.WebAuthorizationSubscriptionBuilderService;
+import lombok.RequiredArgsConstructor;
+import reactor.core.Exceptions;
+
+/**
+ * Method post-invocation handling authorizing each element of a returned
+ * collection or array individually. The subscriptions for all elements are
+ * evaluated by a single multi-subscription to the SAPL policy decision point.
+ * Elements without a permit decision or with decisions whose constraints cannot
+ * be enforced are dropped from the result.
+ * <p>
+ * The result has the type of the returned collection, if it can be
+ * instantiated, and keeps the ordering of sorted sets and priority queues.
+ * Otherwise, a standard collection matching the declared return type is used.
+ * Methods whose declared return type cannot hold such a collection are rejected
+ * before they are invoked.
+ */
+@RequiredArgsConstructor
+public class PostEnforceEachPolicyEnforcementPoint implements MethodInterceptor {
+
+    /**
+     * Standard collections used for the result, if the returned collection cannot
+     * be instantiated, in the order of preference.
+     */
+    private static final List<Class<?>> FALLBACK_COLLECTIONS = List.of(ArrayList.class, LinkedHashSet.class,
+            TreeSet.class, ArrayDeque.class, PriorityQueue.class);
+
+    private final Supplier<Authentication> authentication = getAuthentication(
+            SecurityContextHolder.getContextHolderStrategy());
+
+    private final ObjectProvider<PolicyDecisionPoint>                        policyDecisionPointProvider;
+    private final ObjectProvider<SaplAttributeRegistry>                      attributeRegistryProvider;
+    private final ObjectProvider<ConstraintEnforcementService>               constraintEnforcementServiceProvider;
+    private final ObjectProvider<WebAuthorizationSubscriptionBuilderService> subscriptionBuilderProvider;
+
+    @Override
+    public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+        var attribute = attributeRegistryProvider.getObject().getSaplAttributeForAnnotationType(methodInvocation,
+                PostEnforceEach.class);
+        if (attribute.isEmpty()) {
+            return methodInvocation.proceed();
+        }
+
+        var declaredType = methodInvocation.getMethod().getReturnType();
+        requireSupportedReturnType(declaredType, attribute.get());
+        var returnedObject = methodInvocation.proceed();
+        if (returnedObject == null) {
+            return returnedObject;
+        }
+
+        var elements = elementsOf(returnedObject, attribute.get());
+        if (elements.isEmpty()) {
+            return returnedObject;
+        }
+
+        var decisions = authorizationDecisions(methodInvocation, attribute.get(), elements);
+        var permitted = new ArrayList<>(elements.size());
+        for (var i = 0; i < elements.size(); i++) {
+            var decision = decisions.getAuthorizationDecisionForSubscriptionWithId(subscriptionId(i));
+            var result   = enforceDecision(decision, elements.get(i), attribute.get().genericsType());
+            if (result != null)
+                permitted.add(result);
+        }
+        return asReturnedType(declaredType, returnedObject, permitted, attribute.get());
+    }
+
+    private MultiAuthorizationDecision authorizationDecisions(MethodInvocation methodInvocation,
+            SaplAttribute attribute, List<?> elements) {
+        var subscriptionBuilder = subscriptionBuilderProvider.getObject();
+        var authn               = authentication.get();
+        var multiSubscription   = new MultiAuthorizationSubscription();
+        for (var i = 0; i < elements.size(); i++) {
+            multiSubscription.addAuthorizationSubscription(subscriptionId(i),
+                    subscriptionBuilder.constructAuthorizationSubscriptionWithReturnObject(authn, methodInvocation,
+                            attribute, elements.get(i)));
+        }
+
+        var multiDecision = policyDecisionPointProvider.getObject().decideAllOnce(multiSubscription);
+        if (multiDecision == null) {
+            throw new AccessDeniedException(
+                    String.format("Access Denied by @PostEnforceEach PEP. PDP returned null. %s", attribute));
+        }
+
+        var decisions = multiDecision.block();
+        if (decisions == null) {
+            throw new AccessDeniedException(
+                    String.format("Access Denied by @PostEnforceEach PEP. PDP decision was empty. %s", attribute));
+        }
+        return decisions;
+    }
+
+    private static String subscriptionId(int index) {
+        return Integer.toString(index);
+    }
+
+    /**
+     * @return the element after constraint handling, or null if the element is to
+     *         be dropped.
+     */
+    private <T> Object enforceDecision(AuthorizationDecision decision, Object element, Class<T> elementType) {
+        if (decision == null)
+            return null;
+
+        BlockingConstraintHandlerBundle<T> bundle;
+        try {
+            bundle = constraintEnforcementServiceProvider.getObject().blockingPostEnforceBundleFor(decision,
+                    elementType);
+        } catch (Throwable e) {
+            Exceptions.throwIfFatal(e);
+            return null;
+        }
+
+        if (bundle == null)
+            return null;
+
+        try {
+            bundle.handleOnDecisionConstraints();
+            if (decision.getDecision() != Decision.PERMIT)
+                return null;
+
+            return bundle.handleAllOnNextConstraints(element);
+        } catch (Throwable e) {
+            Exceptions.throwIfFatal(e);
+            bundle.handleAllOnErrorConstraints(e);
+            return null;
+        }
+    }
+
+    private static List<?> elementsOf(Object returnedObject, SaplAttribute attribute) {
+        if (returnedObject instanceof Collection<?> collection)
+            return new ArrayList<>(collection);
+        if (returnedObject instanceof Object[] array)
+            return Arrays.asList(array);
+
+        throw new AccessDeniedException(String.format(
+                "Access Denied by @PostEnforceEach PEP. The method must return a Collection or an array, but returned %s. %s",
+                returnedObject.getClass().getName(), attribute));
+    }
+
+    private static void requireSupportedReturnType(Class<?> declaredType, SaplAttribute attribute) {
+        if (declaredType.isArray() || FALLBACK_COLLECTIONS.stream().anyMatch(declaredType::isAssignableFrom)
+                || (Collection.class.isAssignableFrom(declaredType) && hasPublicNoArgsConstructor(declaredType)))
+            return;
+
+        throw new AccessDeniedException(String.format(
+                "Access Denied by @PostEnforceEach PEP. The method must be declared to return an array or a collection, which can be instantiated, but is declared to return %s. %s",
+                declaredType.getName(), attribute));
+    }
+
+    private static Object asReturnedType(Class<?> declaredType, Object returnedObject, List<Object> permitted,
+            SaplAttribute attribute) {
+        if (returnedObject instanceof Collection<?> collection) {
+            var result = newCollectionLike(collection, declaredType, permitted.size(), attribute);
+            result.addAll(permitted);
+            return result;
+        }
+
+        var array = Array.newInstance(returnedObject.getClass().getComponentType(), permitted.size());
+        for (var i = 0; i < permitted.size(); i++)
+            Array.set(array, i, permitted.get(i));
+        return array;
+    }
+
+    /**
+     * @return an empty collection of the type of the returned collection, keeping
+     *         its ordering, or of a standard type matching the declared return
+     *         type.
+     */
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> newCollectionLike(Collection<?> returned, Class<?> declaredType, int size,
+            SaplAttribute attribute) {
+        Collection<Object> candidate = null;
+        if (returned instanceof SortedSet<?> sortedSet)
+            candidate = new TreeSet<>((Comparator<Object>) sortedSet.comparator());
+        else if (returned instanceof PriorityQueue<?> priorityQueue)
+            candidate = new PriorityQueue<>(Math.max(1, size), (Comparator<Object>) priorityQueue.comparator());
+        if (declaredType.isInstance(candidate))
+            return candidate;
+
+        var sameType = newInstance(returned.getClass());
+        if (declaredType.isInstance(sameType))
+            return sameType;
+
+        for (var fallback : FALLBACK_COLLECTIONS) {
+            if (declaredType.isAssignableFrom(fallback))
+                return newInstance(fallback);
+        }
+        throw new AccessDeniedException(String.format(
+                "Access Denied by @PostEnforceEach PEP. Cannot create a result of the declared return type %s for the returned %s. %s",
+                declaredType.getName(), returned.getClass().getName(), attribute));
+    }
+
+    private static boolean hasPublicNoArgsConstructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || !Modifier.isPublic(type.getModifiers()))
+            return false;
+        try {
+            type.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> newInstance(Class<?> type) {
+        if (!hasPublicNoArgsConstructor(type))
+            return null;
+        try {
+            return (Collection<Object>) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Supplier<Authentication> getAuthentication(SecurityContextHolderStrategy strategy) {
+        return () -> {
+            var authentication = strategy.getContext().getAuthentication();
+            if (authentication == null) {
+                throw new AuthenticationCredentialsNotFoundException(
+                        "An Authentication object was not found in the SecurityContext");
+            }
+            return authentication;
+        };
+    }
+
+}
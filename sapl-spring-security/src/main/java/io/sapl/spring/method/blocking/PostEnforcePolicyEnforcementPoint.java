@@ -84,13 +84,13 @@ public Object invoke(MethodInvocation methodInvocation) throws Throwable {
                 .constructAuthorizationSubscriptionWithReturnObject(authentication.get(), methodInvocation,
                         postEnforceAttribute, returnedObjectForAuthzSubscription);
 
-        var authzDecisions = policyDecisionPointProvider.getObject().decide(authzSubscription);
+        var authzDecisions = policyDecisionPointProvider.getObject().decideOnce(authzSubscription);
         if (authzDecisions == null) {
             throw new AccessDeniedException(
                     String.format("Access Denied by @PostEnforce PEP. PDP returned null. %s", attribute));
         }
 
-        var authzDecision = authzDecisions.blockFirst();
+        var authzDecision = authzDecisions.block();
 
         if (authzDecision == null) {
             throw new AccessDeniedException(
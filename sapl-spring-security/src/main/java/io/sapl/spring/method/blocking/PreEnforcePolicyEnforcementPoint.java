@@ -122,13 +122,13 @@ private AuthorizationDecision getAuthorizationFromPolicyDecisionPoint(MethodInvo
         var authzSubscription = subscriptionBuilderProvider.getObject()
                 .constructAuthorizationSubscription(authenticationSupplier.get(), methodInvocation, attribute);
 
-        var authzDecisions = policyDecisionPointProvider.getObject().decide(authzSubscription);
+        var authzDecisions = policyDecisionPointProvider.getObject().decideOnce(authzSubscription);
         if (authzDecisions == null) {
             throw new AccessDeniedException(
                     String.format("Access Denied by @PreEnforce PEP. PDP returned null. %s", attribute));
         }
 
-        var authzDecision = authzDecisions.blockFirst();
+        var authzDecision = authzDecisions.block();
         if (authzDecision == null) {
             throw new AccessDeniedException(
                     String.format("Access Denied by @PreEnforce PEP. PDP decision stream was empty. %s", attribute));
@@ -24,7 +24,8 @@
 @Getter
 public enum SaplAuthorizationInterceptorsOrder {
     PRE_ENFORCE(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder() - 50),
-    POST_ENFORCE(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder() - 40);
+    POST_ENFORCE(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder() - 40),
+    POST_ENFORCE_EACH(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder() - 30);
 
     private final int order;
 
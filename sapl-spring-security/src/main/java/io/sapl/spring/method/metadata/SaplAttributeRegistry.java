@@ -40,7 +40,8 @@
 
 public class SaplAttributeRegistry {
     public static final List<Class<? extends Annotation>> SAPL_ANNOTATIONS = List.of(EnforceRecoverableIfDenied.class,
-            EnforceTillDenied.class, EnforceDropWhileDenied.class, PreEnforce.class, PostEnforce.class);
+            EnforceTillDenied.class, EnforceDropWhileDenied.class, PreEnforce.class, PostEnforce.class,
+            PostEnforceEach.class);
 
     private final Map<Class<?>, Map<MethodClassKey, SaplAttribute>> cachedAttributes = new ConcurrentHashMap<>();
     private final MethodSecurityExpressionHandler                   expressionHandler;
@@ -151,6 +152,11 @@ public <T extends Annotation> SaplAttribute resolveAttribute(Method method, Clas
                     parseExpression(saplAnnotation.action()), parseExpression(saplAnnotation.resource()),
                     parseExpression(saplAnnotation.environment()), saplAnnotation.genericsType());
         }
+        if (annotation instanceof PostEnforceEach saplAnnotation) {
+            return new SaplAttribute(annotationType, parseExpression(saplAnnotation.subject()),
+                    parseExpression(saplAnnotation.action()), parseExpression(saplAnnotation.resource()),
+                    parseExpression(saplAnnotation.environment()), saplAnnotation.genericsType());
+        }
         if (annotation instanceof EnforceRecoverableIfDenied saplAnnotation) {
             return new SaplAttribute(annotationType, parseExpression(saplAnnotation.subject()),
                     parseExpression(saplAnnotation.action()), parseExpression(saplAnnotation.resource()),
@@ -22,6 +22,8 @@
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -32,12 +34,14 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.AuthorizationSubscription;
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import io.sapl.spring.constraints.ConstraintEnforcementService;
 import io.sapl.spring.method.metadata.EnforceDropWhileDenied;
 import io.sapl.spring.method.metadata.EnforceRecoverableIfDenied;
 import io.sapl.spring.method.metadata.EnforceTillDenied;
 import io.sapl.spring.method.metadata.PostEnforce;
+import io.sapl.spring.method.metadata.PostEnforceEach;
 import io.sapl.spring.method.metadata.PreEnforce;
 import io.sapl.spring.method.metadata.SaplAttribute;
 import io.sapl.spring.method.metadata.SaplAttributeRegistry;
@@ -74,6 +78,8 @@ public class ReactiveSaplMethodInterceptor implements MethodInterceptor {
     @NonNull
     private final PostEnforcePolicyEnforcementPoint postEnforcePolicyEnforcementPoint;
 
+    private final Map<AuthorizationSubscription, Flux<AuthorizationDecision>> sharedDecisions = new ConcurrentHashMap<>();
+
     @Override
     public Object invoke(final MethodInvocation invocation) {
         var method         = invocation.getMethod();
@@ -84,6 +90,7 @@ public Object invoke(final MethodInvocation invocation) {
         }
 
         failIfTheAnnotatedMethodIsNotOfReactiveType(method);
+        failIfPostEnforceEachIsPresent(saplAttributes, method);
         failIfBothSaplAndSpringAnnotationsArePresent(invocation);
         failIfEnforceIsCombinedWithPreEnforceOrPostEnforce(saplAttributes, method);
         failIfPostEnforceIsOnAMethodNotReturningAMono(saplAttributes, method);
@@ -110,7 +117,7 @@ public Object invoke(final MethodInvocation invocation) {
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private Flux<?> interceptWithEnforceRecoverableIfDeniedPEP(MethodInvocation invocation, SaplAttribute attribute) {
-        var decisions           = preSubscriptionDecisions(invocation, attribute);
+        var decisions           = sharedSubscriptionDecisions(invocation, attribute);
         var resourceAccessPoint = (Flux) proceed(invocation);
         return EnforceRecoverableIfDeniedPolicyEnforcementPoint.of(decisions, resourceAccessPoint,
                 constraintHandlerService, attribute.genericsType());
@@ -118,7 +125,7 @@ private Flux<?> interceptWithEnforceRecoverableIfDeniedPEP(MethodInvocation invo
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private Flux<?> interceptWithEnforceTillDeniedPEP(MethodInvocation invocation, SaplAttribute attribute) {
-        var decisions           = preSubscriptionDecisions(invocation, attribute);
+        var decisions           = sharedSubscriptionDecisions(invocation, attribute);
         var resourceAccessPoint = (Flux) proceed(invocation);
         return EnforceTillDeniedPolicyEnforcementPoint.of(decisions, resourceAccessPoint, constraintHandlerService,
                 attribute.genericsType());
@@ -126,7 +133,7 @@ private Flux<?> interceptWithEnforceTillDeniedPEP(MethodInvocation invocation, S
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private Flux<?> interceptWithEnforceDropWhileDeniedPEP(MethodInvocation invocation, SaplAttribute attribute) {
-        var decisions           = preSubscriptionDecisions(invocation, attribute);
+        var decisions           = sharedSubscriptionDecisions(invocation, attribute);
         var resourceAccessPoint = (Flux) proceed(invocation);
         return EnforceDropWhileDeniedPolicyEnforcementPoint.of(decisions, resourceAccessPoint, constraintHandlerService,
                 attribute.genericsType());
@@ -159,6 +166,34 @@ private Flux<AuthorizationDecision> preSubscriptionDecisions(MethodInvocation in
                 .flatMapMany(pdp::decide);
     }
 
+    /**
+     * Continuous enforcement keeps the PDP subscription open for the lifetime of
+     * the returned stream. Concurrent invocations resulting in the same
+     * authorization subscription share one PDP subscription. Late subscribers
+     * immediately receive the latest decision. The PDP subscription is cancelled
+     * when the last consumer cancels. The constraint handler bundles for a decision
+     * are shared through the bundle cache of the ConstraintEnforcementService.
+     */
+    private Flux<AuthorizationDecision> sharedSubscriptionDecisions(MethodInvocation invocation,
+            SaplAttribute attribute) {
+        return subscriptionBuilder.reactiveConstructAuthorizationSubscription(invocation, attribute)
+                .flatMapMany(subscription -> sharedDecisions.computeIfAbsent(subscription, this::newSharedDecisions));
+    }
+
+    private Flux<AuthorizationDecision> newSharedDecisions(AuthorizationSubscription subscription) {
+        var shared = new AtomicReference<Flux<AuthorizationDecision>>();
+        shared.set(Flux.defer(() -> pdp.decide(subscription))
+                .doFinally(signal -> sharedDecisions.remove(subscription, shared.get())).replay(1).refCount());
+        return shared.get();
+    }
+
+    /**
+     * @return the number of currently shared PDP subscriptions.
+     */
+    int sharedDecisionStreams() {
+        return sharedDecisions.size();
+    }
+
     private boolean noSaplAnnotationsPresent(Map<Class<? extends Annotation>, SaplAttribute> attributes) {
         return attributes.isEmpty();
     }
@@ -173,6 +208,13 @@ private void failIfPostEnforceIsOnAMethodNotReturningAMono(
                 () -> "The returnType " + returnType + " on " + method + " must be a Mono for @PostEnforce.");
     }
 
+    private void failIfPostEnforceEachIsPresent(Map<Class<? extends Annotation>, SaplAttribute> attributes,
+            Method method) {
+        var hasNoPostEnforceEachAttribute = !hasAnyAnnotationOfType(attributes, PostEnforceEach.class);
+        Assert.state(hasNoPostEnforceEachAttribute, () -> "The method " + method
+                + " is annotated by @PostEnforceEach, which is only supported on methods returning collections. Use @EnforceDropWhileDenied or @PostEnforce on reactive methods instead.");
+    }
+
     private void failIfTheAnnotatedMethodIsNotOfReactiveType(Method method) {
         var returnType            = method.getReturnType();
         var hasReactiveReturnType = Publisher.class.isAssignableFrom(returnType);
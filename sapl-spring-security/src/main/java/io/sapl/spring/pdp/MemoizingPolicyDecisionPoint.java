@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.pdp;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.api.pdp.IdentifiableAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import io.sapl.api.pdp.PolicyUpdateSource;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * PolicyDecisionPoint decorator memoizing the results of
+ * {@link #decideOnce(AuthorizationSubscription)}.
+ * <p>
+ * Within a single HTTP request, the filter chain and several blocking PEPs
+ * often issue identical authorization subscriptions. These are answered only
+ * once per request. The decisions are stored in the request attributes of the
+ * current servlet request or in the attributes of the current
+ * ServerWebExchange.
+ * <p>
+ * Optionally, decisions without obligations, advice, or resource replacement
+ * are additionally remembered for a short time across requests. As the subject
+ * of a subscription identifies the authenticated user, these entries are
+ * effectively scoped to the session of the user.
+ * <p>
+ * If the decorated PDP is a {@link PolicyUpdateSource}, all memoized decisions
+ * are discarded whenever the policies or the PDP configuration change.
+ * Streaming decisions via {@link #decide(AuthorizationSubscription)} are never
+ * memoized.
+ */
+@Slf4j
+public class MemoizingPolicyDecisionPoint implements PolicyDecisionPoint, DisposableBean {
+
+    static final String REQUEST_ATTRIBUTE = MemoizingPolicyDecisionPoint.class.getName() + ".DECISIONS";
+
+    private final PolicyDecisionPoint                                     delegate;
+    private final boolean                                                 sessionScopeEnabled;
+    private final Cache<AuthorizationSubscription, AuthorizationDecision> sessionDecisions;
+    private final AtomicLong                                              generation = new AtomicLong();
+    private final Disposable                                              updateSubscription;
+
+    private record RequestScopedDecisions(long generation,
+            Map<AuthorizationSubscription, AuthorizationDecision> decisions) {
+    }
+
+    /**
+     * Creates a memoizing PDP.
+     *
+     * @param delegate              the PDP making the actual decisions.
+     * @param sessionTimeToLive     how long decisions without constraints are
+     *                              remembered across requests. Zero disables
+     *                              memoization across requests.
+     * @param maximumSessionEntries upper bound for the number of decisions
+     *                              remembered across requests.
+     */
+    public MemoizingPolicyDecisionPoint(PolicyDecisionPoint delegate, Duration sessionTimeToLive,
+            int maximumSessionEntries) {
+        this(delegate, sessionTimeToLive, maximumSessionEntries, Clock.systemUTC());
+    }
+
+    MemoizingPolicyDecisionPoint(PolicyDecisionPoint delegate, Duration sessionTimeToLive, int maximumSessionEntries,
+            Clock clock) {
+        this.delegate            = delegate;
+        this.sessionScopeEnabled = maximumSessionEntries > 0 && sessionTimeToLive != null && !sessionTimeToLive.isZero()
+                && !sessionTimeToLive.isNegative();
+        this.sessionDecisions    = CacheBuilder.newBuilder().maximumSize(Math.max(maximumSessionEntries, 0))
+                .expireAfterWrite(sessionScopeEnabled ? sessionTimeToLive : Duration.ZERO).ticker(ticker(clock))
+                .build();
+        if (delegate instanceof PolicyUpdateSource updateSource) {
+            updateSubscription = updateSource.policyUpdates().subscribe(update -> invalidate(), error -> log
+                    .error("Policy update signal failed. Memoized decisions are no longer invalidated.", error));
+        } else {
+            updateSubscription = null;
+        }
+    }
+
+    @Override
+    public Flux<AuthorizationDecision> decide(AuthorizationSubscription authzSubscription) {
+        return delegate.decide(authzSubscription);
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> decideOnce(AuthorizationSubscription authzSubscription) {
+        return Mono.deferContextual(ctx -> {
+            var currentGeneration = generation.get();
+            var requestScoped     = requestScopedDecisions(ctx, currentGeneration);
+            var memoized          = requestScoped.map(scoped -> scoped.decisions().get(authzSubscription))
+                    .orElseGet(() -> sessionScopedDecision(authzSubscription));
+            if (memoized != null)
+                return Mono.just(memoized);
+
+            return delegate.decideOnce(authzSubscription).doOnNext(decision -> {
+                requestScoped.ifPresent(scoped -> scoped.decisions().put(authzSubscription, decision));
+                rememberSessionScoped(authzSubscription, decision, currentGeneration);
+            });
+        });
+    }
+
+    @Override
+    public Flux<IdentifiableAuthorizationDecision> decide(MultiAuthorizationSubscription multiAuthzSubscription) {
+        return delegate.decide(multiAuthzSubscription);
+    }
+
+    @Override
+    public Flux<MultiAuthorizationDecision> decideAll(MultiAuthorizationSubscription multiAuthzSubscription) {
+        return delegate.decideAll(multiAuthzSubscription);
+    }
+
+    @Override
+    public Mono<MultiAuthorizationDecision> decideAllOnce(MultiAuthorizationSubscription multiAuthzSubscription) {
+        return delegate.decideAllOnce(multiAuthzSubscription);
+    }
+
+    /**
+     * Discards all memoized decisions.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        sessionDecisions.invalidateAll();
+    }
+
+    @Override
+    public void destroy() {
+        if (updateSubscription != null)
+            updateSubscription.dispose();
+    }
+
+    /**
+     * @return the number of decisions currently remembered across requests.
+     */
+    long sessionScopedSize() {
+        sessionDecisions.cleanUp();
+        return sessionDecisions.size();
+    }
+
+    private static Ticker ticker(Clock clock) {
+        return new Ticker() {
+            @Override
+            public long read() {
+                return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+            }
+        };
+    }
+
+    private Optional<RequestScopedDecisions> requestScopedDecisions(ContextView ctx, long currentGeneration) {
+        var exchange = ctx.getOrEmpty(ServerWebExchange.class);
+        if (exchange.isPresent()) {
+            var attributes = ((ServerWebExchange) exchange.get()).getAttributes();
+            return Optional.of((RequestScopedDecisions) attributes.compute(REQUEST_ATTRIBUTE,
+                    (key, existing) -> currentDecisions(existing, currentGeneration)));
+        }
+
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null)
+            return Optional.empty();
+
+        var existing  = requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        var decisions = currentDecisions(existing, currentGeneration);
+        if (decisions != existing)
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, decisions, RequestAttributes.SCOPE_REQUEST);
+        return Optional.of(decisions);
+    }
+
+    private static RequestScopedDecisions currentDecisions(Object existing, long currentGeneration) {
+        if (existing instanceof RequestScopedDecisions decisions && decisions.generation() == currentGeneration)
+            return decisions;
+        return new RequestScopedDecisions(currentGeneration, new ConcurrentHashMap<>());
+    }
+
+    private AuthorizationDecision sessionScopedDecision(AuthorizationSubscription authzSubscription) {
+        if (!sessionScopeEnabled)
+            return null;
+
+        return sessionDecisions.getIfPresent(authzSubscription);
+    }
+
+    private void rememberSessionScoped(AuthorizationSubscription authzSubscription, AuthorizationDecision decision,
+            long decisionGeneration) {
+        if (!sessionScopeEnabled || hasConstraintsOrResource(decision) || generation.get() != decisionGeneration)
+            return;
+
+        sessionDecisions.put(authzSubscription, decision);
+    }
+
+    private static boolean hasConstraintsOrResource(AuthorizationDecision decision) {
+        return decision.getObligations().isPresent() || decision.getAdvice().isPresent()
+                || decision.getResource().isPresent();
+    }
+
+}
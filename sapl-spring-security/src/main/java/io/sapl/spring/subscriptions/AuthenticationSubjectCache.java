@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.subscriptions;
+
+import java.util.function.Function;
+
+import org.springframework.security.core.Authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Remembers the sanitized JSON representation of Authentication objects. In
+ * most applications, the same Authentication instance is used for all requests
+ * of a session or token. Hence, it does not have to be serialized again for
+ * every authorization subscription.
+ * <p>
+ * Entries are identified by the identity of the Authentication and are
+ * discarded once it is garbage collected. The hash code of the Authentication
+ * serves as its version, so changes to the Authentication, e.g., of its details
+ * or authorities, lead to a new serialization.
+ * <p>
+ * The cached JSON nodes are never handed out. Each subscription receives its
+ * own copy, which is considerably cheaper than serializing the Authentication
+ * again, and may modify it.
+ */
+class AuthenticationSubjectCache {
+
+    static final int MAX_CACHED_SUBJECTS = 10_000;
+
+    private final Cache<Authentication, VersionedSubject> subjects = CacheBuilder.newBuilder().weakKeys()
+            .maximumSize(MAX_CACHED_SUBJECTS).build();
+
+    private record VersionedSubject(int version, JsonNode subject) {
+    }
+
+    /**
+     * @param authentication the Authentication
+     * @param serializer     creates the sanitized subject, if it is not cached
+     * @return a copy of the sanitized subject
+     */
+    JsonNode subjectFor(Authentication authentication, Function<Authentication, JsonNode> serializer) {
+        if (authentication == null)
+            return serializer.apply(null);
+
+        var version = authentication.hashCode();
+        var cached  = subjects.getIfPresent(authentication);
+        if (cached != null && cached.version() == version)
+            return cached.subject().deepCopy();
+
+        var subject = serializer.apply(authentication);
+        subjects.put(authentication, new VersionedSubject(version, subject));
+        return subject.deepCopy();
+    }
+
+}
@@ -35,6 +35,7 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.sapl.api.pdp.AuthorizationSubscription;
@@ -56,6 +57,8 @@ public class WebAuthorizationSubscriptionBuilderService {
     private final ObjectProvider<GrantedAuthorityDefaults>        defaultsProvider;
     private final ApplicationContext                              context;
 
+    private final AuthenticationSubjectCache subjectCache = new AuthenticationSubjectCache();
+
     private MethodSecurityExpressionHandler expressionHandler;
     private ObjectMapper                    mapper;
 
@@ -101,18 +104,22 @@ public AuthorizationSubscription constructAuthorizationSubscription(Authenticati
 
     private AuthorizationSubscription constructAuthorizationSubscription(Authentication authentication,
             MethodInvocation methodInvocation, SaplAttribute attribute, EvaluationContext evaluationCtx) {
-        var subject     = retrieveSubject(authentication, attribute, evaluationCtx);
-        var action      = retrieveAction(methodInvocation, attribute, evaluationCtx, retrieveRequestObject());
-        var resource    = retrieveResource(methodInvocation, attribute, evaluationCtx);
-        var environment = retrieveEnvironment(attribute, evaluationCtx);
-        return new AuthorizationSubscription(mapper().valueToTree(subject), mapper().valueToTree(action),
-                mapper().valueToTree(resource), mapper().valueToTree(environment));
+        var subject           = retrieveSubject(authentication, attribute, evaluationCtx);
+        var actionAndResource = retrieveActionAndResource(methodInvocation, attribute, evaluationCtx,
+                retrieveRequestObject());
+        var environment       = retrieveEnvironment(attribute, evaluationCtx);
+        return new AuthorizationSubscription(subject, actionAndResource.action(), actionAndResource.resource(),
+                environment);
     }
 
     private JsonNode retrieveSubject(Authentication authentication, SaplAttribute attr, EvaluationContext ctx) {
         if (attr.subjectExpression() != null)
             return evaluateToJson(attr.subjectExpression(), ctx);
 
+        return subjectCache.subjectFor(authentication, this::sanitizedSubject);
+    }
+
+    private JsonNode sanitizedSubject(Authentication authentication) {
         ObjectNode subject = mapper().valueToTree(authentication);
 
         // sanitize the authentication depending on the application context, the
@@ -142,17 +149,37 @@ private static Optional<HttpServletRequest> retrieveRequestObject() {
         return Optional.ofNullable(httpRequest);
     }
 
-    private Object retrieveAction(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
+    private record ActionAndResource(JsonNode action, JsonNode resource) {
+    }
+
+    /**
+     * The method invocation and the HTTP request are serialized only once, even if
+     * both the action and the resource are derived from them.
+     */
+    private ActionAndResource retrieveActionAndResource(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
             Optional<?> requestObject) {
-        if (attr.actionExpression() == null)
-            return retrieveAction(mi, requestObject);
-        return evaluateToJson(attr.actionExpression(), ctx);
+        var defaultAction   = attr.actionExpression() == null;
+        var defaultResource = attr.resourceExpression() == null;
+
+        ObjectNode         java = null;
+        Optional<JsonNode> http = Optional.empty();
+        if (defaultAction || defaultResource) {
+            java = mapper().valueToTree(mi);
+            http = requestObject.map(mapper()::valueToTree);
+        }
+
+        // action and resource must not share nodes, as either may be modified later
+        var action   = defaultAction
+                ? retrieveAction(mi, defaultResource ? java.deepCopy() : java,
+                        defaultResource ? http.map(JsonNode::deepCopy) : http)
+                : evaluateToJson(attr.actionExpression(), ctx);
+        var resource = defaultResource ? retrieveResource(java, http) : evaluateToJson(attr.resourceExpression(), ctx);
+        return new ActionAndResource(action, resource);
     }
 
-    private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
+    private JsonNode retrieveAction(MethodInvocation mi, ObjectNode java, Optional<JsonNode> http) {
         var actionNode = mapper().createObjectNode();
-        requestObject.ifPresent(request -> actionNode.set("http", mapper().valueToTree(request)));
-        var java      = (ObjectNode) mapper().valueToTree(mi);
+        http.ifPresent(request -> actionNode.set("http", request));
         var arguments = mi.getArguments();
         if (arguments.length > 0) {
             var array = JSON.arrayNode();
@@ -170,25 +197,17 @@ private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
         return actionNode;
     }
 
-    private Object retrieveResource(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx) {
-        if (attr.resourceExpression() == null)
-            return retrieveResource(mi);
-        return evaluateToJson(attr.resourceExpression(), ctx);
-    }
-
-    private Object retrieveResource(MethodInvocation mi) {
-        var resourceNode       = mapper().createObjectNode();
-        var httpServletRequest = retrieveRequestObject();
+    private JsonNode retrieveResource(ObjectNode java, Optional<JsonNode> http) {
+        var resourceNode = mapper().createObjectNode();
         // The action is in the context of an HTTP request. Adding it to the resource.
-        httpServletRequest.ifPresent(servletRequest -> resourceNode.set("http", mapper().valueToTree(servletRequest)));
-        var java = (ObjectNode) mapper().valueToTree(mi);
+        http.ifPresent(request -> resourceNode.set("http", request));
         resourceNode.set("java", java);
         return resourceNode;
     }
 
-    private Object retrieveEnvironment(SaplAttribute attr, EvaluationContext ctx) {
+    private JsonNode retrieveEnvironment(SaplAttribute attr, EvaluationContext ctx) {
         if (attr.environmentExpression() == null)
-            return null;
+            return NullNode.getInstance();
         return evaluateToJson(attr.environmentExpression(), ctx);
     }
 
@@ -34,6 +34,7 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.sapl.api.pdp.AuthorizationSubscription;
@@ -58,6 +59,8 @@ public class WebfluxAuthorizationSubscriptionBuilderService {
 
     private final ObjectMapper mapper;
 
+    private final AuthenticationSubjectCache subjectCache = new AuthenticationSubjectCache();
+
     public Mono<AuthorizationSubscription> reactiveConstructAuthorizationSubscription(MethodInvocation methodInvocation,
             SaplAttribute attribute) {
         return Mono.deferContextual(contextView -> constructAuthorizationSubscriptionFromContextView(methodInvocation,
@@ -89,18 +92,22 @@ private AuthorizationSubscription constructAuthorizationSubscription(Authenticat
         var evaluationCtx = expressionHandler.createEvaluationContext(authentication, methodInvocation);
         returnedObject.ifPresent(returnObject -> expressionHandler.setReturnObject(returnObject, evaluationCtx));
 
-        var subject     = retrieveSubject(authentication, attribute, evaluationCtx);
-        var action      = retrieveAction(methodInvocation, attribute, evaluationCtx, serverHttpRequest);
-        var resource    = retrieveResource(methodInvocation, attribute, evaluationCtx, serverHttpRequest);
-        var environment = retrieveEnvironment(attribute, evaluationCtx);
-        return new AuthorizationSubscription(mapper.valueToTree(subject), mapper.valueToTree(action),
-                mapper.valueToTree(resource), mapper.valueToTree(environment));
+        var subject           = retrieveSubject(authentication, attribute, evaluationCtx);
+        var actionAndResource = retrieveActionAndResource(methodInvocation, attribute, evaluationCtx,
+                serverHttpRequest);
+        var environment       = retrieveEnvironment(attribute, evaluationCtx);
+        return new AuthorizationSubscription(subject, actionAndResource.action(), actionAndResource.resource(),
+                environment);
     }
 
     private JsonNode retrieveSubject(Authentication authentication, SaplAttribute attr, EvaluationContext ctx) {
         if (attr.subjectExpression() != null)
             return evaluateToJson(attr.subjectExpression(), ctx);
 
+        return subjectCache.subjectFor(authentication, this::sanitizedSubject);
+    }
+
+    private JsonNode sanitizedSubject(Authentication authentication) {
         ObjectNode subject = mapper.valueToTree(authentication);
 
         // sanitize the authentication depending on the application context, the
@@ -123,17 +130,37 @@ private JsonNode evaluateToJson(Expression expr, EvaluationContext ctx) {
         }
     }
 
-    private Object retrieveAction(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
+    private record ActionAndResource(JsonNode action, JsonNode resource) {
+    }
+
+    /**
+     * The method invocation and the HTTP request are serialized only once, even if
+     * both the action and the resource are derived from them.
+     */
+    private ActionAndResource retrieveActionAndResource(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
             Optional<?> requestObject) {
-        if (attr.actionExpression() == null)
-            return retrieveAction(mi, requestObject);
-        return evaluateToJson(attr.actionExpression(), ctx);
+        var defaultAction   = attr.actionExpression() == null;
+        var defaultResource = attr.resourceExpression() == null;
+
+        ObjectNode         java = null;
+        Optional<JsonNode> http = Optional.empty();
+        if (defaultAction || defaultResource) {
+            java = mapper.valueToTree(mi);
+            http = requestObject.map(mapper::valueToTree);
+        }
+
+        // action and resource must not share nodes, as either may be modified later
+        var action   = defaultAction
+                ? retrieveAction(mi, defaultResource ? java.deepCopy() : java,
+                        defaultResource ? http.map(JsonNode::deepCopy) : http)
+                : evaluateToJson(attr.actionExpression(), ctx);
+        var resource = defaultResource ? retrieveResource(java, http) : evaluateToJson(attr.resourceExpression(), ctx);
+        return new ActionAndResource(action, resource);
     }
 
-    private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
+    private JsonNode retrieveAction(MethodInvocation mi, ObjectNode java, Optional<JsonNode> http) {
         var actionNode = mapper.createObjectNode();
-        requestObject.ifPresent(request -> actionNode.set("http", mapper.valueToTree(request)));
-        var java      = (ObjectNode) mapper.valueToTree(mi);
+        http.ifPresent(request -> actionNode.set("http", request));
         var arguments = mi.getArguments();
         if (arguments.length > 0) {
             var array = JSON.arrayNode();
@@ -151,25 +178,17 @@ private Object retrieveAction(MethodInvocation mi, Optional<?> requestObject) {
         return actionNode;
     }
 
-    private Object retrieveResource(MethodInvocation mi, SaplAttribute attr, EvaluationContext ctx,
-            Optional<ServerHttpRequest> serverHttpRequest) {
-        if (attr.resourceExpression() == null)
-            return retrieveResource(mi, serverHttpRequest);
-        return evaluateToJson(attr.resourceExpression(), ctx);
-    }
-
-    private Object retrieveResource(MethodInvocation mi, Optional<ServerHttpRequest> serverHttpRequest) {
+    private JsonNode retrieveResource(ObjectNode java, Optional<JsonNode> http) {
         var resourceNode = mapper.createObjectNode();
         // The action is in the context of an HTTP request. Adding it to the resource.
-        serverHttpRequest.ifPresent(request -> resourceNode.set("http", mapper.valueToTree(request)));
-        var java = (ObjectNode) mapper.valueToTree(mi);
+        http.ifPresent(request -> resourceNode.set("http", request));
         resourceNode.set("java", java);
         return resourceNode;
     }
 
-    private Object retrieveEnvironment(SaplAttribute attr, EvaluationContext ctx) {
+    private JsonNode retrieveEnvironment(SaplAttribute attr, EvaluationContext ctx) {
         if (attr.environmentExpression() == null)
-            return null;
+            return NullNode.getInstance();
         return evaluateToJson(attr.environmentExpression(), ctx);
     }
 
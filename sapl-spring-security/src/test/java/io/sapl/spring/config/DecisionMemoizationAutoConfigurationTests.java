@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.api.pdp.IdentifiableAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import io.sapl.spring.pdp.MemoizingPolicyDecisionPoint;
+import reactor.core.publisher.Flux;
+
+class DecisionMemoizationAutoConfigurationTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DecisionMemoizationAutoConfiguration.class))
+            .withBean(ConcretePolicyDecisionPoint.class, ConcretePolicyDecisionPoint::new);
+
+    @Test
+    void whenNotEnabled_thenPdpIsNotDecorated() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean(PolicyDecisionPoint.class)).isNotInstanceOf(MemoizingPolicyDecisionPoint.class);
+        });
+    }
+
+    @Test
+    void whenEnabled_thenMemoizingPdpIsPrimaryAndDecoratedPdpRemainsAvailable() {
+        contextRunner
+                .withPropertyValues("io.sapl.memoization.enabled=true", "io.sapl.memoization.session-time-to-live=5s")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context.getBean(PolicyDecisionPoint.class))
+                            .isInstanceOf(MemoizingPolicyDecisionPoint.class);
+                    assertThat(context.getBeansOfType(PolicyDecisionPoint.class)).hasSize(2);
+                    assertThat(context.getBean(ConcretePolicyDecisionPoint.class)).isNotNull();
+                });
+    }
+
+    @Test
+    void whenContextClosed_thenMemoizingAndDecoratedPdpAreDestroyed() {
+        var decorated = new ConcretePolicyDecisionPoint();
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DecisionMemoizationAutoConfiguration.class))
+                .withBean(ConcretePolicyDecisionPoint.class, () -> decorated)
+                .withPropertyValues("io.sapl.memoization.enabled=true").run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(decorated.destroyed).isFalse();
+                });
+        assertThat(decorated.destroyed).isTrue();
+    }
+
+    @Test
+    void whenEnabledWithoutPdp_thenContextFails() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DecisionMemoizationAutoConfiguration.class))
+                .withPropertyValues("io.sapl.memoization.enabled=true").run(context -> assertThat(context).hasFailed());
+    }
+
+    static class ConcretePolicyDecisionPoint implements PolicyDecisionPoint, DisposableBean {
+
+        boolean destroyed;
+
+        @Override
+        public Flux<AuthorizationDecision> decide(AuthorizationSubscription authzSubscription) {
+            return Flux.just(AuthorizationDecision.PERMIT);
+        }
+
+        @Override
+        public Flux<IdentifiableAuthorizationDecision> decide(MultiAuthorizationSubscription multiAuthzSubscription) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<MultiAuthorizationDecision> decideAll(MultiAuthorizationSubscription multiAuthzSubscription) {
+            return Flux.empty();
+        }
+
+        @Override
+        public void destroy() {
+            destroyed = true;
+        }
+
+    }
+
+}
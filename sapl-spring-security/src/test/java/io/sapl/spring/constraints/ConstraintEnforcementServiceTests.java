@@ -17,6 +17,7 @@
  */
 package io.sapl.spring.constraints;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -1117,4 +1118,82 @@ public void accept(ReflectiveMethodInvocation invocation) {
         verify(provider, times(0)).accept(any());
     }
 
+    @Test
+    void when_sameConstraintsTwice_then_bundleIsConstructedOnce() {
+        var provider = spy(new RunnableConstraintHandlerProvider() {
+
+            @Override
+            public boolean isResponsible(JsonNode constraint) {
+                return true;
+            }
+
+            @Override
+            public Signal getSignal() {
+                return Signal.ON_DECISION;
+            }
+
+            @Override
+            public Runnable getHandler(JsonNode constraint) {
+                return this::run;
+            }
+
+            public void run() {
+                // NOOP
+            }
+        });
+        globalRunnableProviders.add(provider);
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT);
+
+        service.blockingPreEnforceBundleFor(decision, Integer.class).handleOnDecisionConstraints();
+        service.blockingPreEnforceBundleFor(AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT.deepCopy()),
+                Integer.class).handleOnDecisionConstraints();
+
+        verify(provider, times(1)).getHandler(any());
+        verify(provider, times(2)).run();
+        assertThat(service.getBundleCacheHits()).isEqualTo(1L);
+        assertThat(service.getBundleCacheMisses()).isEqualTo(1L);
+        assertThat(service.getBundleCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void when_differentTargetTypesOrBundleKinds_then_separateBundlesAreCached() {
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT;
+
+        service.blockingPreEnforceBundleFor(decision, Integer.class);
+        service.blockingPreEnforceBundleFor(decision, String.class);
+        service.blockingPostEnforceBundleFor(decision, Integer.class);
+        service.reactiveTypeBundleFor(decision, Integer.class);
+
+        assertThat(service.getBundleCacheHits()).isZero();
+        assertThat(service.getBundleCacheSize()).isEqualTo(4);
+    }
+
+    @Test
+    void when_cachedBundleAndDifferentResources_then_eachResourceReplacesResult() {
+        var service = buildConstraintHandlerService();
+
+        var first  = service.blockingPostEnforceBundleFor(AuthorizationDecision.PERMIT.withResource(JSON.numberNode(1)),
+                Integer.class);
+        var second = service.blockingPostEnforceBundleFor(AuthorizationDecision.PERMIT.withResource(JSON.numberNode(2)),
+                Integer.class);
+
+        assertThat(first.handleAllOnNextConstraints(0)).isEqualTo(1);
+        assertThat(second.handleAllOnNextConstraints(0)).isEqualTo(2);
+        assertThat(service.getBundleCacheHits()).isEqualTo(1L);
+    }
+
+    @Test
+    void when_obligationUnhandled_then_bundleIsNotCached() {
+        var service  = buildConstraintHandlerService();
+        var decision = AuthorizationDecision.PERMIT.withObligations(ONE_CONSTRAINT);
+
+        assertThrows(AccessDeniedException.class, () -> service.blockingPreEnforceBundleFor(decision, Integer.class));
+        assertThrows(AccessDeniedException.class, () -> service.blockingPreEnforceBundleFor(decision, Integer.class));
+
+        assertThat(service.getBundleCacheSize()).isZero();
+        assertThat(service.getBundleCacheMisses()).isEqualTo(2L);
+    }
+
 }
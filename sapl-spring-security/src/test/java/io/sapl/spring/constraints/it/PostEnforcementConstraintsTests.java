@@ -21,6 +21,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +29,7 @@
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -67,7 +69,7 @@ class PostEnforcementConstraintsTests {
 
     public static final JsonNodeFactory JSON = JsonNodeFactory.instance;
 
-    @MockBean
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
     PolicyDecisionPoint pdp;
 
     @SpyBean
@@ -238,9 +240,9 @@ void when_testServiceCalledAndPdpReturnsEmptyStream_then_pdpMethodThrowsAccessDe
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpReturnsNull_then_pdpMethodThrowsAccessDeniedButWasInvoked() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(null);
+        doReturn(null).when(pdp).decideOnce(any(AuthorizationSubscription.class));
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
-        verify(pdp).decide(any(AuthorizationSubscription.class));
+        verify(pdp).decideOnce(any(AuthorizationSubscription.class));
         verify(service, times(1)).execute(any());
     }
 
@@ -21,6 +21,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -30,6 +31,7 @@
 import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.InOrder;
 import org.springframework.aop.framework.ReflectiveMethodInvocation;
 import org.springframework.boot.SpringApplication;
@@ -77,7 +79,7 @@ class PreEnforcementConstraintsTests {
 
     public static final JsonNodeFactory JSON = JsonNodeFactory.instance;
 
-    @MockBean
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
     PolicyDecisionPoint pdp;
 
     @SpyBean
@@ -284,7 +286,7 @@ void when_testServiceCalledAndPdpReturnsEmptyStream_then_pdpMethodThrowsAccessDe
     @Test
     @WithMockUser()
     void when_testServiceCalledAndPdpReturnsNull_then_pdpMethodThrowsAccessDenied() {
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(null);
+        doReturn(null).when(pdp).decideOnce(any(AuthorizationSubscription.class));
         assertThrows(AccessDeniedException.class, () -> service.execute("test"));
         verify(service, times(0)).execute(any());
     }
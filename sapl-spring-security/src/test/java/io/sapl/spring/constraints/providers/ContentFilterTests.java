@@ -17,7 +17,17 @@
  */
 package io.sapl.spring.constraints.providers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -56,4 +66,37 @@ void test() throws JsonProcessingException {
         var data       = new DataPoint("ABC", 100);
         assertTrue(condition.test(data));
     }
+
+    @Test
+    void when_listFiltered_then_onlyModifiedElementsAreConvertedBack() throws JsonProcessingException {
+        var mapper     = spy(new ObjectMapper());
+        var constraint = MAPPER.readTree("""
+                {
+                	"conditions" : [
+                		{ "path" : "$.b", "type" : ">=", "value" : 10 },
+                		{ "path" : "$.a", "type" : "=~", "value" : "^A.*$" }
+                	],
+                	"actions" : [
+                		{ "type" : "blacken", "path" : "$.a", "discloseLeft" : 1 }
+                	]
+                }
+                """);
+        var handler    = ContentFilter.getHandler(constraint, mapper);
+        var unmatched  = new DataPoint("ABC", 1);
+        var result     = handler.apply(List.of(unmatched, new DataPoint("ABC", 100)));
+
+        assertEquals(List.of(unmatched, new DataPoint("A██", 100)), result);
+        assertSame(unmatched, ((List<?>) result).get(0));
+        verify(mapper, times(1)).treeToValue(any(), eq(DataPoint.class));
+    }
+
+    @Test
+    void when_noConditionsAndNoActions_then_payloadIsNotConverted() throws JsonProcessingException {
+        var mapper  = spy(new ObjectMapper());
+        var handler = ContentFilter.getHandler(MAPPER.readTree("{}"), mapper);
+        var data    = new DataPoint("ABC", 100);
+
+        assertSame(data, handler.apply(data));
+        verify(mapper, never()).valueToTree(any());
+    }
 }
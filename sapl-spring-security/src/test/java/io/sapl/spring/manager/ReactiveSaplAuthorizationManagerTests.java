@@ -27,6 +27,7 @@
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -68,7 +69,7 @@ void setUpMocks() {
         module.addSerializer(ServerHttpRequest.class, new ServerHttpRequestSerializer());
         mapper.registerModule(module);
 
-        pdp = mock(PolicyDecisionPoint.class);
+        pdp = mock(PolicyDecisionPoint.class, Answers.CALLS_REAL_METHODS);
         var constraintHandlers = mock(ConstraintEnforcementService.class);
 
         bundle = mock(BlockingConstraintHandlerBundle.class);
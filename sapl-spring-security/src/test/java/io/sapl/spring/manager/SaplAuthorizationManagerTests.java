@@ -28,6 +28,7 @@
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
@@ -61,7 +62,7 @@ void setUpMocks() {
         module.addSerializer(HttpServletRequest.class, new HttpServletRequestSerializer());
         mapper.registerModule(module);
         authentication     = mock(Authentication.class);
-        pdp                = mock(PolicyDecisionPoint.class);
+        pdp                = mock(PolicyDecisionPoint.class, Answers.CALLS_REAL_METHODS);
         constraintHandlers = mock(ConstraintEnforcementService.class);
         bundle             = mock(BlockingConstraintHandlerBundle.class);
         doReturn(bundle).when(constraintHandlers).accessManagerBundleFor(any());
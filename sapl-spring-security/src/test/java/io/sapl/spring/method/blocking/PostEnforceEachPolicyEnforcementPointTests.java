@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.method.blocking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.stereotype.Service;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.IdentifiableAuthorizationSubscription;
+import io.sapl.api.pdp.MultiAuthorizationDecision;
+import io.sapl.api.pdp.MultiAuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import io.sapl.spring.config.EnableSaplMethodSecurity;
+import io.sapl.spring.constraints.BlockingConstraintHandlerBundle;
+import io.sapl.spring.constraints.ConstraintEnforcementService;
+import io.sapl.spring.method.blocking.PostEnforceEachPolicyEnforcementPointTests.Application;
+import io.sapl.spring.method.blocking.PostEnforceEachPolicyEnforcementPointTests.MethodSecurityConfiguration;
+import io.sapl.spring.method.blocking.PostEnforceEachPolicyEnforcementPointTests.TestService;
+import io.sapl.spring.method.metadata.PostEnforceEach;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(classes = { Application.class, MethodSecurityConfiguration.class, TestService.class }, properties = {
+        "spring.main.web-application-type=servlet" })
+class PostEnforceEachPolicyEnforcementPointTests {
+
+    private static final String SECRET = "secret";
+
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private PolicyDecisionPoint pdp;
+
+    @MockBean
+    private ConstraintEnforcementService constraintEnforcementService;
+
+    @Autowired
+    TestService testService;
+
+    @SpringBootApplication
+    static class Application {
+        public static void main(String... args) {
+            SpringApplication.run(Application.class, args);
+        }
+    }
+
+    @TestConfiguration
+    @EnableSaplMethodSecurity
+    static class MethodSecurityConfiguration {
+    }
+
+    @Service
+    static class TestService {
+        static final AtomicBoolean UNSUPPORTED_INVOKED = new AtomicBoolean();
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public List<String> list() {
+            return List.of("a", SECRET, "b");
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public Set<String> set() {
+            return Set.of("a", SECRET);
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public String[] array() {
+            return new String[] { SECRET, "a" };
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public List<String> empty() {
+            return List.of();
+        }
+
+        @PostEnforceEach
+        public String notACollection() {
+            return "a";
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public ArrayList<String> arrayList() {
+            return new ArrayList<>(List.of("a", SECRET, "b"));
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public LinkedList<String> linkedList() {
+            return new LinkedList<>(List.of("a", SECRET, "b"));
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public Deque<String> deque() {
+            return new ArrayDeque<>(List.of("a", SECRET, "b"));
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public Queue<String> queue() {
+            return new ArrayBlockingQueue<>(3, false, List.of("a", SECRET, "b"));
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public SortedSet<String> sortedSet() {
+            var sortedSet = new TreeSet<String>(Comparator.reverseOrder());
+            sortedSet.addAll(List.of("a", SECRET, "b"));
+            return sortedSet;
+        }
+
+        @PostEnforceEach(resource = "returnObject", genericsType = String.class)
+        public ArrayBlockingQueue<String> unsupportedCollection() {
+            UNSUPPORTED_INVOKED.set(true);
+            return new ArrayBlockingQueue<>(1);
+        }
+    }
+
+    @Test
+    @WithMockUser()
+    void when_list_then_deniedElementsAreDroppedWithSingleBatchedDecision() {
+        permitAllButSecret();
+        assertThat(testService.list()).containsExactly("a", "b");
+        verify(pdp, times(1)).decideAllOnce(any());
+        verify(pdp, never()).decideOnce(any());
+    }
+
+    @Test
+    @WithMockUser()
+    void when_set_then_deniedElementsAreDropped() {
+        permitAllButSecret();
+        assertThat(testService.set()).containsExactly("a");
+    }
+
+    @Test
+    @WithMockUser()
+    void when_array_then_deniedElementsAreDropped() {
+        permitAllButSecret();
+        assertThat(testService.array()).containsExactly("a");
+    }
+
+    @Test
+    @WithMockUser()
+    void when_empty_then_pdpIsNotCalled() {
+        assertThat(testService.empty()).isEmpty();
+        verify(pdp, never()).decideAllOnce(any());
+    }
+
+    @Test
+    @WithMockUser()
+    void when_bundleConstructionFails_then_elementIsDropped() {
+        permitAllButSecret();
+        when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
+                .thenThrow(new IllegalStateException("TEST FAILURE"));
+        assertThat(testService.list()).isEmpty();
+    }
+
+    @Test
+    @WithMockUser()
+    void when_notACollection_then_AccessDenied() {
+        assertThrows(AccessDeniedException.class, () -> testService.notACollection());
+    }
+
+    @Test
+    @WithMockUser()
+    void when_arrayList_then_resultIsArrayList() {
+        permitAllButSecret();
+        assertThat(testService.arrayList()).isInstanceOf(ArrayList.class).containsExactly("a", "b");
+    }
+
+    @Test
+    @WithMockUser()
+    void when_linkedList_then_resultIsLinkedList() {
+        permitAllButSecret();
+        assertThat(testService.linkedList()).isInstanceOf(LinkedList.class).containsExactly("a", "b");
+    }
+
+    @Test
+    @WithMockUser()
+    void when_deque_then_resultIsDequeOfSameType() {
+        permitAllButSecret();
+        assertThat(testService.deque()).isInstanceOf(ArrayDeque.class).containsExactly("a", "b");
+    }
+
+    @Test
+    @WithMockUser()
+    void when_queueOfTypeWithoutDefaultConstructor_then_resultIsStandardQueue() {
+        permitAllButSecret();
+        assertThat(testService.queue()).isInstanceOf(ArrayDeque.class).containsExactly("a", "b");
+    }
+
+    @Test
+    @WithMockUser()
+    void when_sortedSet_then_orderingIsKept() {
+        permitAllButSecret();
+        var result = testService.sortedSet();
+        assertThat(result.comparator()).isEqualTo(Comparator.reverseOrder());
+        assertThat(result).containsExactly("b", "a");
+    }
+
+    @Test
+    @WithMockUser()
+    void when_declaredTypeCannotBeInstantiated_then_AccessDeniedBeforeInvocation() {
+        var exception = assertThrows(AccessDeniedException.class, () -> testService.unsupportedCollection());
+        assertThat(exception).hasMessageContaining(ArrayBlockingQueue.class.getName());
+        assertThat(TestService.UNSUPPORTED_INVOKED).isFalse();
+        verify(pdp, never()).decideAllOnce(any());
+    }
+
+    @Test
+    @WithMockUser()
+    void when_pdpReturnsEmpty_then_AccessDenied() {
+        doAnswer(invocation -> Mono.empty()).when(pdp).decideAllOnce(any());
+        assertThrows(AccessDeniedException.class, () -> testService.list());
+    }
+
+    private void permitAllButSecret() {
+        when(constraintEnforcementService.blockingPostEnforceBundleFor(any(), any()))
+                .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
+        doAnswer(invocation -> {
+            MultiAuthorizationSubscription multiSubscription = invocation.getArgument(0);
+            var                            decisions         = new MultiAuthorizationDecision();
+            for (IdentifiableAuthorizationSubscription subscription : multiSubscription) {
+                var resource = subscription.authorizationSubscription().getResource().asText();
+                decisions.setAuthorizationDecisionForSubscriptionWithId(subscription.authorizationSubscriptionId(),
+                        SECRET.equals(resource) ? AuthorizationDecision.DENY : AuthorizationDecision.PERMIT);
+            }
+            return Mono.just(decisions);
+        }).when(pdp).decideAllOnce(any());
+    }
+
+}
@@ -27,6 +27,7 @@
 import java.util.function.UnaryOperator;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -60,7 +61,7 @@ class PostEnforcePolicyEnforcementPointTests {
     private static final String          ORIGINAL_RETURN_OBJECT = "original return object";
     private static final String          CHANGED_RETURN_OBJECT  = "changed return object";
 
-    @MockBean
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
     private PolicyDecisionPoint pdp;
 
     @MockBean
@@ -21,12 +21,14 @@
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
 import java.util.function.UnaryOperator;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -59,7 +61,7 @@ class PreEnforcePolicyEnforcementPointTests {
     private static final JsonNodeFactory JSON                   = JsonNodeFactory.instance;
     private static final String          ORIGINAL_RETURN_OBJECT = "original return object";
     private static final String          CHANGED_RETURN_OBJECT  = "changed return object";
-    @MockBean
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
     private PolicyDecisionPoint          pdp;
 
     @MockBean
@@ -112,7 +114,7 @@ void whenBeforeAndDecideDeny_thenReturnFalse() {
     void whenBeforeAndDecideNull_thenReturnFalse() {
         when(constraintEnforcementService.blockingPreEnforceBundleFor(any(), any()))
                 .thenReturn(BlockingConstraintHandlerBundle.BLOCKING_NOOP);
-        when(pdp.decide(any(AuthorizationSubscription.class))).thenReturn(null);
+        doReturn(null).when(pdp).decideOnce(any(AuthorizationSubscription.class));
         assertThrows(AccessDeniedException.class, () -> testService.doSomething());
     }
 
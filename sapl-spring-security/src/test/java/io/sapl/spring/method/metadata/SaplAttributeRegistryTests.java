@@ -50,6 +50,19 @@ public void doSomething() {
         assertThat(sut.getAllSaplAttributes(mi), anEmptyMap());
     }
 
+    @Test
+    void whenPostEnforceEachOnMethod_ThenReturnsAttribute() {
+
+        class TestClass {
+            @SuppressWarnings("unused")
+            @PostEnforceEach(subject = "'onMethod'")
+            public void doSomething() {
+            }
+        }
+
+        expectSubjectExpressionStringInAttribute(TestClass.class, "'onMethod'");
+    }
+
     @Test
     void whenAnnotationOnClassOnly_ThenReturnsAnnotationFromClass() {
 
@@ -31,6 +31,7 @@
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -49,6 +50,7 @@
 import io.sapl.spring.method.metadata.EnforceRecoverableIfDenied;
 import io.sapl.spring.method.metadata.EnforceTillDenied;
 import io.sapl.spring.method.metadata.PostEnforce;
+import io.sapl.spring.method.metadata.PostEnforceEach;
 import io.sapl.spring.method.metadata.PreEnforce;
 import io.sapl.spring.method.metadata.SaplAttributeRegistry;
 import io.sapl.spring.serialization.HttpServletRequestSerializer;
@@ -70,11 +72,13 @@ class ReactiveSaplMethodInterceptorTests {
 
     private ReactiveSaplMethodInterceptor defaultSut;
 
+    private PolicyDecisionPoint pdp;
+
     @BeforeEach
     void beforeEach() {
         springSecurityMethodInterceptor = mock(MethodInterceptor.class);
         MethodSecurityExpressionHandler handler = mock(MethodSecurityExpressionHandler.class);
-        PolicyDecisionPoint             pdp     = mock(PolicyDecisionPoint.class);
+        pdp = mock(PolicyDecisionPoint.class);
         when(pdp.decide((AuthorizationSubscription) any())).thenReturn(Flux.just(AuthorizationDecision.PERMIT));
         ConstraintEnforcementService constraintHandlerService = mock(ConstraintEnforcementService.class);
         ObjectMapper                 mapper                   = new ObjectMapper();
@@ -164,6 +168,24 @@ public Flux<Integer> fluxInteger() {
         verify(preEnforcePolicyEnforcementPoint, times(0)).enforce(any(), any(), any());
     }
 
+    @Test
+    void when_postEnforceEachOnFlux_then_fail() {
+        class TestClass {
+
+            @PostEnforceEach
+            public Flux<Integer> fluxInteger() {
+                return Flux.just(1);
+            }
+
+        }
+        var testInstance = new TestClass();
+        var invocation   = MockMethodInvocation.of(testInstance, TestClass.class, "fluxInteger",
+                testInstance::fluxInteger, null, null);
+        assertThrows(IllegalStateException.class, () -> defaultSut.invoke(invocation));
+        verify(postEnforcePolicyEnforcementPoint, times(0)).postEnforceOneDecisionOnResourceAccessPoint(any(), any(),
+                any());
+    }
+
     @Test
     void when_saplAndSpringAnnotationsPresent_then_thisDoesNotFailBecauseDelegationSourceDoesOnlyReturnOne() {
 
@@ -378,4 +400,42 @@ public Flux<Integer> fluxInteger() {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void when_concurrentEnforceTillDeniedWithSameSubscription_then_pdpSubscriptionIsShared() {
+        class TestClass {
+
+            @EnforceTillDenied
+            public Flux<Integer> fluxInteger() {
+                return Flux.just(1);
+            }
+
+        }
+        when(pdp.decide((AuthorizationSubscription) any()))
+                .thenReturn(Flux.concat(Flux.just(AuthorizationDecision.PERMIT), Flux.never()));
+        var testInstance = new TestClass();
+        var invocation   = MockMethodInvocation.of(testInstance, TestClass.class, "fluxInteger",
+                testInstance::fluxInteger, null, null);
+        var decisions    = ArgumentCaptor.forClass(Flux.class);
+        try (MockedStatic<EnforceTillDeniedPolicyEnforcementPoint> mockPEP = Mockito
+                .mockStatic(EnforceTillDeniedPolicyEnforcementPoint.class)) {
+            mockPEP.when(() -> EnforceTillDeniedPolicyEnforcementPoint.of(any(), any(), any(), any()))
+                    .thenReturn(Flux.just(2));
+            defaultSut.invoke(invocation);
+            defaultSut.invoke(invocation);
+            mockPEP.verify(() -> EnforceTillDeniedPolicyEnforcementPoint.of(decisions.capture(), any(), any(), any()),
+                    times(2));
+        }
+        var first  = ((Flux<AuthorizationDecision>) decisions.getAllValues().get(0)).subscribe();
+        var second = ((Flux<AuthorizationDecision>) decisions.getAllValues().get(1)).subscribe();
+
+        verify(pdp, times(1)).decide((AuthorizationSubscription) any());
+        assertThat(defaultSut.sharedDecisionStreams(), is(1));
+
+        first.dispose();
+        assertThat(defaultSut.sharedDecisionStreams(), is(1));
+        second.dispose();
+        assertThat(defaultSut.sharedDecisionStreams(), is(0));
+    }
+
 }
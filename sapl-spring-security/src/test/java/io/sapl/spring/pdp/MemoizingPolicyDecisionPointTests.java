@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.pdp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import io.sapl.api.pdp.PolicyUpdateSource;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class MemoizingPolicyDecisionPointTests {
+
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private static final AuthorizationSubscription SUBSCRIPTION = new AuthorizationSubscription(JSON.textNode("willi"),
+            JSON.textNode("read"), JSON.textNode("something"), null);
+
+    @AfterEach
+    void resetRequestContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void whenNoRequestAndNoSessionScope_thenAlwaysDelegates() {
+        var delegate = pdpReturning(AuthorizationDecision.PERMIT);
+        var sut      = new MemoizingPolicyDecisionPoint(delegate, Duration.ZERO, 10);
+
+        assertThat(sut.decideOnce(SUBSCRIPTION).block()).isEqualTo(AuthorizationDecision.PERMIT);
+        assertThat(sut.decideOnce(SUBSCRIPTION).block()).isEqualTo(AuthorizationDecision.PERMIT);
+
+        verify(delegate, times(2)).decideOnce(any());
+    }
+
+    @Test
+    void whenSameSubscriptionWithinServletRequest_thenDelegatesOnce() {
+        var delegate = pdpReturning(AuthorizationDecision.PERMIT);
+        var sut      = new MemoizingPolicyDecisionPoint(delegate, Duration.ZERO, 10);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sut.decideOnce(SUBSCRIPTION).block();
+        sut.decideOnce(SUBSCRIPTION).block();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sut.decideOnce(SUBSCRIPTION).block();
+
+        verify(delegate, times(2)).decideOnce(any());
+    }
+
+    @Test
+    void whenSameSubscriptionWithinExchange_thenDelegatesOnce() {
+        var delegate = pdpReturning(AuthorizationDecision.PERMIT);
+        var sut      = new MemoizingPolicyDecisionPoint(delegate, Duration.ZERO, 10);
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+        var decisions = sut.decideOnce(SUBSCRIPTION).then(sut.decideOnce(SUBSCRIPTION))
+                .contextWrite(ctx -> ctx.put(ServerWebExchange.class, exchange));
+        StepVerifier.create(decisions).expectNext(AuthorizationDecision.PERMIT).verifyComplete();
+
+        verify(delegate, times(1)).decideOnce(any());
+    }
+
+    @Test
+    void whenSessionScopeEnabled_thenDecisionsWithoutConstraintsAreRememberedUntilExpiry() {
+        var delegate = pdpReturning(AuthorizationDecision.PERMIT);
+        var clock    = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        var sut      = new MemoizingPolicyDecisionPoint(delegate, Duration.ofSeconds(10), 10, clock);
+
+        sut.decideOnce(SUBSCRIPTION).block();
+        sut.decideOnce(SUBSCRIPTION).block();
+        verify(delegate, times(1)).decideOnce(any());
+
+        clock.advance(Duration.ofSeconds(11));
+        sut.decideOnce(SUBSCRIPTION).block();
+        verify(delegate, times(2)).decideOnce(any());
+    }
+
+    @Test
+    void whenDecisionHasObligations_thenNotRememberedAcrossRequests() {
+        var obligations = JSON.arrayNode().add("log");
+        var decision    = AuthorizationDecision.PERMIT.withObligations(obligations);
+        var delegate    = pdpReturning(decision);
+        var sut         = new MemoizingPolicyDecisionPoint(delegate, Duration.ofMinutes(1), 10);
+
+        sut.decideOnce(SUBSCRIPTION).block();
+        sut.decideOnce(SUBSCRIPTION).block();
+
+        verify(delegate, times(2)).decideOnce(any());
+        assertThat(sut.sessionScopedSize()).isZero();
+    }
+
+    @Test
+    void whenPolicyUpdateSignalled_thenMemoizedDecisionsAreDiscarded() {
+        var updates  = Sinks.many().multicast().<Long>directBestEffort();
+        var delegate = mock(PolicyDecisionPoint.class, withSettings().extraInterfaces(PolicyUpdateSource.class));
+        when(((PolicyUpdateSource) delegate).policyUpdates()).thenReturn(updates.asFlux());
+        when(delegate.decideOnce(any())).thenReturn(Mono.just(AuthorizationDecision.PERMIT));
+        var sut = new MemoizingPolicyDecisionPoint(delegate, Duration.ofMinutes(1), 10);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sut.decideOnce(SUBSCRIPTION).block();
+        updates.tryEmitNext(1L);
+        assertThat(sut.sessionScopedSize()).isZero();
+        sut.decideOnce(SUBSCRIPTION).block();
+
+        verify(delegate, times(2)).decideOnce(any());
+        sut.destroy();
+    }
+
+    @Test
+    void whenMaximumSizeExceeded_thenOldestEntriesAreEvicted() {
+        var delegate = pdpReturning(AuthorizationDecision.DENY);
+        var sut      = new MemoizingPolicyDecisionPoint(delegate, Duration.ofMinutes(1), 2);
+
+        for (var resource : new String[] { "a", "b", "c" }) {
+            sut.decideOnce(new AuthorizationSubscription(JSON.textNode("willi"), JSON.textNode("read"),
+                    JSON.textNode(resource), null)).block();
+        }
+
+        assertThat(sut.sessionScopedSize()).isEqualTo(2);
+    }
+
+    @Test
+    void whenDecideStreaming_thenNotMemoized() {
+        var delegate = pdpReturning(AuthorizationDecision.PERMIT);
+        var sut      = new MemoizingPolicyDecisionPoint(delegate, Duration.ofMinutes(1), 10);
+
+        sut.decide(SUBSCRIPTION);
+
+        verify(delegate, times(1)).decide(SUBSCRIPTION);
+        assertThat(sut.sessionScopedSize()).isZero();
+    }
+
+    private static PolicyDecisionPoint pdpReturning(AuthorizationDecision decision) {
+        var pdp = mock(PolicyDecisionPoint.class);
+        when(pdp.decideOnce(any())).thenReturn(Mono.just(decision));
+        return pdp;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.spring.subscriptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.sapl.api.interpreter.Val;
+
+class AuthenticationSubjectCacheTests {
+
+    @Test
+    void whenSameAuthenticationTwice_thenSerializedOnce() {
+        var sut            = new AuthenticationSubjectCache();
+        var authentication = new UsernamePasswordAuthenticationToken("user", "secret");
+        var calls          = new AtomicInteger();
+
+        var first  = sut.subjectFor(authentication, a -> serialize(a, calls));
+        var second = sut.subjectFor(authentication, a -> serialize(a, calls));
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void whenHandedOutSubjectIsModified_thenCachedSubjectIsUnchanged() {
+        var sut            = new AuthenticationSubjectCache();
+        var authentication = new UsernamePasswordAuthenticationToken("user", "secret");
+        authentication.setDetails("original");
+        var calls = new AtomicInteger();
+
+        var first = (ObjectNode) sut.subjectFor(authentication, a -> serialize(a, calls));
+        first.put("details", "modified");
+        var second = sut.subjectFor(authentication, a -> serialize(a, calls));
+
+        assertThat(second.get("details").textValue()).isEqualTo("original");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void whenAuthenticationChanged_thenSerializedAgain() {
+        var sut            = new AuthenticationSubjectCache();
+        var authentication = new UsernamePasswordAuthenticationToken("user", "secret");
+        var calls          = new AtomicInteger();
+
+        sut.subjectFor(authentication, a -> serialize(a, calls));
+        authentication.setDetails("changed");
+        var subject = sut.subjectFor(authentication, a -> serialize(a, calls));
+
+        assertThat(calls).hasValue(2);
+        assertThat(subject.get("details").textValue()).isEqualTo("changed");
+    }
+
+    @Test
+    void whenEqualButDistinctAuthentications_thenEachIsSerialized() {
+        var sut   = new AuthenticationSubjectCache();
+        var calls = new AtomicInteger();
+
+        sut.subjectFor(new UsernamePasswordAuthenticationToken("user", "secret"), a -> serialize(a, calls));
+        sut.subjectFor(new UsernamePasswordAuthenticationToken("user", "secret"), a -> serialize(a, calls));
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void whenNoAuthentication_thenSerializerIsCalled() {
+        var sut   = new AuthenticationSubjectCache();
+        var calls = new AtomicInteger();
+
+        sut.subjectFor(null, a -> serialize(a, calls));
+
+        assertThat(calls).hasValue(1);
+    }
+
+    private static JsonNode serialize(Authentication authentication, AtomicInteger calls) {
+        calls.incrementAndGet();
+        var node = Val.JSON.objectNode();
+        if (authentication != null && authentication.getDetails() != null)
+            node.put("details", authentication.getDetails().toString());
+        return node;
+    }
+
+}
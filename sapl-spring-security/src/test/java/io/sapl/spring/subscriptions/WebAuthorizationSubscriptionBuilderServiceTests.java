@@ -25,6 +25,8 @@
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -61,6 +63,7 @@
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.sapl.spring.method.metadata.PreEnforce;
 import io.sapl.spring.method.metadata.SaplAttribute;
@@ -297,6 +300,25 @@ void when_nullParametersAndHttpRequestInContext_then_FactoryConstructsFromContex
         }
     }
 
+    @Test
+    void when_defaultActionAndResourceWithHttpRequest_then_TreesDoNotShareNodes() {
+        try (MockedStatic<RequestContextHolder> theMock = mockStatic(RequestContextHolder.class)) {
+            var requestAttributes = mock(ServletRequestAttributes.class);
+            when(requestAttributes.getRequest()).thenReturn(new MockHttpServletRequest());
+            theMock.when(RequestContextHolder::getRequestAttributes).thenReturn(requestAttributes);
+            var attribute    = attribute(null, null, null, null, Object.class);
+            var subscription = defaultWebBuilderUnderTest.constructAuthorizationSubscription(authentication, invocation,
+                    attribute);
+
+            var actionHttp = (ObjectNode) subscription.getAction().get("http");
+            actionHttp.put("modified", true);
+
+            assertThat(subscription.getResource().get("http"), is(jsonObject().where("modified", is(jsonMissing()))));
+            assertThat(subscription.getResource().get("java"),
+                    is(not(sameInstance(subscription.getAction().get("java")))));
+        }
+    }
+
     @Test
     void when_nullParametersInvocationHasArguments_then_FactoryConstructsFromContextIncludingArguments() {
         var attribute          = attribute(null, null, null, null, Object.class);
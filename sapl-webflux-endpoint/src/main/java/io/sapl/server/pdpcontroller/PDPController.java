@@ -17,15 +17,21 @@
  */
 package io.sapl.server.pdpcontroller;
 
+import java.net.InetSocketAddress;
+import java.security.Principal;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 
 import io.sapl.api.pdp.AuthorizationDecision;
 import io.sapl.api.pdp.AuthorizationSubscription;
@@ -35,12 +41,22 @@
 import io.sapl.api.pdp.PolicyDecisionPoint;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * REST controller providing endpoints for a policy decision point. The
  * endpoints can be connected using the client in the module sapl-pdp-client.
+ * <p>
+ * Streaming endpoints apply flow control to protect the server from slow
+ * consumers. For single decisions and multi-decisions only the latest decision
+ * is relevant, thus undelivered intermediate decisions exceeding a small buffer
+ * are conflated, always retaining the latest decision. Streams of individual
+ * decisions of a multi-subscription are buffered up to a bound and terminated
+ * with an INDETERMINATE decision on overflow, as dropping a decision for one of
+ * the subscriptions would leave the client with a stale state. Additionally,
+ * the number of concurrent streaming subscriptions per client can be limited.
  */
 
 @RestController
@@ -49,7 +65,18 @@
 public class PDPController {
     private final PolicyDecisionPoint pdp;
     @Value("#{'${io.sapl.server.keep-alive:${io.sapl.server-lt.keep-alive:0}}'}")
-    private long                      keepAliveSeconds = 0;
+    private long                      keepAliveSeconds          = 0;
+    @Value("#{'${io.sapl.server.max-subscriptions-per-client:${io.sapl.server-lt.max-subscriptions-per-client:0}}'}")
+    private int                       maxSubscriptionsPerClient = 0;
+    @Value("#{'${io.sapl.server.decision-buffer-size:${io.sapl.server-lt.decision-buffer-size:16}}'}")
+    private int                       decisionBufferSize        = 16;
+    @Value("#{'${io.sapl.server.multi-decision-buffer-size:${io.sapl.server-lt.multi-decision-buffer-size:256}}'}")
+    private int                       multiDecisionBufferSize   = 256;
+
+    private final SubscriptionLimiter<String> subscriptionLimiter     = new SubscriptionLimiter<>(
+            () -> maxSubscriptionsPerClient, PDPController::tooManySubscriptions);
+    private final AtomicLong                  conflatedDecisions      = new AtomicLong();
+    private final AtomicLong                  overflowedSubscriptions = new AtomicLong();
 
     /**
      * Enables keep alive comments to keep tcp connection active. This is usually
@@ -62,26 +89,105 @@ public class PDPController {
     private <T> Flux<ServerSentEvent<T>> wrapWithKeepAlive(Flux<T> flux) {
         if (keepAliveSeconds > 0) {
             return Flux.merge(flux.map(t -> ServerSentEvent.builder(t).build()),
-                    Flux.interval(Duration.ofSeconds(this.keepAliveSeconds))
+                    Flux.interval(Duration.ofSeconds(this.keepAliveSeconds)).onBackpressureDrop()
                             .map(aLong -> ServerSentEvent.<T>builder().comment("keep-alive").build()));
         } else {
             return flux.map(decision -> ServerSentEvent.<T>builder().data(decision).build());
         }
     }
 
+    /**
+     * Only retains the latest undelivered decisions if the client does not keep up
+     * with the decisions emitted by the PDP. Older decisions are superseded and
+     * dropped. A buffer size of 1 only retains the latest decision.
+     */
+    private <T> Flux<T> conflateToLatest(Flux<T> decisions) {
+        return decisions.onBackpressureBuffer(Math.max(1, decisionBufferSize),
+                dropped -> conflatedDecisions.incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * Buffers a bounded number of undelivered decisions and signals an error if the
+     * client does not keep up.
+     */
+    private <T> Flux<T> boundedBuffer(Flux<T> decisions) {
+        return decisions.onBackpressureBuffer(multiDecisionBufferSize,
+                dropped -> overflowedSubscriptions.incrementAndGet(), BufferOverflowStrategy.ERROR);
+    }
+
+    /**
+     * Limits the number of concurrent streaming subscriptions of a client. The
+     * client is identified by its principal name or, for unauthenticated access, by
+     * the host address of its remote address. The port is not part of the identity,
+     * as every connection of a client uses a different one.
+     */
+    private <T> Flux<T> limitSubscriptionsPerClient(ServerWebExchange exchange, Flux<T> decisions) {
+        if (!subscriptionLimiter.isEnabled()) {
+            return decisions;
+        }
+        return exchange.getPrincipal().map(Principal::getName)
+                .defaultIfEmpty(remoteHost(exchange.getRequest().getRemoteAddress()))
+                .flatMapMany(client -> subscriptionLimiter.limit(client, decisions));
+    }
+
+    private static ResponseStatusException tooManySubscriptions() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "Maximum number of concurrent subscriptions exceeded.");
+    }
+
+    private static String remoteHost(InetSocketAddress remoteAddress) {
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        var address = remoteAddress.getAddress();
+        return address == null ? remoteAddress.getHostString() : address.getHostAddress();
+    }
+
+    /**
+     * @return the number of intermediate decisions not delivered to slow clients
+     *         because a newer decision superseded them.
+     */
+    public long getConflatedDecisions() {
+        return conflatedDecisions.get();
+    }
+
+    /**
+     * @return the number of multi-subscription streams terminated because a slow
+     *         client exceeded the decision buffer.
+     */
+    public long getOverflowedSubscriptions() {
+        return overflowedSubscriptions.get();
+    }
+
+    /**
+     * @return the number of subscriptions rejected because the client exceeded the
+     *         maximum number of concurrent subscriptions.
+     */
+    public long getRejectedSubscriptions() {
+        return subscriptionLimiter.getRejectedSubscriptions();
+    }
+
+    /**
+     * @return the number of currently active streaming subscriptions.
+     */
+    public int getActiveSubscriptions() {
+        return subscriptionLimiter.getActiveSubscriptions();
+    }
+
     /**
      * Delegates to {@link PolicyDecisionPoint#decide(AuthorizationSubscription)}.
      *
      * @param authzSubscription the authorization subscription to be processed by
      *                          the PDP.
+     * @param exchange          the current exchange identifying the client.
      * @return a flux emitting the current authorization decisions.
      * @see PolicyDecisionPoint#decide(AuthorizationSubscription)
      */
     @PostMapping(value = "/decide", produces = MediaType.APPLICATION_NDJSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public Flux<ServerSentEvent<AuthorizationDecision>> decide(
-            @Valid @RequestBody AuthorizationSubscription authzSubscription) {
-        return wrapWithKeepAlive(
-                pdp.decide(authzSubscription).onErrorResume(error -> Flux.just(AuthorizationDecision.INDETERMINATE)));
+            @Valid @RequestBody AuthorizationSubscription authzSubscription, ServerWebExchange exchange) {
+        return wrapWithKeepAlive(limitSubscriptionsPerClient(exchange, conflateToLatest(
+                pdp.decide(authzSubscription).onErrorResume(error -> Flux.just(AuthorizationDecision.INDETERMINATE)))));
     }
 
     /**
@@ -104,6 +210,7 @@ public Mono<AuthorizationDecision> decideOnce(@Valid @RequestBody AuthorizationS
      *
      * @param multiAuthzSubscription the authorization multi-subscription to be
      *                               processed by the PDP.
+     * @param exchange               the current exchange identifying the client.
      * @return a flux emitting authorization decisions related to the individual
      *         subscriptions contained in the given {@code multiAuthzSubscription}
      *         as soon as they are available.
@@ -111,9 +218,9 @@ public Mono<AuthorizationDecision> decideOnce(@Valid @RequestBody AuthorizationS
      */
     @PostMapping(value = "/multi-decide", produces = MediaType.APPLICATION_NDJSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public Flux<ServerSentEvent<IdentifiableAuthorizationDecision>> decide(
-            @Valid @RequestBody MultiAuthorizationSubscription multiAuthzSubscription) {
-        return wrapWithKeepAlive(pdp.decide(multiAuthzSubscription)
-                .onErrorResume(error -> Flux.just(IdentifiableAuthorizationDecision.INDETERMINATE)));
+            @Valid @RequestBody MultiAuthorizationSubscription multiAuthzSubscription, ServerWebExchange exchange) {
+        return wrapWithKeepAlive(limitSubscriptionsPerClient(exchange, boundedBuffer(pdp.decide(multiAuthzSubscription))
+                .onErrorResume(error -> Flux.just(IdentifiableAuthorizationDecision.INDETERMINATE))));
     }
 
     /**
@@ -122,6 +229,7 @@ public Flux<ServerSentEvent<IdentifiableAuthorizationDecision>> decide(
      *
      * @param multiAuthzSubscription the authorization multi-subscription to be
      *                               processed by the PDP.
+     * @param exchange               the current exchange identifying the client.
      * @return a flux emitting multi-decisions containing authorization decisions
      *         for all the individual authorization subscriptions contained in the
      *         given {@code multiAuthzSubscription}.
@@ -129,9 +237,10 @@ public Flux<ServerSentEvent<IdentifiableAuthorizationDecision>> decide(
      */
     @PostMapping(value = "/multi-decide-all", produces = MediaType.APPLICATION_NDJSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public Flux<ServerSentEvent<MultiAuthorizationDecision>> decideAll(
-            @Valid @RequestBody MultiAuthorizationSubscription multiAuthzSubscription) {
-        return wrapWithKeepAlive(pdp.decideAll(multiAuthzSubscription)
-                .onErrorResume(error -> Flux.just(MultiAuthorizationDecision.indeterminate())));
+            @Valid @RequestBody MultiAuthorizationSubscription multiAuthzSubscription, ServerWebExchange exchange) {
+        return wrapWithKeepAlive(
+                limitSubscriptionsPerClient(exchange, conflateToLatest(pdp.decideAll(multiAuthzSubscription)
+                        .onErrorResume(error -> Flux.just(MultiAuthorizationDecision.indeterminate())))));
     }
 
     /**
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2017-2024 Dominic Heutelbeck (dominic@heutelbeck.com)
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sapl.server.pdpcontroller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.sapl.api.pdp.AuthorizationDecision;
+import io.sapl.api.pdp.AuthorizationSubscription;
+import io.sapl.api.pdp.PolicyDecisionPoint;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@Import(PolicyDecisionPoint.class)
+@ContextConfiguration(classes = { PDPController.class })
+@WebFluxTest(controllers = PDPController.class, properties = "io.sapl.server.max-subscriptions-per-client=1")
+class PDPControllerFlowControlTests {
+
+    @MockBean
+    private PolicyDecisionPoint pdp;
+
+    @Autowired
+    private PDPController controller;
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @Test
+    void whenClientExceedsMaximumSubscriptions_thenRequestIsRejected() {
+        when(pdp.decide(any(AuthorizationSubscription.class)))
+                .thenReturn(Flux.concat(Flux.just(AuthorizationDecision.PERMIT), Flux.never()));
+
+        var subscription = AuthorizationSubscription.of("subject", "action", "resource");
+
+        var first = webClient.post().uri("/api/pdp/decide").contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                .body(BodyInserters.fromValue(subscription)).exchange().expectStatus().isOk()
+                .returnResult(AuthorizationDecision.class);
+
+        StepVerifier.create(first.getResponseBody()).expectNext(AuthorizationDecision.PERMIT)
+                .then(() -> webClient.post().uri("/api/pdp/decide").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                        .body(BodyInserters.fromValue(subscription)).exchange().expectStatus()
+                        .isEqualTo(HttpStatus.TOO_MANY_REQUESTS))
+                .thenCancel().verify();
+
+        assertThat(controller.getRejectedSubscriptions()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenUnauthenticatedClientConnectsFromDifferentPorts_thenLimitAppliesPerHost() {
+        var pdpMock = mock(PolicyDecisionPoint.class);
+        when(pdpMock.decide(any(AuthorizationSubscription.class))).thenReturn(Flux.never());
+        var sut = new PDPController(pdpMock);
+        ReflectionTestUtils.setField(sut, "maxSubscriptionsPerClient", 1);
+
+        var subscription = AuthorizationSubscription.of("subject", "action", "resource");
+
+        var first = sut.decide(subscription, exchangeFrom("10.0.0.1", 40001)).subscribe();
+        StepVerifier.create(sut.decide(subscription, exchangeFrom("10.0.0.1", 40002)))
+                .verifyError(ResponseStatusException.class);
+        StepVerifier.create(sut.decide(subscription, exchangeFrom("10.0.0.2", 40001))).expectSubscription()
+                .expectNoEvent(Duration.ofMillis(50L)).thenCancel().verify();
+
+        assertThat(sut.getRejectedSubscriptions()).isEqualTo(1L);
+        first.dispose();
+        assertThat(sut.getActiveSubscriptions()).isZero();
+    }
+
+    private static MockServerWebExchange exchangeFrom(String host, int port) {
+        return MockServerWebExchange
+                .from(MockServerHttpRequest.post("/api/pdp/decide").remoteAddress(new InetSocketAddress(host, port)));
+    }
+
+    @Test
+    void whenConsumerIsSlow_thenIntermediateDecisionsAreConflated() {
+        var decisions = Sinks.many().unicast().<AuthorizationDecision>onBackpressureBuffer();
+        var pdpMock   = mock(PolicyDecisionPoint.class);
+        when(pdpMock.decide(any(AuthorizationSubscription.class))).thenReturn(decisions.asFlux());
+        var sut = new PDPController(pdpMock);
+
+        var subscription = AuthorizationSubscription.of("subject", "action", "resource");
+
+        StepVerifier.create(sut.decide(subscription, null), 0L).then(() -> {
+            for (var i = 0; i < 20; i++) {
+                decisions.tryEmitNext(i % 2 == 0 ? AuthorizationDecision.DENY : AuthorizationDecision.PERMIT);
+            }
+            decisions.tryEmitComplete();
+        }).thenRequest(Long.MAX_VALUE).expectNextCount(15L)
+                .expectNextMatches(event -> AuthorizationDecision.PERMIT.equals(event.data())).verifyComplete();
+
+        assertThat(sut.getConflatedDecisions()).isEqualTo(4L);
+    }
+
+}